@@ -0,0 +1,48 @@
+package com.example.pokerv2.service;
+
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.model.Board;
+import com.example.pokerv2.model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인원 수별 BoardService.dealCard 처리량.
+ * dealCard 는 카드 값만 덮어쓰므로 Board 는 한 번만 만들어서 재사용한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DealCardBenchmark {
+
+    @Param({"2", "3", "4", "5", "6"})
+    public int players;
+
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        List<Player> playerList = new ArrayList<>(players);
+        board = Board.builder().id(1L).gameSeq(0L).totalPlayer(players).players(playerList).build();
+        for (int i = 0; i < players; i++) {
+            playerList.add(Player.builder().id((long) i).board(board).position(Position.values()[i]).status(PlayerStatus.PLAY).build());
+        }
+    }
+
+    @Benchmark
+    public Board dealCard() {
+        BoardService.dealCard(board);
+        return board;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.pokerv2.stomp;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.MessageDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.MessageType;
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.utils.BoardDeltaUtils;
+import com.example.pokerv2.utils.BoardViewUtils;
+import com.example.pokerv2.utils.CompactCodecUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 게임 메시지를 Jackson(JSON) 과 CompactCodecUtils 로 만들 때의 시간 비교.
+ * <p>
+ * snapshot 은 6명 테이블 전체 상태, delta 는 한 명이 베팅했을 때의 변경분이다.
+ * 메시지 크기 비교는 CompactCodecUtilsTest 에서 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"snapshot", "delta"})
+    public String message;
+
+    private ObjectMapper objectMapper;
+    private MessageDto payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        BoardDto before = BoardViewUtils.publicView(createBoardDto());
+        before.setVersion(100);
+        if (message.equals("snapshot")) {
+            payload = new MessageDto(MessageType.SNAPSHOT.getDetail(), before);
+        } else {
+            payload = new MessageDto(MessageType.NEXT_ACTION.getDetail(), BoardDeltaUtils.diff(before, bet(before), 100, 101));
+        }
+    }
+
+    @Benchmark
+    public byte[] jackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] compact() {
+        return CompactCodecUtils.encode(payload);
+    }
+
+    private static BoardDto bet(BoardDto before) {
+        BoardDto after = new BoardDto(before);
+        after.setVersion(101);
+        after.setPot(before.getPot() + 3000);
+        after.setBettingSize(3000);
+        after.setActionPos(Position.BB.ordinal());
+        after.getPlayers().get(4).setMoney(97000);
+        after.getPlayers().get(4).setPhaseCallSize(3000);
+        return after;
+    }
+
+    private static BoardDto createBoardDto() {
+        BoardDto boardDto = new BoardDto();
+        boardDto.setId(1234L);
+        boardDto.setTotalPlayer(6);
+        boardDto.setBlind(1000);
+        boardDto.setPot(12000);
+        boardDto.setPhaseStatus(PhaseStatus.TURN.ordinal());
+        boardDto.setCommunityCard1(1);
+        boardDto.setCommunityCard2(15);
+        boardDto.setCommunityCard3(30);
+        boardDto.setCommunityCard4(44);
+        boardDto.setGameSeq(5678);
+        boardDto.setLastActionTime(LocalDateTime.of(2024, 1, 15, 12, 0));
+        boardDto.setTotalCallSize(List.of(2000, 2000, 2000, 2000, 2000, 2000));
+
+        List<PlayerDto> players = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            PlayerDto playerDto = new PlayerDto();
+            playerDto.setId(100000L + i);
+            playerDto.setUserId(5000L + i);
+            playerDto.setPlayerName("player" + i);
+            playerDto.setBoardId(1234L);
+            playerDto.setPosition(Position.values()[i].ordinal());
+            playerDto.setMoney(100000);
+            playerDto.setCard1(10 + i);
+            playerDto.setCard2(20 + i);
+            playerDto.setStatus(PlayerStatus.PLAY.ordinal());
+            playerDto.setPhaseCallSize(1000);
+            players.add(playerDto);
+        }
+        boardDto.setPlayers(players);
+        return boardDto;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.MessageDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.MessageType;
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.utils.BoardViewUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 테이블 1000개가 동시에 상태를 보낼 때 매번 직렬화하는 경우와 TableMessageCache 를 쓰는 경우의 비교.
+ * <p>
+ * 한 번의 호출은 테이블 하나의 상태를 하나 올리고 그 상태를 sendsPerState 번 보낸다. (ex. 변경분 1번 + 스냅샷 요청)
+ * serializePerSend 는 보낼 때마다 ObjectMapper 로 만들고, cached 는 version 마다 한 번만 만든다.
+ * 스레드마다 서로 다른 테이블만 돌기 때문에 같은 테이블의 version 을 두 스레드가 번갈아 올려 캐시가 계속 빗나가는 일은 없다.
+ * <p>
+ * 실행 : ./gradlew jmh -PjmhInclude=TableMessageCache. 측정한 수치는 아직 없으므로 결과는 직접 돌려서 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class TableMessageCacheBenchmark {
+
+    @Param({"1000"})
+    public int tables;
+
+    @Param({"1", "3", "6"})
+    public int sendsPerState;
+
+    private ObjectMapper objectMapper;
+    private TableMessageCache messageCache;
+    private MessageDto[] messages;
+    private AtomicLongArray versions;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+        private int stride;
+
+        @Setup
+        public void setUp(ThreadParams threadParams) {
+            next = threadParams.getThreadIndex();
+            stride = threadParams.getThreadCount();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        messageCache = new TableMessageCache(objectMapper);
+        messages = new MessageDto[tables];
+        versions = new AtomicLongArray(tables);
+        for (int i = 0; i < tables; i++) {
+            messages[i] = new MessageDto(MessageType.SNAPSHOT.getDetail(), BoardViewUtils.publicView(createBoardDto(i)));
+        }
+    }
+
+    @Benchmark
+    public void serializePerSend(Cursor cursor, Blackhole blackhole) throws JsonProcessingException {
+        int table = nextTable(cursor);
+        versions.incrementAndGet(table);
+        for (int i = 0; i < sendsPerState; i++) {
+            blackhole.consume(objectMapper.writeValueAsBytes(messages[table]));
+        }
+    }
+
+    @Benchmark
+    public void cached(Cursor cursor, Blackhole blackhole) {
+        int table = nextTable(cursor);
+        long version = versions.incrementAndGet(table);
+        for (int i = 0; i < sendsPerState; i++) {
+            blackhole.consume(messageCache.get((long) table, version, TableMessageCache.View.SNAPSHOT, () -> messages[table]));
+        }
+    }
+
+    private int nextTable(Cursor cursor) {
+        int table = cursor.next;
+        cursor.next = (cursor.next + cursor.stride) % tables;
+        return table;
+    }
+
+    private static BoardDto createBoardDto(int table) {
+        BoardDto boardDto = new BoardDto();
+        boardDto.setId((long) table);
+        boardDto.setTotalPlayer(6);
+        boardDto.setBlind(1000);
+        boardDto.setPot(12000);
+        boardDto.setPhaseStatus(PhaseStatus.TURN.ordinal());
+        boardDto.setCommunityCard1(1);
+        boardDto.setCommunityCard2(15);
+        boardDto.setCommunityCard3(30);
+        boardDto.setCommunityCard4(44);
+        boardDto.setGameSeq(table);
+        boardDto.setLastActionTime(LocalDateTime.of(2024, 1, 15, 12, 0));
+        boardDto.setTotalCallSize(List.of(2000, 2000, 2000, 2000, 2000, 2000));
+
+        List<PlayerDto> players = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            PlayerDto playerDto = new PlayerDto();
+            playerDto.setId(table * 6L + i);
+            playerDto.setUserId(table * 6L + i);
+            playerDto.setPlayerName("player" + i);
+            playerDto.setBoardId((long) table);
+            playerDto.setPosition(Position.values()[i].ordinal());
+            playerDto.setMoney(100000);
+            playerDto.setStatus(PlayerStatus.PLAY.ordinal());
+            playerDto.setPhaseCallSize(1000);
+            players.add(playerDto);
+        }
+        boardDto.setPlayers(players);
+        return boardDto;
+    }
+}
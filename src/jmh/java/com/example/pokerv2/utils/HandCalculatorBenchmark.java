@@ -0,0 +1,90 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.GameResultDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 무작위 7장 핸드에 대한 HandCalculatorUtils 처리량.
+ * <p>
+ * calculateValueList : GameResultDto 를 만드는 기존 API (족보 리스트, 핸드 설명 포함)
+ * calculateValueHolder : HandResult 를 재사용하는 API
+ * evaluateMask : 핸드 밸류만 계산
+ * <p>
+ * ./gradlew jmh -PjmhInclude=HandCalculatorBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HandCalculatorBenchmark {
+
+    static final int HAND_COUNT = 1024;
+    static final int CARD_SIZE = 7;
+
+    private List<List<Integer>> cardLists;
+    private int[][] cardArrays;
+    private long[] cardMasks;
+    private HandResult handResult;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20240115L);
+        cardLists = new ArrayList<>(HAND_COUNT);
+        cardArrays = new int[HAND_COUNT][];
+        cardMasks = new long[HAND_COUNT];
+        handResult = new HandResult();
+
+        for (int i = 0; i < HAND_COUNT; i++) {
+            int[] cards = randomHand(random, CARD_SIZE);
+            List<Integer> cardList = new ArrayList<>(CARD_SIZE);
+            for (int card : cards) {
+                cardList.add(card);
+            }
+            cardLists.add(cardList);
+            cardArrays[i] = cards;
+            cardMasks[i] = CardMaskUtils.toMask(cards, CARD_SIZE);
+        }
+    }
+
+    @Benchmark
+    public GameResultDto calculateValueList() {
+        return HandCalculatorUtils.calculateValue(cardLists.get(next()));
+    }
+
+    @Benchmark
+    public long calculateValueHolder() {
+        int[] cards = cardArrays[next()];
+        return HandCalculatorUtils.calculateValue(cards, cards.length, handResult);
+    }
+
+    @Benchmark
+    public long evaluateMask() {
+        return HandCalculatorUtils.evaluate(cardMasks[next()]);
+    }
+
+    private int next() {
+        index = (index + 1) & (HAND_COUNT - 1);
+        return index;
+    }
+
+    static int[] randomHand(Random random, int size) {
+        int[] cards = new int[size];
+        long usedCards = CardMaskUtils.EMPTY;
+        for (int i = 0; i < size; i++) {
+            cards[i] = CardMaskUtils.drawCard(usedCards, random);
+            usedCards = CardMaskUtils.add(usedCards, cards[i]);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.GameResultDto;
+import com.example.pokerv2.enums.HandValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 족보 종류별 HandCalculatorUtils 처리량. 족보마다 판정 경로가 달라서 따로 측정한다.
+ * <p>
+ * 로얄 스트레이트 플러쉬, 스트레이트 플러쉬, 포카드는 무작위로 잘 나오지 않으므로 족보를 이루는 카드를 먼저 놓고 나머지를 채운다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HandCategoryBenchmark {
+
+    private static final int RANK_SIZE = 13;
+
+    @Param({"ROYAL_STRAIGHT_FLUSH", "STRAIGHT_FLUSH", "FOUR_OF_A_KIND", "FULL_HOUSE", "FLUSH",
+            "STRAIGHT", "THREE_OF_A_KIND", "TWO_PAIR", "ONE_PAIR", "HIGH_CARD"})
+    public HandValue handValue;
+
+    private List<List<Integer>> cardLists;
+    private int[][] cardArrays;
+    private HandResult handResult;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(handValue.ordinal());
+        cardLists = new ArrayList<>(HandCalculatorBenchmark.HAND_COUNT);
+        cardArrays = new int[HandCalculatorBenchmark.HAND_COUNT][];
+        handResult = new HandResult();
+
+        while (cardLists.size() < HandCalculatorBenchmark.HAND_COUNT) {
+            int[] cards = createHand(random);
+            if (HandCalculatorUtils.getCategory(HandCalculatorUtils.evaluate(CardMaskUtils.toMask(cards, cards.length))) != handValue.ordinal()) {
+                continue;
+            }
+
+            List<Integer> cardList = new ArrayList<>(cards.length);
+            for (int card : cards) {
+                cardList.add(card);
+            }
+            cardArrays[cardLists.size()] = cards;
+            cardLists.add(cardList);
+        }
+    }
+
+    @Benchmark
+    public GameResultDto calculateValueList() {
+        return HandCalculatorUtils.calculateValue(cardLists.get(next()));
+    }
+
+    @Benchmark
+    public long calculateValueHolder() {
+        int[] cards = cardArrays[next()];
+        return HandCalculatorUtils.calculateValue(cards, cards.length, handResult);
+    }
+
+    private int next() {
+        index = (index + 1) & (HandCalculatorBenchmark.HAND_COUNT - 1);
+        return index;
+    }
+
+    private int[] createHand(Random random) {
+        int suit = random.nextInt(4);
+        switch (handValue) {
+            case ROYAL_STRAIGHT_FLUSH:
+                return fill(random, suit * RANK_SIZE + 12, suit * RANK_SIZE + 11, suit * RANK_SIZE + 10, suit * RANK_SIZE + 9, suit * RANK_SIZE + 8);
+            case STRAIGHT_FLUSH:
+                int high = 3 + random.nextInt(9);
+                return fill(random, suit * RANK_SIZE + high, suit * RANK_SIZE + high - 1, suit * RANK_SIZE + high - 2,
+                        suit * RANK_SIZE + high - 3, suit * RANK_SIZE + (high - 4 + RANK_SIZE) % RANK_SIZE);
+            case FOUR_OF_A_KIND:
+                int rank = random.nextInt(RANK_SIZE);
+                return fill(random, rank, RANK_SIZE + rank, 2 * RANK_SIZE + rank, 3 * RANK_SIZE + rank);
+            default:
+                return HandCalculatorBenchmark.randomHand(random, HandCalculatorBenchmark.CARD_SIZE);
+        }
+    }
+
+    private static int[] fill(Random random, int... fixedCards) {
+        int[] cards = new int[HandCalculatorBenchmark.CARD_SIZE];
+        long usedCards = CardMaskUtils.EMPTY;
+        for (int i = 0; i < fixedCards.length; i++) {
+            cards[i] = fixedCards[i];
+            usedCards = CardMaskUtils.add(usedCards, fixedCards[i]);
+        }
+        for (int i = fixedCards.length; i < cards.length; i++) {
+            cards[i] = CardMaskUtils.drawCard(usedCards, random);
+            usedCards = CardMaskUtils.add(usedCards, cards[i]);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.GameResultDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.PlayerStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인원 수, 사이드팟 / 스플릿 상황별 PotDistributorUtils.distribute 처리량.
+ * <p>
+ * distribute 는 플레이어 리스트를 정렬하고 금액을 바꾸므로 매 호출마다 BoardDto 를 새로 만든다.
+ * createBoard 는 BoardDto 를 만드는 비용만 측정하므로 distribute 결과에서 빼고 본다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PotDistributorBenchmark {
+
+    public enum Scenario {
+        // 핸드가 모두 다르고 콜 금액이 달라서 사이드팟이 생기는 경우
+        SIDE_POT,
+        // 가장 강한 핸드 두 명이 팟을 나누는 경우
+        SPLIT
+    }
+
+    private static final int BLIND = 1000;
+
+    @Param({"2", "3", "4", "5", "6"})
+    public int players;
+
+    @Param({"SIDE_POT", "SPLIT"})
+    public Scenario scenario;
+
+    @Benchmark
+    public BoardDto createBoard() {
+        return createBoardDto();
+    }
+
+    @Benchmark
+    public BoardDto distribute() {
+        BoardDto boardDto = createBoardDto();
+        PotDistributorUtils.distribute(boardDto);
+        return boardDto;
+    }
+
+    private BoardDto createBoardDto() {
+        BoardDto boardDto = new BoardDto();
+        List<PlayerDto> playerList = new ArrayList<>(players);
+        List<Integer> totalCallSize = new ArrayList<>(players);
+        int pot = 0;
+
+        for (int i = 0; i < players; i++) {
+            // 약한 핸드일수록 콜 금액이 커서 사이드팟이 생긴다.
+            int callSize = BLIND * (i + 1);
+            long handValue = players - i;
+            if (scenario == Scenario.SPLIT && i == 1) {
+                handValue = players;
+            }
+
+            PlayerDto playerDto = new PlayerDto();
+            playerDto.setId((long) i);
+            playerDto.setUserId((long) i);
+            playerDto.setPosition(i);
+            playerDto.setStatus(PlayerStatus.PLAY.ordinal());
+            playerDto.setGameResult(GameResultDto.builder().handValue(handValue).build());
+            playerList.add(playerDto);
+            totalCallSize.add(callSize);
+            pot += callSize;
+        }
+
+        boardDto.setTotalPlayer(players);
+        boardDto.setBlind(BLIND);
+        boardDto.setPot(pot);
+        boardDto.setPlayers(playerList);
+        boardDto.setTotalCallSize(totalCallSize);
+        return boardDto;
+    }
+}
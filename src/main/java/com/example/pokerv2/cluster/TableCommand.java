@@ -0,0 +1,60 @@
+package com.example.pokerv2.cluster;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.HandHistoryPageDto;
+import com.example.pokerv2.history.HandRecord;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * TableCommand
+ *
+ * 테이블 주인 노드로 넘기는 요청. 브로커의 /queue/table-node.{nodeId} 로 JSON 으로 전달된다.
+ * HAND_HISTORY_* 는 테이블이 아니라 history node 로 가는 요청이라 boardId 가 없다.
+ *
+ * 1. type 별로 쓰는 값만 채운다. (ACTION : boardDto, option, userId / CONNECT : playerId ...)
+ * 2. 응답이 필요한 요청은 correlationId, replyTo 를 채우고, 주인 노드는 REPLY 로 result 나 errorCode 를 돌려준다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableCommand {
+
+    public enum Type {
+        JOIN,
+        START_GAME,
+        ACTION,
+        EXIT,
+        SNAPSHOT,
+        CONNECT,
+        DISCONNECT,
+        HAND_HISTORY_APPEND,
+        HAND_HISTORY_PAGE,
+        REPLY
+    }
+
+    private Type type;
+    private Long boardId;
+    private String userId;
+    private Long playerId;
+    // CONNECT, DISCONNECT : 연결한 STOMP 세션. 한 플레이어가 여러 세션으로 연결할 수 있다.
+    private String sessionId;
+    private String option;
+    private int requestBb;
+    // SNAPSHOT : 클라이언트가 마지막으로 받은 version. 있으면 그 뒤의 변경분만 보낸다.
+    private Long version;
+    private BoardDto boardDto;
+    // HAND_HISTORY_APPEND : 끝난 핸드
+    private HandRecord handRecord;
+    // HAND_HISTORY_PAGE : userId, cursor, size 로 요청하고 handHistoryPage 로 돌려받는다.
+    private Long cursor;
+    private int size;
+    private HandHistoryPageDto handHistoryPage;
+    private String correlationId;
+    private String replyTo;
+    private BoardDto result;
+    private String errorCode;
+}
@@ -0,0 +1,334 @@
+package com.example.pokerv2.cluster;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.error.CustomException;
+import com.example.pokerv2.error.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpStompClient;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+
+/**
+ * TableCommand 를 테이블 주인 노드에서 실행한다.
+ * <p>
+ * 1. 주인이 이 노드면 등록된 handler 를 바로 실행한다. 단일 노드(cluster.nodes 가 비어 있음)에서는 항상 이쪽이다.
+ * 2. 다른 노드면 브로커의 /queue/table-node.{주인 nodeId} 로 보낸다. 각 노드는 시작할 때 자기 큐를 구독한다.
+ * 3. call 은 주인 노드가 REPLY 를 /queue/table-node.{요청 nodeId} 로 돌려줄 때까지 기다린다.
+ * 4. 테이블이 아닌 특정 노드로 가는 요청(핸드 기록 등)은 registerNode 로 등록하고 tellNode, callNode 로 보낸다.
+ * <p>
+ * 브로커 연결이 끊기면 RECONNECT_DELAY 뒤에 다시 연결한다. 그동안 다른 노드로 가는 요청은 실패한다.
+ * 클러스터 모드는 websocket.broker.mode=relay 일 때만 사용할 수 있다.
+ */
+@Slf4j
+@Component
+public class TableCommandRouter {
+
+    public static final String NODE_QUEUE_PREFIX = "/queue/table-node.";
+    private static final long CALL_TIMEOUT_SECONDS = 5;
+    private static final long RECONNECT_DELAY_SECONDS = 3;
+
+    private final TableOwnership tableOwnership;
+    private final ObjectMapper objectMapper;
+    private final String relayHost;
+    private final int relayPort;
+    private final String systemLogin;
+    private final String systemPasscode;
+    private final Map<TableCommand.Type, Function<TableCommand, BoardDto>> handlers = new ConcurrentHashMap<>();
+    private final Map<TableCommand.Type, Function<TableCommand, TableCommand>> nodeHandlers = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<TableCommand>> pendingCalls = new ConcurrentHashMap<>();
+    private final List<Runnable> connectListeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService commandExecutor = Executors.newFixedThreadPool(4, namedThreadFactory("table-command-"));
+    private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor(namedThreadFactory("table-command-reconnect-"));
+    private ReactorNettyTcpStompClient stompClient;
+    private volatile StompSession session;
+    private volatile boolean running = true;
+
+    public TableCommandRouter(TableOwnership tableOwnership, ObjectMapper objectMapper,
+                              @Value("${websocket.broker.mode:simple}") String brokerMode,
+                              @Value("${websocket.broker.relay-host:localhost}") String relayHost,
+                              @Value("${websocket.broker.relay-port:61613}") int relayPort,
+                              @Value("${websocket.broker.system-login:guest}") String systemLogin,
+                              @Value("${websocket.broker.system-passcode:guest}") String systemPasscode) {
+        if (tableOwnership.isClustered() && !"relay".equals(brokerMode)) {
+            throw new IllegalStateException("cluster.nodes requires websocket.broker.mode=relay");
+        }
+        this.tableOwnership = tableOwnership;
+        this.objectMapper = objectMapper;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.systemLogin = systemLogin;
+        this.systemPasscode = systemPasscode;
+    }
+
+    /**
+     * 서비스가 시작할 때 자기가 처리할 요청을 등록한다.
+     *
+     * @param handler call 의 결과를 돌려준다. tell 로만 쓰는 요청은 null 을 돌려준다.
+     */
+    public void register(TableCommand.Type type, Function<TableCommand, BoardDto> handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * 테이블이 아닌 노드 단위 요청을 등록한다.
+     *
+     * @param handler 돌려줄 값을 채운 TableCommand. tellNode 로만 쓰는 요청은 null 을 돌려준다.
+     */
+    public void registerNode(TableCommand.Type type, Function<TableCommand, TableCommand> handler) {
+        nodeHandlers.put(type, handler);
+    }
+
+    /**
+     * 브로커에 연결(재연결 포함)될 때마다 commandExecutor 에서 실행한다. 연결이 끊긴 동안 보내지 못한 요청을 다시 보낼 때 사용한다.
+     */
+    public void addConnectListener(Runnable listener) {
+        connectListeners.add(listener);
+    }
+
+    /**
+     * 주인 노드에서 실행하고 결과를 기다리지 않는다.
+     */
+    public void tell(TableCommand command) {
+        if (tableOwnership.isLocal(command.getBoardId())) {
+            handle(command);
+            return;
+        }
+        send(tableOwnership.getOwner(command.getBoardId()), command);
+    }
+
+    /**
+     * 주인 노드에서 실행하고 결과를 돌려준다. 주인 노드에서 난 CustomException 은 같은 ErrorCode 로 다시 던진다.
+     */
+    public BoardDto call(TableCommand command) {
+        if (tableOwnership.isLocal(command.getBoardId())) {
+            return handle(command);
+        }
+        return request(tableOwnership.getOwner(command.getBoardId()), command).getResult();
+    }
+
+    /**
+     * nodeId 노드에서 실행하고 결과를 기다리지 않는다.
+     */
+    public void tellNode(String nodeId, TableCommand command) {
+        if (tableOwnership.getNodeId().equals(nodeId)) {
+            handleNode(command);
+            return;
+        }
+        send(nodeId, command);
+    }
+
+    /**
+     * nodeId 노드에서 실행하고 handler 가 돌려준 TableCommand 를 돌려준다.
+     */
+    public TableCommand callNode(String nodeId, TableCommand command) {
+        if (tableOwnership.getNodeId().equals(nodeId)) {
+            return handleNode(command);
+        }
+        return request(nodeId, command);
+    }
+
+    /**
+     * 다른 노드와 요청을 주고받을 수 있는지. 단일 노드면 항상 true
+     */
+    public boolean isConnected() {
+        StompSession current = session;
+        return !tableOwnership.isClustered() || (current != null && current.isConnected());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void connect() {
+        if (!tableOwnership.isClustered() || !running) {
+            return;
+        }
+        if (stompClient == null) {
+            MappingJackson2MessageConverter messageConverter = new MappingJackson2MessageConverter();
+            messageConverter.setObjectMapper(objectMapper);
+            stompClient = new ReactorNettyTcpStompClient(relayHost, relayPort);
+            stompClient.setMessageConverter(messageConverter);
+        }
+
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin(systemLogin);
+        connectHeaders.setPasscode(systemPasscode);
+        stompClient.connectAsync(connectHeaders, new NodeSessionHandler()).exceptionally(e -> {
+            log.error("failed to connect table command queue : {}:{}", relayHost, relayPort, e);
+            scheduleReconnect();
+            return null;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+        if (stompClient != null) {
+            stompClient.shutdown();
+        }
+        reconnectExecutor.shutdownNow();
+        commandExecutor.shutdown();
+    }
+
+    private BoardDto handle(TableCommand command) {
+        Function<TableCommand, BoardDto> handler = handlers.get(command.getType());
+        if (handler == null) {
+            throw new IllegalStateException("No table command handler : " + command.getType());
+        }
+        return handler.apply(command);
+    }
+
+    private TableCommand handleNode(TableCommand command) {
+        Function<TableCommand, TableCommand> handler = nodeHandlers.get(command.getType());
+        if (handler == null) {
+            throw new IllegalStateException("No node command handler : " + command.getType());
+        }
+        TableCommand result = handler.apply(command);
+        return result == null ? new TableCommand() : result;
+    }
+
+    private TableCommand request(String nodeId, TableCommand command) {
+        String correlationId = UUID.randomUUID().toString();
+        CompletableFuture<TableCommand> future = new CompletableFuture<>();
+        pendingCalls.put(correlationId, future);
+        command.setCorrelationId(correlationId);
+        command.setReplyTo(tableOwnership.getNodeId());
+        try {
+            send(nodeId, command);
+            TableCommand reply = future.get(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (reply.getErrorCode() != null) {
+                throw new CustomException(ErrorCode.valueOf(reply.getErrorCode()));
+            }
+            return reply;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("table command {} to node {} failed", command.getType(), nodeId, e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        } finally {
+            pendingCalls.remove(correlationId);
+        }
+    }
+
+    /**
+     * 다른 노드에서 온 요청을 실행한다. 테이블 메일박스를 기다릴 수 있으므로 STOMP 클라이언트 스레드가 아닌 commandExecutor 에서 실행한다.
+     */
+    private void receive(TableCommand command) {
+        if (command.getType() == TableCommand.Type.REPLY) {
+            CompletableFuture<TableCommand> future = pendingCalls.get(command.getCorrelationId());
+            if (future != null) {
+                future.complete(command);
+            }
+            return;
+        }
+
+        boolean nodeCommand = nodeHandlers.containsKey(command.getType());
+        if (!nodeCommand && !tableOwnership.isLocal(command.getBoardId())) {
+            log.warn("table command {} for board {} received by non-owner node {}", command.getType(), command.getBoardId(), tableOwnership.getNodeId());
+        }
+
+        TableCommand reply;
+        try {
+            reply = nodeCommand ? handleNode(command) : TableCommand.builder().result(handle(command)).build();
+        } catch (CustomException e) {
+            reply = TableCommand.builder().errorCode(e.getErrorCode().name()).build();
+        } catch (RuntimeException e) {
+            log.error("table command {} for board {} failed", command.getType(), command.getBoardId(), e);
+            reply = TableCommand.builder().errorCode(ErrorCode.INTERNAL_SERVER_ERROR.name()).build();
+        }
+        reply.setType(TableCommand.Type.REPLY);
+        reply.setCorrelationId(command.getCorrelationId());
+
+        if (command.getCorrelationId() != null && command.getReplyTo() != null) {
+            send(command.getReplyTo(), reply);
+        }
+    }
+
+    private void send(String nodeId, TableCommand command) {
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            log.error("table command queue is not connected. drop {} for board {}", command.getType(), command.getBoardId());
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+        current.send(NODE_QUEUE_PREFIX + nodeId, command);
+    }
+
+    private void scheduleReconnect() {
+        session = null;
+        if (running) {
+            reconnectExecutor.schedule(this::connect, RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private class NodeSessionHandler extends StompSessionHandlerAdapter {
+
+        @Override
+        public void afterConnected(StompSession connected, StompHeaders connectedHeaders) {
+            session = connected;
+            connected.subscribe(NODE_QUEUE_PREFIX + tableOwnership.getNodeId(), this);
+            log.info("table command queue connected : node {}", tableOwnership.getNodeId());
+            for (Runnable listener : connectListeners) {
+                commandExecutor.execute(listener);
+            }
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return TableCommand.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            commandExecutor.execute(() -> receive((TableCommand) payload));
+        }
+
+        @Override
+        public void handleException(StompSession failed, StompCommand command, StompHeaders headers, byte[] payload, Throwable exception) {
+            log.error("table command frame failed", exception);
+        }
+
+        @Override
+        public void handleTransportError(StompSession failed, Throwable exception) {
+            log.error("table command queue disconnected", exception);
+            scheduleReconnect();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.pokerv2.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * 테이블을 어느 노드가 진행할지 정한다. (테이블-노드 affinity)
+ * <p>
+ * cluster.nodes 에 모든 노드 id 를 적고, 각 노드는 cluster.node-id 로 자기 id 를 적는다.
+ * 테이블 주인은 rendezvous hashing 으로 정한다. (boardId, nodeId) 해시 값이 가장 큰 노드가 주인이다.
+ * 모든 노드가 같은 목록을 가지고 있으면 통신 없이 같은 답이 나오고, 노드가 하나 빠지면 그 노드의 테이블만 다른 노드로 옮겨진다.
+ * <p>
+ * cluster.nodes 가 비어 있으면 단일 노드로 보고 모든 테이블을 직접 진행한다.
+ * <p>
+ * 핸드 기록(HandHistoryLog)은 id 가 가장 작은 노드(history node) 한 곳에만 쌓는다. 목록 순서가 노드마다 달라도 같은 노드가 나온다.
+ */
+@Component
+public class TableOwnership {
+
+    private final String nodeId;
+    private final List<String> nodes;
+
+    public TableOwnership(@Value("${cluster.node-id:}") String nodeId, @Value("${cluster.nodes:}") String nodes) {
+        this.nodes = Arrays.stream(nodes.split(",")).map(String::trim).filter(node -> !node.isEmpty()).toList();
+        if (!nodeId.isBlank()) {
+            this.nodeId = nodeId.trim();
+        } else {
+            this.nodeId = this.nodes.isEmpty() ? "local" : UUID.randomUUID().toString();
+        }
+        if (!this.nodes.isEmpty() && !this.nodes.contains(this.nodeId)) {
+            throw new IllegalStateException("cluster.node-id is not in cluster.nodes : " + this.nodeId);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isClustered() {
+        return nodes.size() > 1;
+    }
+
+    public boolean isLocal(Long boardId) {
+        return !isClustered() || nodeId.equals(getOwner(boardId));
+    }
+
+    /**
+     * 핸드 기록을 쌓고 읽는 노드. 단일 노드면 자기 자신이다.
+     */
+    public String getHistoryNode() {
+        return isClustered() ? Collections.min(nodes) : nodeId;
+    }
+
+    public boolean isHistoryNode() {
+        return nodeId.equals(getHistoryNode());
+    }
+
+    public String getOwner(Long boardId) {
+        if (nodes.isEmpty()) {
+            return nodeId;
+        }
+
+        String owner = null;
+        long maxWeight = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long weight = weight(boardId, node);
+            if (owner == null || weight > maxWeight) {
+                owner = node;
+                maxWeight = weight;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * String.hashCode 는 JVM 이 달라도 같으므로 노드끼리 같은 값이 나온다.
+     */
+    private static long weight(Long boardId, String node) {
+        long hash = boardId * 0x9E3779B97F4A7C15L ^ node.hashCode();
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
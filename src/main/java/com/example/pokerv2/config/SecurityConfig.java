@@ -4,6 +4,7 @@ import com.example.pokerv2.model.User;
 import com.example.pokerv2.repository.UserRepository;
 import com.example.pokerv2.service.AuthFailureHandler;
 import com.example.pokerv2.service.UserAuthenticationService;
+import com.example.pokerv2.stomp.SessionTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,7 +26,9 @@ public class SecurityConfig  {
     private final UserAuthenticationService userAuthenticationService;
     private final UserRepository userRepository;
     private final AuthFailureHandler authFailureHandler;
+    private final SessionTokenService sessionTokenService;
     private final static String SUBSCRIBE_HEADER = "SUBSCRIBE-ID";
+    private final static String SESSION_TOKEN_HEADER = "SESSION-TOKEN";
     @Bean
     public BCryptPasswordEncoder encodePwd() {
         return new BCryptPasswordEncoder();
@@ -49,6 +52,8 @@ public class SecurityConfig  {
                                     if(user.isPresent()) {
                                         httpServletResponse.setHeader(SUBSCRIBE_HEADER, user.get().getId().toString());
                                     }
+                                    // STOMP CONNECT 의 token 헤더로 보내면 재연결 때 비밀번호 확인을 하지 않는다.
+                                    httpServletResponse.setHeader(SESSION_TOKEN_HEADER, sessionTokenService.issue(authentication.getName(), authentication.getAuthorities()));
                                 }).failureHandler(authFailureHandler)
                 )
                 .userDetailsService(userAuthenticationService);
@@ -67,7 +72,7 @@ public class SecurityConfig  {
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("HEAD","POST","GET","DELETE","PUT"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList(SUBSCRIBE_HEADER));
+        configuration.setExposedHeaders(Arrays.asList(SUBSCRIBE_HEADER, SESSION_TOKEN_HEADER));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,15 +1,24 @@
 package com.example.pokerv2.config;
 
 
+import com.example.pokerv2.stomp.CompactMessageConverter;
+import com.example.pokerv2.stomp.SlowConsumerMonitor;
 import com.example.pokerv2.stomp.StompErrorHandler;
 import com.example.pokerv2.stomp.StompHandler;
+import com.example.pokerv2.stomp.WireFormatInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -18,10 +27,68 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final StompHandler stompHandler;
     private final StompErrorHandler stompErrorHandler;
+    private final WireFormatInterceptor wireFormatInterceptor;
+    private final SlowConsumerMonitor slowConsumerMonitor;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+    @Value("${websocket.broker.relay-host:localhost}")
+    private String relayHost;
+    @Value("${websocket.broker.relay-port:61613}")
+    private int relayPort;
+    @Value("${websocket.broker.client-login:guest}")
+    private String clientLogin;
+    @Value("${websocket.broker.client-passcode:guest}")
+    private String clientPasscode;
+    @Value("${websocket.broker.system-login:guest}")
+    private String systemLogin;
+    @Value("${websocket.broker.system-passcode:guest}")
+    private String systemPasscode;
+
+    @Value("${websocket.inbound.core-pool-size:0}")
+    private int inboundCorePoolSize;
+    @Value("${websocket.inbound.max-pool-size:0}")
+    private int inboundMaxPoolSize;
+    @Value("${websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+    @Value("${websocket.outbound.core-pool-size:0}")
+    private int outboundCorePoolSize;
+    @Value("${websocket.outbound.max-pool-size:0}")
+    private int outboundMaxPoolSize;
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+    @Value("${websocket.virtual-threads:false}")
+    private boolean virtualThreads;
+    @Value("${websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimit;
+    @Value("${websocket.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+    @Value("${websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    /**
+     * simple : 노드 안의 메모리 브로커. 노드가 하나일 때 사용한다.
+     * relay : 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등)로 /topic, /queue 를 넘긴다. 여러 노드가 같은 테이블 구독자에게 보낼 수 있다.
+     * /user 목적지는 user registry 를 브로커로 공유해서 다른 노드에 붙은 사용자에게도 전달된다.
+     */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/pub");
-        registry.enableSimpleBroker("/topic", "/queue");
+        // 변경분은 순서대로 적용해야 하므로 세션마다 보낸 순서를 지킨다.
+        registry.setPreservePublishOrder(true);
+        if ("relay".equals(brokerMode)) {
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(clientLogin)
+                    .setClientPasscode(clientPasscode)
+                    .setSystemLogin(systemLogin)
+                    .setSystemPasscode(systemPasscode)
+                    .setUserDestinationBroadcast("/topic/unresolved-user")
+                    .setUserRegistryBroadcast("/topic/user-registry");
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
     }
 
     @Override
@@ -30,9 +97,53 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setErrorHandler(stompErrorHandler);
     }
 
+    /**
+     * 쓰기가 send-time-limit 을 넘거나 세션 버퍼가 send-buffer-size-limit 을 넘으면 세션을 끊는다.
+     * 그 전에 SlowConsumerMonitor 가 느린 세션의 보드 변경분을 버려서 버퍼가 쌓이지 않게 한다.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(slowConsumerMonitor::decorate);
+    }
+
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompHandler);
+        registration.taskExecutor(channelExecutor("ws-inbound-", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(slowConsumerMonitor, wireFormatInterceptor);
+        registration.taskExecutor(channelExecutor("ws-outbound-", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity));
+    }
 
+    /**
+     * pool size 가 0 이면 코어 수 * 2 이다.
+     * websocket.virtual-threads 는 JDK 21 이상에서만 사용할 수 있고, 블로킹되는 쓰기가 많을 때 사용한다.
+     */
+    private ThreadPoolTaskExecutor channelExecutor(String threadNamePrefix, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        int defaultPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        int core = corePoolSize > 0 ? corePoolSize : defaultPoolSize;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(Math.max(core, maxPoolSize > 0 ? maxPoolSize : defaultPoolSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setVirtualThreads(virtualThreads);
+        return executor;
+    }
+
+    /**
+     * 기본 컨버터(JSON 등)는 그대로 두고, content-type 이 compact 인 메시지만 CompactMessageConverter 가 처리한다.
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(new CompactMessageConverter());
+        return true;
     }
-}
\ No newline at end of file
+}
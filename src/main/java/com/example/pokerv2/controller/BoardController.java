@@ -43,6 +43,22 @@ public class BoardController {
         gameHandleService.action(boardDto, option, principal.getName());
     }
 
+    /**
+     * 전체 상태를 /user/queue/board/{boardId} 로 한 번 보낸다. 이후 변경분은 /topic/board/{boardId} 로 받는다.
+     */
+    @MessageMapping("/board/snapshot/{boardId}")
+    public void snapshot(@DestinationVariable Long boardId, Principal principal) {
+        gameHandleService.requestSnapshot(boardId, principal.getName());
+    }
+
+    /**
+     * 재연결한 뒤 마지막으로 받은 version 을 보내면 그 뒤의 변경분(RESUME)이나 전체 상태를 /user/queue/board/{boardId} 로 한 번 보낸다.
+     */
+    @MessageMapping("/board/resume/{boardId}/{version}")
+    public void resume(@DestinationVariable Long boardId, @DestinationVariable long version, Principal principal) {
+        gameHandleService.requestResume(boardId, principal.getName(), version);
+    }
+
     @GetMapping("/{boardId}")
     public BoardDto get(@PathVariable Long boardId, Principal principal) {
         return boardService.get(boardId, principal);
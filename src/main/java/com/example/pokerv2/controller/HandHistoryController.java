@@ -1,14 +1,14 @@
 package com.example.pokerv2.controller;
 
-import com.example.pokerv2.dto.HandHistoryDto;
+import com.example.pokerv2.dto.HandHistoryPageDto;
 import com.example.pokerv2.service.HandHistoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.security.Principal;
-import java.util.List;
 
 @RequestMapping("/api/handHistory")
 @RestController
@@ -17,9 +17,12 @@ public class HandHistoryController {
 
     private final HandHistoryService handHistoryService;
 
+    /**
+     * 최근 핸드부터 size 개. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다.
+     */
     @GetMapping
-    public List<HandHistoryDto> get(Principal principal) {
-        System.out.println("handhistory");
-        return handHistoryService.get(principal.getName());
+    public HandHistoryPageDto get(@RequestParam(required = false) Long cursor, @RequestParam(defaultValue = "20") int size,
+                                  Principal principal) {
+        return handHistoryService.get(principal.getName(), cursor, size);
     }
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.example.pokerv2.controller;
 
 import com.example.pokerv2.dto.HudDto;
+import com.example.pokerv2.dto.PreflopEquityDto;
+import com.example.pokerv2.enums.Position;
 import com.example.pokerv2.service.HudService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.security.Principal;
+import java.time.LocalDate;
 
 @RestController
 @RequiredArgsConstructor
@@ -17,11 +22,35 @@ public class HudController {
 
     private final HudService hudService;
 
+    @GetMapping("/preflop-equity")
+    public PreflopEquityDto getPreflopEquity(@RequestParam String hand, @RequestParam(defaultValue = "2") int players) {
+        return hudService.getPreflopEquity(hand, players);
+    }
+
     @GetMapping("/{userId}")
     public HudDto get(@PathVariable Long userId) {
         return hudService.get(userId);
     }
 
+    /**
+     * from ~ to (yyyy-MM-dd, 둘 다 포함) 의 HUD. position, blind 로 나눠 볼 수 있다.
+     */
+    @GetMapping("/{userId}/rollup")
+    public HudDto getRollup(@PathVariable Long userId,
+                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                            @RequestParam(required = false) Position position,
+                            @RequestParam(required = false) Integer blind) {
+        return hudService.getRollup(userId, from, to, position, blind);
+    }
+
+    @GetMapping("/{userId}/recent")
+    public HudDto getRecent(@PathVariable Long userId, @RequestParam(defaultValue = "1000") int hands,
+                            @RequestParam(required = false) Position position,
+                            @RequestParam(required = false) Integer blind) {
+        return hudService.getRecent(userId, hands, position, blind);
+    }
+
     @GetMapping
     public HudDto get(Principal principal) {
         return hudService.get(principal.getName());
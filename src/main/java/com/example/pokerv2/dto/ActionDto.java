@@ -2,6 +2,7 @@ package com.example.pokerv2.dto;
 
 import com.example.pokerv2.enums.PhaseStatus;
 import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.history.HandRecord;
 import com.example.pokerv2.model.Action;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -30,4 +31,12 @@ public class ActionDto {
         this.phaseStatus = action.getPhaseStatus().ordinal();
         this.detail = action.getDetail();
     }
+
+    public ActionDto(HandRecord.ActionEntry action) {
+        this.actionNo = action.getActionNo();
+        this.userId = action.getUserId();
+        this.actPosition = action.getPosition();
+        this.phaseStatus = action.getPhaseStatus().ordinal();
+        this.detail = action.getDetail();
+    }
 }
\ No newline at end of file
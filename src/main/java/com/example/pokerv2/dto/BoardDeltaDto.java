@@ -0,0 +1,49 @@
+package com.example.pokerv2.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * BoardDeltaDto
+ *
+ * /topic/board/{id} 로 보내는 변경분. baseVersion 상태에서 바뀐 값만 채우고 나머지는 null 로 두어 JSON 에서 빠진다.
+ *
+ * 1. 클라이언트가 가진 version 이 baseVersion 과 같을 때만 적용하고 version 으로 올린다.
+ * 2. 다르면 중간 메시지를 놓친 것이므로 /pub/board/snapshot/{id} 로 요청해서 /user/queue/board/{id} 로 스냅샷(BoardDto)을 다시 받는다.
+ * 3. players 에는 바뀐 플레이어만 들어가고, 나간 플레이어는 leftPlayers 에 id 만 들어간다.
+ * 4. totalCallSize 는 바뀌면 리스트 전체를 보낸다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardDeltaDto {
+
+    private Long id;
+    private long baseVersion;
+    private long version;
+    private Integer totalPlayer;
+    private Integer btn;
+    private Integer pot;
+    private Integer bettingPos;
+    private Integer actionPos;
+    private Integer phaseStatus;
+    private Integer bettingSize;
+    private Integer communityCard1;
+    private Integer communityCard2;
+    private Integer communityCard3;
+    private Integer communityCard4;
+    private Integer communityCard5;
+    private Long gameSeq;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss", timezone = "Asia/Seoul")
+    private LocalDateTime lastActionTime;
+    private List<Integer> totalCallSize;
+    private List<PlayerDeltaDto> players;
+    private List<Long> leftPlayers;
+}
@@ -31,6 +31,7 @@ public class BoardDto {
     private int communityCard4;
     private int communityCard5;
     private long gameSeq;
+    private long version;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss", timezone = "Asia/Seoul")
     private LocalDateTime lastActionTime;
     private List<Integer> totalCallSize;
@@ -61,4 +62,30 @@ public class BoardDto {
         this.lastActionTime = board.getLastActionTime();
         this.players = pDtoList;
     }
+
+    public BoardDto(BoardDto boardDto) {
+        this.id = boardDto.getId();
+        this.totalPlayer = boardDto.getTotalPlayer();
+        this.blind = boardDto.getBlind();
+        this.btn = boardDto.getBtn();
+        this.pot = boardDto.getPot();
+        this.bettingPos = boardDto.getBettingPos();
+        this.actionPos = boardDto.getActionPos();
+        this.phaseStatus = boardDto.getPhaseStatus();
+        this.bettingSize = boardDto.getBettingSize();
+        this.communityCard1 = boardDto.getCommunityCard1();
+        this.communityCard2 = boardDto.getCommunityCard2();
+        this.communityCard3 = boardDto.getCommunityCard3();
+        this.communityCard4 = boardDto.getCommunityCard4();
+        this.communityCard5 = boardDto.getCommunityCard5();
+        this.gameSeq = boardDto.getGameSeq();
+        this.version = boardDto.getVersion();
+        this.lastActionTime = boardDto.getLastActionTime();
+        this.totalCallSize = boardDto.getTotalCallSize();
+        List<PlayerDto> pDtoList = new ArrayList<>();
+        for (PlayerDto playerDto : boardDto.getPlayers()) {
+            pDtoList.add(new PlayerDto(playerDto));
+        }
+        this.players = pDtoList;
+    }
 }
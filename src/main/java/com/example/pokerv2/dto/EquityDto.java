@@ -0,0 +1,32 @@
+package com.example.pokerv2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquityDto {
+
+    /**
+     * EquityDto
+     *
+     * 올인 상황에서 남은 플레이어들의 승률.
+     *
+     * exhaustive : 남은 커뮤니티 카드의 모든 경우를 계산했는지 (false 면 몬테카를로 샘플링 결과)
+     * precomputed : 프리플랍 승률 테이블에서 읽은 값인지
+     * iterations : 계산에 사용한 경우의 수
+     */
+
+    private Long boardId;
+    private long gameSeq;
+    private int phaseStatus;
+    private boolean exhaustive;
+    private boolean precomputed;
+    private long iterations;
+    private List<PlayerEquityDto> players;
+
+}
@@ -1,8 +1,10 @@
 package com.example.pokerv2.dto;
 
 import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.history.HandRecord;
 import com.example.pokerv2.model.Action;
 import com.example.pokerv2.model.HandHistory;
+import com.example.pokerv2.model.User;
 import com.example.pokerv2.model.UserHandHistory;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +12,7 @@ import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -56,4 +59,35 @@ public class HandHistoryDto {
         cardList = handHistory.getCardList();
     }
 
+    /**
+     * @param id HandHistoryLog 주소
+     * @param users 좌석 유저 id -> User. 없는 유저는 userList 에서 빠진다.
+     */
+    public HandHistoryDto(Long id, HandRecord handRecord, Map<Long, User> users) {
+        this.id = id;
+        this.actionList = new ArrayList<>();
+        for (HandRecord.ActionEntry action : handRecord.getActions()) {
+            actionList.add(new ActionDto(action));
+        }
+        this.btnPosition = handRecord.getBtnPosition();
+        this.potAmountPf = handRecord.getPotAmountPf();
+        this.potAmountFlop = handRecord.getPotAmountFlop();
+        this.potAmountTurn = handRecord.getPotAmountTurn();
+        this.potAmountRiver = handRecord.getPotAmountRiver();
+        this.communityCard1 = handRecord.getCommunityCard1();
+        this.communityCard2 = handRecord.getCommunityCard2();
+        this.communityCard3 = handRecord.getCommunityCard3();
+        this.communityCard4 = handRecord.getCommunityCard4();
+        this.communityCard5 = handRecord.getCommunityCard5();
+        for (HandRecord.Seat seat : handRecord.getSeats()) {
+            User user = users.get(seat.getUserId());
+            if (user != null) {
+                userList.add(new UserDto(user));
+            }
+            posList.add(seat.getPosition());
+            cardList.add(seat.getCard1());
+            cardList.add(seat.getCard2());
+        }
+    }
+
 }
\ No newline at end of file
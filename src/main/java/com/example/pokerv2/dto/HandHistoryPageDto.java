@@ -0,0 +1,22 @@
+package com.example.pokerv2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 핸드 기록 한 페이지. 최근 핸드부터 담긴다.
+ * nextCursor 를 다음 요청의 cursor 로 넘기면 이어서 받는다. 더 없으면 null 이다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HandHistoryPageDto {
+
+    private List<HandHistoryDto> handHistoryList = new ArrayList<>();
+    private Long nextCursor;
+    private int totalHands;
+}
@@ -0,0 +1,23 @@
+package com.example.pokerv2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * HoleCardDto
+ *
+ * 핸드를 나눠줄 때 본인에게만 /user/queue/cards/{boardId} 로 보내는 핸드.
+ * /topic/board/{id} 로 가는 보드 상태에서는 다른 사람의 핸드가 가려져 있다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoleCardDto {
+
+    private Long boardId;
+    private long gameSeq;
+    private Long playerId;
+    private int card1;
+    private int card2;
+}
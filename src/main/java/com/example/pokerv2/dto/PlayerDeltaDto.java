@@ -0,0 +1,33 @@
+package com.example.pokerv2.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * BoardDeltaDto 안에서 플레이어 한 명의 변경분. id 는 항상 들어가고 나머지는 바뀐 값만 들어간다.
+ * 새로 들어온 플레이어는 모든 값이 들어간다.
+ * gameResult 는 결과가 나왔을 때만 들어가고, 클라이언트는 INIT_BOARD, GAME_START 에서 결과를 지운다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlayerDeltaDto {
+
+    private Long id;
+    private Long userId;
+    private String playerName;
+    private Integer position;
+    private Integer money;
+    private Integer card1;
+    private Integer card2;
+    private Integer status;
+    private Integer phaseCallSize;
+    private GameResultDto gameResult;
+
+    public PlayerDeltaDto(Long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.pokerv2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerEquityDto {
+
+    /**
+     * PlayerEquityDto
+     *
+     * win : 혼자 이기는 확률
+     * tie : 다른 플레이어와 비기는 확률
+     * equity : 팟에서 가져갈 기대 비율 (win + 비긴 경우 나눠 가지는 몫)
+     */
+
+    private Long userId;
+    private int position;
+    private int card1;
+    private int card2;
+    private double win;
+    private double tie;
+    private double equity;
+
+}
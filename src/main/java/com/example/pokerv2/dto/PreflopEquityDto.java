@@ -0,0 +1,24 @@
+package com.example.pokerv2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreflopEquityDto {
+
+    /**
+     * PreflopEquityDto
+     *
+     * 핸드 종류(AKs 등)가 playerCount 명 중 나머지가 아무 핸드일 때 가지는 equity.
+     * precomputed : 프리플랍 승률 테이블에서 읽은 값인지 (false 면 요청 시 샘플링한 값)
+     */
+
+    private String handClass;
+    private int playerCount;
+    private double equity;
+    private boolean precomputed;
+
+}
@@ -18,6 +18,11 @@ public enum MessageType {
     SHOW_DOWN("SHOW_DOWN"),
     PLAYER_EXIT("PLAYER_EXIT"),
     INIT_BOARD("INIT_BOARD"),
+    EQUITY("EQUITY"),
+    HOLE_CARD("HOLE_CARD"),
+    SNAPSHOT("SNAPSHOT"),
+    RESUME("RESUME"),
+    HUD("HUD"),
 
     ;
 
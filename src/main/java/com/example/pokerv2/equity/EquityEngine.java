@@ -0,0 +1,81 @@
+package com.example.pokerv2.equity;
+
+import com.example.pokerv2.utils.CardMaskUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+
+/**
+ * 레인지 대 레인지(2 ~ 6명) 승률을 ForkJoinPool 에서 병렬로 계산한다.
+ * <p>
+ * submit 은 바로 EquityJob 을 돌려주므로 호출한 스레드(STOMP 등)를 막지 않는다.
+ * 진행률, 중간 결과, 취소는 EquityJob 으로 다룬다.
+ * 핸드 계산은 HandCalculatorUtils.evaluate(long) 을 사용한다.
+ */
+@Slf4j
+@Component
+public class EquityEngine {
+
+    private static final int MIN_PLAYER = 2;
+    private static final int MAX_PLAYER = 6;
+    private static final int COMMUNITY_CARD_SIZE = 5;
+
+    private final ForkJoinPool forkJoinPool;
+    private final int blockSize;
+
+    public EquityEngine(@Value("${equity.parallelism:0}") int parallelism,
+                        @Value("${equity.sample-block-size:1024}") int blockSize) {
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    public int getParallelism() {
+        return forkJoinPool.getParallelism();
+    }
+
+    public EquityJob submit(EquityQuery query) {
+        List<HandRange> ranges = query.getRanges();
+        if (ranges == null || ranges.size() < MIN_PLAYER || ranges.size() > MAX_PLAYER) {
+            throw new IllegalArgumentException("Invalid player count");
+        }
+        if (CardMaskUtils.size(query.getBoard()) > COMMUNITY_CARD_SIZE || (query.getBoard() & ~CardMaskUtils.FULL_DECK) != 0) {
+            throw new IllegalArgumentException("Invalid board");
+        }
+        if (!query.isExhaustive() && query.getSamples() <= 0) {
+            throw new IllegalArgumentException("Invalid sample count");
+        }
+
+        long[][] combos = new long[ranges.size()][];
+        for (int player = 0; player < combos.length; player++) {
+            HandRange range = ranges.get(player);
+            combos[player] = new long[range.size()];
+            for (int i = 0; i < range.size(); i++) {
+                combos[player][i] = range.getCombo(i);
+            }
+        }
+
+        EquityJob job = new EquityJob(combos, query.getBoard(), query.isExhaustive(), query.getSamples(), query.getSeed(), blockSize);
+        ForkJoinTask<Void> task = forkJoinPool.submit(new EquityTask(job, 0, job.getTotalUnits()));
+        job.start(task);
+
+        return job;
+    }
+
+    /**
+     * 계산이 끝날 때까지 기다린다. 오프라인 분석 등 기다려도 되는 곳에서 사용한다.
+     */
+    public EquityResult calculate(EquityQuery query) {
+        return submit(query).join();
+    }
+}
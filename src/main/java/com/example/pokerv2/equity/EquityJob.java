@@ -0,0 +1,240 @@
+package com.example.pokerv2.equity;
+
+import com.example.pokerv2.utils.CardMaskUtils;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ * EquityEngine 에 제출된 계산 하나.
+ * <p>
+ * 전체 계산을 작업 단위(unit)로 나누고, EquityTask 가 unit 범위를 반씩 쪼개 ForkJoinPool 에서 나눠 계산한다.
+ * 1. exhaustive : unit = (핸드 조합 번호, 첫번째로 깔리는 카드). 해당 카드 뒤의 카드들로만 나머지 보드를 채운다.
+ * 2. 샘플링 : unit = blockSize 개의 샘플 묶음. unit 마다 seed 와 unit 번호로 SplittableRandom 을 만들어서
+ * 어느 스레드가 언제 계산하든 같은 샘플을 뽑는다.
+ * <p>
+ * 끝난 unit 의 결과는 바로 합쳐지므로 계산 중에도 진행률과 중간 결과를 꺼낼 수 있다.
+ */
+public class EquityJob {
+
+    private static final int MAX_ASSIGNMENT_ATTEMPTS = 1000;
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int[] CARD_BITS = new int[CardMaskUtils.DECK_SIZE];
+
+    static {
+        for (int card = 0; card < CardMaskUtils.DECK_SIZE; card++) {
+            CARD_BITS[card] = CardMaskUtils.toBitIndex(card);
+        }
+    }
+
+    private final long[][] ranges;
+    private final long board;
+    private final int drawCount;
+    private final boolean exhaustive;
+    private final long samples;
+    private final long seed;
+    private final int blockSize;
+    private final long totalUnits;
+
+    private final long[] wins;
+    private final long[] ties;
+    private final long[] tieShares;
+    private long trials;
+    private long completedUnits;
+
+    private volatile boolean cancelled;
+    private ForkJoinTask<Void> task;
+
+    EquityJob(long[][] ranges, long board, boolean exhaustive, long samples, long seed, int blockSize) {
+        this.ranges = ranges;
+        this.board = board;
+        this.drawCount = 5 - CardMaskUtils.size(board);
+        this.exhaustive = exhaustive;
+        this.samples = samples;
+        this.seed = seed;
+        this.blockSize = blockSize;
+        this.totalUnits = exhaustive ? countExhaustiveUnits() : (samples + blockSize - 1) / blockSize;
+
+        this.wins = new long[ranges.length];
+        this.ties = new long[ranges.length];
+        this.tieShares = new long[ranges.length];
+    }
+
+    void start(ForkJoinTask<Void> task) {
+        this.task = task;
+    }
+
+    public boolean isDone() {
+        return task.isDone();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public synchronized double getProgress() {
+        return totalUnits == 0 ? 1.0 : (double) completedUnits / totalUnits;
+    }
+
+    public synchronized EquityResult getPartialResult() {
+        return new EquityResult(wins.clone(), ties.clone(), tieShares.clone(), trials, completedUnits, totalUnits, exhaustive);
+    }
+
+    /**
+     * 계산이 끝날 때까지 기다린다. cancel 된 경우 그때까지의 결과를 돌려준다.
+     */
+    public EquityResult join() {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (CancellationException | ExecutionException e) {
+            throw new IllegalStateException("Equity calculation failed", e);
+        }
+        return getPartialResult();
+    }
+
+    /**
+     * 최대 timeout 만큼 기다린다. 시간 안에 끝나지 않으면 남은 계산을 멈추고 그때까지의 결과를 돌려준다.
+     */
+    public EquityResult await(long timeout, TimeUnit unit) {
+        try {
+            task.get(timeout, unit);
+        } catch (TimeoutException e) {
+            cancel();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+        } catch (CancellationException | ExecutionException e) {
+            throw new IllegalStateException("Equity calculation failed", e);
+        }
+        return getPartialResult();
+    }
+
+    long getTotalUnits() {
+        return totalUnits;
+    }
+
+    void runUnit(long unit) {
+        EquityTally tally = new EquityTally(ranges.length);
+        long[] holeCards = new long[ranges.length];
+
+        if (exhaustive) {
+            runExhaustiveUnit(unit, tally, holeCards);
+        } else {
+            runSampleUnit(unit, tally, holeCards);
+        }
+
+        accumulate(tally);
+    }
+
+    private void runExhaustiveUnit(long unit, EquityTally tally, long[] holeCards) {
+        long assignment = drawCount == 0 ? unit : unit / CardMaskUtils.DECK_SIZE;
+        long used = board;
+        for (int player = ranges.length - 1; player >= 0; player--) {
+            long combo = ranges[player][(int) (assignment % ranges[player].length)];
+            assignment /= ranges[player].length;
+            if ((used & combo) != 0) {
+                return;
+            }
+            used |= combo;
+            holeCards[player] = combo;
+        }
+
+        if (drawCount == 0) {
+            tally.record(holeCards, board);
+            return;
+        }
+
+        int firstCard = (int) (unit % CardMaskUtils.DECK_SIZE);
+        long firstCardMask = 1L << CARD_BITS[firstCard];
+        if ((used & firstCardMask) != 0) {
+            return;
+        }
+        enumerate(holeCards, board | firstCardMask, used | firstCardMask, firstCard + 1, drawCount - 1, tally);
+    }
+
+    private void enumerate(long[] holeCards, long currentBoard, long used, int from, int remain, EquityTally tally) {
+        if (remain == 0) {
+            tally.record(holeCards, currentBoard);
+            return;
+        }
+
+        for (int card = from; card <= CardMaskUtils.DECK_SIZE - remain; card++) {
+            long cardMask = 1L << CARD_BITS[card];
+            if ((used & cardMask) == 0) {
+                enumerate(holeCards, currentBoard | cardMask, used | cardMask, card + 1, remain - 1, tally);
+            }
+        }
+    }
+
+    private void runSampleUnit(long unit, EquityTally tally, long[] holeCards) {
+        SplittableRandom random = new SplittableRandom(seed + unit * SEED_GAMMA);
+        long count = Math.min(blockSize, samples - unit * blockSize);
+
+        for (long sample = 0; sample < count; sample++) {
+            long used = pickAssignment(random, holeCards);
+            if (used == -1) {
+                continue;
+            }
+
+            long currentBoard = board;
+            for (int i = 0; i < drawCount; i++) {
+                long cardMask;
+                do {
+                    cardMask = 1L << CARD_BITS[random.nextInt(CardMaskUtils.DECK_SIZE)];
+                } while ((used & cardMask) != 0);
+                used |= cardMask;
+                currentBoard |= cardMask;
+            }
+            tally.record(holeCards, currentBoard);
+        }
+    }
+
+    /**
+     * @return 플레이어들의 핸드가 서로 겹치지 않게 뽑았으면 사용된 카드 mask, 실패하면 -1
+     */
+    private long pickAssignment(SplittableRandom random, long[] holeCards) {
+        for (int attempt = 0; attempt < MAX_ASSIGNMENT_ATTEMPTS; attempt++) {
+            long used = board;
+            boolean conflict = false;
+            for (int player = 0; player < ranges.length && !conflict; player++) {
+                long combo = ranges[player][random.nextInt(ranges[player].length)];
+                conflict = (used & combo) != 0;
+                used |= combo;
+                holeCards[player] = combo;
+            }
+            if (!conflict) {
+                return used;
+            }
+        }
+        return -1;
+    }
+
+    private synchronized void accumulate(EquityTally tally) {
+        for (int i = 0; i < wins.length; i++) {
+            wins[i] += tally.wins[i];
+            ties[i] += tally.ties[i];
+            tieShares[i] += tally.tieShares[i];
+        }
+        trials += tally.trials;
+        completedUnits++;
+    }
+
+    private long countExhaustiveUnits() {
+        long assignments = 1;
+        for (long[] range : ranges) {
+            assignments = Math.multiplyExact(assignments, range.length);
+        }
+        return drawCount == 0 ? assignments : Math.multiplyExact(assignments, CardMaskUtils.DECK_SIZE);
+    }
+}
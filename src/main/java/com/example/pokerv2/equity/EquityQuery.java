@@ -0,0 +1,27 @@
+package com.example.pokerv2.equity;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+
+/**
+ * EquityEngine 에 넘기는 계산 요청.
+ *
+ * ranges : 플레이어별 핸드 레인지 (2 ~ 6명)
+ * board : 공개된 커뮤니티 카드 mask (CardMaskUtils 참고)
+ * exhaustive : true 면 모든 핸드 조합과 남은 카드를 계산하고, false 면 samples 만큼 샘플링한다.
+ * seed : 샘플링 seed. 같은 seed 면 스레드 수와 상관없이 같은 결과가 나온다.
+ */
+@Getter
+@Builder
+public class EquityQuery {
+
+    private final List<HandRange> ranges;
+    private final long board;
+    private final boolean exhaustive;
+    private final long samples;
+    private final long seed;
+
+}
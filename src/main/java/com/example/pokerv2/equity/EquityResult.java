@@ -0,0 +1,62 @@
+package com.example.pokerv2.equity;
+
+import lombok.Getter;
+
+
+/**
+ * EquityJob 의 계산 결과. 계산 중에 꺼내면 그때까지 끝난 작업만 반영된 중간 결과다.
+ *
+ * trials : 계산한 (핸드 조합, 남은 카드) 경우의 수
+ * completedUnits / totalUnits : 끝난 작업 단위 수 / 전체 작업 단위 수
+ */
+public class EquityResult {
+
+    private final long[] wins;
+    private final long[] ties;
+    private final long[] tieShares;
+    @Getter
+    private final long trials;
+    @Getter
+    private final long completedUnits;
+    @Getter
+    private final long totalUnits;
+    @Getter
+    private final boolean exhaustive;
+
+    EquityResult(long[] wins, long[] ties, long[] tieShares, long trials, long completedUnits, long totalUnits, boolean exhaustive) {
+        this.wins = wins;
+        this.ties = ties;
+        this.tieShares = tieShares;
+        this.trials = trials;
+        this.completedUnits = completedUnits;
+        this.totalUnits = totalUnits;
+        this.exhaustive = exhaustive;
+    }
+
+    public int getPlayerCount() {
+        return wins.length;
+    }
+
+    public boolean isCompleted() {
+        return completedUnits == totalUnits;
+    }
+
+    public double getProgress() {
+        return totalUnits == 0 ? 1.0 : (double) completedUnits / totalUnits;
+    }
+
+    public double getWin(int player) {
+        return trials == 0 ? 0.0 : (double) wins[player] / trials;
+    }
+
+    public double getTie(int player) {
+        return trials == 0 ? 0.0 : (double) ties[player] / trials;
+    }
+
+    /**
+     * @return win + 비긴 경우 나눠 가지는 몫
+     */
+    public double getEquity(int player) {
+        return trials == 0 ? 0.0 : (wins[player] + (double) tieShares[player] / EquityTally.TIE_SHARE_UNIT) / trials;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.pokerv2.equity;
+
+import com.example.pokerv2.utils.HandCalculatorUtils;
+
+
+/**
+ * 작업 단위 하나에서 플레이어별 승리, 무승부 횟수를 센다.
+ *
+ * 무승부 몫은 double 대신 TIE_SHARE_UNIT(1 ~ 6 의 최소공배수) 배 한 정수로 더해서,
+ * 작업이 끝나는 순서와 상관없이 합계가 항상 같게 한다.
+ */
+class EquityTally {
+
+    static final long TIE_SHARE_UNIT = 60;
+
+    final long[] wins;
+    final long[] ties;
+    final long[] tieShares;
+    final long[] values;
+    long trials;
+
+    EquityTally(int playerCount) {
+        this.wins = new long[playerCount];
+        this.ties = new long[playerCount];
+        this.tieShares = new long[playerCount];
+        this.values = new long[playerCount];
+    }
+
+    void record(long[] holeCards, long board) {
+        long best = -1;
+        int winnerCount = 0;
+        for (int i = 0; i < holeCards.length; i++) {
+            values[i] = HandCalculatorUtils.evaluate(board | holeCards[i]);
+            if (values[i] > best) {
+                best = values[i];
+                winnerCount = 1;
+            } else if (values[i] == best) {
+                winnerCount++;
+            }
+        }
+
+        for (int i = 0; i < holeCards.length; i++) {
+            if (values[i] != best) {
+                continue;
+            }
+            if (winnerCount == 1) {
+                wins[i]++;
+            } else {
+                ties[i]++;
+                tieShares[i] += TIE_SHARE_UNIT / winnerCount;
+            }
+        }
+        trials++;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.pokerv2.equity;
+
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * EquityJob 의 [from, to) 범위 unit 을 계산한다. 범위가 unit 하나가 될 때까지 반씩 나눠 fork 한다.
+ */
+class EquityTask extends RecursiveAction {
+
+    private final EquityJob job;
+    private final long from;
+    private final long to;
+
+    EquityTask(EquityJob job, long from, long to) {
+        this.job = job;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (job.isCancelled() || from >= to) {
+            return;
+        }
+
+        if (to - from == 1) {
+            job.runUnit(from);
+            return;
+        }
+
+        long mid = from + (to - from) / 2;
+        invokeAll(new EquityTask(job, from, mid), new EquityTask(job, mid, to));
+    }
+}
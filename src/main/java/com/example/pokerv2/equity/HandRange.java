@@ -0,0 +1,116 @@
+package com.example.pokerv2.equity;
+
+import com.example.pokerv2.utils.CardMaskUtils;
+import com.example.pokerv2.utils.CardUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+
+/**
+ * 한 플레이어가 가질 수 있는 핸드(2장 mask)의 목록.
+ *
+ * 표기법 (쉼표로 구분)
+ * AA : 포켓 페어 6조합
+ * AKs : 수딧 4조합, AKo : 오프수딧 12조합, AK : 16조합
+ * AsKd : 특정 핸드 1조합
+ * 10 은 T 로 쓴다.
+ * any() 는 가능한 모든 핸드 1326 조합이다.
+ */
+public class HandRange {
+
+    private static final String RANKS = "23456789TJQKA";
+    private static final String SUITS = "sdhc";
+
+    private final long[] combos;
+
+    private HandRange(long[] combos) {
+        this.combos = combos;
+    }
+
+    public static HandRange of(long... combos) {
+        if (combos.length == 0) {
+            throw new IllegalArgumentException("Empty hand range");
+        }
+        for (long combo : combos) {
+            if (CardMaskUtils.size(combo) != 2) {
+                throw new IllegalArgumentException("Invalid hand combo");
+            }
+        }
+        return new HandRange(combos.clone());
+    }
+
+    public static HandRange any() {
+        long[] combos = new long[CardMaskUtils.DECK_SIZE * (CardMaskUtils.DECK_SIZE - 1) / 2];
+        int index = 0;
+        for (int card1 = 0; card1 < CardMaskUtils.DECK_SIZE; card1++) {
+            for (int card2 = card1 + 1; card2 < CardMaskUtils.DECK_SIZE; card2++) {
+                combos[index++] = CardMaskUtils.toMask(card1) | CardMaskUtils.toMask(card2);
+            }
+        }
+        return new HandRange(combos);
+    }
+
+    public static HandRange parse(String notation) {
+        Set<Long> combos = new LinkedHashSet<>();
+        for (String token : notation.split(",")) {
+            addCombos(combos, token.trim());
+        }
+        return of(combos.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    public int size() {
+        return combos.length;
+    }
+
+    public long getCombo(int index) {
+        return combos[index];
+    }
+
+    @Override
+    public String toString() {
+        return "HandRange" + Arrays.toString(combos);
+    }
+
+    private static void addCombos(Set<Long> combos, String token) {
+        if (token.length() == 4) {
+            combos.add(toMask(token.charAt(0), token.charAt(1)) | toMask(token.charAt(2), token.charAt(3)));
+            return;
+        }
+        if (token.length() < 2 || token.length() > 3) {
+            throw new IllegalArgumentException("Invalid hand range: " + token);
+        }
+
+        char rank1 = token.charAt(0);
+        char rank2 = token.charAt(1);
+        char type = token.length() == 3 ? token.charAt(2) : ' ';
+        if (rank1 == rank2 && type != ' ') {
+            throw new IllegalArgumentException("Invalid hand range: " + token);
+        }
+
+        for (int suit1 = 0; suit1 < SUITS.length(); suit1++) {
+            for (int suit2 = 0; suit2 < SUITS.length(); suit2++) {
+                boolean suited = suit1 == suit2;
+                if (rank1 == rank2 && suit1 >= suit2) {
+                    continue;
+                }
+                if ((type == 's' && !suited) || (type == 'o' && suited)) {
+                    continue;
+                }
+                if (type != ' ' && type != 's' && type != 'o') {
+                    throw new IllegalArgumentException("Invalid hand range: " + token);
+                }
+                combos.add(toMask(rank1, SUITS.charAt(suit1)) | toMask(rank2, SUITS.charAt(suit2)));
+            }
+        }
+    }
+
+    private static long toMask(char rank, char suit) {
+        if (RANKS.indexOf(rank) < 0) {
+            throw new IllegalArgumentException("Invalid cardRank: " + rank);
+        }
+        String cardRank = rank == 'T' ? "10" : String.valueOf(rank);
+        return CardMaskUtils.toMask(CardUtils.getCardValue(cardRank, String.valueOf(suit)));
+    }
+}
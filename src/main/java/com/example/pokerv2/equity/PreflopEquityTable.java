@@ -0,0 +1,156 @@
+package com.example.pokerv2.equity;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * PreflopEquityTableGenerator 가 만든 프리플랍 승률 테이블 파일을 MappedByteBuffer 로 읽는다.
+ * <p>
+ * 파일 구조 (big endian)
+ * 1. header : magic, version, 핸드 종류 수(169), 최소 인원(2), 최대 인원(6), 샘플 수 2개, seed
+ * 2. vsRandom : float[169][5]. 핸드 종류별로 2 ~ 6명일 때 나머지가 아무 핸드인 경우의 equity
+ * 3. headsUp : float[169][169][2]. 1:1 에서 핸드 종류 끼리의 (win, tie)
+ * <p>
+ * 조회는 offset 계산 후 버퍼에서 바로 읽으므로 O(1) 이고 힙을 사용하지 않는다.
+ * equity.preflop-table 경로에 파일이 없으면 테이블 없이 동작하고, EquityService 가 직접 계산한다.
+ */
+@Slf4j
+@Component
+public class PreflopEquityTable {
+
+    static final int MAGIC = 0x50455154;
+    static final int VERSION = 1;
+    static final int MIN_PLAYER = 2;
+    static final int MAX_PLAYER = 6;
+    static final int HEADER_SIZE = 4 * 5 + 8 * 3;
+    static final int VS_RANDOM_OFFSET = HEADER_SIZE;
+    static final int HEADS_UP_OFFSET = VS_RANDOM_OFFSET + PreflopHandClass.HAND_CLASS_COUNT * (MAX_PLAYER - MIN_PLAYER + 1) * 4;
+    static final int FILE_SIZE = HEADS_UP_OFFSET + PreflopHandClass.HAND_CLASS_COUNT * PreflopHandClass.HAND_CLASS_COUNT * 2 * 4;
+
+    private final String tablePath;
+    private MappedByteBuffer buffer;
+
+    public PreflopEquityTable(@Value("${equity.preflop-table:}") String tablePath) {
+        this.tablePath = tablePath;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (tablePath == null || tablePath.isBlank()) {
+            log.info("preflop equity table is not configured");
+            return;
+        }
+
+        Path path = Paths.get(tablePath);
+        if (!Files.exists(path)) {
+            log.warn("preflop equity table not found : {}", path);
+            return;
+        }
+
+        try {
+            load(path);
+            log.info("preflop equity table loaded : {}", path);
+        } catch (IOException | IllegalStateException e) {
+            log.error("failed to load preflop equity table : {}", path, e);
+        }
+    }
+
+    void load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != FILE_SIZE) {
+                throw new IllegalStateException("Invalid preflop equity table size");
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_SIZE);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+                    || mapped.getInt(8) != PreflopHandClass.HAND_CLASS_COUNT
+                    || mapped.getInt(12) != MIN_PLAYER || mapped.getInt(16) != MAX_PLAYER) {
+                throw new IllegalStateException("Invalid preflop equity table header");
+            }
+            this.buffer = mapped;
+        }
+    }
+
+    public boolean isLoaded() {
+        return buffer != null;
+    }
+
+    /**
+     * @param handClass   PreflopHandClass 번호
+     * @param playerCount 전체 인원 (2 ~ 6)
+     * @return 나머지 플레이어가 아무 핸드일 때의 equity
+     */
+    public double getEquityVsRandom(int handClass, int playerCount) {
+        checkLoaded();
+        if (playerCount < MIN_PLAYER || playerCount > MAX_PLAYER) {
+            throw new IllegalArgumentException("Invalid player count");
+        }
+        return buffer.getFloat(VS_RANDOM_OFFSET + (handClass * (MAX_PLAYER - MIN_PLAYER + 1) + playerCount - MIN_PLAYER) * 4);
+    }
+
+    public double getHeadsUpWin(int handClass, int opponentHandClass) {
+        checkLoaded();
+        return buffer.getFloat(headsUpOffset(handClass, opponentHandClass));
+    }
+
+    public double getHeadsUpTie(int handClass, int opponentHandClass) {
+        checkLoaded();
+        return buffer.getFloat(headsUpOffset(handClass, opponentHandClass) + 4);
+    }
+
+    private static int headsUpOffset(int handClass, int opponentHandClass) {
+        return HEADS_UP_OFFSET + (handClass * PreflopHandClass.HAND_CLASS_COUNT + opponentHandClass) * 2 * 4;
+    }
+
+    private void checkLoaded() {
+        if (buffer == null) {
+            throw new IllegalStateException("Preflop equity table is not loaded");
+        }
+    }
+
+    /**
+     * 테이블 파일을 쓴다. PreflopEquityTableGenerator 에서 사용한다.
+     *
+     * @param vsRandom [handClass][playerCount - 2]
+     * @param headsUp  [handClass][opponentHandClass][win, tie]
+     */
+    static void write(Path path, float[][] vsRandom, float[][][] headsUp, long vsRandomSamples, long headsUpSamples, long seed) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(PreflopHandClass.HAND_CLASS_COUNT);
+            out.writeInt(MIN_PLAYER);
+            out.writeInt(MAX_PLAYER);
+            out.writeLong(vsRandomSamples);
+            out.writeLong(headsUpSamples);
+            out.writeLong(seed);
+
+            for (float[] equities : vsRandom) {
+                for (float equity : equities) {
+                    out.writeFloat(equity);
+                }
+            }
+            for (float[][] opponents : headsUp) {
+                for (float[] winTie : opponents) {
+                    out.writeFloat(winTie[0]);
+                    out.writeFloat(winTie[1]);
+                }
+            }
+        }
+    }
+}
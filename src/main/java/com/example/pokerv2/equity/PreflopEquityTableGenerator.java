@@ -0,0 +1,83 @@
+package com.example.pokerv2.equity;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * 프리플랍 승률 테이블 파일을 만든다. (./gradlew generatePreflopEquityTable)
+ * <p>
+ * args : [출력 경로] [vsRandom 샘플 수] [headsUp 샘플 수] [seed]
+ * 같은 인자면 항상 같은 파일이 만들어진다. 만든 파일 경로를 equity.preflop-table 에 설정한다.
+ */
+@Slf4j
+public class PreflopEquityTableGenerator {
+
+    private static final String DEFAULT_OUTPUT = "preflop-equity.bin";
+    private static final long DEFAULT_VS_RANDOM_SAMPLES = 100000;
+    private static final long DEFAULT_HEADS_UP_SAMPLES = 20000;
+    private static final long DEFAULT_SEED = 20240115L;
+
+    private PreflopEquityTableGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : DEFAULT_OUTPUT);
+        long vsRandomSamples = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_VS_RANDOM_SAMPLES;
+        long headsUpSamples = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_HEADS_UP_SAMPLES;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+
+        EquityEngine equityEngine = new EquityEngine(0, 1024);
+        try {
+            generate(equityEngine, output, vsRandomSamples, headsUpSamples, seed);
+        } finally {
+            equityEngine.shutdown();
+        }
+    }
+
+    static void generate(EquityEngine equityEngine, Path output, long vsRandomSamples, long headsUpSamples, long seed) throws IOException {
+        int handClassCount = PreflopHandClass.HAND_CLASS_COUNT;
+        int playerCounts = PreflopEquityTable.MAX_PLAYER - PreflopEquityTable.MIN_PLAYER + 1;
+        float[][] vsRandom = new float[handClassCount][playerCounts];
+        float[][][] headsUp = new float[handClassCount][handClassCount][2];
+        HandRange anyHand = HandRange.any();
+
+        for (int handClass = 0; handClass < handClassCount; handClass++) {
+            HandRange handRange = PreflopHandClass.toHandRange(handClass);
+            for (int playerCount = PreflopEquityTable.MIN_PLAYER; playerCount <= PreflopEquityTable.MAX_PLAYER; playerCount++) {
+                List<HandRange> ranges = new ArrayList<>(playerCount);
+                ranges.add(handRange);
+                for (int i = 1; i < playerCount; i++) {
+                    ranges.add(anyHand);
+                }
+
+                EquityResult result = equityEngine.calculate(EquityQuery.builder().ranges(ranges)
+                        .samples(vsRandomSamples).seed(seed + handClass * 8L + playerCount).build());
+                vsRandom[handClass][playerCount - PreflopEquityTable.MIN_PLAYER] = (float) result.getEquity(0);
+            }
+            log.info("vsRandom {} / {} ({})", handClass + 1, handClassCount, PreflopHandClass.getName(handClass));
+        }
+
+        for (int handClass = 0; handClass < handClassCount; handClass++) {
+            for (int opponentHandClass = handClass; opponentHandClass < handClassCount; opponentHandClass++) {
+                EquityResult result = equityEngine.calculate(EquityQuery.builder()
+                        .ranges(List.of(PreflopHandClass.toHandRange(handClass), PreflopHandClass.toHandRange(opponentHandClass)))
+                        .samples(headsUpSamples).seed(seed + (long) handClass * handClassCount + opponentHandClass).build());
+
+                headsUp[handClass][opponentHandClass][0] = (float) result.getWin(0);
+                headsUp[handClass][opponentHandClass][1] = (float) result.getTie(0);
+                headsUp[opponentHandClass][handClass][0] = (float) result.getWin(1);
+                headsUp[opponentHandClass][handClass][1] = (float) result.getTie(1);
+            }
+            log.info("headsUp {} / {} ({})", handClass + 1, handClassCount, PreflopHandClass.getName(handClass));
+        }
+
+        PreflopEquityTable.write(output, vsRandom, headsUp, vsRandomSamples, headsUpSamples, seed);
+        log.info("preflop equity table written : {}", output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.pokerv2.equity;
+
+
+/**
+ * 프리플랍 핸드 169 종류의 번호.
+ *
+ * 13 x 13 격자에서 높은 rank 를 hi, 낮은 rank 를 lo 라고 하면
+ * 포켓 페어 : hi * 13 + hi
+ * 수딧 : hi * 13 + lo
+ * 오프수딧 : lo * 13 + hi
+ */
+public final class PreflopHandClass {
+
+    public static final int HAND_CLASS_COUNT = 169;
+
+    private static final int RANK_SIZE = 13;
+    private static final String RANKS = "23456789TJQKA";
+
+    private PreflopHandClass() {
+    }
+
+    /**
+     * @param card1 카드 int 값 (CardUtils 참고)
+     * @param card2 카드 int 값
+     * @return 핸드 종류 번호 (0 ~ 168)
+     */
+    public static int of(int card1, int card2) {
+        int rank1 = card1 % RANK_SIZE;
+        int rank2 = card2 % RANK_SIZE;
+        int hi = Math.max(rank1, rank2);
+        int lo = Math.min(rank1, rank2);
+        boolean suited = card1 / RANK_SIZE == card2 / RANK_SIZE;
+
+        return suited || hi == lo ? hi * RANK_SIZE + lo : lo * RANK_SIZE + hi;
+    }
+
+    /**
+     * @param name AA, AKs, AKo 형식의 이름
+     * @return 핸드 종류 번호 (0 ~ 168)
+     */
+    public static int of(String name) {
+        if (name.length() < 2 || name.length() > 3) {
+            throw new IllegalArgumentException("Invalid hand class: " + name);
+        }
+
+        int rank1 = RANKS.indexOf(name.charAt(0));
+        int rank2 = RANKS.indexOf(name.charAt(1));
+        int hi = Math.max(rank1, rank2);
+        int lo = Math.min(rank1, rank2);
+        if (lo < 0 || (hi == lo) != (name.length() == 2)) {
+            throw new IllegalArgumentException("Invalid hand class: " + name);
+        }
+
+        if (hi == lo || name.charAt(2) == 's') {
+            return hi * RANK_SIZE + lo;
+        } else if (name.charAt(2) == 'o') {
+            return lo * RANK_SIZE + hi;
+        }
+        throw new IllegalArgumentException("Invalid hand class: " + name);
+    }
+
+    public static String getName(int handClass) {
+        int row = handClass / RANK_SIZE;
+        int col = handClass % RANK_SIZE;
+        if (row == col) {
+            return "" + RANKS.charAt(row) + RANKS.charAt(col);
+        } else if (row > col) {
+            return "" + RANKS.charAt(row) + RANKS.charAt(col) + 's';
+        }
+        return "" + RANKS.charAt(col) + RANKS.charAt(row) + 'o';
+    }
+
+    public static HandRange toHandRange(int handClass) {
+        return HandRange.parse(getName(handClass));
+    }
+}
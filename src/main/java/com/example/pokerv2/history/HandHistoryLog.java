@@ -0,0 +1,721 @@
+package com.example.pokerv2.history;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+
+/**
+ * 끝난 핸드를 로컬 디스크에 덧붙이기만 하는 바이너리 로그. 핸드 하나가 레코드 하나, write 한 번이다.
+ * <p>
+ * 1. 파일은 hand-{segment}.log 로 나뉜다. 지금 쓰는 세그먼트가 segmentBytes 를 넘으면 다음 세그먼트로 넘어간다.
+ * 2. 레코드 구조 : [MAGIC int][길이 int][HandRecord][CRC32 int]. 길이와 CRC 는 HandRecord 부분만 센다.
+ * 3. write 는 바로 OS 로 넘기고, fsync 는 fsyncIntervalMillis 마다 한 번 모아서 한다. 프로세스가 죽어도 잃지 않고,
+ *    장비가 꺼지면 마지막 fsyncIntervalMillis 동안의 핸드를 잃을 수 있다. 0 이하면 덧붙일 때마다 fsync 한다.
+ * 4. 주소는 (세그먼트 << 40 | 세그먼트 안의 위치) 이다. 세그먼트마다 (boardId, gameSeq) 와 유저별 주소 목록 인덱스가 있다.
+ * 5. 지금 쓰는 세그먼트의 인덱스만 메모리에 들고 있다. 세그먼트를 넘길 때 닫힌 세그먼트의 인덱스를 hand-{segment}.idx 로 쓰고,
+ *    그 뒤로는 idx 파일을 mmap 해서 이진 탐색한다. 그래서 힙에 남는 인덱스는 세그먼트 하나 크기를 넘지 않는다.
+ * 6. 시작할 때는 닫힌 세그먼트의 idx 를 매핑만 하고, 마지막 세그먼트만 처음부터 읽어 인덱스를 만든다.
+ *    idx 가 없거나 세그먼트 크기, CRC 가 맞지 않으면 그 세그먼트를 읽어 idx 를 다시 쓴다. 마지막 세그먼트 끝의 잘린 레코드는 이때 잘라낸다.
+ * 7. 읽기는 세그먼트를 mmap 해서 요청한 레코드만 디코딩한다. 유저별 주소 목록은 커서(주소) 기준으로 최근 세그먼트부터 페이지를 잘라 준다.
+ */
+@Slf4j
+@Component
+public class HandHistoryLog {
+
+    private static final String FILE_PREFIX = "hand-";
+    private static final String FILE_SUFFIX = ".log";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int MAGIC = 0x48484C31;
+    private static final int INDEX_MAGIC = 0x48484931;
+    private static final int HEADER_SIZE = 8;
+    private static final int TRAILER_SIZE = 4;
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+    private static final int OFFSET_BITS = 40;
+    // 세그먼트 하나를 MappedByteBuffer 하나로 매핑하므로 int 로 위치를 셀 수 있어야 한다.
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final Path logDir;
+    private final long segmentBytes;
+    private final long fsyncIntervalMillis;
+    private final Map<Integer, FileChannel> segments = new ConcurrentHashMap<>();
+    private final Map<Integer, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+    private final NavigableMap<Integer, SealedIndex> sealedIndexes = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+    private final LongAdder appendCount = new LongAdder();
+    private final LongAdder fsyncCount = new LongAdder();
+
+    private ScheduledExecutorService fsyncExecutor;
+    // 지금 쓰는 세그먼트의 인덱스. 세그먼트를 넘길 때 idx 를 먼저 공개하고 새 인덱스로 바꾼다.
+    private volatile ActiveIndex activeIndex = new ActiveIndex(0);
+    private int activeSegment;
+    private long activeSize;
+    private boolean dirty;
+
+    public HandHistoryLog(@Value("${hand-history.log-dir:hand-history}") String logDir,
+                          @Value("${hand-history.segment-bytes:67108864}") long segmentBytes,
+                          @Value("${hand-history.fsync-interval-ms:200}") long fsyncIntervalMillis) {
+        this.logDir = Paths.get(logDir);
+        this.segmentBytes = Math.min(segmentBytes, MAX_SEGMENT_BYTES);
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+    }
+
+    @PostConstruct
+    public void open() {
+        try {
+            Files.createDirectories(logDir);
+            List<Integer> segmentNos = listSegments();
+            for (int i = 0; i < segmentNos.size(); i++) {
+                int segmentNo = segmentNos.get(i);
+                boolean last = i == segmentNos.size() - 1;
+                FileChannel channel = FileChannel.open(getPath(segmentNo), StandardOpenOption.READ, StandardOpenOption.WRITE);
+                segments.put(segmentNo, channel);
+                if (!last) {
+                    SealedIndex sealed = SealedIndex.load(getIndexPath(segmentNo), channel.size());
+                    if (sealed == null) {
+                        ActiveIndex rebuilt = new ActiveIndex(segmentNo);
+                        long validSize = recover(segmentNo, channel, rebuilt);
+                        if (validSize < channel.size()) {
+                            log.error("hand history segment {} is corrupted after {}", segmentNo, validSize);
+                        }
+                        sealed = writeIndex(rebuilt, channel.size());
+                    }
+                    sealedIndexes.put(segmentNo, sealed);
+                    continue;
+                }
+
+                ActiveIndex index = new ActiveIndex(segmentNo);
+                long validSize = recover(segmentNo, channel, index);
+                if (validSize < channel.size()) {
+                    log.warn("truncate hand history segment {} from {} to {}", segmentNo, channel.size(), validSize);
+                    channel.truncate(validSize);
+                }
+                activeSegment = segmentNo;
+                activeSize = validSize;
+                activeIndex = index;
+            }
+            if (segmentNos.isEmpty()) {
+                segments.put(activeSegment, openSegment(activeSegment));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open hand history log", e);
+        }
+
+        if (fsyncIntervalMillis > 0) {
+            fsyncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "hand-history-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            fsyncExecutor.scheduleWithFixedDelay(this::sync, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return 기록한 주소
+     */
+    public long append(HandRecord record) {
+        byte[] frame = encode(record);
+        long address;
+        synchronized (writeLock) {
+            try {
+                if (activeSize > 0 && activeSize + frame.length > segmentBytes) {
+                    roll();
+                }
+                FileChannel channel = segments.get(activeSegment);
+                ByteBuffer buffer = ByteBuffer.wrap(frame);
+                long position = activeSize;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                address = toAddress(activeSegment, activeSize);
+                activeSize = position;
+                dirty = true;
+                if (fsyncIntervalMillis <= 0) {
+                    force();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to append hand history", e);
+            }
+            // 유저별 주소 목록이 주소 순서로 쌓이도록 락 안에서 넣는다.
+            activeIndex.add(record, address);
+        }
+
+        appendCount.increment();
+        return address;
+    }
+
+    /**
+     * 세그먼트를 mmap 한 영역에서 레코드 하나만 읽어 디코딩한다.
+     */
+    public HandRecord read(long address) {
+        int segmentNo = (int) (address >>> OFFSET_BITS);
+        int position = (int) (address & ((1L << OFFSET_BITS) - 1));
+        try {
+            MappedByteBuffer mapped = getMapped(segmentNo, position + HEADER_SIZE);
+            if (mapped.getInt(position) != MAGIC) {
+                throw new IllegalStateException("Corrupted hand history record at " + address);
+            }
+            int length = mapped.getInt(position + 4);
+            mapped = getMapped(segmentNo, position + HEADER_SIZE + length);
+            byte[] body = new byte[length];
+            mapped.get(position + HEADER_SIZE, body);
+            return HandRecord.readFrom(new DataInputStream(new ByteArrayInputStream(body)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read hand history", e);
+        }
+    }
+
+    public Optional<HandRecord> find(long boardId, long gameSeq) {
+        long address = findAddress(boardId, gameSeq);
+        return address < 0 ? Optional.empty() : Optional.of(read(address));
+    }
+
+    public boolean contains(long boardId, long gameSeq) {
+        return findAddress(boardId, gameSeq) >= 0;
+    }
+
+    /**
+     * 유저가 앉아 있던 핸드의 주소를 최근 것부터 최대 limit 개 돌려준다. 주소는 기록한 순서로 커지므로 커서로 쓴다.
+     * 지금 세그먼트부터 오래된 세그먼트 순서로, 세그먼트마다 이진 탐색 한 번으로 페이지를 자른다.
+     * @param before 이 주소보다 오래된 핸드만. null 이면 가장 최근부터
+     */
+    public long[] getUserAddresses(long userId, Long before, int limit) {
+        ActiveIndex active = activeIndex;
+        long[] page = new long[limit];
+        int size = 0;
+        Addresses addresses = active.users.get(userId);
+        if (addresses != null) {
+            size = addresses.page(before, page, size);
+        }
+        for (SealedIndex sealed : sealedIndexes.headMap(active.segmentNo, false).descendingMap().values()) {
+            if (size == limit) {
+                break;
+            }
+            if (before == null || before > toAddress(sealed.segmentNo, 0)) {
+                size = sealed.page(userId, before, page, size);
+            }
+        }
+        return size == limit ? page : Arrays.copyOf(page, size);
+    }
+
+    public int getUserHandCount(long userId) {
+        ActiveIndex active = activeIndex;
+        Addresses addresses = active.users.get(userId);
+        int count = addresses == null ? 0 : addresses.size();
+        for (SealedIndex sealed : sealedIndexes.headMap(active.segmentNo, false).values()) {
+            count += sealed.count(userId);
+        }
+        return count;
+    }
+
+    /**
+     * @return 최근 핸드부터 최대 limit 개
+     */
+    public List<HandRecord> findByUser(long userId, int limit) {
+        long[] addresses = getUserAddresses(userId, null, limit);
+        List<HandRecord> records = new ArrayList<>(addresses.length);
+        for (long address : addresses) {
+            records.add(read(address));
+        }
+        return records;
+    }
+
+    /**
+     * 마지막 fsync 이후에 쓴 것이 있으면 fsync 한다.
+     * 락 안에서는 dirty 를 내리고 채널만 가져오고, force 는 락 밖에서 해서 그동안 append 가 막히지 않는다.
+     * 그 사이 덧붙은 레코드는 dirty 를 다시 올리므로 다음 sync 에서 fsync 한다.
+     */
+    public void sync() {
+        FileChannel channel;
+        synchronized (writeLock) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            channel = segments.get(activeSegment);
+        }
+        try {
+            channel.force(false);
+            fsyncCount.increment();
+        } catch (IOException e) {
+            synchronized (writeLock) {
+                dirty = true;
+            }
+            log.error("failed to fsync hand history", e);
+        }
+    }
+
+    public long getAppendCount() {
+        return appendCount.sum();
+    }
+
+    public long getFsyncCount() {
+        return fsyncCount.sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (fsyncExecutor != null) {
+            fsyncExecutor.shutdown();
+            try {
+                fsyncExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sync();
+        for (FileChannel channel : segments.values()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("failed to close hand history segment", e);
+            }
+        }
+        segments.clear();
+        mappings.clear();
+    }
+
+    /**
+     * 세그먼트의 mmap 영역. 지금 쓰는 세그먼트는 뒤에 덧붙은 부분을 읽어야 할 때 파일 크기로 다시 매핑한다.
+     */
+    private MappedByteBuffer getMapped(int segmentNo, long end) throws IOException {
+        MappedByteBuffer mapped = mappings.get(segmentNo);
+        if (mapped != null && mapped.capacity() >= end) {
+            return mapped;
+        }
+        FileChannel channel = segments.get(segmentNo);
+        if (channel == null) {
+            throw new IllegalArgumentException("Unknown hand history segment : " + segmentNo);
+        }
+        synchronized (channel) {
+            mapped = mappings.get(segmentNo);
+            if (mapped == null || mapped.capacity() < end) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                mappings.put(segmentNo, mapped);
+            }
+        }
+        if (mapped.capacity() < end) {
+            throw new IllegalArgumentException("Hand history address is beyond segment " + segmentNo);
+        }
+        return mapped;
+    }
+
+    /**
+     * 락 안에서 바로 fsync 한다. 덧붙일 때마다 fsync 하는 설정과 세그먼트를 넘길 때만 사용한다.
+     */
+    private void force() throws IOException {
+        if (dirty) {
+            segments.get(activeSegment).force(false);
+            dirty = false;
+            fsyncCount.increment();
+        }
+    }
+
+    /**
+     * 닫는 세그먼트의 인덱스를 idx 로 쓰고 공개한 뒤에 새 세그먼트로 넘어간다.
+     * 읽는 쪽은 activeIndex 의 세그먼트보다 오래된 idx 만 보므로 같은 주소를 두 번 보지 않는다.
+     */
+    private void roll() throws IOException {
+        force();
+        sealedIndexes.put(activeSegment, writeIndex(activeIndex, activeSize));
+        activeSegment++;
+        activeSize = 0;
+        segments.put(activeSegment, openSegment(activeSegment));
+        activeIndex = new ActiveIndex(activeSegment);
+    }
+
+    private long findAddress(long boardId, long gameSeq) {
+        ActiveIndex active = activeIndex;
+        Long address = active.hands.get(new HandKey(boardId, gameSeq));
+        if (address != null) {
+            return address;
+        }
+        for (SealedIndex sealed : sealedIndexes.headMap(active.segmentNo, false).descendingMap().values()) {
+            long found = sealed.find(boardId, gameSeq);
+            if (found >= 0) {
+                return found;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * idx 파일 구조 : [INDEX_MAGIC int][세그먼트 크기 long][핸드 수 int][유저 수 int]
+     * [핸드마다 boardId long, gameSeq long, 주소 long] (boardId, gameSeq) 순서
+     * [유저마다 userId long, 시작 int, 개수 int] userId 순서
+     * [주소 long ...] 유저별로 모아서 주소 순서
+     * [CRC32 int]
+     * 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾼다.
+     */
+    private SealedIndex writeIndex(ActiveIndex index, long segmentSize) throws IOException {
+        List<Map.Entry<HandKey, Long>> hands = new ArrayList<>(index.hands.entrySet());
+        hands.sort(Map.Entry.comparingByKey(Comparator.comparingLong(HandKey::boardId).thenComparingLong(HandKey::gameSeq)));
+        List<Map.Entry<Long, Addresses>> users = new ArrayList<>(index.users.entrySet());
+        users.sort(Map.Entry.comparingByKey());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(SealedIndex.HEADER_SIZE + hands.size() * SealedIndex.HAND_ENTRY_SIZE);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(INDEX_MAGIC);
+        out.writeLong(segmentSize);
+        out.writeInt(hands.size());
+        out.writeInt(users.size());
+        for (Map.Entry<HandKey, Long> hand : hands) {
+            out.writeLong(hand.getKey().boardId());
+            out.writeLong(hand.getKey().gameSeq());
+            out.writeLong(hand.getValue());
+        }
+        int start = 0;
+        List<long[]> userAddresses = new ArrayList<>(users.size());
+        for (Map.Entry<Long, Addresses> user : users) {
+            long[] values = user.getValue().toArray();
+            userAddresses.add(values);
+            out.writeLong(user.getKey());
+            out.writeInt(start);
+            out.writeInt(values.length);
+            start += values.length;
+        }
+        for (long[] values : userAddresses) {
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        Path path = getIndexPath(index.segmentNo);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return SealedIndex.load(path, segmentSize);
+    }
+
+    /**
+     * 세그먼트를 처음부터 읽어 index 에 넣는다.
+     * @return 온전한 레코드가 끝나는 위치
+     */
+    private long recover(int segmentNo, FileChannel channel, ActiveIndex index) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (position + HEADER_SIZE + TRAILER_SIZE <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int magic = header.getInt();
+            int length = header.getInt();
+            if (magic != MAGIC || length < HandRecord.FIXED_SIZE || length > MAX_RECORD_SIZE
+                    || position + HEADER_SIZE + length + TRAILER_SIZE > size) {
+                break;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(length + TRAILER_SIZE);
+            readFully(channel, body, position + HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != body.getInt(length)) {
+                break;
+            }
+
+            HandRecord record = HandRecord.readFrom(new DataInputStream(new ByteArrayInputStream(body.array(), 0, length)));
+            index.add(record, toAddress(segmentNo, position));
+            position += HEADER_SIZE + length + TRAILER_SIZE;
+        }
+        return position;
+    }
+
+    private static byte[] encode(HandRecord record) {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+            record.writeTo(new DataOutputStream(body));
+            if (body.size() > MAX_RECORD_SIZE) {
+                throw new IllegalStateException("Hand history record is too large : " + body.size());
+            }
+            CRC32 crc = new CRC32();
+            crc.update(body.toByteArray());
+
+            ByteArrayOutputStream frame = new ByteArrayOutputStream(HEADER_SIZE + body.size() + TRAILER_SIZE);
+            DataOutputStream out = new DataOutputStream(frame);
+            out.writeInt(MAGIC);
+            out.writeInt(body.size());
+            body.writeTo(out);
+            out.writeInt((int) crc.getValue());
+            return frame.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode hand history", e);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of hand history segment");
+            }
+        }
+    }
+
+    private static long toAddress(int segmentNo, long position) {
+        return ((long) segmentNo << OFFSET_BITS) | position;
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        try (Stream<Path> paths = Files.list(logDir)) {
+            return paths.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private FileChannel openSegment(int segmentNo) throws IOException {
+        return FileChannel.open(getPath(segmentNo), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private Path getPath(int segmentNo) {
+        return logDir.resolve(FILE_PREFIX + segmentNo + FILE_SUFFIX);
+    }
+
+    private Path getIndexPath(int segmentNo) {
+        return logDir.resolve(FILE_PREFIX + segmentNo + INDEX_SUFFIX);
+    }
+
+    private record HandKey(long boardId, long gameSeq) {
+    }
+
+    /**
+     * 한 유저의 핸드 주소 목록. 덧붙이기만 한다.
+     */
+    private static class Addresses {
+
+        private long[] values = new long[8];
+        private int size;
+
+        synchronized void add(long address) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = address;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        /**
+         * before 보다 작은 주소를 큰 것부터 page 의 from 위치부터 채운다.
+         * @return 채운 뒤의 위치
+         */
+        synchronized int page(Long before, long[] page, int from) {
+            int end = size;
+            if (before != null) {
+                int found = Arrays.binarySearch(values, 0, size, before);
+                end = found >= 0 ? found : -found - 1;
+            }
+            int filled = from;
+            for (int i = end - 1; i >= 0 && filled < page.length; i--) {
+                page[filled++] = values[i];
+            }
+            return filled;
+        }
+    }
+
+    /**
+     * 지금 쓰는 세그먼트의 인덱스. 쓰기는 writeLock 안에서만 한다.
+     */
+    private static class ActiveIndex {
+
+        private final int segmentNo;
+        private final Map<HandKey, Long> hands = new ConcurrentHashMap<>();
+        private final Map<Long, Addresses> users = new ConcurrentHashMap<>();
+
+        ActiveIndex(int segmentNo) {
+            this.segmentNo = segmentNo;
+        }
+
+        void add(HandRecord record, long address) {
+            hands.put(new HandKey(record.getBoardId(), record.getGameSeq()), address);
+            for (HandRecord.Seat seat : record.getSeats()) {
+                users.computeIfAbsent(seat.getUserId(), id -> new Addresses()).add(address);
+            }
+        }
+    }
+
+    /**
+     * 닫힌 세그먼트의 idx 파일을 mmap 한 것. 바뀌지 않으므로 락 없이 읽는다.
+     */
+    private static class SealedIndex {
+
+        static final int HEADER_SIZE = 4 + 8 + 4 + 4;
+        static final int HAND_ENTRY_SIZE = 8 + 8 + 8;
+        static final int USER_ENTRY_SIZE = 8 + 4 + 4;
+
+        private final int segmentNo;
+        private final MappedByteBuffer mapped;
+        private final int handCount;
+        private final int userCount;
+        private final int userTable;
+        private final int addressTable;
+
+        private SealedIndex(int segmentNo, MappedByteBuffer mapped) {
+            this.segmentNo = segmentNo;
+            this.mapped = mapped;
+            this.handCount = mapped.getInt(12);
+            this.userCount = mapped.getInt(16);
+            this.userTable = HEADER_SIZE + handCount * HAND_ENTRY_SIZE;
+            this.addressTable = userTable + userCount * USER_ENTRY_SIZE;
+        }
+
+        /**
+         * @return 파일이 없거나 segmentSize, CRC 가 맞지 않으면 null
+         */
+        static SealedIndex load(Path path, long segmentSize) throws IOException {
+            if (!Files.exists(path)) {
+                return null;
+            }
+            String name = path.getFileName().toString();
+            int segmentNo = Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - INDEX_SUFFIX.length()));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_SIZE + TRAILER_SIZE || size > Integer.MAX_VALUE) {
+                    return null;
+                }
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (mapped.getInt(0) != INDEX_MAGIC || mapped.getLong(4) != segmentSize) {
+                    return null;
+                }
+                byte[] body = new byte[(int) size - TRAILER_SIZE];
+                mapped.get(0, body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != mapped.getInt(body.length)) {
+                    log.warn("hand history index {} is corrupted", path);
+                    return null;
+                }
+                return new SealedIndex(segmentNo, mapped);
+            }
+        }
+
+        long find(long boardId, long gameSeq) {
+            int low = 0;
+            int high = handCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int entry = HEADER_SIZE + mid * HAND_ENTRY_SIZE;
+                int compare = Long.compare(mapped.getLong(entry), boardId);
+                if (compare == 0) {
+                    compare = Long.compare(mapped.getLong(entry + 8), gameSeq);
+                }
+                if (compare < 0) {
+                    low = mid + 1;
+                } else if (compare > 0) {
+                    high = mid - 1;
+                } else {
+                    return mapped.getLong(entry + 16);
+                }
+            }
+            return -1;
+        }
+
+        int count(long userId) {
+            int entry = findUser(userId);
+            return entry < 0 ? 0 : mapped.getInt(entry + 12);
+        }
+
+        /**
+         * Addresses.page 와 같다.
+         */
+        int page(long userId, Long before, long[] page, int from) {
+            int entry = findUser(userId);
+            if (entry < 0) {
+                return from;
+            }
+            int start = addressTable + mapped.getInt(entry + 8) * 8;
+            int count = mapped.getInt(entry + 12);
+            int end = count;
+            if (before != null) {
+                int low = 0;
+                int high = count;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (mapped.getLong(start + mid * 8) < before) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                end = low;
+            }
+            int filled = from;
+            for (int i = end - 1; i >= 0 && filled < page.length; i--) {
+                page[filled++] = mapped.getLong(start + i * 8);
+            }
+            return filled;
+        }
+
+        /**
+         * @return 유저 칸의 위치. 없으면 -1
+         */
+        private int findUser(long userId) {
+            int low = 0;
+            int high = userCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int entry = userTable + mid * USER_ENTRY_SIZE;
+                long found = mapped.getLong(entry);
+                if (found < userId) {
+                    low = mid + 1;
+                } else if (found > userId) {
+                    high = mid - 1;
+                } else {
+                    return entry;
+                }
+            }
+            return -1;
+        }
+    }
+}
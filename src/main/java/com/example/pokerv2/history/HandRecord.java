@@ -0,0 +1,165 @@
+package com.example.pokerv2.history;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * 한 핸드의 기록. 핸드 동안 HandHistoryService 가 메모리에서 채우고, 끝나면 HandHistoryLog 에 한 번 덧붙인다.
+ * <p>
+ * 바이너리 구조 (writeTo)
+ * 1. 고정 길이 부분 : boardId, gameSeq, endedAt, btnPosition, 커뮤니티 카드 5장, 페이즈별 팟 4개, 좌석 수, 좌석 MAX_SEAT 칸
+ *    좌석 칸 : userId long, position byte, card1 byte, card2 byte, showDown byte. 빈 칸은 userId 가 0 이다.
+ * 2. 가변 길이 부분 : 액션 수 short, 액션마다 [길이 short][actionNo short][userId long][position byte][phaseStatus byte][detail UTF]
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HandRecord {
+
+    public static final int MAX_SEAT = 6;
+    public static final int FIXED_SIZE = 8 + 8 + 8 + 1 + 5 + 4 * 4 + 1 + MAX_SEAT * (8 + 1 + 1 + 1);
+
+    private long boardId;
+    private long gameSeq;
+    private long endedAt;
+    private int btnPosition;
+    private int communityCard1;
+    private int communityCard2;
+    private int communityCard3;
+    private int communityCard4;
+    private int communityCard5;
+    private int potAmountPf;
+    private int potAmountFlop;
+    private int potAmountTurn;
+    private int potAmountRiver;
+    @Builder.Default
+    private List<Seat> seats = new ArrayList<>();
+    @Builder.Default
+    private List<ActionEntry> actions = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Seat {
+        private long userId;
+        private int position;
+        private int card1;
+        private int card2;
+        private boolean showDown;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ActionEntry {
+        private int actionNo;
+        private long userId;
+        private int position;
+        private PhaseStatus phaseStatus;
+        private String detail;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        if (seats.size() > MAX_SEAT) {
+            throw new IllegalStateException("Too many seats : " + seats.size());
+        }
+        out.writeLong(boardId);
+        out.writeLong(gameSeq);
+        out.writeLong(endedAt);
+        out.writeByte(btnPosition);
+        out.writeByte(communityCard1);
+        out.writeByte(communityCard2);
+        out.writeByte(communityCard3);
+        out.writeByte(communityCard4);
+        out.writeByte(communityCard5);
+        out.writeInt(potAmountPf);
+        out.writeInt(potAmountFlop);
+        out.writeInt(potAmountTurn);
+        out.writeInt(potAmountRiver);
+        out.writeByte(seats.size());
+        for (int i = 0; i < MAX_SEAT; i++) {
+            Seat seat = i < seats.size() ? seats.get(i) : new Seat();
+            out.writeLong(seat.userId);
+            out.writeByte(seat.position);
+            out.writeByte(seat.card1);
+            out.writeByte(seat.card2);
+            out.writeBoolean(seat.showDown);
+        }
+
+        out.writeShort(actions.size());
+        for (ActionEntry action : actions) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+            DataOutputStream entry = new DataOutputStream(bytes);
+            entry.writeShort(action.actionNo);
+            entry.writeLong(action.userId);
+            entry.writeByte(action.position);
+            entry.writeByte(action.phaseStatus.ordinal());
+            entry.writeUTF(action.detail == null ? "" : action.detail);
+            out.writeShort(bytes.size());
+            out.write(bytes.toByteArray());
+        }
+    }
+
+    public static HandRecord readFrom(DataInput in) throws IOException {
+        HandRecord record = new HandRecord();
+        record.boardId = in.readLong();
+        record.gameSeq = in.readLong();
+        record.endedAt = in.readLong();
+        record.btnPosition = in.readByte();
+        record.communityCard1 = in.readByte();
+        record.communityCard2 = in.readByte();
+        record.communityCard3 = in.readByte();
+        record.communityCard4 = in.readByte();
+        record.communityCard5 = in.readByte();
+        record.potAmountPf = in.readInt();
+        record.potAmountFlop = in.readInt();
+        record.potAmountTurn = in.readInt();
+        record.potAmountRiver = in.readInt();
+        int seatCount = in.readUnsignedByte();
+        record.seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < MAX_SEAT; i++) {
+            Seat seat = new Seat(in.readLong(), in.readByte(), in.readByte(), in.readByte(), in.readBoolean());
+            if (i < seatCount) {
+                record.seats.add(seat);
+            }
+        }
+
+        int actionCount = in.readUnsignedShort();
+        record.actions = new ArrayList<>(actionCount);
+        for (int i = 0; i < actionCount; i++) {
+            byte[] bytes = new byte[in.readUnsignedShort()];
+            in.readFully(bytes);
+            DataInputStream entry = new DataInputStream(new ByteArrayInputStream(bytes));
+            record.actions.add(new ActionEntry(entry.readUnsignedShort(), entry.readLong(), entry.readByte(),
+                    PhaseStatus.values()[entry.readByte()], entry.readUTF()));
+        }
+        return record;
+    }
+
+    /**
+     * @return 이 핸드에 앉아 있던 유저인지
+     */
+    public boolean hasUser(long userId) {
+        for (Seat seat : seats) {
+            if (seat.userId == userId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
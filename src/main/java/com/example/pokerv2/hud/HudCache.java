@@ -0,0 +1,167 @@
+package com.example.pokerv2.hud;
+
+import com.example.pokerv2.dto.HudDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+
+/**
+ * 유저 id 별 HudDto 를 HudRepository 앞에서 들고 있는 캐시.
+ * <p>
+ * 1. 최대 maxSize 명, 마지막으로 읽은 순서로 밀려나고, DB 에서 읽은 뒤 ttl 이 지나면 다시 읽는다.
+ * 2. 핸드가 끝나 HudService.flush 가 DB 에 더한 값은 커밋 뒤 add 로 캐시에도 더한다. 캐시에 없는 유저는 다음에 읽을 때 DB 에서 가져온다.
+ * 3. DB 에서 읽는 동안 add, invalidate 가 있었으면 읽은 값은 이미 지난 값일 수 있으므로 캐시에 넣지 않는다.
+ *    트랜잭션 안에서 더할 때는 커밋 전에 beginAdd, 커밋 뒤에 endAdd 를 호출한다. 그 사이에 읽은 값은 커밋된 값인지 알 수 없으므로 캐시에 넣지 않는다.
+ *    캐시에 남아 있는 값은 beginAdd 전에 읽은 값이므로 endAdd 에서 변경분을 더해도 두 번 더해지지 않는다.
+ * 4. 캐시에 있는 HudDto 는 바꾸지 않고 새로 만들어 교체한다. 돌려받은 HudDto 는 읽기만 한다.
+ */
+@Component
+public class HudCache {
+
+    private final long ttlNanos;
+    private final Map<Long, Entry> entries;
+    // add, invalidate 할 때마다 늘어난다.
+    private final AtomicLong writeSeq = new AtomicLong();
+    // 유저 id -> beginAdd 뒤 아직 endAdd 하지 않은 수. entries 락 안에서만 바꾼다.
+    private final Map<Long, Integer> pendingAdds = new HashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public HudCache(@Value("${hud.cache.max-size:10000}") int maxSize,
+                    @Value("${hud.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param loader 캐시에 없을 때 DB 에서 읽는다. 락 밖에서 호출한다.
+     */
+    public HudDto get(Long userId, Function<Long, HudDto> loader) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && System.nanoTime() - entry.loadedAt <= ttlNanos) {
+                hitCount.increment();
+                return entry.hud;
+            }
+            entries.remove(userId);
+        }
+
+        missCount.increment();
+        long seq = writeSeq.get();
+        HudDto hud = loader.apply(userId);
+        synchronized (entries) {
+            if (writeSeq.get() == seq && !pendingAdds.containsKey(userId)) {
+                entries.put(userId, new Entry(hud, System.nanoTime()));
+            }
+        }
+        return hud;
+    }
+
+    /**
+     * 커밋된 한 핸드의 변경분을 캐시에 있는 값에 더한다.
+     */
+    public void add(Long userId, EnumSet<HudStat> stats) {
+        synchronized (entries) {
+            writeSeq.incrementAndGet();
+            Entry entry = entries.get(userId);
+            if (entry != null) {
+                entries.put(userId, new Entry(plus(entry.hud, stats), entry.loadedAt));
+            }
+        }
+    }
+
+    /**
+     * 변경분을 더하는 트랜잭션이 커밋되기 직전에 호출한다. endAdd 까지 DB 에서 읽은 값은 캐시에 넣지 않는다.
+     */
+    public void beginAdd(Long userId) {
+        synchronized (entries) {
+            writeSeq.incrementAndGet();
+            pendingAdds.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 트랜잭션이 끝나면 호출한다.
+     *
+     * @param stats 커밋됐으면 더할 변경분. 커밋되지 않았으면 null 이고, 캐시의 값을 믿을 수 없으므로 지운다.
+     */
+    public void endAdd(Long userId, EnumSet<HudStat> stats) {
+        synchronized (entries) {
+            writeSeq.incrementAndGet();
+            pendingAdds.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                return;
+            }
+            if (stats == null) {
+                entries.remove(userId);
+            } else {
+                entries.put(userId, new Entry(plus(entry.hud, stats), entry.loadedAt));
+            }
+        }
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            writeSeq.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return 0 ~ 1. 아직 읽은 적이 없으면 0
+     */
+    public double getHitRate() {
+        long hit = hitCount.sum();
+        long total = hit + missCount.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    private static HudDto plus(HudDto hud, EnumSet<HudStat> stats) {
+        return new HudDto(hud.getId(), hud.getUserId(), hud.getUserName(),
+                hud.getVpip() + count(stats, HudStat.VPIP),
+                hud.getPfr() + count(stats, HudStat.PFR),
+                hud.getCBet() + count(stats, HudStat.C_BET),
+                hud.getThreeBet() + count(stats, HudStat.THREE_BET),
+                hud.getWtsd() + count(stats, HudStat.WTSD),
+                hud.getWsd() + count(stats, HudStat.WSD),
+                hud.getTotalHands() + count(stats, HudStat.TOTAL_HANDS),
+                hud.getPfAggressiveCnt() + count(stats, HudStat.PF_AGGRESSIVE_CNT),
+                hud.getWtf() + count(stats, HudStat.WTF));
+    }
+
+    private static int count(EnumSet<HudStat> stats, HudStat stat) {
+        return stats.contains(stat) ? 1 : 0;
+    }
+
+    private record Entry(HudDto hud, long loadedAt) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.pokerv2.hud;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * 핸드 진행 이벤트를 한 번씩만 보고 HUD 카운터 변경분을 만든다.
+ * <p>
+ * 1. HAND_START 로 테이블의 HudHand 를 새로 만들고, 이후 이벤트는 모든 리듀서에 차례로 넘긴다.
+ * 2. 리듀서가 본 뒤에 페이즈, 레이즈 수, 프리플랍 마지막 레이즈 유저를 바꾼다.
+ * 3. finish 로 핸드를 끝내면 유저별로 더할 카운터와 자리, 블라인드를 담은 HudHand 를 돌려준다.
+ * <p>
+ * 핸드 기록(HandHistory)을 다시 읽지 않는다. 이벤트는 테이블 메일박스 안에서만 넣는다.
+ */
+@Component
+public class HudEngine {
+
+    private final List<HudReducer> reducers;
+    private final Map<Long, HudHand> hands = new ConcurrentHashMap<>();
+
+    public HudEngine() {
+        this(HudReducers.ALL);
+    }
+
+    public HudEngine(List<HudReducer> reducers) {
+        this.reducers = reducers;
+    }
+
+    /**
+     * HAND_START 전에 들어온 이벤트는 (서버가 핸드 중간에 다시 뜬 경우 등) 버린다.
+     */
+    public void publish(HudEvent event) {
+        HudHand hand = event.getType() == HudEvent.Type.HAND_START
+                ? hands.compute(event.getBoardId(), (id, before) -> new HudHand())
+                : hands.get(event.getBoardId());
+        if (hand == null) {
+            return;
+        }
+        if (event.getType() == HudEvent.Type.HAND_START) {
+            hand.positions = event.getPositions() == null ? Map.of() : Map.copyOf(event.getPositions());
+            hand.blind = event.getBlind();
+        }
+
+        for (HudReducer reducer : reducers) {
+            reducer.reduce(hand, event);
+        }
+
+        if (event.getType() == HudEvent.Type.ACTION && event.isRaise()) {
+            hand.raiseCount++;
+            if (hand.phase == PhaseStatus.PRE_FLOP) {
+                hand.preflopLastRaiser = event.getUserId();
+            }
+        } else if (event.getType() == HudEvent.Type.STREET) {
+            hand.phase = event.getPhaseStatus();
+            hand.raiseCount = 0;
+        }
+    }
+
+    /**
+     * @return 끝난 핸드. getCredits 가 유저별로 1 을 더할 카운터다. 진행 중인 핸드가 없으면 null
+     */
+    public HudHand finish(Long boardId) {
+        return hands.remove(boardId);
+    }
+}
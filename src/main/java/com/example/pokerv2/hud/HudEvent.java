@@ -0,0 +1,54 @@
+package com.example.pokerv2.hud;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerAction;
+import com.example.pokerv2.enums.Position;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HudEvent
+ *
+ * HudEngine 에 넣는 핸드 진행 이벤트. type 별로 쓰는 값만 채운다.
+ *
+ * HAND_START : userIds (자리에 앉은 모든 유저), positions, blind (롤업을 나누는 기준)
+ * ACTION : userId, action (액션한 페이즈는 HudEngine 이 알고 있다)
+ * STREET : phaseStatus (새로 시작한 페이즈), userIds (폴드하지 않은 유저)
+ * SHOWDOWN : userIds (쇼다운한 유저), winnerUserIds
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HudEvent {
+
+    public enum Type {
+        HAND_START,
+        ACTION,
+        STREET,
+        SHOWDOWN
+    }
+
+    private Type type;
+    private Long boardId;
+    private Long userId;
+    private PlayerAction action;
+    private PhaseStatus phaseStatus;
+    private List<Long> userIds;
+    private List<Long> winnerUserIds;
+    private Map<Long, Position> positions;
+    private int blind;
+
+    public boolean isRaise() {
+        return action == PlayerAction.RAISE || action == PlayerAction.ALL_IN_RAISE;
+    }
+
+    public boolean isVoluntary() {
+        return isRaise() || action == PlayerAction.CALL || action == PlayerAction.ALL_IN_CALL;
+    }
+}
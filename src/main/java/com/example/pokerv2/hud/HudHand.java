@@ -0,0 +1,65 @@
+package com.example.pokerv2.hud;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.Position;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * 한 테이블에서 진행 중인 핸드의 상태와 지금까지 더할 카운터.
+ * <p>
+ * phase, raiseCount, preflopLastRaiser 는 HudEngine 이 이벤트를 리듀서에 넘긴 뒤에 바꾼다.
+ * 그래서 리듀서는 항상 "이 이벤트 직전" 의 상태를 본다.
+ * 테이블 메일박스 안에서만 바뀌므로 동기화하지 않는다.
+ */
+public class HudHand {
+
+    PhaseStatus phase = PhaseStatus.PRE_FLOP;
+    // 이번 페이즈에서 나온 레이즈(벳 포함) 수
+    int raiseCount;
+    Long preflopLastRaiser;
+    // 핸드를 시작할 때의 자리와 블라인드. 롤업을 나눌 때 쓴다.
+    Map<Long, Position> positions = Map.of();
+    int blind;
+    private final Map<Long, EnumSet<HudStat>> credits = new LinkedHashMap<>();
+
+    public PhaseStatus getPhase() {
+        return phase;
+    }
+
+    public int getRaiseCount() {
+        return raiseCount;
+    }
+
+    public Long getPreflopLastRaiser() {
+        return preflopLastRaiser;
+    }
+
+    /**
+     * @return 핸드를 시작할 때 앉아 있지 않았으면 null
+     */
+    public Position getPosition(Long userId) {
+        return positions.get(userId);
+    }
+
+    public int getBlind() {
+        return blind;
+    }
+
+    /**
+     * 같은 핸드에서 같은 유저, 같은 카운터는 한 번만 더한다.
+     */
+    public void credit(Long userId, HudStat stat) {
+        credits.computeIfAbsent(userId, id -> EnumSet.noneOf(HudStat.class)).add(stat);
+    }
+
+    /**
+     * @return 유저 id -> 이 핸드에서 1 을 더할 카운터
+     */
+    public Map<Long, EnumSet<HudStat>> getCredits() {
+        return credits;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.pokerv2.hud;
+
+/**
+ * 이벤트 하나를 보고 카운터 하나를 더할지 정한다. 새 통계는 리듀서 하나를 HudReducers 에 추가하면 된다.
+ */
+@FunctionalInterface
+public interface HudReducer {
+
+    void reduce(HudHand hand, HudEvent event);
+}
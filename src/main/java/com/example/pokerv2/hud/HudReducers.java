@@ -0,0 +1,81 @@
+package com.example.pokerv2.hud;
+
+import com.example.pokerv2.enums.PhaseStatus;
+
+import java.util.List;
+
+
+/**
+ * HUD 카운터별 리듀서.
+ * <p>
+ * 1. TOTAL_HANDS : 핸드를 시작할 때 앉아 있던 유저
+ * 2. VPIP : 프리플랍에서 콜이나 레이즈로 스스로 돈을 넣은 유저 (블라인드, 체크는 제외)
+ * 3. PFR : 프리플랍에서 레이즈한 유저
+ * 4. PF_AGGRESSIVE_CNT : 플랍이 열릴 때 프리플랍의 마지막 레이즈를 한 유저
+ * 5. THREE_BET : 프리플랍은 두 번째 레이즈, 이후 페이즈는 세 번째 레이즈 (첫 벳도 레이즈로 들어온다)
+ * 6. C_BET : 프리플랍 마지막 레이즈를 한 유저가 플랍에서 처음 벳한 경우
+ * 7. WTF, WTSD, WSD : 플랍을 본, 쇼다운까지 간, 쇼다운에서 이긴 유저
+ */
+public class HudReducers {
+
+    public static final HudReducer TOTAL_HANDS = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.HAND_START) {
+            event.getUserIds().forEach(userId -> hand.credit(userId, HudStat.TOTAL_HANDS));
+        }
+    };
+
+    public static final HudReducer VPIP = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.ACTION && hand.getPhase() == PhaseStatus.PRE_FLOP && event.isVoluntary()) {
+            hand.credit(event.getUserId(), HudStat.VPIP);
+        }
+    };
+
+    public static final HudReducer PFR = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.ACTION && hand.getPhase() == PhaseStatus.PRE_FLOP && event.isRaise()) {
+            hand.credit(event.getUserId(), HudStat.PFR);
+        }
+    };
+
+    public static final HudReducer PF_AGGRESSIVE_CNT = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.STREET && event.getPhaseStatus() == PhaseStatus.FLOP && hand.getPreflopLastRaiser() != null) {
+            hand.credit(hand.getPreflopLastRaiser(), HudStat.PF_AGGRESSIVE_CNT);
+        }
+    };
+
+    public static final HudReducer THREE_BET = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.ACTION && event.isRaise()
+                && hand.getRaiseCount() == (hand.getPhase() == PhaseStatus.PRE_FLOP ? 1 : 2)) {
+            hand.credit(event.getUserId(), HudStat.THREE_BET);
+        }
+    };
+
+    public static final HudReducer C_BET = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.ACTION && event.isRaise() && hand.getPhase() == PhaseStatus.FLOP
+                && hand.getRaiseCount() == 0 && event.getUserId().equals(hand.getPreflopLastRaiser())) {
+            hand.credit(event.getUserId(), HudStat.C_BET);
+        }
+    };
+
+    public static final HudReducer WTF = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.STREET && event.getPhaseStatus() == PhaseStatus.FLOP) {
+            event.getUserIds().forEach(userId -> hand.credit(userId, HudStat.WTF));
+        }
+    };
+
+    public static final HudReducer WTSD = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.SHOWDOWN) {
+            event.getUserIds().forEach(userId -> hand.credit(userId, HudStat.WTSD));
+        }
+    };
+
+    public static final HudReducer WSD = (hand, event) -> {
+        if (event.getType() == HudEvent.Type.SHOWDOWN) {
+            event.getWinnerUserIds().forEach(userId -> hand.credit(userId, HudStat.WSD));
+        }
+    };
+
+    public static final List<HudReducer> ALL = List.of(TOTAL_HANDS, VPIP, PFR, PF_AGGRESSIVE_CNT, THREE_BET, C_BET, WTF, WTSD, WSD);
+
+    private HudReducers() {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.pokerv2.hud;
+
+/**
+ * Hud 의 카운터. 한 핸드에서 유저마다 많아야 1 씩 더한다.
+ */
+public enum HudStat {
+    TOTAL_HANDS,
+    VPIP,
+    PFR,
+    PF_AGGRESSIVE_CNT,
+    THREE_BET,
+    C_BET,
+    WTF,
+    WTSD,
+    WSD
+}
@@ -43,6 +43,9 @@ import java.util.List;
  * 9. communityCard1~5
  * 공유하는 카드들의 번호 저장
  *
+ * 10. stateVersion
+ * TableEngine 의 메모리 상태 중 DB 에 반영된 마지막 version
+ *
  */
 @Data
 @Builder
@@ -72,6 +75,7 @@ public class Board {
     private int communityCard4;
     private int communityCard5;
     private LocalDateTime lastActionTime;
+    private long stateVersion;
 
     @OneToMany(mappedBy = "board", fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     @OrderBy("position asc")
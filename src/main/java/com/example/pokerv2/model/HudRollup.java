@@ -0,0 +1,36 @@
+package com.example.pokerv2.model;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * HUD 롤업
+ *
+ * 1. Hud 와 같은 카운터를 (유저, 날짜, 포지션, 블라인드) 칸마다 따로 더해 둔다.
+ * 2. 핸드가 끝날 때 HudService.flush 가 유저마다 한 칸에 더한다. (HudRollupRepository.addCounts)
+ * 3. "최근 30일", "BTN 에서의 VPIP" 같은 값은 핸드 기록을 읽지 않고 칸들을 더해서 구한다.
+ *    한 유저의 1년치는 많아야 (365 x 포지션 수 x 블라인드 수) 칸이다.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+public class HudRollup {
+
+    @EmbeddedId
+    private HudRollupId id;
+    private int vpip;
+    private int pfr;
+    private int cBet;
+    private int threeBet;
+    private int wtsd;
+    private int wsd;
+    private int totalHands;
+    private int pfAggressiveCnt;
+    private int wtf;
+}
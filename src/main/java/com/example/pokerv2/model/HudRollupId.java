@@ -0,0 +1,27 @@
+package com.example.pokerv2.model;
+
+import com.example.pokerv2.enums.Position;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * HudRollup 의 키. (유저, 날짜, 포지션, 블라인드) 순서라 한 유저의 기간 조회는 기본 키 범위 검색이 된다.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Embeddable
+public class HudRollupId implements Serializable {
+
+    private Long userId;
+    private LocalDate playDate;
+    private Position position;
+    private int blind;
+}
@@ -2,9 +2,23 @@ package com.example.pokerv2.repository;
 
 import com.example.pokerv2.model.Hud;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface HudRepository extends JpaRepository<Hud, Long> {
     Optional<Hud> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    /**
+     * 읽지 않고 현재 값에 더한다. 핸드가 끝날 때 HudService.flush 에서 유저마다 한 번 호출한다.
+     */
+    @Modifying
+    @Query("UPDATE Hud h SET h.vpip = h.vpip + :vpip, h.pfr = h.pfr + :pfr, h.cBet = h.cBet + :cBet, h.threeBet = h.threeBet + :threeBet, " +
+            "h.wtsd = h.wtsd + :wtsd, h.wsd = h.wsd + :wsd, h.totalHands = h.totalHands + :totalHands, " +
+            "h.pfAggressiveCnt = h.pfAggressiveCnt + :pfAggressiveCnt, h.wtf = h.wtf + :wtf WHERE h.user.id = :userId")
+    int addCounts(@Param("userId") Long userId, @Param("vpip") int vpip, @Param("pfr") int pfr, @Param("cBet") int cBet,
+                  @Param("threeBet") int threeBet, @Param("wtsd") int wtsd, @Param("wsd") int wsd, @Param("totalHands") int totalHands,
+                  @Param("pfAggressiveCnt") int pfAggressiveCnt, @Param("wtf") int wtf);
+}
@@ -0,0 +1,65 @@
+package com.example.pokerv2.repository;
+
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.model.HudRollup;
+import com.example.pokerv2.model.HudRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HudRollupRepository extends JpaRepository<HudRollup, HudRollupId> {
+
+    /**
+     * 칸이 없으면 만들고 있으면 현재 값에 더한다. 같은 칸에 여러 테이블이 동시에 더해도 한 문장이라 빠지지 않는다.
+     * position 은 Position.ordinal() 이다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO hud_rollup (user_id, play_date, position, blind, vpip, pfr, c_bet, three_bet, wtsd, wsd, total_hands, pf_aggressive_cnt, wtf) " +
+            "VALUES (:userId, :playDate, :position, :blind, :vpip, :pfr, :cBet, :threeBet, :wtsd, :wsd, :totalHands, :pfAggressiveCnt, :wtf) " +
+            "ON DUPLICATE KEY UPDATE vpip = vpip + :vpip, pfr = pfr + :pfr, c_bet = c_bet + :cBet, three_bet = three_bet + :threeBet, " +
+            "wtsd = wtsd + :wtsd, wsd = wsd + :wsd, total_hands = total_hands + :totalHands, " +
+            "pf_aggressive_cnt = pf_aggressive_cnt + :pfAggressiveCnt, wtf = wtf + :wtf", nativeQuery = true)
+    int addCounts(@Param("userId") Long userId, @Param("playDate") LocalDate playDate, @Param("position") int position, @Param("blind") int blind,
+                  @Param("vpip") int vpip, @Param("pfr") int pfr, @Param("cBet") int cBet, @Param("threeBet") int threeBet,
+                  @Param("wtsd") int wtsd, @Param("wsd") int wsd, @Param("totalHands") int totalHands,
+                  @Param("pfAggressiveCnt") int pfAggressiveCnt, @Param("wtf") int wtf);
+
+    /**
+     * from ~ to (둘 다 포함) 의 칸을 더한다. position, blind 가 null 이면 나누지 않는다.
+     */
+    @Query("SELECT COALESCE(SUM(r.vpip), 0) AS vpip, COALESCE(SUM(r.pfr), 0) AS pfr, COALESCE(SUM(r.cBet), 0) AS continuationBet, " +
+            "COALESCE(SUM(r.threeBet), 0) AS threeBet, COALESCE(SUM(r.wtsd), 0) AS wtsd, COALESCE(SUM(r.wsd), 0) AS wsd, " +
+            "COALESCE(SUM(r.totalHands), 0) AS totalHands, COALESCE(SUM(r.pfAggressiveCnt), 0) AS pfAggressiveCnt, COALESCE(SUM(r.wtf), 0) AS wtf " +
+            "FROM HudRollup r WHERE r.id.userId = :userId AND r.id.playDate BETWEEN :from AND :to " +
+            "AND (:position IS NULL OR r.id.position = :position) AND (:blind IS NULL OR r.id.blind = :blind)")
+    Sum sum(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("position") Position position, @Param("blind") Integer blind);
+
+    /**
+     * 날짜별 핸드 수. 최근 날짜부터.
+     */
+    @Query("SELECT r.id.playDate AS playDate, SUM(r.totalHands) AS totalHands FROM HudRollup r WHERE r.id.userId = :userId " +
+            "GROUP BY r.id.playDate ORDER BY r.id.playDate DESC")
+    List<DailyHands> findDailyHands(@Param("userId") Long userId);
+
+    interface Sum {
+        long getVpip();
+        long getPfr();
+        long getContinuationBet();
+        long getThreeBet();
+        long getWtsd();
+        long getWsd();
+        long getTotalHands();
+        long getPfAggressiveCnt();
+        long getWtf();
+    }
+
+    interface DailyHands {
+        LocalDate getPlayDate();
+        long getTotalHands();
+    }
+}
@@ -2,6 +2,22 @@ package com.example.pokerv2.repository;
 
 import com.example.pokerv2.model.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
-}
\ No newline at end of file
+
+    /**
+     * 재연결할 때 필요한 (playerId, boardId) 만 읽는다. User, Board 엔티티는 읽지 않는다.
+     */
+    @Query("SELECT p.id AS playerId, p.board.id AS boardId FROM Player p WHERE p.user.userId = :userId")
+    List<Seat> findSeatsByUserId(@Param("userId") String userId);
+
+    interface Seat {
+        Long getPlayerId();
+
+        Long getBoardId();
+    }
+}
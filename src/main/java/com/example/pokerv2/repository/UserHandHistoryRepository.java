@@ -2,9 +2,15 @@ package com.example.pokerv2.repository;
 
 import com.example.pokerv2.model.HandHistory;
 import com.example.pokerv2.model.UserHandHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserHandHistoryRepository extends JpaRepository<UserHandHistory, Long> {
-}
\ No newline at end of file
+
+    List<UserHandHistory> findByUser_IdAndIdLessThanOrderByIdDesc(Long userId, Long id, Pageable pageable);
+
+    long countByUser_Id(Long userId);
+}
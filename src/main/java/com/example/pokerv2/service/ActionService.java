@@ -6,17 +6,12 @@ import com.example.pokerv2.enums.PhaseStatus;
 import com.example.pokerv2.enums.PlayerAction;
 import com.example.pokerv2.error.CustomException;
 import com.example.pokerv2.error.ErrorCode;
+import com.example.pokerv2.history.HandRecord;
 import com.example.pokerv2.model.*;
-import com.example.pokerv2.repository.ActionRepository;
-import com.example.pokerv2.repository.BoardRepository;
-import com.example.pokerv2.repository.HandHistoryRepository;
-import com.example.pokerv2.repository.UserRepository;
+import com.example.pokerv2.table.TableEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -25,26 +20,29 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ActionService {
 
-    private final ActionRepository actionRepository;
-    private final BoardRepository boardRepository;
-    private final UserRepository userRepository;
-    private final HandHistoryRepository handHistoryRepository;
+    private final TableEngine tableEngine;
+    private final HandHistoryService handHistoryService;
     private static final String BB = "bb";
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
+    /**
+     * 액션을 HandHistoryService 의 진행 중인 핸드 기록에 넣는다. 액션한 유저는 메모리 보드에서 찾는다.
+     */
     public void saveAction(BoardDto boardDto, String actOption, String userId){
-        Board board = boardRepository.findById(boardDto.getId()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        User actionUser = userRepository.findByUserId(userId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        HandHistory handHistory = handHistoryRepository.findByBoardIdAndGameSeq(board.getId(), board.getGameSeq()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardDto.getId());
+        User actionUser = board.getPlayers().stream().map(Player::getUser).filter(user -> user.getUserId().equals(userId))
+                .findFirst().orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
         String actionDetail = "";
         PlayerDto actionPlayer = null;
 
         for(PlayerDto playerDto : boardDto.getPlayers()){
-            if(playerDto.getUserId() == actionUser.getId()){
+            if(actionUser.getId().equals(playerDto.getUserId())){
                 actionPlayer = playerDto;
                 break;
             }
         }
+        if(actionPlayer == null){
+            throw new CustomException(ErrorCode.BAD_REQUEST);
+        }
 
         if(actOption.equals(PlayerAction.FOLD.getActionDetail())){
             actionDetail += PlayerAction.FOLD.getActionDetail();
@@ -56,15 +54,12 @@ public class ActionService {
             actionDetail = PlayerAction.CHECK.getActionDetail();
         }
 
-        Action action = Action.builder().actionNo(handHistory.getActionList().size()).handHistory(handHistory)
-                .userId(actionUser.getId()).position(actionPlayer.getPosition()).phaseStatus(board.getPhaseStatus()).detail(actionDetail).build();
+        handHistoryService.addAction(board.getId(), new HandRecord.ActionEntry(0, actionUser.getId(), actionPlayer.getPosition(),
+                board.getPhaseStatus(), actionDetail));
     }
 
-    @Transactional
     public void saveAnteAction(Long boardId){
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        HandHistory handHistory = handHistoryRepository.findByBoardIdAndGameSeq(board.getId(), board.getGameSeq()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<Action> actionList = handHistory.getActionList();
+        Board board = tableEngine.getBoard(boardId);
         Player sbPlayer = null;
         Player bbPlayer = null;
 
@@ -79,14 +74,10 @@ public class ActionService {
         }
 
         if(sbPlayer != null && bbPlayer != null){
-            Action sbAnteAction = Action.builder().phaseStatus(PhaseStatus.PRE_FLOP).actionNo(0)
-                    .userId(sbPlayer.getUser().getId()).handHistory(handHistory).position(sbPlayer.getPosition().getPosNum()).detail("Ante 0.5" + BB).build();
-
-            Action bbAnteAction = Action.builder().phaseStatus(PhaseStatus.PRE_FLOP).actionNo(1)
-                    .userId(bbPlayer.getUser().getId()).handHistory(handHistory).position(bbPlayer.getPosition().getPosNum()).detail("Ante 1" + BB).build();
-
-            actionList.add(sbAnteAction);
-            actionList.add(bbAnteAction);
+            handHistoryService.addAction(boardId, new HandRecord.ActionEntry(0, sbPlayer.getUser().getId(), sbPlayer.getPosition().getPosNum(),
+                    PhaseStatus.PRE_FLOP, "Ante 0.5" + BB));
+            handHistoryService.addAction(boardId, new HandRecord.ActionEntry(0, bbPlayer.getUser().getId(), bbPlayer.getPosition().getPosNum(),
+                    PhaseStatus.PRE_FLOP, "Ante 1" + BB));
         }
     }
 
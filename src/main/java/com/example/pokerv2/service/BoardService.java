@@ -12,6 +12,10 @@ import com.example.pokerv2.model.User;
 import com.example.pokerv2.repository.BoardRepository;
 import com.example.pokerv2.repository.PlayerRepository;
 import com.example.pokerv2.repository.UserRepository;
+import com.example.pokerv2.table.PresenceRegistry;
+import com.example.pokerv2.table.TableEngine;
+import com.example.pokerv2.utils.BoardViewUtils;
+import com.example.pokerv2.utils.CardMaskUtils;
 import com.example.pokerv2.utils.HandCalculatorUtils;
 import com.example.pokerv2.utils.PotDistributorUtils;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +36,8 @@ public class BoardService {
     private final BoardRepository boardRepository;
     private final UserRepository userRepository;
     private final PlayerRepository playerRepository;
+    private final TableEngine tableEngine;
+    private final PresenceRegistry presenceRegistry;
 
     private static final int MAX_PLAYER = 6;
 
@@ -48,28 +54,35 @@ public class BoardService {
         List<BoardDto> boardDtoList = new ArrayList<>();
 
         for (Board board : boardList) {
-            boardDtoList.add(new BoardDto(board));
+            boardDtoList.add(BoardViewUtils.publicView(new BoardDto(board)));
         }
 
         return boardDtoList;
     }
+    /**
+     * 입장 가능한 보드를 찾고, 없으면 새로 만든다. 실제 입장은 join 에서 TableEngine.seatChange 로 처리한다.
+     *
+     * @return 입장할 보드 id
+     */
     @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
-    public BoardDto joinRandom(int blind, int requestBb, Principal principal) {
+    public Long findPlayableBoard(int blind, int requestBb, Principal principal) {
         User user = userRepository.findByUserId(principal.getName()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        Board board;
+        if (user.getMoney() < blind * requestBb)
+            throw new CustomException(ErrorCode.NOT_ENOUGH_MONEY);
 
         List<Board> playableBoard = boardRepository.findFirstPlayableBoard(user.getId(), blind, PageRequest.of(0, 1));
 
         if (playableBoard.size() != 0)
-            board = playableBoard.get(0);
+            return playableBoard.get(0).getId();
 
-        else board = Board.builder().blind(blind).phaseStatus(PhaseStatus.WAITING).gameSeq(0L).build();
-        Player player = buyIn(board, user, requestBb);
-        sitIn(board, player);
-        boardRepository.save(board);
-        return new BoardDto(board);
+        return boardRepository.save(Board.builder().blind(blind).phaseStatus(PhaseStatus.WAITING).gameSeq(0L).build()).getId();
     }
 
+    /**
+     * join
+     * <p>
+     * 유저의 돈에서 requestBb 만큼 바이인해 빈 자리에 Player 로 앉힌다. 이미 앉아 있거나 자리가 없으면 예외를 던진다.
+     */
     @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public BoardDto join(Long boardId, int requestBb, Principal principal) {
         User user = userRepository.findByUserId(principal.getName()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
@@ -105,13 +118,13 @@ public class BoardService {
     }
 
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public Board setNextAction(Long boardId) {
 
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         int nextActionPos = getNextActionPos(board);
         board.setActionPos(nextActionPos);
         board.setLastActionTime(LocalDateTime.now());
+        tableEngine.record(boardId, "NEXT_ACTION " + nextActionPos);
         return board;
     }
 
@@ -122,40 +135,95 @@ public class BoardService {
         return false;
     }
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public String getCurrentActionUserId(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         Player player = board.getPlayers().get(getPlayerIdxByPos(board, board.getActionPos()));
 
         return player.getUser().getUserId();
     }
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    /**
+     * PresenceRegistry 에서 확인한다. 모르는 플레이어면 PlayerStatus 를 따른다.
+     */
     public boolean isActionPlayerConnect(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         List<Player> players = board.getPlayers();
         int actionPlayerIdx = getPlayerIdxByPos(board, board.getActionPos());
         Player player = players.get(actionPlayerIdx);
 
+        PresenceRegistry.Presence presence = presenceRegistry.get(player.getId());
+        if (presence != null)
+            return presence.isConnected();
+
         if (player.getStatus().getStatusNum() >= PlayerStatus.FOLD.getStatusNum())
             return true;
 
         return false;
     }
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    /**
+     * PresenceRegistry 의 연결 상태를 PlayerStatus(DISCONNECT_*)에 반영한다. 바뀐 것이 있을 때만 record 한다.
+     * 연결이 끊긴 플레이어는 PlayerStatus 에 남았으므로 PresenceRegistry 에서 지운다.
+     */
+    public void applyPresence(Long boardId) {
+        Board board = tableEngine.getBoard(boardId);
+        List<Long> changed = new ArrayList<>();
+        for (Player player : board.getPlayers()) {
+            PresenceRegistry.Presence presence = presenceRegistry.get(player.getId());
+            if (presence == null) {
+                continue;
+            }
+
+            PlayerStatus before = player.getStatus();
+            if (presence.isConnected()) {
+                if (before == PlayerStatus.DISCONNECT_FOLD) {
+                    player.setStatus(PlayerStatus.FOLD);
+                } else if (before == PlayerStatus.DISCONNECT_PLAYED) {
+                    player.setStatus(PlayerStatus.PLAY);
+                } else if (before == PlayerStatus.DISCONNECT_ALL_IN) {
+                    player.setStatus(PlayerStatus.ALL_IN);
+                }
+            } else {
+                if (before == PlayerStatus.FOLD) {
+                    player.setStatus(PlayerStatus.DISCONNECT_FOLD);
+                } else if (before == PlayerStatus.PLAY) {
+                    player.setStatus(PlayerStatus.DISCONNECT_PLAYED);
+                } else if (before == PlayerStatus.ALL_IN) {
+                    player.setStatus(PlayerStatus.DISCONNECT_ALL_IN);
+                }
+                presenceRegistry.remove(player.getId(), presence);
+            }
+            if (player.getStatus() != before) {
+                changed.add(player.getId());
+            }
+        }
+        if (!changed.isEmpty()) {
+            tableEngine.record(boardId, "PRESENCE " + changed);
+        }
+    }
+
+    /**
+     * 플레이어가 직접 액션했을 때 PresenceRegistry 의 마지막 확인 시각을 갱신한다.
+     */
+    public void heartbeat(Long boardId, String userId) {
+        for (Player player : tableEngine.getBoard(boardId).getPlayers()) {
+            if (player.getUser().getUserId().equals(userId)) {
+                presenceRegistry.heartbeat(player.getId());
+            }
+        }
+    }
+
     public BoardDto getBoard(Long boardId) {
-        return new BoardDto(boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST)));
+        return new BoardDto(tableEngine.getBoard(boardId));
     }
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public Board saveBoardChanges(BoardDto boardDto, String option, String userId) {
-        Board board = boardRepository.findById(boardDto.getId()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardDto.getId());
         if (!isSeatInBoard(board, userId))
             throw new CustomException(ErrorCode.BAD_REQUEST);
 
         for (PlayerDto playerDto : boardDto.getPlayers()) {
-            Player p = playerRepository.findById(playerDto.getId()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+            Player p = findPlayer(board, playerDto.getId());
             if (p.getUser().getUserId().equals(userId)) {
 
                 p.setMoney(playerDto.getMoney());
@@ -182,16 +250,24 @@ public class BoardService {
             }
         }
         saveBoardChanges(board, boardDto);
+        tableEngine.record(board.getId(), "ACTION " + userId + " " + option);
         return board;
     }
 
+    private Player findPlayer(Board board, Long playerId) {
+        for (Player player : board.getPlayers()) {
+            if (player.getId().equals(playerId))
+                return player;
+        }
+        throw new CustomException(ErrorCode.BAD_REQUEST);
+    }
+
 
     public void saveBoardChanges(Board board, BoardDto boardDto) {
         board.setPot(boardDto.getPot());
         board.setBettingPos(boardDto.getBettingPos());
         board.setActionPos(boardDto.getActionPos());
         board.setBettingSize(boardDto.getBettingSize());
-        boardRepository.save(board);
     }
 
     public int getNextActionPos(Board board) {
@@ -219,9 +295,8 @@ public class BoardService {
      * @param boardId
      * @return
      */
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public boolean isGameEnd(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         int actionableCount = 0;
         for (Player player : board.getPlayers()) {
             if (player.getStatus() == PlayerStatus.PLAY || player.getStatus() == PlayerStatus.DISCONNECT_PLAYED) {
@@ -237,9 +312,8 @@ public class BoardService {
     }
 
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public void initBoard(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         List<Player> players = board.getPlayers();
         board.setPot(0);
         board.setBettingSize(0);
@@ -259,9 +333,14 @@ public class BoardService {
         }
         List<Integer> totalCallSizeList = new ArrayList<>(Arrays.asList(0, 0, 0, 0, 0, 0));
         board.setTotalCallSize(totalCallSizeList);
-        boardRepository.save(board);
+        tableEngine.checkpoint(boardId, "INIT_BOARD");
     }
 
+    /**
+     * dropDisconnectPlayers
+     * <p>
+     * 연결이 끊긴 상태(DISCONNECT_*)로 핸드를 마친 플레이어의 칩을 유저에게 돌려주고 자리에서 뺀다.
+     */
     @Transactional
     public void dropDisconnectPlayers(Long boardId) {
         Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
@@ -278,8 +357,18 @@ public class BoardService {
         players.removeAll(disConnectedPlayers);
         board.setTotalPlayer(players.size());
         playerRepository.deleteAll(disConnectedPlayers);
+        for (Player player : disConnectedPlayers) {
+            presenceRegistry.forget(player.getId());
+        }
     }
 
+    /**
+     * chargeMoney
+     * <p>
+     * 칩이 100bb 이하인 플레이어를 유저의 돈으로 100bb 까지 채운다.
+     *
+     * @return 유저의 돈이 모자라 채우지 못한 플레이어들
+     */
     @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public List<PlayerDto> chargeMoney(Long boardId) {
         Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
@@ -302,6 +391,11 @@ public class BoardService {
         return unChargePlayerList;
     }
 
+    /**
+     * dropMoneyLessPlayers
+     * <p>
+     * chargeMoney 에서 채우지 못한 플레이어의 남은 칩을 유저에게 돌려주고 테이블 인원에서 뺀다.
+     */
     @Transactional
     public void dropMoneyLessPlayers(Long boardId, List<PlayerDto> moneyLessPlayers) {
         Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
@@ -315,9 +409,8 @@ public class BoardService {
         board.setTotalPlayer(board.getTotalPlayer() - moneyLessPlayers.size());
     }
 
-    @Transactional
     public boolean isShowDown(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         int foldCount = 0;
         List<Player> players = board.getPlayers();
         for (Player player : players) {
@@ -333,9 +426,8 @@ public class BoardService {
         return true;
     }
 
-    @Transactional
     public void refundOverBet(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
 
         int bettingPlayerIdx = getPlayerIdxByPos(board, board.getBettingPos());
         int bettingSize = board.getBettingSize();
@@ -355,11 +447,29 @@ public class BoardService {
         Player overBetPlayer = players.get(bettingPlayerIdx);
         overBetPlayer.setMoney(overBetPlayer.getMoney() + bettingSize - maxCallSize);
         overBetPlayer.setPhaseCallSize(maxCallSize);
+        tableEngine.record(boardId, "REFUND_OVER_BET");
     }
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    /**
+     * winOnePlayer
+     * <p>
+     * 한 명만 남아 핸드가 끝나면 남은 플레이어가 팟을 가져간다.
+     * 아직 열리지 않은 커뮤니티 카드는 HIDDEN_CARD 로 지운다. END_GAME 에서는 publicView 가 페이즈로 가릴 수 없기 때문이다.
+     */
     public BoardDto winOnePlayer(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
+        int openCount = BoardViewUtils.getOpenCommunityCardCount(board.getPhaseStatus().ordinal());
+        if (openCount < 3) {
+            board.setCommunityCard1(BoardViewUtils.HIDDEN_CARD);
+            board.setCommunityCard2(BoardViewUtils.HIDDEN_CARD);
+            board.setCommunityCard3(BoardViewUtils.HIDDEN_CARD);
+        }
+        if (openCount < 4) {
+            board.setCommunityCard4(BoardViewUtils.HIDDEN_CARD);
+        }
+        if (openCount < 5) {
+            board.setCommunityCard5(BoardViewUtils.HIDDEN_CARD);
+        }
         board.setPhaseStatus(PhaseStatus.END_GAME);
         List<Player> players = board.getPlayers();
         BoardDto boardDto = new BoardDto(board);
@@ -382,7 +492,7 @@ public class BoardService {
             }
         }
 
-        boardRepository.save(board);
+        tableEngine.checkpoint(boardId, "WIN_ONE_PLAYER");
         return boardDto;
     }
 
@@ -393,9 +503,8 @@ public class BoardService {
      * 2. 승자 가리기
      * 3. 팟 분배하기 (사이드 팟 생각)
      */
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public BoardDto showDown(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         List<Player> players = board.getPlayers();
         board.setPhaseStatus(PhaseStatus.SHOWDOWN);
 //        refundOverBet(board);
@@ -410,12 +519,13 @@ public class BoardService {
                 player.setMoney(player.getMoney() + gameResult.getEarnedMoney());
             }
         }
-        playerRepository.saveAll(players);
+        tableEngine.checkpoint(boardId, "SHOW_DOWN");
         return boardDto;
     }
     private static BoardDto determineWinner(Board board) {
         List<Player> players = board.getPlayers();
-        List<Integer> communityCards = new ArrayList<>(List.of(board.getCommunityCard1(), board.getCommunityCard2(), board.getCommunityCard3(), board.getCommunityCard4(), board.getCommunityCard5()));
+        long communityCards = CardMaskUtils.toMask(board.getCommunityCard1()) | CardMaskUtils.toMask(board.getCommunityCard2())
+                | CardMaskUtils.toMask(board.getCommunityCard3()) | CardMaskUtils.toMask(board.getCommunityCard4()) | CardMaskUtils.toMask(board.getCommunityCard5());
         GameResultDto gameResultDto;
         BoardDto boardDto = new BoardDto(board);
 
@@ -425,9 +535,7 @@ public class BoardService {
             if (player.getStatus() == PlayerStatus.FOLD) {
                 gameResultDto = GameResultDto.builder().isWinner(false).build();
             } else {
-                ArrayList<Integer> cardPool = new ArrayList<>(List.copyOf(communityCards));
-                cardPool.add(player.getCard1());
-                cardPool.add(player.getCard2());
+                long cardPool = communityCards | CardMaskUtils.toMask(player.getCard1()) | CardMaskUtils.toMask(player.getCard2());
                 gameResultDto = HandCalculatorUtils.calculateValue(cardPool);
             }
             boardDto.getPlayers().get(i).setGameResult(gameResultDto);
@@ -442,9 +550,8 @@ public class BoardService {
      *
      * @param boardId
      */
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public void initPhase(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         List<Player> players = board.getPlayers();
         List<Integer> totalCallSize = board.getTotalCallSize();
         for (int i = 0; i < players.size(); i++) {
@@ -455,6 +562,7 @@ public class BoardService {
         }
 
         board.setBettingSize(0);
+        tableEngine.record(boardId, "INIT_PHASE");
     }
 
     /**
@@ -462,9 +570,8 @@ public class BoardService {
      *
      * @param boardId
      */
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public BoardDto nextPhase(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
 
         if (board.getPhaseStatus() == PhaseStatus.PRE_FLOP) {
             prepareNextPhase(board);
@@ -478,7 +585,7 @@ public class BoardService {
         } else if (board.getPhaseStatus() == PhaseStatus.RIVER) {
             board.setPhaseStatus(PhaseStatus.SHOWDOWN);
         }
-        boardRepository.save(board);
+        tableEngine.checkpoint(boardId, "NEXT_PHASE " + board.getPhaseStatus());
         return new BoardDto(board);
     }
 
@@ -495,7 +602,7 @@ public class BoardService {
         board.setActionPos(betPos);
         board.setBettingPos(betPos);
         board.setLastActionTime(LocalDateTime.now());
-        return boardRepository.save(board);
+        return board;
     }
 
     private void saveAction(BoardDto boardDto) {
@@ -527,12 +634,16 @@ public class BoardService {
      * @return
      */
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public BoardDto startGame(Long boardId) {
 
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        setBtnExistPlayer(board);
-        takeAnte(board);
+        Board board = tableEngine.getBoard(boardId);
+        try {
+            setBtnExistPlayer(board);
+            takeAnte(board);
+        } catch (CustomException e) {
+            tableEngine.discard(boardId);
+            throw e;
+        }
         setFirstActionPos(board);
         board.setPhaseStatus(PhaseStatus.PRE_FLOP);
         dealCard(board);
@@ -543,7 +654,8 @@ public class BoardService {
         }
 
         board.setGameSeq(board.getGameSeq() + 1);
-        return new BoardDto(boardRepository.saveAndFlush(board));
+        tableEngine.checkpoint(boardId, "START_GAME " + board.getGameSeq());
+        return new BoardDto(board);
     }
 
 
@@ -631,10 +743,10 @@ public class BoardService {
     @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
     public BoardDto get(Long boardId, Principal principal) {
         User user = userRepository.findByUserId(principal.getName()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
         boolean isAuthenticated = false;
         for (Player p : board.getPlayers()) {
-            if (p.getUser().equals(user)) {
+            if (p.getUser().getId().equals(user.getId())) {
                 isAuthenticated = true;
                 break;
             }
@@ -642,7 +754,7 @@ public class BoardService {
 
         if (!isAuthenticated)
             return null;
-        return new BoardDto(board);
+        return BoardViewUtils.viewOf(new BoardDto(board), principal.getName());
     }
 
     @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
@@ -651,7 +763,7 @@ public class BoardService {
         List<Player> playerList = user.getPlayerList();
         List<BoardDto> context = new ArrayList<>();
         for (Player player : playerList) {
-            context.add(new BoardDto(player.getBoard()));
+            context.add(BoardViewUtils.viewOf(new BoardDto(tableEngine.getBoard(player.getBoard().getId())), principal.getName()));
         }
         return context;
     }
@@ -704,6 +816,11 @@ public class BoardService {
         board.setBettingPos(updateBetPos.getPosNum());
     }
 
+    /**
+     * sitOut
+     * <p>
+     * 유저를 자리에서 뺀다. 버튼, 베팅 포지션이 그 자리였으면 옆 플레이어로 옮기고, 이번 페이즈에 낸 칩은 팟에 넣은 뒤 남은 칩을 유저에게 돌려준다.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void sitOut(BoardDto boardDto, String userId) {
         User user = userRepository.findByUserId(userId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
@@ -739,11 +856,11 @@ public class BoardService {
             board.setTotalPlayer(board.getTotalPlayer() - 1);
             playerRepository.delete(player);
             boardRepository.save(board);
+            presenceRegistry.forget(player.getId());
         }
 
     }
 
-    @Transactional
     public boolean isSeatInBoard(Board board, String userId) {
         List<Player> players = board.getPlayers();
         for (Player player : players) {
@@ -753,32 +870,42 @@ public class BoardService {
         return false;
     }
 
-    private void dealCard(Board board) {
-        Set<Integer> cards = new HashSet<>();
+    /**
+     * dealCard
+     * <p>
+     * 사용한 카드를 mask 로 기록하면서 커뮤니티 카드 5장, 플레이어 카드 2장씩을 뽑은 순서대로 나눠준다.
+     * 벤치마크(src/jmh)에서 호출할 수 있도록 package-private static 으로 둔다.
+     */
+    static void dealCard(Board board) {
         Random random = new Random();
-        int playerCardIdxPrefix = 5;
-        int cardSize = board.getTotalPlayer() * 2 + 5;
-
-        while (cards.size() < cardSize) {
-            int randomNumber = random.nextInt(52);
-            cards.add(randomNumber);
-        }
-
-        List<Integer> cardList = new ArrayList<>(cards);
-        board.setCommunityCard1(cardList.get(0));
-        board.setCommunityCard2(cardList.get(1));
-        board.setCommunityCard3(cardList.get(2));
-        board.setCommunityCard4(cardList.get(3));
-        board.setCommunityCard5(cardList.get(4));
+        long usedCards = CardMaskUtils.EMPTY;
+
+        int communityCard1 = CardMaskUtils.drawCard(usedCards, random);
+        usedCards = CardMaskUtils.add(usedCards, communityCard1);
+        int communityCard2 = CardMaskUtils.drawCard(usedCards, random);
+        usedCards = CardMaskUtils.add(usedCards, communityCard2);
+        int communityCard3 = CardMaskUtils.drawCard(usedCards, random);
+        usedCards = CardMaskUtils.add(usedCards, communityCard3);
+        int communityCard4 = CardMaskUtils.drawCard(usedCards, random);
+        usedCards = CardMaskUtils.add(usedCards, communityCard4);
+        int communityCard5 = CardMaskUtils.drawCard(usedCards, random);
+        usedCards = CardMaskUtils.add(usedCards, communityCard5);
+
+        board.setCommunityCard1(communityCard1);
+        board.setCommunityCard2(communityCard2);
+        board.setCommunityCard3(communityCard3);
+        board.setCommunityCard4(communityCard4);
+        board.setCommunityCard5(communityCard5);
 
         List<Player> players = board.getPlayers();
 
         for (Player player : players) {
-            int playerCard = cardList.get(playerCardIdxPrefix);
-            int playerCard2 = cardList.get(playerCardIdxPrefix + 1);
+            int playerCard = CardMaskUtils.drawCard(usedCards, random);
+            usedCards = CardMaskUtils.add(usedCards, playerCard);
+            int playerCard2 = CardMaskUtils.drawCard(usedCards, random);
+            usedCards = CardMaskUtils.add(usedCards, playerCard2);
             player.setCard1(playerCard);
             player.setCard2(playerCard2);
-            playerCardIdxPrefix += 2;
         }
     }
 }
@@ -0,0 +1,292 @@
+package com.example.pokerv2.service;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.EquityDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.dto.PlayerEquityDto;
+import com.example.pokerv2.dto.PreflopEquityDto;
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.equity.EquityEngine;
+import com.example.pokerv2.equity.EquityQuery;
+import com.example.pokerv2.equity.EquityResult;
+import com.example.pokerv2.equity.HandRange;
+import com.example.pokerv2.equity.PreflopEquityTable;
+import com.example.pokerv2.equity.PreflopHandClass;
+import com.example.pokerv2.error.CustomException;
+import com.example.pokerv2.error.ErrorCode;
+import com.example.pokerv2.utils.BoardViewUtils;
+import com.example.pokerv2.utils.CardMaskUtils;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 올인 상황에서 남은 플레이어들의 승률을 계산한다.
+ * <p>
+ * 1. 남은 커뮤니티 카드의 경우의 수가 exhaustiveLimit 이하면 (턴, 리버, 플랍) 모든 경우를 계산한다.
+ * 2. 그 외에는 (프리플랍) 몬테카를로 샘플링을 하고, maxIterations 또는 timeBudgetMs 중 먼저 도달한 곳에서 멈춘다.
+ * <p>
+ * 계산은 EquityEngine(ForkJoinPool) 에서 하고, 시간 안에 끝나지 않으면 그때까지의 중간 결과를 사용한다.
+ * 테이블의 올인 쇼다운 승률은 calculateAsync 로 별도 스레드에서 기다리므로 테이블 메일박스를 막지 않는다.
+ * <p>
+ * 프리플랍 승률 테이블(PreflopEquityTable)이 있으면 프리플랍 1:1 과 핸드 종류별 승률은 계산 없이 테이블에서 읽는다.
+ * 테이블은 핸드 종류(AKs 등) 단위의 평균값이므로 실제 무늬 조합과는 조금 차이가 날 수 있다.
+ */
+@Service
+public class EquityService {
+
+    private static final int COMMUNITY_CARD_SIZE = 5;
+
+    private final EquityEngine equityEngine;
+    private final PreflopEquityTable preflopEquityTable;
+    private final long maxIterations;
+    private final long timeBudgetMs;
+    private final long exhaustiveLimit;
+    private final ExecutorService showDownExecutor;
+
+    public EquityService(EquityEngine equityEngine,
+                         PreflopEquityTable preflopEquityTable,
+                         @Value("${equity.max-iterations:200000}") long maxIterations,
+                         @Value("${equity.time-budget-ms:1000}") long timeBudgetMs,
+                         @Value("${equity.exhaustive-limit:2000}") long exhaustiveLimit,
+                         @Value("${equity.showdown-threads:2}") int showDownThreads) {
+        this.equityEngine = equityEngine;
+        this.preflopEquityTable = preflopEquityTable;
+        this.maxIterations = maxIterations;
+        this.timeBudgetMs = timeBudgetMs;
+        this.exhaustiveLimit = exhaustiveLimit;
+        this.showDownExecutor = Executors.newFixedThreadPool(Math.max(1, showDownThreads), namedThreadFactory("equity-showdown-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        showDownExecutor.shutdownNow();
+    }
+
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    /**
+     * isAllInShowDown
+     * <p>
+     * 리버 전에 쇼다운이 확정된 상황인지 확인한다.
+     * 폴드하지 않은 플레이어가 2명 이상이고, 올인한 플레이어가 있으며, 더 액션할 수 있는 플레이어가 1명 이하인 경우.
+     */
+    public boolean isAllInShowDown(BoardDto boardDto) {
+        if (boardDto.getPhaseStatus() < PhaseStatus.PRE_FLOP.ordinal() || boardDto.getPhaseStatus() >= PhaseStatus.RIVER.ordinal()) {
+            return false;
+        }
+
+        int liveCount = 0;
+        int allInCount = 0;
+        int actionableCount = 0;
+        for (PlayerDto player : boardDto.getPlayers()) {
+            PlayerStatus status = PlayerStatus.valueOf(player.getStatus());
+            if (status == PlayerStatus.FOLD || status == PlayerStatus.DISCONNECT_FOLD) {
+                continue;
+            }
+            liveCount++;
+            if (status == PlayerStatus.ALL_IN || status == PlayerStatus.DISCONNECT_ALL_IN) {
+                allInCount++;
+            } else {
+                actionableCount++;
+            }
+        }
+
+        return liveCount >= 2 && allInCount >= 1 && actionableCount <= 1;
+    }
+
+    /**
+     * calculate
+     * <p>
+     * 현재 페이즈까지 공개된 커뮤니티 카드와 폴드하지 않은 플레이어들의 핸드로 승률을 계산한다.
+     */
+    public EquityDto calculate(BoardDto boardDto) {
+        List<PlayerDto> livePlayers = new ArrayList<>();
+        for (PlayerDto player : boardDto.getPlayers()) {
+            PlayerStatus status = PlayerStatus.valueOf(player.getStatus());
+            if (status != PlayerStatus.FOLD && status != PlayerStatus.DISCONNECT_FOLD) {
+                livePlayers.add(player);
+            }
+        }
+
+        long[] holeCards = new long[livePlayers.size()];
+        for (int i = 0; i < holeCards.length; i++) {
+            PlayerDto player = livePlayers.get(i);
+            holeCards[i] = CardMaskUtils.toMask(player.getCard1()) | CardMaskUtils.toMask(player.getCard2());
+        }
+
+        EquityDto equityDto = calculate(holeCards, getOpenCommunityCards(boardDto), boardDto.getId() * 31 + boardDto.getGameSeq());
+        equityDto.setBoardId(boardDto.getId());
+        equityDto.setGameSeq(boardDto.getGameSeq());
+        equityDto.setPhaseStatus(boardDto.getPhaseStatus());
+        for (int i = 0; i < holeCards.length; i++) {
+            PlayerDto player = livePlayers.get(i);
+            PlayerEquityDto playerEquity = equityDto.getPlayers().get(i);
+            playerEquity.setUserId(player.getUserId());
+            playerEquity.setPosition(player.getPosition());
+            playerEquity.setCard1(player.getCard1());
+            playerEquity.setCard2(player.getCard2());
+        }
+
+        return equityDto;
+    }
+
+    /**
+     * calculateAsync
+     * <p>
+     * calculate(BoardDto) 를 showDownExecutor 에서 실행한다. 최대 timeBudgetMs 동안 기다리는 스레드가 테이블 메일박스가 아니게 한다.
+     * boardDto 는 호출한 뒤 바뀌지 않는 복사본이어야 한다.
+     */
+    public CompletableFuture<EquityDto> calculateAsync(BoardDto boardDto) {
+        return CompletableFuture.supplyAsync(() -> calculate(boardDto), showDownExecutor);
+    }
+
+    /**
+     * calculate
+     *
+     * @param holeCards      플레이어별 핸드 mask (CardMaskUtils 참고)
+     * @param communityCards 공개된 커뮤니티 카드 mask
+     * @param seed           샘플링 seed. 같은 seed 면 같은 결과가 나온다.
+     * @return holeCards 순서대로 담긴 승률. userId, position 등 보드 정보는 채우지 않는다.
+     */
+    public EquityDto calculate(long[] holeCards, long communityCards, long seed) {
+        if (holeCards.length < 2 || CardMaskUtils.size(communityCards) > COMMUNITY_CARD_SIZE) {
+            throw new CustomException(ErrorCode.BAD_REQUEST);
+        }
+
+        long deadCards = communityCards;
+        List<HandRange> ranges = new ArrayList<>(holeCards.length);
+        for (long holeCard : holeCards) {
+            if ((deadCards & holeCard) != 0) {
+                throw new CustomException(ErrorCode.BAD_REQUEST);
+            }
+            deadCards |= holeCard;
+            ranges.add(HandRange.of(holeCard));
+        }
+
+        if (communityCards == CardMaskUtils.EMPTY && holeCards.length == 2 && preflopEquityTable.isLoaded()) {
+            return getHeadsUpEquityFromTable(holeCards);
+        }
+
+        int drawCount = COMMUNITY_CARD_SIZE - CardMaskUtils.size(communityCards);
+        long runoutCount = combination(CardMaskUtils.DECK_SIZE - CardMaskUtils.size(deadCards), drawCount);
+        boolean exhaustive = runoutCount <= exhaustiveLimit;
+
+        EquityQuery query = EquityQuery.builder().ranges(ranges).board(communityCards)
+                .exhaustive(exhaustive).samples(maxIterations).seed(seed).build();
+        EquityResult result = equityEngine.submit(query).await(timeBudgetMs, TimeUnit.MILLISECONDS);
+
+        List<PlayerEquityDto> players = new ArrayList<>(holeCards.length);
+        for (int i = 0; i < holeCards.length; i++) {
+            PlayerEquityDto playerEquity = new PlayerEquityDto();
+            playerEquity.setWin(result.getWin(i));
+            playerEquity.setTie(result.getTie(i));
+            playerEquity.setEquity(result.getEquity(i));
+            players.add(playerEquity);
+        }
+
+        EquityDto equityDto = new EquityDto();
+        equityDto.setExhaustive(exhaustive && result.isCompleted());
+        equityDto.setIterations(result.getTrials());
+        equityDto.setPlayers(players);
+        return equityDto;
+    }
+
+    /**
+     * getPreflopEquity
+     *
+     * @param handClassName AA, AKs, AKo 형식의 핸드 종류
+     * @param playerCount   전체 인원 (2 ~ 6)
+     * @return 나머지 플레이어가 아무 핸드일 때의 equity. 테이블이 없으면 샘플링으로 계산한다.
+     */
+    public PreflopEquityDto getPreflopEquity(String handClassName, int playerCount) {
+        int handClass;
+        try {
+            handClass = PreflopHandClass.of(handClassName);
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ErrorCode.BAD_REQUEST);
+        }
+        if (playerCount < 2 || playerCount > 6) {
+            throw new CustomException(ErrorCode.BAD_REQUEST);
+        }
+
+        String name = PreflopHandClass.getName(handClass);
+        if (preflopEquityTable.isLoaded()) {
+            return new PreflopEquityDto(name, playerCount, preflopEquityTable.getEquityVsRandom(handClass, playerCount), true);
+        }
+
+        List<HandRange> ranges = new ArrayList<>(playerCount);
+        ranges.add(PreflopHandClass.toHandRange(handClass));
+        for (int i = 1; i < playerCount; i++) {
+            ranges.add(HandRange.any());
+        }
+        EquityQuery query = EquityQuery.builder().ranges(ranges).samples(maxIterations).seed(handClass * 8L + playerCount).build();
+        EquityResult result = equityEngine.submit(query).await(timeBudgetMs, TimeUnit.MILLISECONDS);
+
+        return new PreflopEquityDto(name, playerCount, result.getEquity(0), false);
+    }
+
+    private EquityDto getHeadsUpEquityFromTable(long[] holeCards) {
+        int[] handClasses = new int[holeCards.length];
+        for (int i = 0; i < holeCards.length; i++) {
+            int card1 = CardMaskUtils.lowestCard(holeCards[i]);
+            int card2 = CardMaskUtils.lowestCard(holeCards[i] & (holeCards[i] - 1));
+            handClasses[i] = PreflopHandClass.of(card1, card2);
+        }
+
+        List<PlayerEquityDto> players = new ArrayList<>(holeCards.length);
+        for (int i = 0; i < holeCards.length; i++) {
+            int opponent = handClasses[1 - i];
+            double win = preflopEquityTable.getHeadsUpWin(handClasses[i], opponent);
+            double tie = preflopEquityTable.getHeadsUpTie(handClasses[i], opponent);
+
+            PlayerEquityDto playerEquity = new PlayerEquityDto();
+            playerEquity.setWin(win);
+            playerEquity.setTie(tie);
+            playerEquity.setEquity(win + tie / 2);
+            players.add(playerEquity);
+        }
+
+        EquityDto equityDto = new EquityDto();
+        equityDto.setPrecomputed(true);
+        equityDto.setPlayers(players);
+        return equityDto;
+    }
+
+    private static long getOpenCommunityCards(BoardDto boardDto) {
+        int[] communityCards = {boardDto.getCommunityCard1(), boardDto.getCommunityCard2(), boardDto.getCommunityCard3(),
+                boardDto.getCommunityCard4(), boardDto.getCommunityCard5()};
+        int openCount = BoardViewUtils.getOpenCommunityCardCount(boardDto.getPhaseStatus());
+
+        return CardMaskUtils.toMask(communityCards, openCount);
+    }
+
+    private static long combination(int n, int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.pokerv2.service;
+
+import com.example.pokerv2.history.HandRecord;
+import com.example.pokerv2.model.Action;
+import com.example.pokerv2.model.HandHistory;
+import com.example.pokerv2.model.UserHandHistory;
+import com.example.pokerv2.repository.HandHistoryRepository;
+import com.example.pokerv2.repository.UserHandHistoryRepository;
+import com.example.pokerv2.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HandHistoryLog 에 기록한 핸드를 예전처럼 HandHistory 엔티티로도 남긴다.
+ * hand-history.jpa-projection 이 true 일 때만 HandHistoryService 가 호출한다. 핸드 기록의 원본은 HandHistoryLog 다.
+ */
+@Service
+@RequiredArgsConstructor
+public class HandHistoryProjector {
+
+    private final HandHistoryRepository handHistoryRepository;
+    private final UserHandHistoryRepository userHandHistoryRepository;
+    private final UserRepository userRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
+    public void save(HandRecord record) {
+        HandHistory handHistory = HandHistory.builder().boardId(record.getBoardId()).gameSeq(record.getGameSeq()).btnPosition(record.getBtnPosition())
+                .potAmountPf(record.getPotAmountPf()).potAmountFlop(record.getPotAmountFlop()).potAmountTurn(record.getPotAmountTurn()).potAmountRiver(record.getPotAmountRiver())
+                .communityCard1(record.getCommunityCard1()).communityCard2(record.getCommunityCard2()).communityCard3(record.getCommunityCard3())
+                .communityCard4(record.getCommunityCard4()).communityCard5(record.getCommunityCard5()).finish(true).build();
+
+        List<UserHandHistory> connectionList = new ArrayList<>();
+        for (HandRecord.Seat seat : record.getSeats()) {
+            connectionList.add(UserHandHistory.builder().user(userRepository.getReferenceById(seat.getUserId())).handHistory(handHistory).build());
+            handHistory.getPosList().add(seat.getPosition());
+            handHistory.getCardList().add(seat.getCard1());
+            handHistory.getCardList().add(seat.getCard2());
+            if (seat.isShowDown()) {
+                handHistory.getShowDownUserIdList().add(seat.getUserId());
+            }
+        }
+        for (HandRecord.ActionEntry action : record.getActions()) {
+            handHistory.getActionList().add(Action.builder().actionNo(action.getActionNo()).userId(action.getUserId()).position(action.getPosition())
+                    .phaseStatus(action.getPhaseStatus()).detail(action.getDetail()).handHistory(handHistory).build());
+        }
+        handHistory.setUserList(connectionList);
+
+        handHistoryRepository.save(handHistory);
+        userHandHistoryRepository.saveAll(connectionList);
+    }
+}
@@ -1,117 +1,351 @@
 package com.example.pokerv2.service;
 
+import com.example.pokerv2.cluster.TableCommand;
+import com.example.pokerv2.cluster.TableCommandRouter;
+import com.example.pokerv2.cluster.TableOwnership;
 import com.example.pokerv2.dto.BoardDto;
 import com.example.pokerv2.dto.GameResultDto;
 import com.example.pokerv2.dto.HandHistoryDto;
+import com.example.pokerv2.dto.HandHistoryPageDto;
 import com.example.pokerv2.dto.PlayerDto;
 import com.example.pokerv2.enums.PhaseStatus;
 import com.example.pokerv2.error.CustomException;
 import com.example.pokerv2.error.ErrorCode;
+import com.example.pokerv2.history.HandHistoryLog;
+import com.example.pokerv2.history.HandRecord;
 import com.example.pokerv2.model.*;
 import com.example.pokerv2.repository.*;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.parameters.P;
+import com.example.pokerv2.table.TableEngine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+/**
+ * 핸드 기록.
+ * 핸드 동안에는 테이블마다 HandRecord 를 메모리에서 채우고, 핸드가 끝나면 HandHistoryLog 에 한 번 덧붙인다. 핸드 중에는 DB 에 쓰지 않는다.
+ * hand-history.jpa-projection 이 true 면 끝난 핸드를 HandHistoryProjector 로 HandHistory 엔티티에도 남긴다.
+ * 아래 쓰기 메서드들은 테이블 메일박스 안에서만 호출된다.
+ * <p>
+ * 클러스터에서는 핸드 기록을 history node(TableOwnership.getHistoryNode) 한 곳의 로그에만 쌓는다.
+ * 다른 노드는 끝난 핸드를 TableCommandRouter 로 history node 에 보내고, 조회도 history node 에 물어본다.
+ * 그래서 커서(로그 주소)는 노드가 달라도 같은 뜻이다.
+ * history node 에 보내지 못한 핸드는 outboxDir 에 파일로 남겨 두고, 브로커에 다시 연결되면 replayOutbox 로 다시 보낸다.
+ * <p>
+ * 로그를 쓰기 전에 쌓인 예전 기록(UserHandHistory, HandHistory 엔티티)은 옮기지 않고, 로그의 핸드를 다 읽은 뒤 이어서 읽는다.
+ * 예전 기록의 커서는 -(UserHandHistory id) 이다. jpa-projection 으로 만든 행은 로그에 있는 핸드라 건너뛴다.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class HandHistoryService {
 
-    private final HandHistoryRepository handHistoryRepository;
-    private final BoardRepository boardRepository;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String OUTBOX_SUFFIX = ".hand";
+
+    private final HandHistoryLog handHistoryLog;
+    private final HandHistoryProjector handHistoryProjector;
+    private final TableEngine tableEngine;
     private final UserRepository userRepository;
     private final UserHandHistoryRepository userHandHistoryRepository;
+    private final TableOwnership tableOwnership;
+    private final TableCommandRouter tableCommandRouter;
+    private final TransactionTemplate readTransaction;
+    private final boolean jpaProjection;
+    private final Path outboxDir;
+    private final Map<Long, HandRecord> hands = new ConcurrentHashMap<>();
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
-    public HandHistory createHandHistory(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+    public HandHistoryService(HandHistoryLog handHistoryLog, HandHistoryProjector handHistoryProjector, TableEngine tableEngine,
+                              UserRepository userRepository, UserHandHistoryRepository userHandHistoryRepository,
+                              TableOwnership tableOwnership, TableCommandRouter tableCommandRouter, PlatformTransactionManager transactionManager,
+                              @Value("${hand-history.jpa-projection:false}") boolean jpaProjection,
+                              @Value("${hand-history.outbox-dir:hand-history-outbox}") String outboxDir) {
+        this.handHistoryLog = handHistoryLog;
+        this.handHistoryProjector = handHistoryProjector;
+        this.tableEngine = tableEngine;
+        this.userRepository = userRepository;
+        this.userHandHistoryRepository = userHandHistoryRepository;
+        this.tableOwnership = tableOwnership;
+        this.tableCommandRouter = tableCommandRouter;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.readTransaction.setReadOnly(true);
+        this.jpaProjection = jpaProjection;
+        this.outboxDir = Path.of(outboxDir);
+    }
 
-        List<UserHandHistory> connectionList = new ArrayList<>();
-        List<Integer> cardList = new ArrayList<>();
-        List<Integer> posList = new ArrayList<>();
+    /**
+     * 다른 노드에서 보낸 핸드 기록과 조회는 history node 에서만 받는다.
+     */
+    @PostConstruct
+    public void registerNodeCommands() {
+        tableCommandRouter.registerNode(TableCommand.Type.HAND_HISTORY_APPEND, command -> {
+            append(command.getHandRecord());
+            return null;
+        });
+        tableCommandRouter.registerNode(TableCommand.Type.HAND_HISTORY_PAGE, command ->
+                TableCommand.builder().handHistoryPage(readPage(command.getUserId(), command.getCursor(), command.getSize())).build());
+        tableCommandRouter.addConnectListener(this::replayOutbox);
+    }
 
+    public HandRecord createHandHistory(Long boardId) {
+        Board board = tableEngine.getBoard(boardId);
 
-        HandHistory handHistory = HandHistory.builder().boardId(board.getId()).gameSeq(board.getGameSeq()).cardList(cardList).btnPosition(board.getBtn())
+        HandRecord handRecord = HandRecord.builder().boardId(board.getId()).gameSeq(board.getGameSeq()).btnPosition(board.getBtn())
                 .communityCard1(board.getCommunityCard1()).communityCard2(board.getCommunityCard2()).communityCard3(board.getCommunityCard3()).communityCard4(board.getCommunityCard4()).communityCard5(board.getCommunityCard5()).build();
 
         for (Player player : board.getPlayers()) {
-            UserHandHistory connection = UserHandHistory.builder().user(player.getUser()).handHistory(handHistory).build();
-            cardList.add(player.getCard1());
-            cardList.add(player.getCard2());
-            connectionList.add(connection);
-            posList.add(player.getPosition().getPosNum());
+            handRecord.getSeats().add(new HandRecord.Seat(player.getUser().getId(), player.getPosition().getPosNum(), player.getCard1(), player.getCard2(), false));
         }
 
-        handHistory.setUserList(connectionList);
-        handHistory.setPosList(posList);
+        hands.put(boardId, handRecord);
+        return handRecord;
+    }
 
-        handHistoryRepository.save(handHistory);
-        userHandHistoryRepository.saveAll(connectionList);
-        return handHistory;
+    /**
+     * 액션을 기록한다. actionNo 는 기록한 순서로 매긴다.
+     * 서버가 핸드 중간에 다시 뜬 경우 등 진행 중인 기록이 없으면 버린다.
+     */
+    public void addAction(Long boardId, HandRecord.ActionEntry action) {
+        HandRecord handRecord = hands.get(boardId);
+        if (handRecord == null) {
+            return;
+        }
+        action.setActionNo(handRecord.getActions().size());
+        handRecord.getActions().add(action);
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void savePhaseHistory(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<Player> players = board.getPlayers();
-        HandHistory handHistory = handHistoryRepository.findByBoardIdAndGameSeq(board.getId(), board.getGameSeq()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        Board board = tableEngine.getBoard(boardId);
+        HandRecord handRecord = hands.get(boardId);
+        if (handRecord == null) {
+            return;
+        }
         int potAmount = board.getPot();
 
-        for (Player player : players) {
+        for (Player player : board.getPlayers()) {
             potAmount += player.getPhaseCallSize();
         }
 
         if(board.getPhaseStatus() == PhaseStatus.PRE_FLOP) {
-            handHistory.setPotAmountPf(potAmount);
+            handRecord.setPotAmountPf(potAmount);
         } else if (board.getPhaseStatus() == PhaseStatus.FLOP) {
-            handHistory.setPotAmountFlop(potAmount);
+            handRecord.setPotAmountFlop(potAmount);
         } else if (board.getPhaseStatus() == PhaseStatus.TURN) {
-            handHistory.setPotAmountTurn(potAmount);
+            handRecord.setPotAmountTurn(potAmount);
         } else if (board.getPhaseStatus() == PhaseStatus.RIVER) {
-            handHistory.setPotAmountRiver(potAmount);
+            handRecord.setPotAmountRiver(potAmount);
         } else throw new CustomException(ErrorCode.BAD_REQUEST);
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void end(BoardDto boardDto) {
-        HandHistory handHistory = handHistoryRepository.findByBoardIdAndGameSeq(boardDto.getId(), boardDto.getGameSeq()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<PlayerDto> players = boardDto.getPlayers();
-        List<Long> showDownUserIdList = handHistory.getShowDownUserIdList();
-        handHistory.setFinish(true);
-        int phaseStatus = boardDto.getPhaseStatus();
-
-        if(phaseStatus == PhaseStatus.SHOWDOWN.ordinal()) {
-            for (PlayerDto player : players) {
+        HandRecord handRecord = hands.remove(boardDto.getId());
+        if (handRecord == null) {
+            return;
+        }
+        handRecord.setEndedAt(System.currentTimeMillis());
+
+        if(boardDto.getPhaseStatus() == PhaseStatus.SHOWDOWN.ordinal()) {
+            for (PlayerDto player : boardDto.getPlayers()) {
                 GameResultDto gameResult = player.getGameResult();
                 if(gameResult.getHandValue() != 0L) {
-                    showDownUserIdList.add(player.getUserId());
+                    for (HandRecord.Seat seat : handRecord.getSeats()) {
+                        if (seat.getUserId() == player.getUserId()) {
+                            seat.setShowDown(true);
+                        }
+                    }
                 }
             }
         }
+
+        if (tableOwnership.isHistoryNode()) {
+            append(handRecord);
+            return;
+        }
+        try {
+            ship(handRecord);
+        } catch (CustomException e) {
+            log.error("failed to ship hand history {}-{} to {}", handRecord.getBoardId(), handRecord.getGameSeq(), tableOwnership.getHistoryNode());
+            saveToOutbox(handRecord);
+        }
     }
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
-    public List<HandHistoryDto> get(String userId) {
-        User user = userRepository.findByUserId(userId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<UserHandHistory> connectionList = user.getHandHistoryList();
-        List<HandHistoryDto> handHistoryList = new ArrayList<>();
-
-        for (UserHandHistory userHandHistory : connectionList) {
-            if(userHandHistory.getUser().equals(user) ) {
-                HandHistory handHistory = userHandHistory.getHandHistory();
-                if(handHistory.isFinish()) {
-                    handHistoryList.add(new HandHistoryDto(handHistory));
-                    System.out.println("new handHistoryDto = " + new HandHistoryDto(handHistory));
+    /**
+     * outbox 에 남은 핸드를 history node 에 다시 보내고, 보낸 파일은 지운다. 브로커에 연결될 때마다 실행된다.
+     * 보낸 뒤 파일을 지우기 전에 멈추면 같은 핸드를 다시 보낼 수 있으므로 append 는 로그에 이미 있는 핸드를 건너뛴다.
+     */
+    public synchronized void replayOutbox() {
+        if (!Files.isDirectory(outboxDir)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(outboxDir)) {
+            files = paths.filter(path -> path.getFileName().toString().endsWith(OUTBOX_SUFFIX)).sorted().toList();
+        } catch (IOException e) {
+            log.error("failed to list hand history outbox {}", outboxDir, e);
+            return;
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            try {
+                HandRecord handRecord;
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    handRecord = HandRecord.readFrom(in);
                 }
+                ship(handRecord);
+                Files.delete(file);
+            } catch (CustomException e) {
+                log.warn("hand history replay stopped, {} hands left in {}", files.size() - i, outboxDir);
+                return;
+            } catch (IOException e) {
+                log.error("failed to replay hand history {}", file, e);
             }
         }
+    }
+
+    private void ship(HandRecord handRecord) {
+        if (tableOwnership.isHistoryNode()) {
+            append(handRecord);
+            return;
+        }
+        tableCommandRouter.tellNode(tableOwnership.getHistoryNode(),
+                TableCommand.builder().type(TableCommand.Type.HAND_HISTORY_APPEND).handRecord(handRecord).build());
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 이름을 바꿔서, replayOutbox 가 다 쓰지 않은 파일을 읽지 않게 한다.
+     */
+    private void saveToOutbox(HandRecord handRecord) {
+        Path file = outboxDir.resolve(handRecord.getBoardId() + "-" + handRecord.getGameSeq() + OUTBOX_SUFFIX);
+        Path temp = outboxDir.resolve(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(outboxDir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                handRecord.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("failed to keep hand history {}-{} in outbox", handRecord.getBoardId(), handRecord.getGameSeq(), e);
+        }
+    }
+
+    /**
+     * 유저의 핸드 기록을 최근 것부터 size 개씩 준다. HandHistoryLog 의 유저별 주소 목록에서 페이지만 잘라 그 핸드들만 읽고,
+     * 로그를 다 읽으면 예전 기록을 이어서 읽는다. 좌석 유저는 페이지마다 한 번에 조회한다.
+     * @param cursor 이전 페이지의 nextCursor. null 이면 첫 페이지
+     */
+    public HandHistoryPageDto get(String userId, Long cursor, int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new CustomException(ErrorCode.BAD_REQUEST);
+        }
+        if (!tableOwnership.isHistoryNode()) {
+            return tableCommandRouter.callNode(tableOwnership.getHistoryNode(), TableCommand.builder().type(TableCommand.Type.HAND_HISTORY_PAGE)
+                    .userId(userId).cursor(cursor).size(size).build()).getHandHistoryPage();
+        }
+        return readPage(userId, cursor, size);
+    }
+
+    private void append(HandRecord handRecord) {
+        if (handHistoryLog.contains(handRecord.getBoardId(), handRecord.getGameSeq())) {
+            return;
+        }
+        handHistoryLog.append(handRecord);
+        if (jpaProjection) {
+            try {
+                handHistoryProjector.save(handRecord);
+            } catch (RuntimeException e) {
+                log.error("failed to project hand history {}-{}", handRecord.getBoardId(), handRecord.getGameSeq(), e);
+            }
+        }
+    }
+
+    private HandHistoryPageDto readPage(String userId, Long cursor, int size) {
+        return readTransaction.execute(status -> {
+            User user = userRepository.findByUserId(userId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+            List<HandHistoryDto> handHistoryList = new ArrayList<>(size);
+            Long nextCursor = null;
+
+            if (cursor == null || cursor >= 0) {
+                long[] addresses = handHistoryLog.getUserAddresses(user.getId(), cursor, size);
+                handHistoryList.addAll(readLog(addresses));
+                if (addresses.length > 0) {
+                    nextCursor = addresses[addresses.length - 1];
+                }
+            }
+
+            long before = cursor != null && cursor < 0 ? -cursor : Long.MAX_VALUE;
+            while (handHistoryList.size() < size) {
+                int limit = size - handHistoryList.size();
+                List<UserHandHistory> rows = userHandHistoryRepository.findByUser_IdAndIdLessThanOrderByIdDesc(user.getId(), before, PageRequest.of(0, limit));
+                for (UserHandHistory row : rows) {
+                    before = row.getId();
+                    HandHistory handHistory = row.getHandHistory();
+                    if (!handHistoryLog.contains(handHistory.getBoardId(), handHistory.getGameSeq())) {
+                        handHistoryList.add(new HandHistoryDto(handHistory));
+                        nextCursor = -row.getId();
+                    }
+                }
+                if (rows.size() < limit) {
+                    break;
+                }
+            }
+
+            if (handHistoryList.size() < size) {
+                nextCursor = null;
+            }
+            return new HandHistoryPageDto(handHistoryList, nextCursor, getTotalHands(user.getId()));
+        });
+    }
+
+    private List<HandHistoryDto> readLog(long[] addresses) {
+        List<HandRecord> records = new ArrayList<>(addresses.length);
+        Set<Long> userIds = new HashSet<>();
+        for (long address : addresses) {
+            HandRecord handRecord = handHistoryLog.read(address);
+            records.add(handRecord);
+            handRecord.getSeats().forEach(seat -> userIds.add(seat.getUserId()));
+        }
+
+        Map<Long, User> users = new HashMap<>();
+        for (User seatUser : userRepository.findAllById(userIds)) {
+            users.put(seatUser.getId(), seatUser);
+        }
+
+        List<HandHistoryDto> handHistoryList = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            handHistoryList.add(new HandHistoryDto(addresses[i], records.get(i), users));
+        }
         return handHistoryList;
     }
 
-}
\ No newline at end of file
+    /**
+     * jpa-projection 을 켠 동안에는 같은 핸드가 로그와 예전 기록 양쪽에 있으므로 큰 쪽을 쓴다.
+     */
+    private int getTotalHands(Long userId) {
+        int logCount = handHistoryLog.getUserHandCount(userId);
+        int legacyCount = (int) userHandHistoryRepository.countByUser_Id(userId);
+        return jpaProjection ? Math.max(logCount, legacyCount) : logCount + legacyCount;
+    }
+
+}
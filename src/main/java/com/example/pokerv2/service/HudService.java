@@ -3,294 +3,259 @@ package com.example.pokerv2.service;
 import com.example.pokerv2.dto.*;
 import com.example.pokerv2.enums.PhaseStatus;
 import com.example.pokerv2.enums.PlayerAction;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
 import com.example.pokerv2.error.CustomException;
 import com.example.pokerv2.error.ErrorCode;
+import com.example.pokerv2.hud.HudCache;
+import com.example.pokerv2.hud.HudEngine;
+import com.example.pokerv2.hud.HudEvent;
+import com.example.pokerv2.hud.HudHand;
+import com.example.pokerv2.hud.HudStat;
 import com.example.pokerv2.model.*;
-import com.example.pokerv2.repository.BoardRepository;
-import com.example.pokerv2.repository.HandHistoryRepository;
 import com.example.pokerv2.repository.HudRepository;
+import com.example.pokerv2.repository.HudRollupRepository;
 import com.example.pokerv2.repository.UserRepository;
+import com.example.pokerv2.table.TableEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class HudService {
 
     private final HudRepository hudRepository;
-    private final BoardRepository boardRepository;
-    private final HandHistoryRepository handHistoryRepository;
+    private final TableEngine tableEngine;
     private final UserRepository userRepository;
+    private final EquityService equityService;
+    private final HudEngine hudEngine;
+    private final HudCache hudCache;
+    private final HudRollupRepository hudRollupRepository;
 
 
     /**
      *
      * HUD의 각 변수들을 계산해야 하는 시점
-     *     private int pfr; -> 프리플랍. 액션을 저장하기 전에.
-     *     private int cBet; -> 플랍. 액션을 저장하기 전에.
-     *     private int threeBet; -> 모든 페이즈. 액션을 저장하기 전에
-     *     private int wsd; -> 팟 분배 이후
-     *     private int vpip; -> 프리플랍. PhaseStatus가 플랍으로 변경되기 전에.
-     *     private int totalHands; -> 게임 시작 시
-     *     private int pfAggressiveCnt; -> 프리플랍. PhaseStatus가 플랍으로 변경되기 전에.
-     *     private int wtf; -> 플랍. PhaseStatus가 변경된 직후
-     *     private int wtsd; -> 리버 끝.
+     *     private int totalHands; -> 게임 시작 시 (onPhaseStart, PRE_FLOP)
+     *     private int vpip, pfr, threeBet, cBet; -> 액션을 저장하기 전에 (onAction)
+     *     private int pfAggressiveCnt, wtf; -> 플랍이 열린 직후 (onPhaseStart, FLOP)
+     *     private int wtsd, wsd; -> 팟 분배 이후 (onShowDown)
+     *
+     * 핸드 진행은 HudEvent 로 HudEngine 에 넣고, 핸드가 끝나면 flush 로 유저마다 UPDATE 한 번에 더한다.
+     * 카운터별 계산은 HudReducers 에 있다.
      */
 
 
-    @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
+    /**
+     * HudCache 에 있으면 DB 를 읽지 않는다.
+     */
     public HudDto get(Long userId) {
-        Hud hud = hudRepository.findByUserId(userId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-
-        return new HudDto(hud);
+        return hudCache.get(userId, this::load);
     }
 
     @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
     public HudDto get(String userId) {
         User user = userRepository.findByUserId(userId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
 
-        return new HudDto(user.getHud());
+        return hudCache.get(user.getId(), id -> new HudDto(user.getHud()));
     }
 
     /**
-     * totalHands, wtf, wtsd 계산
-     * @param boardId
+     * 테이블에 앉아 있는 유저들의 HUD. 자리에 앉거나 핸드가 끝날 때 테이블로 보낸다.
      */
-    @Transactional
-    public void addCountAfterPhaseChange(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<Player> players = board.getPlayers();
-        List<Hud> hudList = new ArrayList<>();
-
-        PhaseStatus phaseStatus = board.getPhaseStatus();
+    public List<HudDto> getTableHud(Long boardId) {
+        List<HudDto> huds = new ArrayList<>();
+        for (Player player : tableEngine.getBoard(boardId).getPlayers()) {
+            huds.add(get(player.getUser().getId()));
+        }
+        return huds;
+    }
 
-        if(phaseStatus == PhaseStatus.SHOWDOWN) {
-            for (Player player : players) {
-                plusWentToShowDown(player);
-            }
-        } else if(phaseStatus == PhaseStatus.PRE_FLOP) {
-            for (Player player : players) {
-                plusTotalHands(player);
-            }
-        } else if(phaseStatus == PhaseStatus.FLOP) {
-            for (Player player : players) {
-                plusWentToFlop(player);
-            }
+    /**
+     * from ~ to (둘 다 포함) 의 HUD. position, blind 가 null 이면 전체를 더한다. HudRollup 만 읽는다.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
+    public HudDto getRollup(Long userId, LocalDate from, LocalDate to, Position position, Integer blind) {
+        if (from.isAfter(to)) {
+            throw new CustomException(ErrorCode.BAD_REQUEST);
         }
+        HudRollupRepository.Sum sum = hudRollupRepository.sum(userId, from, to, position, blind);
 
-        hudRepository.saveAll(hudList);
+        return new HudDto(null, userId, null, (int) sum.getVpip(), (int) sum.getPfr(), (int) sum.getContinuationBet(),
+                (int) sum.getThreeBet(), (int) sum.getWtsd(), (int) sum.getWsd(), (int) sum.getTotalHands(),
+                (int) sum.getPfAggressiveCnt(), (int) sum.getWtf());
     }
 
     /**
-     * addCountBeforePhaseChange
-     *
-     * Vpip, PfAggressiveCnt, Pfr 게산.
-     * @param boardId
+     * 최근 hands 핸드 정도의 HUD. 롤업이 날짜 단위라 hands 를 처음 넘기는 날까지 하루 단위로 더한다.
      */
-    @Transactional
-    public void addCountBeforePhaseChange(Long boardId) {
-        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<Player> players = board.getPlayers();
+    @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
+    public HudDto getRecent(Long userId, int hands, Position position, Integer blind) {
+        List<HudRollupRepository.DailyHands> dailyHands = hudRollupRepository.findDailyHands(userId);
+        if (hands <= 0 || dailyHands.isEmpty()) {
+            return new HudDto(null, userId, null, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
 
-        if(board.getPhaseStatus() == PhaseStatus.PRE_FLOP) {
-            Player player = players.get(getPlayerIdxByPos(board, board.getBettingPos()));
-            plusPfAggressiveCnt(player);
-            plusVpipCnt(board);
-            plusPfr(board);
+        LocalDate from = dailyHands.get(dailyHands.size() - 1).getPlayDate();
+        long total = 0;
+        for (HudRollupRepository.DailyHands day : dailyHands) {
+            total += day.getTotalHands();
+            if (total >= hands) {
+                from = day.getPlayDate();
+                break;
+            }
         }
+
+        return getRollup(userId, from, dailyHands.get(0).getPlayDate(), position, blind);
     }
 
+    private HudDto load(Long userId) {
+        Hud hud = hudRepository.findByUserId(userId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+
+        return new HudDto(hud);
+    }
 
     /**
-     * addCountBeforeSaveAction
-     * cBet, 3bet 계산.
+     * 핸드 종류별 프리플랍 승률. HUD 에서 상대 레인지를 볼 때 참고용으로 사용한다.
      */
-    @Transactional
-    public void addCountBeforeSaveAction(BoardDto boardDto, String action) {
-        Board board = boardRepository.findById(boardDto.getId()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+    public PreflopEquityDto getPreflopEquity(String handClass, int playerCount) {
+        return equityService.getPreflopEquity(handClass, playerCount);
+    }
 
-        if(boardDto.getPhaseStatus() == PhaseStatus.FLOP.ordinal()) {
-            if (action.equals(PlayerAction.RAISE.getActionDetail()) || action.equals(PlayerAction.ALL_IN_RAISE.getActionDetail())) {
-                if(board.getBettingSize() == 0) {
-                    plusCBet(boardDto);
-                }
+    /**
+     * 핸드 시작(PRE_FLOP)이면 HAND_START, 플랍, 턴, 리버가 열렸으면 STREET 이벤트를 넣는다.
+     * @param boardId
+     */
+    public void onPhaseStart(Long boardId) {
+        Board board = tableEngine.getBoard(boardId);
+        List<Long> userIds = new ArrayList<>();
+        Map<Long, Position> positions = new HashMap<>();
+        for (Player player : board.getPlayers()) {
+            if (board.getPhaseStatus() == PhaseStatus.PRE_FLOP || !isFold(player.getStatus())) {
+                userIds.add(player.getUser().getId());
+                positions.put(player.getUser().getId(), player.getPosition());
             }
         }
 
-        if(board.getBettingSize() != 0 && boardDto.getPhaseStatus() != PhaseStatus.PRE_FLOP.ordinal()) {
-            if (action.equals(PlayerAction.RAISE.getActionDetail()) || action.equals(PlayerAction.ALL_IN_RAISE.getActionDetail())) {
-                plusThreeBet(board);
-            }
-        }
+        HudEvent.Type type = board.getPhaseStatus() == PhaseStatus.PRE_FLOP ? HudEvent.Type.HAND_START : HudEvent.Type.STREET;
+        hudEngine.publish(HudEvent.builder().type(type).boardId(boardId).phaseStatus(board.getPhaseStatus()).userIds(userIds)
+                .positions(positions).blind(board.getBlind()).build());
     }
 
     /**
-     * wsd 계산.
-     * @param boardDto
+     * 액션을 저장하기 전에 호출한다. 액션한 유저는 메모리 보드의 actionPos 로 찾는다.
      */
-    @Transactional
-    public void addCountAfterShowDown(BoardDto boardDto) {
-        List<PlayerDto> players = boardDto.getPlayers();
-
-        for (PlayerDto player : players) {
-            GameResultDto gameResult = player.getGameResult();
-            if(gameResult.isWinner()) {
-                Hud hud = hudRepository.findByUserId(player.getUserId()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-                hud.setWsd(hud.getWsd() + 1);
-            }
+    public void onAction(Long boardId, String action) {
+        Board board = tableEngine.getBoard(boardId);
+        int actionIdx = getPlayerIdxByPos(board, board.getActionPos());
+        PlayerAction playerAction = findPlayerAction(action);
+        if (actionIdx < 0 || playerAction == null) {
+            return;
         }
-    }
 
-    private void plusThreeBet(Board board) {
-        int raiseIdx = getPlayerIdxByPos(board, board.getBettingPos());
-        List<Player> players = board.getPlayers();
-        if(raiseIdx >= 0 && raiseIdx < players.size()) {
-            Hud hud = players.get(raiseIdx).getUser().getHud();
-            hud.setThreeBet(hud.getThreeBet() + 1);
-        }
+        Long userId = board.getPlayers().get(actionIdx).getUser().getId();
+        hudEngine.publish(HudEvent.builder().type(HudEvent.Type.ACTION).boardId(boardId).userId(userId).action(playerAction).build());
     }
 
-    private void plusCBet(BoardDto boardDto) {
-        HandHistory handHistory = handHistoryRepository.findByBoardIdAndGameSeq(boardDto.getId(), boardDto.getGameSeq()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<Action> actionList = handHistory.getActionList();
-
-        List<Action> pfActionList = actionList.stream()
-                .filter(a -> a.getDetail().contains(PlayerAction.RAISE.getActionDetail()) && a.getPhaseStatus().equals(PhaseStatus.PRE_FLOP)).collect(Collectors.toList());
-
-        if(pfActionList.size() > 0) {
-            Action pfLastRaise = pfActionList.get(pfActionList.size() - 1);
-            if(boardDto.getBettingPos() == pfLastRaise.getPosition()) {
-                Hud hud = hudRepository.findByUserId(pfLastRaise.getUserId()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-                hud.setCBet(hud.getCBet() + 1);
+    /**
+     * 쇼다운 결과. 폴드하지 않은 유저가 쇼다운까지 간 것으로 센다.
+     */
+    public void onShowDown(BoardDto boardDto) {
+        List<Long> userIds = new ArrayList<>();
+        List<Long> winnerUserIds = new ArrayList<>();
+        for (PlayerDto player : boardDto.getPlayers()) {
+            if (isFold(PlayerStatus.values()[player.getStatus()])) {
+                continue;
+            }
+            userIds.add(player.getUserId());
+            if (player.getGameResult() != null && player.getGameResult().isWinner()) {
+                winnerUserIds.add(player.getUserId());
             }
         }
+        hudEngine.publish(HudEvent.builder().type(HudEvent.Type.SHOWDOWN).boardId(boardDto.getId())
+                .userIds(userIds).winnerUserIds(winnerUserIds).build());
     }
 
-    private void plusPfr(Board board) {
-        HandHistory handHistory = handHistoryRepository.findByBoardIdAndGameSeq(board.getId(), board.getGameSeq()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<Action> actionList = handHistory.getActionList();
-        List<User> raiseUserList = new ArrayList<>();
-
-        for (Action action : actionList) {
-            if(action.getDetail().contains(PlayerAction.RAISE.getActionDetail())) {
-                User user = userRepository.findById(action.getUserId()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-                if(!raiseUserList.contains(user)) {
-                    raiseUserList.add(user);
-                }
-            }
+    /**
+     * 핸드 동안 모은 변경분을 유저마다 UPDATE 한 번으로 더한다. 핸드가 끝날 때 호출한다.
+     * 읽지 않고 col = col + ? 로 더하므로 같은 유저가 여러 테이블에 있어도 서로 덮어쓰지 않는다.
+     * 같은 값을 오늘, 핸드 시작 때의 포지션, 블라인드 칸의 HudRollup 에도 더한다.
+     * 커밋된 뒤에 HudCache 에도 같은 값을 더한다. 커밋 직전부터 커밋 뒤까지 읽은 값은 캐시에 넣지 않아 두 번 더해지지 않는다.
+     */
+    @Transactional
+    public void flush(Long boardId) {
+        HudHand hand = hudEngine.finish(boardId);
+        if (hand == null) {
+            return;
         }
 
-        for (User user : raiseUserList) {
-            Hud hud = user.getHud();
-            hud.setPfr(hud.getPfr() + 1);
+        Map<Long, EnumSet<HudStat>> credits = hand.getCredits();
+        LocalDate today = LocalDate.now();
+        for (Map.Entry<Long, EnumSet<HudStat>> entry : credits.entrySet()) {
+            EnumSet<HudStat> stats = entry.getValue();
+            hudRepository.addCounts(entry.getKey(), count(stats, HudStat.VPIP), count(stats, HudStat.PFR), count(stats, HudStat.C_BET),
+                    count(stats, HudStat.THREE_BET), count(stats, HudStat.WTSD), count(stats, HudStat.WSD), count(stats, HudStat.TOTAL_HANDS),
+                    count(stats, HudStat.PF_AGGRESSIVE_CNT), count(stats, HudStat.WTF));
+
+            Position position = hand.getPosition(entry.getKey());
+            if (position != null) {
+                hudRollupRepository.addCounts(entry.getKey(), today, position.ordinal(), hand.getBlind(),
+                        count(stats, HudStat.VPIP), count(stats, HudStat.PFR), count(stats, HudStat.C_BET),
+                        count(stats, HudStat.THREE_BET), count(stats, HudStat.WTSD), count(stats, HudStat.WSD), count(stats, HudStat.TOTAL_HANDS),
+                        count(stats, HudStat.PF_AGGRESSIVE_CNT), count(stats, HudStat.WTF));
+            }
         }
-    }
 
-    private void plusVpipCnt(Board board) {
-        List<Player> players = board.getPlayers();
-        List<Hud> hudList = new ArrayList<>();
-        int btnPlayerIdx = getPlayerIdxByPos(board, board.getBtn());
-        int sbPlayerIdx = (btnPlayerIdx + 1) % board.getTotalPlayer();
-        int bbPlayerIdx = (btnPlayerIdx + 2) % board.getTotalPlayer();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean prepared;
 
-        for(int i = 0; i < board.getTotalPlayer(); i++) {
-            Player player = players.get(i);
-            int phaseCallSize = player.getPhaseCallSize();
-            if(i == sbPlayerIdx) {
-                if(board.getBlind() * 0.5 < phaseCallSize) {
-                    Optional<Hud> findHud = hudRepository.findByUserId(player.getUser().getId());
-                    if(findHud.isPresent()) {
-                        Hud hud = findHud.get();
-                        hud.setVpip(hud.getVpip() + 1);
-                        hudList.add(hud);
-                    }
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    credits.keySet().forEach(hudCache::beginAdd);
+                    prepared = true;
                 }
-            } else if(i == bbPlayerIdx) {
-                if(board.getBlind() < phaseCallSize) {
-                    Optional<Hud> findHud = hudRepository.findByUserId(player.getUser().getId());
-                    if(findHud.isPresent()) {
-                        Hud hud = findHud.get();
-                        hud.setVpip(hud.getVpip() + 1);
-                        hudList.add(hud);
-                    }
-                }
-            } else {
-                if(phaseCallSize > 0) {
-                    Optional<Hud> findHud = hudRepository.findByUserId(player.getUser().getId());
-                    if(findHud.isPresent()) {
-                        Hud hud = findHud.get();
-                        hud.setVpip(hud.getVpip() + 1);
-                        hudList.add(hud);
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (prepared) {
+                        credits.forEach((userId, stats) -> hudCache.endAdd(userId, status == STATUS_COMMITTED ? stats : null));
                     }
                 }
-            }
+            });
+        } else {
+            credits.forEach(hudCache::add);
         }
-
-        hudRepository.saveAll(hudList);
     }
 
-    private void plusWentToShowDown(Player player) {
-        Optional<Hud> findHud = hudRepository.findByUserId(player.getUser().getId());
-
-        if(findHud.isPresent()) {
-            Hud hud = findHud.get();
-            hud.setWtsd(hud.getWtsd() + 1);
-        }
+    private static int count(EnumSet<HudStat> stats, HudStat stat) {
+        return stats.contains(stat) ? 1 : 0;
     }
 
-    private void plusTotalHands(Player player) {
-        Optional<Hud> findHud = hudRepository.findByUserId(player.getUser().getId());
-
-        if(findHud.isPresent()) {
-            Hud hud = findHud.get();
-            hud.setTotalHands(hud.getTotalHands() + 1);
-            hudRepository.save(hud);
-        }
+    private static boolean isFold(PlayerStatus status) {
+        return status == PlayerStatus.FOLD || status == PlayerStatus.DISCONNECT_FOLD;
     }
 
-    private void plusWentToFlop(Player player) {
-        Optional<Hud> findHud = hudRepository.findByUserId(player.getUser().getId());
-
-        if (findHud.isPresent()) {
-            Hud hud = findHud.get();
-            hud.setWtf(hud.getWtf() + 1);
-            hudRepository.save(hud);
-        }
-    }
-
-    private void plusTotalHands(BoardDto boardDto) {
-        List<PlayerDto> players = boardDto.getPlayers();
-        List<Hud> hudList = new ArrayList<>();
-        for (PlayerDto player : players) {
-            Optional<Hud> findHud = hudRepository.findByUserId(player.getUserId());
-
-            if(findHud.isPresent()) {
-                Hud hud = findHud.get();
-                hud.setTotalHands(hud.getTotalHands() + 1);
-                hudList.add(hud);
+    private static PlayerAction findPlayerAction(String action) {
+        for (PlayerAction playerAction : PlayerAction.values()) {
+            if (playerAction.getActionDetail().equals(action)) {
+                return playerAction;
             }
         }
-        hudRepository.saveAll(hudList);
+        return null;
     }
 
-    private void plusPfAggressiveCnt(Player player) {
-        Optional<Hud> findHud = hudRepository.findByUserId(player.getUser().getId());
-        if (findHud.isPresent()) {
-            Hud hud = findHud.get();
-            hud.setPfAggressiveCnt(hud.getPfAggressiveCnt() + 1);
-            hudRepository.save(hud);
-        }
-    }
-
-
-
     private int getPlayerIdxByPos(Board board, int posNum) {
         List<Player> players = board.getPlayers();
 
@@ -302,4 +267,4 @@ public class HudService {
 
         return -1;
     }
-}
\ No newline at end of file
+}
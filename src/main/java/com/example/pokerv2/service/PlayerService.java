@@ -1,71 +1,96 @@
 package com.example.pokerv2.service;
 
-import com.example.pokerv2.enums.PhaseStatus;
-import com.example.pokerv2.enums.PlayerStatus;
-import com.example.pokerv2.error.CustomException;
-import com.example.pokerv2.error.ErrorCode;
+import com.example.pokerv2.cluster.TableCommand;
+import com.example.pokerv2.cluster.TableCommandRouter;
 import com.example.pokerv2.model.Board;
 import com.example.pokerv2.model.Player;
-import com.example.pokerv2.model.User;
 import com.example.pokerv2.repository.PlayerRepository;
-import com.example.pokerv2.repository.UserRepository;
+import com.example.pokerv2.table.PresenceRegistry;
+import com.example.pokerv2.table.TableActorSystem;
+import com.example.pokerv2.table.TableEngine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.security.Principal;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PlayerService {
-    private final UserRepository userRepository;
     private final PlayerRepository playerRepository;
+    private final TableEngine tableEngine;
+    private final TableActorSystem tableActorSystem;
+    private final TableCommandRouter tableCommandRouter;
+    private final PresenceRegistry presenceRegistry;
+    private static final String LEAVE_OPTION = "leave";
 
-    @Transactional
-    public void setDisconnect(Long playerId) {
-        Optional<Player> disconnectPlayer = playerRepository.findById(playerId);
-        if (disconnectPlayer.isPresent()) {
-            Player player = disconnectPlayer.get();
-
-            Board board = player.getBoard();
-            if (board.getTotalPlayer() == 1) {
-                playerRepository.delete(player);
-                return;
+    @PostConstruct
+    public void registerTableCommands() {
+        tableCommandRouter.register(TableCommand.Type.DISCONNECT, command -> {
+            presenceRegistry.disconnected(command.getPlayerId(), command.getSessionId());
+            if (LEAVE_OPTION.equals(command.getOption())) {
+                tableActorSystem.tell(command.getBoardId(), () -> leaveIfAlone(command.getBoardId(), command.getPlayerId()));
             }
+            return null;
+        });
+        tableCommandRouter.register(TableCommand.Type.CONNECT, command -> {
+            presenceRegistry.connected(command.getPlayerId(), command.getSessionId());
+            return null;
+        });
+    }
 
-            if (player.getStatus() == PlayerStatus.FOLD) {
-                player.setStatus(PlayerStatus.DISCONNECT_FOLD);
-            } else if (player.getStatus() == PlayerStatus.PLAY) {
-                player.setStatus(PlayerStatus.DISCONNECT_PLAYED);
-            } else if (player.getStatus() == PlayerStatus.ALL_IN) {
-                player.setStatus(PlayerStatus.DISCONNECT_ALL_IN);
-            }
+    /**
+     * 연결 상태는 테이블 주인 노드의 PresenceRegistry 에만 바로 반영한다.
+     * PlayerStatus 는 게임 루프가 액션, 핸드 경계에서 BoardService.applyPresence 로 맞춘다.
+     * 혼자 남은 테이블에서 나가면 자리를 정리한다.
+     */
+    public void setDisconnect(Long playerId, String sessionId) {
+        Optional<Player> disconnectPlayer = playerRepository.findById(playerId);
+        if (disconnectPlayer.isPresent()) {
+            Long boardId = disconnectPlayer.get().getBoard().getId();
+            tableCommandRouter.tell(TableCommand.builder().type(TableCommand.Type.DISCONNECT).boardId(boardId).playerId(playerId)
+                    .sessionId(sessionId).option(LEAVE_OPTION).build());
+        }
+    }
 
+    public void setConnect(Principal principal, String sessionId){
+        for (PlayerRepository.Seat seat : playerRepository.findSeatsByUserId(principal.getName())) {
+            tableCommandRouter.tell(TableCommand.builder().type(TableCommand.Type.CONNECT).boardId(seat.getBoardId()).playerId(seat.getPlayerId())
+                    .sessionId(sessionId).build());
         }
     }
 
-    @Transactional
-    public void setConnect(Principal principal){
-        User user = userRepository.findByUserId(principal.getName()).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
-        List<Player> playerList = user.getPlayerList();
+    /**
+     * DISCONNECT 프레임 없이 연결이 끊긴 세션도 연결이 끊긴 것으로 처리한다. 자리는 그대로 둔다.
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        if (event.getUser() == null) {
+            return;
+        }
+        for (PlayerRepository.Seat seat : playerRepository.findSeatsByUserId(event.getUser().getName())) {
+            tableCommandRouter.tell(TableCommand.builder().type(TableCommand.Type.DISCONNECT).boardId(seat.getBoardId()).playerId(seat.getPlayerId())
+                    .sessionId(event.getSessionId()).build());
+        }
+    }
 
-        for(Player player : playerList){
-            Board board = player.getBoard();
-            if(board.getPhaseStatus().ordinal() >= PhaseStatus.PRE_FLOP.ordinal() && board.getPhaseStatus().ordinal() <= PhaseStatus.RIVER.ordinal()){
-                if(player.getStatus() == PlayerStatus.DISCONNECT_FOLD){
-                    player.setStatus(PlayerStatus.FOLD);
-                }else if(player.getStatus() == PlayerStatus.DISCONNECT_PLAYED){
-                    player.setStatus(PlayerStatus.PLAY);
-                }else if(player.getStatus() == PlayerStatus.DISCONNECT_ALL_IN){
-                    player.setStatus(PlayerStatus.ALL_IN);
-                }
+    private void leaveIfAlone(Long boardId, Long playerId) {
+        Board board = tableEngine.getBoard(boardId);
+        PresenceRegistry.Presence presence = presenceRegistry.get(playerId);
+        if (board.getTotalPlayer() != 1 || (presence != null && presence.isConnected())) {
+            return;
+        }
+        for (Player player : board.getPlayers()) {
+            if (player.getId().equals(playerId)) {
+                tableEngine.runSeatChange(boardId, () -> playerRepository.deleteById(playerId));
+                presenceRegistry.forget(playerId);
+                return;
             }
         }
-        playerRepository.saveAll(playerList);
     }
 }
@@ -1,5 +1,7 @@
 package com.example.pokerv2.service.handleService;
 
+import com.example.pokerv2.cluster.TableCommand;
+import com.example.pokerv2.cluster.TableCommandRouter;
 import com.example.pokerv2.dto.BoardDto;
 import com.example.pokerv2.dto.GameResultDto;
 import com.example.pokerv2.dto.MessageDto;
@@ -12,16 +14,30 @@ import com.example.pokerv2.error.ErrorCode;
 import com.example.pokerv2.model.Board;
 import com.example.pokerv2.service.ActionService;
 import com.example.pokerv2.service.BoardService;
+import com.example.pokerv2.service.EquityService;
 import com.example.pokerv2.service.HandHistoryService;
 import com.example.pokerv2.service.HudService;
+import com.example.pokerv2.stomp.BoardResyncEvent;
+import com.example.pokerv2.table.TableActorSystem;
+import com.example.pokerv2.table.TableBroadcaster;
+import com.example.pokerv2.table.TableEngine;
+import com.example.pokerv2.table.TimerWheel;
+import com.example.pokerv2.utils.BoardViewUtils;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.parameters.P;
 import org.springframework.stereotype.Service;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
@@ -32,99 +48,216 @@ public class GameHandleService {
     private final ActionService actionService;
     private final HandHistoryService handHistoryService;
     private final HudService hudService;
+    private final EquityService equityService;
+    private final TableEngine tableEngine;
+    private final TableActorSystem tableActorSystem;
+    private final TableBroadcaster tableBroadcaster;
+    private final TableCommandRouter tableCommandRouter;
     private final SimpMessagingTemplate simpMessagingTemplate;
 
     private final static String TOPIC_PREFIX = "/topic/board/";
     private final static String ERROR_PREFIX = "/queue/error/";
+    private final static String HUD_PREFIX = "/queue/hud/";
     private final static int ACTION_TIME = 10;
     private final static int RESULT_ANIMATION_TIME = 5;
+    private final static int NEXT_GAME_DELAY = 1;
+    private final static long EQUITY_WAIT_MARGIN_MS = 500;
+
+    private final Map<Long, ActionTimeout> actionTimeouts = new ConcurrentHashMap<>();
+    private final AtomicLong actionTurnSeq = new AtomicLong();
+    // boardId -> 승률을 기다리며 SHOW_DOWN 을 미뤄 둔 핸드의 gameSeq
+    private final Map<Long, Long> pendingShowDowns = new ConcurrentHashMap<>();
+
+    /**
+     * 테이블 요청은 TableCommandRouter 를 거쳐 테이블 주인 노드에서 실행된다. 단일 노드면 바로 아래 handler 가 실행된다.
+     */
+    @PostConstruct
+    public void registerTableCommands() {
+        tableCommandRouter.register(TableCommand.Type.JOIN, command -> tableActorSystem.call(command.getBoardId(),
+                () -> joinOnTable(command.getBoardId(), command.getRequestBb(), command::getUserId)));
+        tableCommandRouter.register(TableCommand.Type.START_GAME, command -> tableActorSystem.call(command.getBoardId(),
+                () -> startGameOnTable(command.getBoardId())));
+        tableCommandRouter.register(TableCommand.Type.ACTION, command -> {
+            tableActorSystem.tell(command.getBoardId(), () -> {
+                try {
+                    processAction(command.getBoardDto(), command.getOption(), command.getUserId());
+                } catch (CustomException e) {
+                    sendActionErrorToPlayer(command.getBoardId(), command.getUserId(), e);
+                }
+            });
+            return null;
+        });
+        tableCommandRouter.register(TableCommand.Type.EXIT, command -> {
+            tableActorSystem.tell(command.getBoardId(), () -> {
+                try {
+                    processExit(command.getBoardDto(), command.getUserId());
+                } catch (CustomException e) {
+                    sendActionErrorToPlayer(command.getBoardId(), command.getUserId(), e);
+                }
+            });
+            return null;
+        });
+        tableCommandRouter.register(TableCommand.Type.SNAPSHOT, command -> {
+            tableActorSystem.tell(command.getBoardId(), () -> {
+                if (command.getVersion() == null) {
+                    tableBroadcaster.sendSnapshot(command.getBoardId(), command.getUserId());
+                } else {
+                    tableBroadcaster.sendResume(command.getBoardId(), command.getUserId(), command.getVersion());
+                }
+                sendHudToPlayer(command.getBoardId(), command.getUserId());
+            });
+            return null;
+        });
+    }
 
+    /**
+     * 빈 테이블을 찾는 것은 요청 스레드에서 하고, 착석과 게임 시작은 테이블 메일박스에서 실행한 뒤 결과를 돌려준다.
+     */
     public BoardDto joinRandomBoard(int blind, int requestBb, Principal principal) {
 
-        BoardDto boardDto = boardService.joinRandom(blind, requestBb, principal);
-        sendUpdateBoardToPlayers(boardDto, MessageType.PLAYER_JOIN);
+        Long boardId = boardService.findPlayableBoard(blind, requestBb, principal);
+        return join(boardId, requestBb, principal);
+    }
 
-        if (boardDto.getPhaseStatus() == PhaseStatus.WAITING.ordinal() && boardDto.getTotalPlayer() >= 2) {
-            boardDto = startGame(boardDto.getId());
-        }
+    public BoardDto join(Long boardId, int requestBb, Principal principal) {
+        BoardDto boardDto = tableCommandRouter.call(TableCommand.builder().type(TableCommand.Type.JOIN)
+                .boardId(boardId).requestBb(requestBb).userId(principal.getName()).build());
+        return BoardViewUtils.viewOf(boardDto, principal.getName());
+    }
 
-        return boardDto;
+    /**
+     * STOMP 핸들러에서 호출된다. 테이블 메일박스에 넣기만 하고 바로 돌아간다.
+     * 메일박스에서 실행되므로 @MessageExceptionHandler 를 거치지 않고, 에러는 직접 /queue/error 로 보낸다.
+     */
+    public void action(BoardDto boardDto, String action, String userId) {
+        tableCommandRouter.tell(TableCommand.builder().type(TableCommand.Type.ACTION)
+                .boardId(boardDto.getId()).boardDto(boardDto).option(action).userId(userId).build());
     }
 
-    public BoardDto join(Long boardId, int requestBb, Principal principal) {
-        BoardDto boardDto = boardService.join(boardId, requestBb, principal);
+    public void exitPlayer(BoardDto boardDto, String userId) {
+        tableCommandRouter.tell(TableCommand.builder().type(TableCommand.Type.EXIT)
+                .boardId(boardDto.getId()).boardDto(boardDto).userId(userId).build());
+    }
+
+    public BoardDto startGame(Long boardId) {
+        return BoardViewUtils.publicView(tableCommandRouter.call(TableCommand.builder().type(TableCommand.Type.START_GAME)
+                .boardId(boardId).build()));
+    }
+
+    /**
+     * 아래 메서드들은 모두 테이블 메일박스 안에서 실행된다.
+     */
+    private BoardDto joinOnTable(Long boardId, int requestBb, Principal principal) {
+        BoardDto boardDto = tableEngine.seatChange(boardId, () -> boardService.join(boardId, requestBb, principal));
         sendUpdateBoardToPlayers(boardDto, MessageType.PLAYER_JOIN);
+        sendHudToPlayers(boardDto.getId());
 
         if (boardDto.getPhaseStatus() == PhaseStatus.WAITING.ordinal() && boardDto.getTotalPlayer() >= 2) {
-            boardDto = startGame(boardDto.getId());
+            boardDto = startGameOnTable(boardDto.getId());
         }
 
         return boardDto;
     }
 
-    public void action(BoardDto boardDto, String action, String userId) {
-        hudService.addCountBeforeSaveAction(boardDto, action);
+    private void processAction(BoardDto boardDto, String action, String userId) {
+        boardService.heartbeat(boardDto.getId(), userId);
+        boardService.applyPresence(boardDto.getId());
+        hudService.onAction(boardDto.getId(), action);
         actionService.saveAction(boardDto, action, userId);
         Board board = boardService.saveBoardChanges(boardDto, action, userId);
-        while (true) {
-            if (boardService.isGameEnd(board.getId())) {
-                endGame(board.getId());
-                break;
-            }
-            board = boardService.setNextAction(board.getId());
-
-            if (board.getActionPos() == -1) {
-                hudService.addCountBeforePhaseChange(board.getId());
-                handHistoryService.savePhaseHistory(board.getId());
-                if (boardDto.getPhaseStatus() != PhaseStatus.RIVER.ordinal()) {
-                    boardDto = boardService.nextPhase(board.getId());
-                    hudService.addCountAfterPhaseChange(board.getId());
-                    sendUpdateBoardToPlayers(board.getId(), MessageType.NEXT_PHASE_START);
-                } else {
-                    endGame(board.getId());
-                    break;
-                }
+        cancelActionTimeout(board.getId());
+        proceed(board.getId());
+    }
+
+    /**
+     * 다음 액션 차례로 넘긴다. 액션할 플레이어의 연결이 끊겨 있으면 ACTION_TIME 뒤에 타임아웃 메시지를 넣는다.
+     */
+    private void proceed(Long boardId) {
+        if (boardService.isGameEnd(boardId)) {
+            endGame(boardId);
+            return;
+        }
+        Board board = boardService.setNextAction(boardId);
+
+        if (board.getActionPos() == -1) {
+            handHistoryService.savePhaseHistory(boardId);
+            if (board.getPhaseStatus() != PhaseStatus.RIVER) {
+                boardService.nextPhase(boardId);
+                hudService.onPhaseStart(boardId);
+                sendUpdateBoardToPlayers(boardId, MessageType.NEXT_PHASE_START);
             } else {
-                sendUpdateBoardToPlayers(board.getId(), MessageType.NEXT_ACTION);
+                endGame(boardId);
+                return;
             }
+        } else {
+            sendUpdateBoardToPlayers(boardId, MessageType.NEXT_ACTION);
+        }
 
-            if (boardService.isGameEnd(board.getId())) {
-                endGame(board.getId());
-                break;
-            }
+        if (boardService.isGameEnd(boardId)) {
+            endGame(boardId);
+            return;
+        }
 
-            if (boardService.isActionPlayerConnect(board.getId())) {
-                break;
+        if (!boardService.isActionPlayerConnect(boardId)) {
+            long gameSeq = boardService.getBoard(boardId).getGameSeq();
+            String actionUserId = boardService.getCurrentActionUserId(boardId);
+            long turn = actionTurnSeq.incrementAndGet();
+            TimerWheel.Timeout timeout = tableActorSystem.schedule(boardId, ACTION_TIME, TimeUnit.SECONDS,
+                    () -> timeOutDisconnectPlayer(boardId, gameSeq, turn, actionUserId));
+            ActionTimeout before = actionTimeouts.put(boardId, new ActionTimeout(turn, timeout));
+            if (before != null) {
+                before.timeout().cancel();
             }
+        }
+    }
 
-            waitDisconnectPlayer();
+    /**
+     * 액션이 들어오면 그 차례의 타임아웃은 필요 없으므로 취소한다.
+     */
+    private void cancelActionTimeout(Long boardId) {
+        ActionTimeout actionTimeout = actionTimeouts.remove(boardId);
+        if (actionTimeout != null) {
+            actionTimeout.timeout().cancel();
+        }
+    }
 
-            if (boardService.isActionPlayerConnect(board.getId())) {
-                break;
-            } else {
-                timeOutDisconnectPlayer(board);
+    /**
+     * 예약한 차례(turn)가 아직 남아 있고 같은 플레이어가 액션할 차례이며 다시 연결되지 않았으면 폴드 처리하고 자리에서 뺀다.
+     * 액션이 들어오거나 다음 차례가 예약되면 actionTimeouts 에서 빠지거나 바뀌므로 turn 으로 구분한다.
+     * lastActionTime 은 좌석 변경으로 DB 에서 다시 읽으면 정밀도가 달라지므로 비교하지 않는다.
+     */
+    private void timeOutDisconnectPlayer(Long boardId, long gameSeq, long turn, String actionUserId) {
+        ActionTimeout actionTimeout = actionTimeouts.get(boardId);
+        if (actionTimeout == null || actionTimeout.turn() != turn) {
+            return;
+        }
+        actionTimeouts.remove(boardId, actionTimeout);
+        BoardDto boardDto = boardService.getBoard(boardId);
+        if (boardDto.getGameSeq() != gameSeq || boardService.isActionPlayerConnect(boardId)) {
+            return;
+        }
 
-                if (boardService.isGameEnd(board.getId())) {
-                    endGame(board.getId());
-                    break;
-                } else {
-                    boardService.sitOut(boardDto, boardService.getCurrentActionUserId(board.getId()));
-                    sendUpdateBoardToPlayers(board.getId(), MessageType.PLAYER_EXIT);
-                }
-            }
+        String timeOutUserId = boardService.getCurrentActionUserId(boardId);
+        if (!Objects.equals(timeOutUserId, actionUserId)) {
+            return;
         }
-    }
+        actionService.saveAction(boardDto, PlayerAction.FOLD.getActionDetail(), timeOutUserId);
+        boardService.saveBoardChanges(boardDto, PlayerAction.FOLD.getActionDetail(), timeOutUserId);
 
-    private void timeOutDisconnectPlayer(Board board) {
-        BoardDto boardDto;
-        boardDto = boardService.getBoard(board.getId());
-        actionService.saveAction(boardDto, PlayerAction.FOLD.getActionDetail(), boardService.getCurrentActionUserId(board.getId()));
-        board = boardService.saveBoardChanges(boardDto, PlayerAction.FOLD.getActionDetail(), boardService.getCurrentActionUserId(board.getId()));
+        if (boardService.isGameEnd(boardId)) {
+            endGame(boardId);
+            return;
+        }
+
+        tableEngine.runSeatChange(boardId, () -> boardService.sitOut(boardDto, timeOutUserId));
+        sendUpdateBoardToPlayers(boardId, MessageType.PLAYER_EXIT);
+        proceed(boardId);
     }
 
-    public void exitPlayer(BoardDto boardDto, String userId) {
+    private void processExit(BoardDto boardDto, String userId) {
 
-        boardService.sitOut(boardDto, userId);
+        BoardDto exitBoardDto = boardDto;
+        tableEngine.runSeatChange(boardDto.getId(), () -> boardService.sitOut(exitBoardDto, userId));
         sendUpdateBoardToPlayers(boardDto.getId(), MessageType.PLAYER_EXIT);
         boardDto = boardService.getBoard(boardDto.getId());
         if (boardDto.getPhaseStatus() >= PhaseStatus.PRE_FLOP.ordinal() && boardDto.getPhaseStatus() <= PhaseStatus.RIVER.ordinal() &&
@@ -133,31 +266,82 @@ public class GameHandleService {
         }
     }
 
-    public BoardDto startGame(Long boardId) {
+    private BoardDto startGameOnTable(Long boardId) {
         BoardDto board = boardService.getBoard(boardId);
         if (board.getTotalPlayer() >= 2) {
             boardService.startGame(boardId);
             sendUpdateBoardToPlayers(boardId, MessageType.GAME_START);
             handHistoryService.createHandHistory(boardId);
             actionService.saveAnteAction(boardId);
-            hudService.addCountAfterPhaseChange(boardId);
+            hudService.onPhaseStart(boardId);
         }
 
         return boardService.getBoard(boardId);
     }
 
-    public void endGame(Long boardId) {
+    /**
+     * 결과를 보낸 뒤 결과 애니메이션 시간이 지나면 prepareNextGame 메시지가 들어온다.
+     * 리버 전에 올인으로 쇼다운이 확정되면 결과를 바로 보내지 않고 holdShowDown 에서 승률을 먼저 보낸다.
+     */
+    private void endGame(Long boardId) {
+        if (pendingShowDowns.containsKey(boardId)) {
+            return;
+        }
+        cancelActionTimeout(boardId);
+        boardService.refundOverBet(boardId);
+
+        BoardDto boardDto = boardService.getBoard(boardId);
+        if (boardService.isShowDown(boardId) && equityService.isAllInShowDown(boardDto)) {
+            holdShowDown(boardDto);
+            return;
+        }
+        finishGame(boardId);
+    }
 
-        int resultAnimationCount = 0;
-        BoardDto boardDto;
+    /**
+     * 올인으로 쇼다운이 확정되면 남은 플레이어의 핸드와 승률(EQUITY)을 결과보다 먼저 보낸다.
+     * 계산은 메일박스 밖에서 하고, 결과는 다시 메일박스로 넘겨 보낸 뒤 SHOW_DOWN 을 보낸다.
+     * 계산 시간(timeBudgetMs) 에 EQUITY_WAIT_MARGIN_MS 를 더한 시간이 지나도 오지 않으면 승률 없이 SHOW_DOWN 을 보낸다.
+     * 기다리는 동안 pendingShowDowns 에 남아 있으므로 퇴장 등으로 endGame 이 다시 불려도 무시한다.
+     */
+    private void holdShowDown(BoardDto boardDto) {
+        Long boardId = boardDto.getId();
+        long gameSeq = boardDto.getGameSeq();
+        pendingShowDowns.put(boardId, gameSeq);
+        tableActorSystem.schedule(boardId, equityService.getTimeBudgetMs() + EQUITY_WAIT_MARGIN_MS, TimeUnit.MILLISECONDS,
+                () -> releaseShowDown(boardId, gameSeq));
+
+        equityService.calculateAsync(boardDto).whenComplete((equityDto, ex) -> {
+            if (ex != null) {
+                log.warn("table {} equity failed : {}", boardId, ex.getMessage());
+            }
+            tableActorSystem.tell(boardId, () -> {
+                if (equityDto != null && Objects.equals(pendingShowDowns.get(boardId), gameSeq)) {
+                    tableBroadcaster.sendEquity(equityDto);
+                }
+                releaseShowDown(boardId, gameSeq);
+            });
+        });
+    }
 
-        boardService.refundOverBet(boardId);
+    /**
+     * 승률이 오거나 기다리는 시간이 지나면 먼저 도착한 쪽에서 한 번만 결과를 보낸다.
+     */
+    private void releaseShowDown(Long boardId, long gameSeq) {
+        if (pendingShowDowns.remove(boardId, gameSeq)) {
+            finishGame(boardId);
+        }
+    }
+
+    private void finishGame(Long boardId) {
 
+        int resultAnimationCount = 0;
+        BoardDto boardDto;
 
         if (boardService.isShowDown(boardId)) {
             boardDto = boardService.showDown(boardId);
             sendUpdateBoardToPlayers(boardDto, MessageType.SHOW_DOWN);
-            hudService.addCountAfterShowDown(boardDto);
+            hudService.onShowDown(boardDto);
             for (PlayerDto player : boardDto.getPlayers()) {
                 GameResultDto gameResult = player.getGameResult();
                 if (gameResult.isWinner()) {
@@ -173,20 +357,22 @@ public class GameHandleService {
         }
 
         handHistoryService.end(boardDto);
+        hudService.flush(boardId);
+        sendHudToPlayers(boardId);
 
-        try {
-            Thread.sleep(resultAnimationCount * RESULT_ANIMATION_TIME * 1000);
-        } catch (InterruptedException e) {
-            e.getStackTrace();
-        }
+        long gameSeq = boardDto.getGameSeq();
+        tableActorSystem.schedule(boardId, (long) resultAnimationCount * RESULT_ANIMATION_TIME, TimeUnit.SECONDS, () -> prepareNextGame(boardId, gameSeq));
+    }
 
-        if (boardDto.getGameSeq() != boardService.getBoard(boardId).getGameSeq()) {
+    private void prepareNextGame(Long boardId, long gameSeq) {
+        if (gameSeq != boardService.getBoard(boardId).getGameSeq()) {
             return;
         }
 
-        boardService.dropDisconnectPlayers(boardId);
-        List<PlayerDto> playerDtos = boardService.chargeMoney(boardId);
-        boardService.dropMoneyLessPlayers(boardId, playerDtos);
+        boardService.applyPresence(boardId);
+        tableEngine.runSeatChange(boardId, () -> boardService.dropDisconnectPlayers(boardId));
+        List<PlayerDto> playerDtos = tableEngine.seatChange(boardId, () -> boardService.chargeMoney(boardId));
+        tableEngine.runSeatChange(boardId, () -> boardService.dropMoneyLessPlayers(boardId, playerDtos));
         boardService.initBoard(boardId);
 
         for (PlayerDto playerDto : playerDtos) {
@@ -195,36 +381,74 @@ public class GameHandleService {
 
         sendUpdateBoardToPlayers(boardId, MessageType.INIT_BOARD);
 
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.getStackTrace();
-        }
+        tableActorSystem.schedule(boardId, NEXT_GAME_DELAY, TimeUnit.SECONDS, () -> {
+            if (gameSeq == boardService.getBoard(boardId).getGameSeq()) {
+                startGameOnTable(boardId);
+            }
+        });
+    }
 
-        if (boardDto.getGameSeq() != boardService.getBoard(boardId).getGameSeq()) {
-            return;
-        }
+    /**
+     * 구독 직후, version 이 맞지 않을 때 보내는 전체 상태. 메일박스 안에서 보내므로 이후 변경분과 순서가 맞는다.
+     */
+    public void requestSnapshot(Long boardId, String userId) {
+        tableCommandRouter.tell(TableCommand.builder().type(TableCommand.Type.SNAPSHOT).boardId(boardId).userId(userId).build());
+    }
 
-        startGame(boardId);
+    /**
+     * 재연결한 클라이언트가 마지막으로 받은 version 이후의 변경분만 받는다. 너무 오래된 version 이면 스냅샷을 받는다.
+     */
+    public void requestResume(Long boardId, String userId, long version) {
+        tableCommandRouter.tell(TableCommand.builder().type(TableCommand.Type.SNAPSHOT).boardId(boardId).userId(userId).version(version).build());
     }
 
-    private static void waitDisconnectPlayer() {
-        try {
-            Thread.sleep(ACTION_TIME * 1000);
-        } catch (InterruptedException e) {
-            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
-        }
+    /**
+     * 느려서 변경분을 받지 못한 클라이언트가 다시 따라오면 스냅샷을 보낸다.
+     */
+    @EventListener
+    public void onBoardResync(BoardResyncEvent event) {
+        requestSnapshot(event.getBoardId(), event.getUserId());
     }
 
     private void sendUpdateBoardToPlayers(Long boardId, MessageType messageType) {
-        simpMessagingTemplate.convertAndSend(TOPIC_PREFIX + boardId, new MessageDto(messageType.getDetail(), boardService.getBoard(boardId)));
+        tableBroadcaster.send(messageType.getDetail(), boardService.getBoard(boardId));
     }
 
     private void sendUpdateBoardToPlayers(BoardDto boardDto, MessageType messageType) {
-        simpMessagingTemplate.convertAndSend(TOPIC_PREFIX + boardDto.getId(), new MessageDto(messageType.getDetail(), boardDto));
+        tableBroadcaster.send(messageType.getDetail(), boardDto);
+    }
+
+    /**
+     * 테이블에 앉아 있는 유저들의 HUD 를 보낸다. 클라이언트는 HUD 를 따로 조회하지 않는다.
+     * 자리에 앉으면 기존 플레이어가 새 플레이어의 HUD 를 받고, 핸드가 끝나면 갱신된 HUD 를 받는다.
+     */
+    private void sendHudToPlayers(Long boardId) {
+        simpMessagingTemplate.convertAndSend(TOPIC_PREFIX + boardId, new MessageDto(MessageType.HUD.getDetail(), hudService.getTableHud(boardId)));
+    }
+
+    /**
+     * 자리에 앉은 뒤 구독하는 플레이어는 sendHudToPlayers 를 놓치므로, 스냅샷을 요청할 때 본인에게 보낸다.
+     */
+    private void sendHudToPlayer(Long boardId, String userId) {
+        simpMessagingTemplate.convertAndSendToUser(userId, HUD_PREFIX + boardId, new MessageDto(MessageType.HUD.getDetail(), hudService.getTableHud(boardId)));
     }
 
     private void sendErrorToPlayer(Long boardId, Long userId, CustomException ex) {
         simpMessagingTemplate.convertAndSend(ERROR_PREFIX + boardId + "/" + userId, new MessageDto(MessageType.EXIT_BOARD.getDetail(), ex.getErrorCode().getDetail()));
     }
-}
\ No newline at end of file
+
+    /**
+     * GlobalWebsocketExHandler 와 같은 형식으로 보낸다.
+     */
+    private void sendActionErrorToPlayer(Long boardId, String userId, CustomException ex) {
+        tableEngine.getBoard(boardId).getPlayers().stream()
+                .filter(player -> player.getUser().getUserId().equals(userId))
+                .findFirst()
+                .ifPresentOrElse(player -> simpMessagingTemplate.convertAndSendToUser(userId, ERROR_PREFIX + boardId + "/" + player.getUser().getId(),
+                                new MessageDto(MessageType.ERROR.toString(), ex.getMessage())),
+                        () -> log.warn("table {} action failed for {} : {}", boardId, userId, ex.getMessage()));
+    }
+
+    private record ActionTimeout(long turn, TimerWheel.Timeout timeout) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.pokerv2.stomp;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * BoardResyncEvent
+ *
+ * 느린 클라이언트에게 보드 변경분을 버린 뒤, 다시 따라왔을 때 스냅샷을 보내라는 이벤트. SlowConsumerMonitor 가 보낸다.
+ */
+@Getter
+@AllArgsConstructor
+public class BoardResyncEvent {
+
+    private final Long boardId;
+    private final String userId;
+}
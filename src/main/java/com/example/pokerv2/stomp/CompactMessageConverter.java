@@ -0,0 +1,61 @@
+package com.example.pokerv2.stomp;
+
+import com.example.pokerv2.dto.BoardDeltaDto;
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.HoleCardDto;
+import com.example.pokerv2.dto.MessageDto;
+import com.example.pokerv2.utils.CompactCodecUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.util.MimeType;
+
+import java.time.DateTimeException;
+import java.util.Map;
+
+
+/**
+ * CompactCodecUtils 로 게임 메시지를 바이너리로 바꾸는 컨버터. JSON 컨버터 앞에 등록된다.
+ * <p>
+ * content-type 이 COMPACT 인 메시지만 처리하고, content-type 이 없으면 기존처럼 JSON 컨버터가 처리한다.
+ * StompSubProtocolHandler 는 application/octet-stream 일 때만 바이너리 프레임으로 보내므로 type 은 octet-stream 이고 format 으로 구분한다.
+ */
+public class CompactMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType COMPACT = new MimeType("application", "octet-stream", Map.of("format", "poker-compact"));
+
+    public CompactMessageConverter() {
+        super(COMPACT);
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MessageDto.class == clazz || BoardDto.class == clazz || BoardDeltaDto.class == clazz || HoleCardDto.class == clazz;
+    }
+
+    @Override
+    protected boolean canConvertTo(Object payload, MessageHeaders headers) {
+        return super.canConvertTo(payload, headers) && CompactCodecUtils.canEncode(payload);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            return null;
+        }
+        Object decoded;
+        try {
+            decoded = CompactCodecUtils.decode(payload);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new MessageConversionException(message, "Invalid compact message", e);
+        }
+        return targetClass.isInstance(decoded) ? decoded : null;
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return CompactCodecUtils.encode(payload);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.pokerv2.stomp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * STOMP CONNECT 를 초당 ratePerSecond 개까지만 받는 토큰 버킷. 노드가 다시 뜨거나 네트워크가 끊겼다 붙을 때
+ * 모든 클라이언트가 한꺼번에 인증, 상태 복구를 하느라 게임 중인 테이블이 멈추지 않게 한다.
+ * <p>
+ * 1. 버킷에는 최대 burst 개의 토큰이 있고, 1 / ratePerSecond 초마다 하나씩 찬다.
+ * 2. 토큰 대신 "다음 토큰이 찰 시각"(tat) 하나만 AtomicLong 으로 들고 있다. (GCRA) 락 없이 CAS 한 번이다.
+ * 3. 거절된 클라이언트에게는 ERROR 프레임의 retry-after-ms 로 기다릴 시간을 알려준다. 모두 같은 시각에 다시 오지 않도록 임의의 시간을 더한다.
+ * <p>
+ * ratePerSecond 가 0 이하면 제한하지 않는다.
+ */
+@Component
+public class ConnectRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public ConnectRateLimiter(@Value("${websocket.connect.rate-per-second:1000}") int ratePerSecond,
+                              @Value("${websocket.connect.burst:2000}") int burst) {
+        this.intervalNanos = ratePerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ratePerSecond : 0;
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+    }
+
+    public boolean tryAcquire() {
+        if (intervalNanos == 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                rejectedCount.increment();
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 거절된 클라이언트가 다시 시도하기까지 기다릴 시간. 지금 기다리는 시간에 같은 길이만큼의 임의의 시간을 더한다.
+     */
+    public long getRetryAfterMillis() {
+        long waitNanos = Math.max(intervalNanos, theoreticalArrival.get() - burstNanos - System.nanoTime());
+        long waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        return waitMillis + ThreadLocalRandom.current().nextLong(waitMillis + 1);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
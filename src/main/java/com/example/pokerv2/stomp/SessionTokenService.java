@@ -0,0 +1,113 @@
+package com.example.pokerv2.stomp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+/**
+ * 로그인할 때 발급하고 STOMP CONNECT 때 비밀번호 대신 받는 세션 토큰.
+ * <p>
+ * 토큰 : base64url(userId \n 만료 시각(epoch 초) \n roles) . base64url(HMAC-SHA256)
+ * 확인은 HMAC 한 번이라 DB 조회와 BCrypt 없이 끝난다. 대신 만료 전에는 취소할 수 없으므로 ttl 을 짧게 둔다.
+ * <p>
+ * websocket.token.secret 이 비어 있으면 시작할 때 임의로 만든다. 이 경우 재시작하거나 다른 노드로 붙으면 다시 로그인해야 하므로,
+ * 여러 노드를 띄울 때는 모든 노드에 같은 값을 설정한다.
+ */
+@Slf4j
+@Component
+public class SessionTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokenService(@Value("${websocket.token.secret:}") String secret,
+                               @Value("${websocket.token.ttl-seconds:3600}") long ttlSeconds) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+            log.warn("websocket.token.secret is not configured. session tokens are valid only on this node until restart");
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issue(String userId, Collection<? extends GrantedAuthority> authorities) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String roles = authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
+        byte[] payload = (userId + "\n" + expiresAt + "\n" + roles).getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    public UsernamePasswordAuthenticationToken verify(String token) throws AuthenticationException {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot <= 0) {
+            throw new BadCredentialsException("Malformed session token");
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadCredentialsException("Malformed session token");
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new BadCredentialsException("Invalid session token");
+        }
+
+        String[] claims = new String(payload, StandardCharsets.UTF_8).split("\n", -1);
+        if (claims.length != 3) {
+            throw new BadCredentialsException("Malformed session token");
+        }
+        if (Long.parseLong(claims[1]) <= System.currentTimeMillis() / 1000) {
+            throw new CredentialsExpiredException("Session token expired for user " + claims[0]);
+        }
+
+        List<SimpleGrantedAuthority> authorities = claims[2].isEmpty() ? List.of()
+                : Arrays.stream(claims[2].split(",")).map(SimpleGrantedAuthority::new).toList();
+        return new UsernamePasswordAuthenticationToken(claims[0], null, authorities);
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
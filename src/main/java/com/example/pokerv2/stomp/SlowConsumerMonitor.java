@@ -0,0 +1,243 @@
+package com.example.pokerv2.stomp;
+
+import com.example.pokerv2.table.TableBroadcaster;
+import com.example.pokerv2.table.TableMessageCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * 세션마다 아직 클라이언트에게 쓰지 못한 MESSAGE 프레임 수(queue depth)를 세고, 느린 클라이언트에게는 변경분을 보내지 않는다.
+ * <p>
+ * 1. clientOutboundChannel 에 들어온 MESSAGE 를 더하고, WebSocket 으로 실제로 쓴 MESSAGE 프레임을 뺀다.
+ * 2. depth 가 maxPending 이상이면 보드 변경분(board-view:DELTA)은 버리고 어느 테이블을 버렸는지만 기억한다.
+ * 3. depth 가 resumePending 이하로 내려오면 버린 테이블마다 BoardResyncEvent 를 보내서 스냅샷으로 다시 맞춘다.
+ * 변경분에는 version 이 있으므로 중간을 버려도 클라이언트 상태가 틀어지지 않는다.
+ * <p>
+ * 그래도 버퍼가 websocket.send-buffer-size-limit, 쓰기가 websocket.send-time-limit-ms 를 넘으면
+ * ConcurrentWebSocketSessionDecorator 가 세션을 끊는다.
+ */
+@Slf4j
+@Component
+public class SlowConsumerMonitor implements ChannelInterceptor {
+
+    private static final byte[] MESSAGE_FRAME_PREFIX = "MESSAGE\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPending;
+    private final int resumePending;
+    private final Map<String, SessionQueue> sessions = new ConcurrentHashMap<>();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder resyncCount = new LongAdder();
+
+    public SlowConsumerMonitor(ApplicationEventPublisher eventPublisher,
+                               @Value("${websocket.slow-consumer.max-pending:64}") int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Invalid slow consumer setting");
+        }
+        this.eventPublisher = eventPublisher;
+        this.maxPending = maxPending;
+        this.resumePending = maxPending / 4;
+    }
+
+    /**
+     * WebSocketTransportRegistration.addDecoratorFactory 에 등록한다. 세션을 감싸서 실제로 쓴 프레임을 센다.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new MonitoringHandler(handler);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        SessionQueue queue = sessions.get(SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders()));
+        if (queue != null && event.getUser() != null) {
+            queue.userId = event.getUser().getName();
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        SessionQueue queue = sessions.get(SimpMessageHeaderAccessor.getSessionId(headers));
+        if (queue == null) {
+            return message;
+        }
+
+        if (queue.pending.get() >= maxPending && TableMessageCache.View.DELTA.name()
+                .equals(NativeMessageHeaderAccessor.getFirstNativeHeader(TableBroadcaster.BOARD_VIEW_HEADER, headers))) {
+            String boardId = NativeMessageHeaderAccessor.getFirstNativeHeader(TableBroadcaster.BOARD_ID_HEADER, headers);
+            if (queue.droppedBoards.add(Long.valueOf(boardId))) {
+                log.warn("slow consumer {} ({} pending). drop board {} updates until resync", queue.userId, queue.pending.get(), boardId);
+            }
+            droppedCount.increment();
+            return null;
+        }
+
+        queue.pending.incrementAndGet();
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (sent && ex == null || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return;
+        }
+        SessionQueue queue = sessions.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        if (queue != null) {
+            written(queue);
+        }
+    }
+
+    public int getQueueDepth(String sessionId) {
+        SessionQueue queue = sessions.get(sessionId);
+        return queue == null ? 0 : queue.pending.get();
+    }
+
+    /**
+     * 세션별 queue depth. (sessionId -> depth)
+     */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new HashMap<>();
+        sessions.forEach((sessionId, queue) -> depths.put(sessionId, queue.pending.get()));
+        return depths;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getResyncCount() {
+        return resyncCount.sum();
+    }
+
+    private void written(SessionQueue queue) {
+        int pending = queue.pending.updateAndGet(before -> Math.max(0, before - 1));
+        if (pending > resumePending || queue.droppedBoards.isEmpty()) {
+            return;
+        }
+        for (Long boardId : queue.droppedBoards) {
+            if (queue.droppedBoards.remove(boardId) && queue.userId != null) {
+                resyncCount.increment();
+                try {
+                    eventPublisher.publishEvent(new BoardResyncEvent(boardId, queue.userId));
+                } catch (RuntimeException e) {
+                    log.error("failed to resync board {} for {}", boardId, queue.userId, e);
+                }
+            }
+        }
+    }
+
+    private static boolean isMessageFrame(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage textMessage) {
+            return textMessage.getPayload().startsWith("MESSAGE\n");
+        }
+        if (message instanceof BinaryMessage binaryMessage) {
+            ByteBuffer payload = binaryMessage.getPayload();
+            if (payload.remaining() < MESSAGE_FRAME_PREFIX.length) {
+                return false;
+            }
+            for (int i = 0; i < MESSAGE_FRAME_PREFIX.length; i++) {
+                if (payload.get(payload.position() + i) != MESSAGE_FRAME_PREFIX[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static final class SessionQueue {
+
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Set<Long> droppedBoards = ConcurrentHashMap.newKeySet();
+        private volatile String userId;
+    }
+
+    private class MonitoringHandler extends WebSocketHandlerDecorator {
+
+        private final Map<String, WebSocketSession> decorated = new ConcurrentHashMap<>();
+
+        private MonitoringHandler(WebSocketHandler delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            SessionQueue queue = new SessionQueue();
+            sessions.put(session.getId(), queue);
+            WebSocketSession monitored = new MonitoringSession(session, queue);
+            decorated.put(session.getId(), monitored);
+            super.afterConnectionEstablished(monitored);
+        }
+
+        @Override
+        public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+            super.handleMessage(decorated.getOrDefault(session.getId(), session), message);
+        }
+
+        @Override
+        public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+            super.handleTransportError(decorated.getOrDefault(session.getId(), session), exception);
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            WebSocketSession monitored = decorated.remove(session.getId());
+            sessions.remove(session.getId());
+            super.afterConnectionClosed(monitored != null ? monitored : session, closeStatus);
+        }
+    }
+
+    private class MonitoringSession extends WebSocketSessionDecorator {
+
+        private final SessionQueue queue;
+
+        private MonitoringSession(WebSocketSession delegate, SessionQueue queue) {
+            super(delegate);
+            this.queue = queue;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                if (isMessageFrame(message)) {
+                    written(queue);
+                }
+            }
+        }
+    }
+}
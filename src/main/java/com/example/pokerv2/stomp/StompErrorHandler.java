@@ -17,6 +17,10 @@ import org.springframework.web.socket.messaging.StompSubProtocolErrorHandler;
 @Configuration
 public class StompErrorHandler extends StompSubProtocolErrorHandler{
 
+    private static final String RETRY_AFTER_HEADER = "retry-after-ms";
+
+    private final ConnectRateLimiter connectRateLimiter;
+
     @Override
     public Message<byte[]> handleClientMessageProcessingError(
             Message<byte[]> clientMessage,
@@ -25,6 +29,12 @@ public class StompErrorHandler extends StompSubProtocolErrorHandler{
         Throwable exception = ex;
         if (exception instanceof MessageDeliveryException)
         {
+            if (StompHandler.TOO_MANY_CONNECTIONS.equals(exception.getMessage())) {
+                Message<byte[]> message = errorMessage(StompHandler.TOO_MANY_CONNECTIONS, clientMessage);
+                StompHeaderAccessor.getAccessor(message, StompHeaderAccessor.class)
+                        .setNativeHeader(RETRY_AFTER_HEADER, String.valueOf(connectRateLimiter.getRetryAfterMillis()));
+                return message;
+            }
             return errorMessage("UNAUTHORIZED", clientMessage);
         }
 //        else if (exception instanceof CustomException) {
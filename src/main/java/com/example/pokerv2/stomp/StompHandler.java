@@ -1,6 +1,7 @@
 package com.example.pokerv2.stomp;
 
 
+import com.example.pokerv2.cluster.TableCommandRouter;
 import com.example.pokerv2.service.PlayerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,8 +22,12 @@ public class StompHandler implements ChannelInterceptor {
 
     private final WebSocketAuthenticatorService webSocketAuthenticatorService;
     private final PlayerService playerLifeCycleService;
+    private final WireFormatInterceptor wireFormatInterceptor;
+    private final ConnectRateLimiter connectRateLimiter;
+    public static final String TOO_MANY_CONNECTIONS = "TOO_MANY_CONNECTIONS";
     private static final String USERNAME_HEADER = "userId";
     private static final String PASSWORD_HEADER = "password";
+    private static final String TOKEN_HEADER = "token";
     private static final String DISCONNECT_OPTION = "disconnect_option";
     private static final String PLAYER_ID = "player_id";
     private static final String exitValue = "exit";
@@ -32,25 +37,40 @@ public class StompHandler implements ChannelInterceptor {
     public Message<?> preSend(final Message<?> message, final MessageChannel channel) throws AuthenticationException {
         final StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
         if (StompCommand.CONNECT == accessor.getCommand()) {
+            // 재연결이 몰리면 인증하기 전에 거절한다. 클라이언트는 ERROR 프레임의 retry-after-ms 뒤에 다시 연결한다.
+            if (!connectRateLimiter.tryAcquire()) {
+                throw new MessageDeliveryException(TOO_MANY_CONNECTIONS);
+            }
+            final String token = accessor.getFirstNativeHeader(TOKEN_HEADER);
             final String username = accessor.getFirstNativeHeader(USERNAME_HEADER);
             final String password = accessor.getFirstNativeHeader(PASSWORD_HEADER);
-            if(username != null && password != null) {
+            if(token != null || (username != null && password != null)) {
 
-                final UsernamePasswordAuthenticationToken user = webSocketAuthenticatorService.getAuthenticatedOrFail(username, password);
+                // 로그인할 때 받은 세션 토큰이 있으면 BCrypt 없이 인증한다. userId/password 는 예전 클라이언트용.
+                final UsernamePasswordAuthenticationToken user = token != null
+                        ? webSocketAuthenticatorService.getAuthenticatedByTokenOrFail(token)
+                        : webSocketAuthenticatorService.getAuthenticatedOrFail(username, password);
                 accessor.setUser(user);
+                wireFormatInterceptor.negotiate(accessor.getSessionId(), accessor.getFirstNativeHeader(WireFormatInterceptor.WIRE_FORMAT_HEADER));
 
-                playerLifeCycleService.setConnect(user);
+                playerLifeCycleService.setConnect(user, accessor.getSessionId());
             } else {
                 throw new MessageDeliveryException("UNAUTHORIZED");
             }
         }
 
+        // 노드 사이의 테이블 요청 큐는 클라이언트가 보내거나 구독할 수 없다.
+        else if ((StompCommand.SEND == accessor.getCommand() || StompCommand.SUBSCRIBE == accessor.getCommand())
+                && accessor.getDestination() != null && accessor.getDestination().startsWith(TableCommandRouter.NODE_QUEUE_PREFIX)) {
+            throw new MessageDeliveryException("FORBIDDEN");
+        }
+
         else if (StompCommand.DISCONNECT == accessor.getCommand()) {
             final String disconnect_option = accessor.getFirstNativeHeader(DISCONNECT_OPTION);
             final String playerId = accessor.getFirstNativeHeader(PLAYER_ID);
 
             if(accessor.getUser() != null && disconnect_option != null && disconnect_option.equals(disconnectValue) && playerId != null) {
-                playerLifeCycleService.setDisconnect(Long.parseLong(playerId));
+                playerLifeCycleService.setDisconnect(Long.parseLong(playerId), accessor.getSessionId());
             }
         }
         return message;
@@ -0,0 +1,116 @@
+package com.example.pokerv2.stomp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * BCrypt 로 확인한 (userId, 비밀번호) 를 잠깐 기억해서, 같은 비밀번호로 다시 CONNECT 하면 DB 조회와 BCrypt 를 건너뛴다.
+ * <p>
+ * 1. 비밀번호는 그대로 두지 않고, 시작할 때 만든 임의의 키로 HMAC 한 값만 둔다. 키는 메모리에만 있다.
+ * 2. 최대 maxSize 명, 마지막으로 사용한 순서로 밀려나고, 확인한 뒤 ttl 이 지나면 다시 BCrypt 로 확인한다.
+ * 3. 틀린 비밀번호는 기억하지 않는다.
+ */
+@Component
+public class VerifiedCredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public VerifiedCredentialCache(@Value("${websocket.credential-cache.max-size:10000}") int maxSize,
+                                   @Value("${websocket.credential-cache.ttl-seconds:300}") long ttlSeconds) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return 확인된 적이 있고 비밀번호가 같으면 권한, 아니면 null
+     */
+    public Collection<? extends GrantedAuthority> get(String userId, String password) {
+        byte[] digest = digest(userId, password);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(userId);
+            if (entry != null && System.nanoTime() - entry.verifiedAt > ttlNanos) {
+                entries.remove(userId);
+                entry = null;
+            }
+        }
+
+        if (entry == null || !MessageDigest.isEqual(entry.digest, digest)) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.authorities;
+    }
+
+    public void put(String userId, String password, Collection<? extends GrantedAuthority> authorities) {
+        Entry entry = new Entry(digest(userId, password), List.copyOf(authorities), System.nanoTime());
+        synchronized (entries) {
+            entries.put(userId, entry);
+        }
+    }
+
+    public void invalidate(String userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private byte[] digest(String userId, String password) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(userId.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private record Entry(byte[] digest, List<? extends GrantedAuthority> authorities, long verifiedAt) {
+    }
+}
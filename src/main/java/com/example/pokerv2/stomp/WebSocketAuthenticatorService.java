@@ -7,9 +7,11 @@ import org.springframework.security.authentication.AuthenticationCredentialsNotF
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Component
@@ -18,6 +20,18 @@ public class WebSocketAuthenticatorService {
 
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder encoder;
+    private final VerifiedCredentialCache verifiedCredentialCache;
+    private final SessionTokenService sessionTokenService;
+
+    /**
+     * 로그인할 때 받은 세션 토큰으로 인증한다. HMAC 확인만 하므로 DB 조회와 BCrypt 가 없다.
+     */
+    public UsernamePasswordAuthenticationToken getAuthenticatedByTokenOrFail(final String token) throws AuthenticationException {
+        if (token == null || token.trim().isEmpty()) {
+            throw new AuthenticationCredentialsNotFoundException("Token was null or empty.");
+        }
+        return sessionTokenService.verify(token);
+    }
 
     public UsernamePasswordAuthenticationToken getAuthenticatedOrFail(final String  username, final String password) throws AuthenticationException {
         if (username == null || username.trim().isEmpty()) {
@@ -26,6 +40,13 @@ public class WebSocketAuthenticatorService {
         if (password == null || password.trim().isEmpty()) {
             throw new AuthenticationCredentialsNotFoundException("Password was null or empty.");
         }
+
+        // 최근에 같은 비밀번호로 확인했으면 BCrypt 를 다시 하지 않는다.
+        Collection<? extends GrantedAuthority> authorities = verifiedCredentialCache.get(username, password);
+        if (authorities != null) {
+            return new UsernamePasswordAuthenticationToken(username, null, authorities);
+        }
+
         Optional<User> findUser = userRepository.findByUserId(username);
         if (findUser.isEmpty()) {
             throw new BadCredentialsException("Bad credentials for user " + username);
@@ -36,7 +57,7 @@ public class WebSocketAuthenticatorService {
         if(!encoder.matches(password, user.getPassword()))
             throw new BadCredentialsException("Bad credentials for user " + username);
 
-
+        verifiedCredentialCache.put(username, password, user.getAuthorities());
         return new UsernamePasswordAuthenticationToken(
                 username,
                 null,
@@ -0,0 +1,89 @@
+package com.example.pokerv2.stomp;
+
+import com.example.pokerv2.table.TableBroadcaster;
+import com.example.pokerv2.table.TableMessageCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * CONNECT 때 wire-format:compact 헤더를 보낸 세션에는 보드 상태(변경분, 스냅샷)를 CompactCodecUtils 포맷으로 보낸다.
+ * <p>
+ * 1. StompHandler 가 CONNECT 에서 negotiate 를 호출해서 세션을 등록한다. 헤더가 없으면 JSON 그대로이다.
+ * 2. clientOutboundChannel 에서 board-view 헤더가 있는 MESSAGE 만 바꾼다. payload 는 TableMessageCache 에서 version 마다 한 번만 만든다.
+ * 3. 바뀐 메시지는 CompactMessageConverter.COMPACT content-type 의 바이너리 프레임으로 나간다.
+ * <p>
+ * 핸드, 에러, 승률 메시지는 양이 적어서 JSON 으로 보낸다. 클라이언트는 content-type 으로 구분한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WireFormatInterceptor implements ChannelInterceptor {
+
+    public static final String WIRE_FORMAT_HEADER = "wire-format";
+    public static final String COMPACT_FORMAT = "compact";
+
+    private final TableMessageCache messageCache;
+    private final Set<String> compactSessions = ConcurrentHashMap.newKeySet();
+
+    public void negotiate(String sessionId, String wireFormat) {
+        if (sessionId != null && COMPACT_FORMAT.equals(wireFormat)) {
+            compactSessions.add(sessionId);
+        }
+    }
+
+    public boolean isCompact(String sessionId) {
+        return sessionId != null && compactSessions.contains(sessionId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        compactSessions.remove(event.getSessionId());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (compactSessions.isEmpty()) {
+            return message;
+        }
+
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || !isCompact(SimpMessageHeaderAccessor.getSessionId(headers))
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+
+        String view = NativeMessageHeaderAccessor.getFirstNativeHeader(TableBroadcaster.BOARD_VIEW_HEADER, headers);
+        if (view == null) {
+            return message;
+        }
+
+        try {
+            Long boardId = Long.valueOf(NativeMessageHeaderAccessor.getFirstNativeHeader(TableBroadcaster.BOARD_ID_HEADER, headers));
+            long version = Long.parseLong(NativeMessageHeaderAccessor.getFirstNativeHeader(TableBroadcaster.BOARD_VERSION_HEADER, headers));
+            byte[] compact = messageCache.getCompact(boardId, version, TableMessageCache.View.valueOf(view), json);
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            accessor.setContentType(CompactMessageConverter.COMPACT);
+            return MessageBuilder.createMessage(compact, accessor.getMessageHeaders());
+        } catch (RuntimeException e) {
+            log.error("failed to encode compact message. send json instead", e);
+            return message;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.pokerv2.table;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * 플레이어(playerId)마다 열려 있는 STOMP 세션과 마지막으로 확인한 시각을 메모리에 들고 있다.
+ * <p>
+ * 1. 테이블 주인 노드가 CONNECT, DISCONNECT 요청을 받으면 바로 바꾼다. 테이블 메일박스와 DB 를 거치지 않는다.
+ * 2. Presence 는 바뀌지 않는 값이라 읽을 때는 ConcurrentHashMap.get 한 번으로 끝난다. 바꿀 때는 새 Presence 로 교체한다.
+ * 3. 게임 루프는 액션할 플레이어가 연결되어 있는지 여기서 확인한다. 항목이 없으면 (서버가 다시 뜬 직후 등) PlayerStatus 를 따른다.
+ * 4. PlayerStatus 의 DISCONNECT_* 는 BoardService.applyPresence 가 액션, 핸드 경계에서 한꺼번에 맞춘다.
+ *    맞춘 뒤 연결이 끊긴 플레이어는 PlayerStatus 에 남아 있으므로 항목을 지운다.
+ * 5. 자리에서 나가 Player 행이 지워지면 (sitOut, dropDisconnectPlayers, leaveIfAlone) forget 으로 항목을 지운다.
+ */
+@Component
+public class PresenceRegistry {
+
+    private final Map<Long, Presence> presences = new ConcurrentHashMap<>();
+
+    public void connected(Long playerId, String sessionId) {
+        long now = System.currentTimeMillis();
+        presences.compute(playerId, (id, before) -> {
+            Set<String> sessionIds = before == null ? new HashSet<>() : new HashSet<>(before.sessionIds());
+            sessionIds.add(sessionId);
+            return new Presence(Set.copyOf(sessionIds), now);
+        });
+    }
+
+    public void disconnected(Long playerId, String sessionId) {
+        long now = System.currentTimeMillis();
+        presences.compute(playerId, (id, before) -> {
+            Set<String> sessionIds = before == null ? new HashSet<>() : new HashSet<>(before.sessionIds());
+            sessionIds.remove(sessionId);
+            return new Presence(Set.copyOf(sessionIds), now);
+        });
+    }
+
+    /**
+     * 플레이어가 액션하는 등 살아 있다는 것을 확인했을 때 호출한다. 모르는 플레이어는 무시한다.
+     */
+    public void heartbeat(Long playerId) {
+        long now = System.currentTimeMillis();
+        presences.computeIfPresent(playerId, (id, before) -> new Presence(before.sessionIds(), now));
+    }
+
+    /**
+     * @return 모르는 플레이어면 null
+     */
+    public Presence get(Long playerId) {
+        return presences.get(playerId);
+    }
+
+    /**
+     * 읽은 뒤 바뀌지 않았을 때만 지운다. 그 사이에 다시 연결했으면 남겨 둔다.
+     */
+    public boolean remove(Long playerId, Presence presence) {
+        return presences.remove(playerId, presence);
+    }
+
+    /**
+     * 자리에서 나간 플레이어. playerId 는 다시 쓰이지 않으므로 연결 상태와 상관없이 지운다.
+     */
+    public void forget(Long playerId) {
+        presences.remove(playerId);
+    }
+
+    public int size() {
+        return presences.size();
+    }
+
+    public record Presence(Set<String> sessionIds, long lastSeenMillis) {
+
+        public boolean isConnected() {
+            return !sessionIds.isEmpty();
+        }
+    }
+}
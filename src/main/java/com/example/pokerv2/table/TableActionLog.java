@@ -0,0 +1,149 @@
+package com.example.pokerv2.table;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * 테이블별 액션 로그. 상태가 바뀔 때마다 (event, 바뀐 뒤의 TableSnapshot) 을 board-{id}.log 에 덧붙인다.
+ * <p>
+ * 레코드 구조 : [길이 int][version long][event UTF][TableSnapshot]
+ * 쓰다가 죽어서 잘린 마지막 레코드는 읽을 때 버린다.
+ * 매 레코드마다 OS 로 flush 만 하고 fsync 는 하지 않는다. 프로세스가 죽는 경우는 복구되지만 장비가 꺼지면 마지막 몇 레코드는 잃을 수 있다.
+ * <p>
+ * 한 테이블의 로그는 TableEngine 이 TableState 락을 잡은 상태에서만 쓰므로 테이블 단위로는 동기화하지 않는다.
+ */
+@Slf4j
+@Component
+public class TableActionLog {
+
+    private static final String FILE_PREFIX = "board-";
+    private static final String FILE_SUFFIX = ".log";
+    private static final int MAX_RECORD_SIZE = 1 << 16;
+
+    private final Path logDir;
+    private final Map<Long, DataOutputStream> writers = new ConcurrentHashMap<>();
+
+    public TableActionLog(@Value("${table.action-log-dir:table-log}") String logDir) {
+        this.logDir = Paths.get(logDir);
+    }
+
+    public void append(TableSnapshot snapshot, String event) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream record = new DataOutputStream(bytes);
+            record.writeLong(snapshot.getVersion());
+            record.writeUTF(event);
+            snapshot.writeTo(record);
+
+            DataOutputStream out = getWriter(snapshot.getBoardId());
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append table action log", e);
+        }
+    }
+
+    /**
+     * @return 기록된 순서대로의 스냅샷. 로그가 없으면 빈 리스트
+     */
+    public List<TableSnapshot> read(Long boardId) {
+        Path path = getPath(boardId);
+        List<TableSnapshot> snapshots = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return snapshots;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream))) {
+            while (true) {
+                byte[] record;
+                try {
+                    int recordSize = in.readInt();
+                    if (recordSize <= 0 || recordSize > MAX_RECORD_SIZE) {
+                        break;
+                    }
+                    record = new byte[recordSize];
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(record));
+                recordIn.readLong();
+                recordIn.readUTF();
+                snapshots.add(TableSnapshot.readFrom(recordIn));
+            }
+        } catch (IOException e) {
+            log.error("failed to read table action log : {}", path, e);
+        }
+        return snapshots;
+    }
+
+    /**
+     * 모든 상태가 DB 에 반영된 뒤 로그를 비운다.
+     */
+    public void truncate(Long boardId) {
+        close(boardId);
+        try {
+            Files.deleteIfExists(getPath(boardId));
+        } catch (IOException e) {
+            log.warn("failed to truncate table action log : {}", boardId, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Long boardId : writers.keySet()) {
+            close(boardId);
+        }
+    }
+
+    private void close(Long boardId) {
+        DataOutputStream out = writers.remove(boardId);
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("failed to close table action log : {}", boardId, e);
+            }
+        }
+    }
+
+    private DataOutputStream getWriter(Long boardId) throws IOException {
+        DataOutputStream out = writers.get(boardId);
+        if (out == null) {
+            Files.createDirectories(logDir);
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(getPath(boardId),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+            writers.put(boardId, out);
+        }
+        return out;
+    }
+
+    private Path getPath(Long boardId) {
+        return logDir.resolve(FILE_PREFIX + boardId + FILE_SUFFIX);
+    }
+}
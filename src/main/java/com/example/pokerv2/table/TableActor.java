@@ -0,0 +1,107 @@
+package com.example.pokerv2.table;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * 테이블 하나의 메일박스. 들어온 메시지를 순서대로 한 번에 하나씩 실행한다.
+ * <p>
+ * 스레드를 따로 갖지 않고 공유 Executor 에서 메일박스를 비운다. 한 번에 MAX_BATCH 개까지만 처리하고
+ * 남은 메시지는 다시 Executor 에 넣어서 바쁜 테이블이 스레드를 오래 잡지 않게 한다.
+ * <p>
+ * 테이블이 내려가면 TableActorSystem 이 retireIfIdle 로 은퇴시킨다. 은퇴한 액터는 메시지를 받지 않으므로
+ * 넣는 쪽은 새 액터를 만들어 다시 넣는다. 그래서 한 테이블에 메시지를 실행하는 액터는 항상 하나다.
+ */
+@Slf4j
+public class TableActor {
+
+    private static final int MAX_BATCH = 32;
+    private static final ThreadLocal<TableActor> CURRENT = new ThreadLocal<>();
+
+    private final Long boardId;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private boolean retired;
+
+    TableActor(Long boardId, Executor executor) {
+        this.boardId = boardId;
+        this.executor = executor;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public int getMailboxSize() {
+        return mailbox.size();
+    }
+
+    /**
+     * 지금 스레드가 어느 테이블이든 메시지를 실행하고 있는지
+     */
+    static boolean isInsideAnyActor() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * 지금 스레드가 이 테이블의 메시지를 실행하고 있는지
+     */
+    public boolean isCurrent() {
+        return CURRENT.get() == this;
+    }
+
+    /**
+     * @return 은퇴한 액터면 넣지 않고 false
+     */
+    synchronized boolean tell(Runnable message) {
+        if (retired) {
+            return false;
+        }
+        mailbox.add(message);
+        trySchedule();
+        return true;
+    }
+
+    /**
+     * 실행 중이 아니고 남은 메시지가 없을 때만 은퇴시킨다.
+     */
+    synchronized boolean retireIfIdle() {
+        if (scheduled.get() || !mailbox.isEmpty()) {
+            return false;
+        }
+        retired = true;
+        return true;
+    }
+
+    private void trySchedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        CURRENT.set(this);
+        try {
+            Runnable message;
+            for (int i = 0; i < MAX_BATCH && (message = mailbox.poll()) != null; i++) {
+                try {
+                    message.run();
+                } catch (RuntimeException e) {
+                    log.error("table {} message failed", boardId, e);
+                }
+            }
+        } finally {
+            CURRENT.remove();
+            scheduled.set(false);
+            if (!mailbox.isEmpty()) {
+                trySchedule();
+            }
+        }
+    }
+}
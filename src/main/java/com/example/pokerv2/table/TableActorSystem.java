@@ -0,0 +1,170 @@
+package com.example.pokerv2.table;
+
+import jakarta.annotation.PreDestroy;
+import com.example.pokerv2.error.CustomException;
+import com.example.pokerv2.error.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * 테이블마다 TableActor 를 하나씩 두고, 테이블 상태를 바꾸는 작업은 모두 그 테이블의 메일박스를 거치게 한다.
+ * <p>
+ * 같은 테이블의 작업은 순서대로 하나씩 실행되고, 다른 테이블끼리는 서로 기다리지 않는다.
+ * STOMP 핸들러는 tell 로 메시지만 넣고 바로 돌아간다.
+ * 타임아웃, 다음 핸드 시작처럼 기다려야 하는 작업은 sleep 대신 schedule 로 TimerWheel 에 등록해서 나중에 메시지를 넣는다.
+ * TableEngine 이 테이블을 내리면 메일박스가 빌 때 TableActor 도 지운다. 다시 메시지가 오면 새로 만든다.
+ */
+@Slf4j
+@Component
+public class TableActorSystem {
+
+    private static final long EVICT_RETRY_MS = 100;
+
+    private final Map<Long, TableActor> actors = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final TimerWheel timerWheel;
+    private final long callTimeoutMs;
+
+    public TableActorSystem(@Value("${table.actor-threads:0}") int actorThreads,
+                            @Value("${table.timer-tick-ms:100}") long timerTickMs,
+                            @Value("${table.timer-wheel-size:512}") int timerWheelSize,
+                            @Value("${table.call-timeout-ms:5000}") long callTimeoutMs) {
+        int threads = actorThreads > 0 ? actorThreads : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        this.executor = Executors.newFixedThreadPool(threads, namedThreadFactory("table-actor-"));
+        this.timerWheel = new TimerWheel(timerTickMs, TimeUnit.MILLISECONDS, timerWheelSize, "table-timer");
+        this.callTimeoutMs = callTimeoutMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timerWheel.stop();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 메시지를 넣고 바로 돌아간다.
+     */
+    public void tell(Long boardId, Runnable message) {
+        while (!getActor(boardId).tell(message)) {
+            // 은퇴한 액터를 잡았으면 지워질 때까지 다시 찾는다.
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 메시지가 실행될 때까지 기다렸다가 결과를 돌려준다. REST 요청처럼 결과가 필요한 곳에서 사용한다.
+     * 이미 그 테이블의 메시지를 실행 중인 스레드에서 부르면 바로 실행한다.
+     * 다른 테이블의 메시지를 실행 중인 스레드에서는 부를 수 없다. 액터 스레드끼리 서로 기다리면 풀이 멈출 수 있기 때문이다.
+     * callTimeoutMs 안에 끝나지 않으면 기다리지 않고 INTERNAL_SERVER_ERROR 를 던진다. 메시지는 나중에라도 실행된다.
+     * 메시지에서 던진 RuntimeException(CustomException 등)은 그대로 다시 던진다.
+     */
+    public <T> T call(Long boardId, Supplier<T> message) {
+        TableActor actor = getActor(boardId);
+        if (actor.isCurrent()) {
+            return message.get();
+        }
+        if (TableActor.isInsideAnyActor()) {
+            throw new IllegalStateException("Cross-table call to board " + boardId + " from a table actor");
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        tell(boardId, () -> {
+            try {
+                future.complete(message.get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        try {
+            return future.get(callTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        } catch (TimeoutException e) {
+            log.error("table {} call timed out after {}ms : mailbox {}", boardId, callTimeoutMs, getMailboxSize(boardId));
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * delay 뒤에 테이블 메일박스에 메시지를 넣는다.
+     *
+     * @return 플레이어가 먼저 액션하는 등 필요 없어지면 cancel 한다.
+     */
+    public TimerWheel.Timeout schedule(Long boardId, long delay, TimeUnit unit, Runnable message) {
+        return timerWheel.schedule(() -> tell(boardId, message), delay, unit);
+    }
+
+    /**
+     * 메일박스가 비어 있으면 TableActor 를 지운다. 아직 실행 중이면 EVICT_RETRY_MS 뒤에 다시 해 본다.
+     * 테이블을 내린 메시지 안에서 이벤트가 오므로 처음에는 항상 실행 중이다.
+     */
+    @EventListener
+    public void onTableUnloaded(TableUnloadedEvent event) {
+        evictWhenIdle(event.getBoardId());
+    }
+
+    public void evictWhenIdle(Long boardId) {
+        TableActor actor = actors.get(boardId);
+        if (actor == null) {
+            return;
+        }
+        if (actor.retireIfIdle()) {
+            actors.remove(boardId, actor);
+            return;
+        }
+        timerWheel.schedule(() -> evictWhenIdle(boardId), EVICT_RETRY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public int getActorCount() {
+        return actors.size();
+    }
+
+    public int getPendingTimerCount() {
+        return timerWheel.getPendingCount();
+    }
+
+    public int getMailboxSize(Long boardId) {
+        TableActor actor = actors.get(boardId);
+        return actor == null ? 0 : actor.getMailboxSize();
+    }
+
+    private TableActor getActor(Long boardId) {
+        return actors.computeIfAbsent(boardId, id -> new TableActor(id, executor));
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.dto.BoardDeltaDto;
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.EquityDto;
+import com.example.pokerv2.dto.HoleCardDto;
+import com.example.pokerv2.dto.MessageDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.MessageType;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.utils.BoardDeltaUtils;
+import com.example.pokerv2.utils.BoardViewUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * /topic/board/{id} 로 보드 상태를 보낸다. 전체 BoardDto 대신 마지막으로 보낸 상태와의 차이(BoardDeltaDto)만 보낸다.
+ * <p>
+ * 1. 테이블마다 마지막으로 보낸 BoardDto 와 version 을 들고 있다.
+ * 2. version 은 TableState 의 version 을 따라가고, 보낼 때마다 적어도 1 씩 증가한다.
+ * 3. 처음 보내거나 서버가 다시 뜬 뒤에는 baseVersion 0 으로 모든 값을 채워 보낸다. 클라이언트는 version 이 맞지 않으므로 스냅샷을 다시 받는다.
+ * 4. 스냅샷은 sendSnapshot 으로 마지막으로 보낸 상태를 보낸다. 그래서 스냅샷 다음의 변경분은 항상 그 위에 적용된다.
+ * 5. 최근에 보낸 상태를 RESUME_HISTORY 개까지 들고 있다가, 재연결한 클라이언트에게는 sendResume 으로 그 뒤의 변경분만 보낸다.
+ * <p>
+ * 토픽으로 가는 상태는 BoardViewUtils.publicView 라서 다른 사람의 핸드가 없다.
+ * 핸드는 나눠준 핸드마다 한 번 본인에게만 /user/queue/cards/{boardId} 로 보낸다.
+ * 변경분과 스냅샷은 TableMessageCache 에서 직렬화된 byte[] 를 받아서 컨버터를 거치지 않고 보낸다.
+ * <p>
+ * send, sendSnapshot, sendEquity 는 테이블 메일박스 안에서만 호출한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TableBroadcaster {
+
+    private static final String TOPIC_PREFIX = "/topic/board/";
+    private static final String USER_PREFIX = "/user/";
+    private static final String SNAPSHOT_PREFIX = "/queue/board/";
+    private static final String HOLE_CARD_PREFIX = "/queue/cards/";
+    public static final String BOARD_ID_HEADER = "board-id";
+    public static final String BOARD_VERSION_HEADER = "board-version";
+    public static final String BOARD_VIEW_HEADER = "board-view";
+    private static final int RESUME_HISTORY = 16;
+
+    private final TableEngine tableEngine;
+    private final TableMessageCache messageCache;
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final Map<Long, BoardDto> lastSent = new ConcurrentHashMap<>();
+    private final Map<Long, Deque<BoardDto>> recentSent = new ConcurrentHashMap<>();
+    private final Map<Long, Long> holeCardSentGameSeq = new ConcurrentHashMap<>();
+
+    public void send(String messageType, BoardDto boardDto) {
+        Long boardId = boardDto.getId();
+        BoardDto before = lastSent.get(boardId);
+        long baseVersion = before == null ? 0 : before.getVersion();
+        long version = Math.max(baseVersion + 1, getTableVersion(boardId));
+
+        BoardDto sent = BoardViewUtils.publicView(boardDto);
+        sent.setVersion(version);
+        BoardDeltaDto delta = BoardDeltaUtils.diff(before, sent, baseVersion, version);
+        if (sent.getPlayers().isEmpty()) {
+            lastSent.remove(boardId);
+            recentSent.remove(boardId);
+            holeCardSentGameSeq.remove(boardId);
+            messageCache.evict(boardId);
+        } else {
+            lastSent.put(boardId, sent);
+            Deque<BoardDto> recent = recentSent.computeIfAbsent(boardId, id -> new ArrayDeque<>());
+            recent.addLast(sent);
+            if (recent.size() > RESUME_HISTORY) {
+                recent.removeFirst();
+            }
+        }
+
+        byte[] payload = messageCache.get(boardId, version, TableMessageCache.View.DELTA, () -> new MessageDto(messageType, delta));
+        sendEncoded(TOPIC_PREFIX + boardId, boardId, version, TableMessageCache.View.DELTA, payload);
+        sendHoleCards(boardDto);
+    }
+
+    /**
+     * 구독 직후나 version 이 맞지 않을 때 /user/queue/board/{boardId} 로 전체 상태(version 포함)를 보낸다.
+     * 같은 version 의 스냅샷은 모든 요청자가 같은 byte[] 를 받고, 본인 핸드는 HoleCardDto 로 따로 다시 보낸다.
+     */
+    public void sendSnapshot(Long boardId, String userId) {
+        BoardDto snapshot = lastSent.computeIfAbsent(boardId, id -> {
+            BoardDto boardDto = BoardViewUtils.publicView(new BoardDto(tableEngine.getBoard(id)));
+            boardDto.setVersion(getTableVersion(id));
+            return boardDto;
+        });
+
+        byte[] payload = messageCache.get(boardId, snapshot.getVersion(), TableMessageCache.View.SNAPSHOT,
+                () -> new MessageDto(MessageType.SNAPSHOT.getDetail(), snapshot));
+        sendEncoded(USER_PREFIX + userId + SNAPSHOT_PREFIX + boardId, boardId, snapshot.getVersion(), TableMessageCache.View.SNAPSHOT, payload);
+        resendHoleCard(boardId, userId);
+    }
+
+    /**
+     * 재연결한 클라이언트가 마지막으로 받은 version 을 보내면, 그 뒤의 변경분을 하나로 합쳐서 /user/queue/board/{boardId} 로 보낸다.
+     * 이미 최신이면 핸드만 다시 보내고, RESUME_HISTORY 보다 오래됐거나 모르는 version 이면 스냅샷을 보낸다.
+     */
+    public void sendResume(Long boardId, String userId, long version) {
+        BoardDto current = lastSent.get(boardId);
+        BoardDto base = findSent(boardId, version);
+        if (current == null || base == null) {
+            sendSnapshot(boardId, userId);
+            return;
+        }
+
+        if (base != current) {
+            BoardDeltaDto delta = BoardDeltaUtils.diff(base, current, version, current.getVersion());
+            byte[] payload = messageCache.get(boardId, current.getVersion(), TableMessageCache.View.RESUME,
+                    () -> new MessageDto(MessageType.RESUME.getDetail(), delta));
+            sendEncoded(USER_PREFIX + userId + SNAPSHOT_PREFIX + boardId, boardId, current.getVersion(), TableMessageCache.View.RESUME, payload);
+        }
+        resendHoleCard(boardId, userId);
+    }
+
+    /**
+     * 올인 쇼다운 승률을 /topic/board/{id} 로 보낸다.
+     * 리버 전에 올인으로 쇼다운이 확정된 뒤 SHOW_DOWN 보다 먼저 호출하고, equity 에 담긴 핸드는 이 메시지로 공개된다.
+     * 그 사이 다음 핸드를 보냈거나 마지막으로 보낸 상태에서 폴드한 플레이어는 보내지 않는다.
+     */
+    public void sendEquity(EquityDto equityDto) {
+        BoardDto sent = lastSent.get(equityDto.getBoardId());
+        if (sent == null || sent.getGameSeq() != equityDto.getGameSeq() || !BoardViewUtils.isDealt(sent)) {
+            return;
+        }
+        equityDto.getPlayers().removeIf(playerEquity -> sent.getPlayers().stream()
+                .noneMatch(player -> player.getUserId().equals(playerEquity.getUserId()) && !isFolded(player)));
+        simpMessagingTemplate.convertAndSend(TOPIC_PREFIX + equityDto.getBoardId(), new MessageDto(MessageType.EQUITY.getDetail(), equityDto));
+    }
+
+    private static boolean isFolded(PlayerDto player) {
+        return player.getStatus() == PlayerStatus.FOLD.ordinal() || player.getStatus() == PlayerStatus.DISCONNECT_FOLD.ordinal();
+    }
+
+    private BoardDto findSent(Long boardId, long version) {
+        Deque<BoardDto> recent = recentSent.get(boardId);
+        if (recent == null) {
+            return null;
+        }
+        for (BoardDto sent : recent) {
+            if (sent.getVersion() == version) {
+                return sent;
+            }
+        }
+        return null;
+    }
+
+    private void resendHoleCard(Long boardId, String userId) {
+        BoardDto current = new BoardDto(tableEngine.getBoard(boardId));
+        if (!BoardViewUtils.isDealt(current)) {
+            return;
+        }
+        for (PlayerDto player : current.getPlayers()) {
+            if (userId.equals(player.getPlayerName())) {
+                sendHoleCard(current, player);
+            }
+        }
+    }
+
+    /**
+     * 새 핸드를 나눠준 뒤 처음 보낼 때만 보낸다.
+     */
+    private void sendHoleCards(BoardDto boardDto) {
+        if (!BoardViewUtils.isDealt(boardDto)) {
+            return;
+        }
+        Long sentGameSeq = holeCardSentGameSeq.put(boardDto.getId(), boardDto.getGameSeq());
+        if (sentGameSeq != null && sentGameSeq == boardDto.getGameSeq()) {
+            return;
+        }
+        for (PlayerDto player : boardDto.getPlayers()) {
+            sendHoleCard(boardDto, player);
+        }
+    }
+
+    private void sendHoleCard(BoardDto boardDto, PlayerDto player) {
+        simpMessagingTemplate.convertAndSendToUser(player.getPlayerName(), HOLE_CARD_PREFIX + boardDto.getId(),
+                new MessageDto(MessageType.HOLE_CARD.getDetail(),
+                        new HoleCardDto(boardDto.getId(), boardDto.getGameSeq(), player.getId(), player.getCard1(), player.getCard2())));
+    }
+
+    /**
+     * 이미 JSON 으로 만든 payload 를 보낸다. content-type 을 application/json 으로 두어 텍스트 프레임으로 나간다.
+     * compact 포맷 세션에는 WireFormatInterceptor 가 board-* 헤더로 캐시에서 compact payload 를 찾아 바꿔 보낸다.
+     */
+    private void sendEncoded(String destination, Long boardId, long version, TableMessageCache.View view, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setNativeHeader(BOARD_ID_HEADER, String.valueOf(boardId));
+        accessor.setNativeHeader(BOARD_VERSION_HEADER, String.valueOf(version));
+        accessor.setNativeHeader(BOARD_VIEW_HEADER, view.name());
+        accessor.setLeaveMutable(true);
+        simpMessagingTemplate.send(destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    private long getTableVersion(Long boardId) {
+        return tableEngine.isLoaded(boardId) ? tableEngine.getState(boardId).getVersion() : 0;
+    }
+}
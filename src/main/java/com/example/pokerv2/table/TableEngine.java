@@ -0,0 +1,214 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.model.Board;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * 게임 중인 테이블 상태를 메모리에 들고 있는 엔진.
+ * <p>
+ * 1. 핸드 진행(액션, 페이즈 변경, 쇼다운)은 메모리의 Board 만 바꾼다. DB 조회 없이 처리된다.
+ * 2. 상태가 바뀔 때마다 record 로 TableActionLog 에 기록한다.
+ * 3. 페이즈, 핸드 경계에서는 checkpoint 로 TableWriteBehind 에 스냅샷을 넘기고, 백그라운드 스레드가 모아서 DB 에 쓴다.
+ * 4. 서버가 죽었다가 올라오면 DB 상태 위에 로그의 더 새로운 스냅샷을 적용해서 복구한다.
+ * <p>
+ * 입장, 퇴장, 충전처럼 User 나 Player 행을 바꾸는 작업은 seatChange 로 감싼다.
+ * 메모리 상태를 먼저 DB 에 쓰고, DB 작업을 한 뒤, 테이블을 DB 에서 다시 읽는다.
+ * 다시 읽은 테이블에 플레이어가 없으면 메모리에서 내리고 TableUnloadedEvent 를 보낸다.
+ */
+@Slf4j
+@Component
+public class TableEngine {
+
+    private final TableStore tableStore;
+    private final TableWriteBehind writeBehind;
+    private final TableActionLog actionLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long flushIntervalMs;
+    private final Map<Long, TableState> tables = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "table-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TableEngine(TableStore tableStore, TableWriteBehind writeBehind, TableActionLog actionLog, ApplicationEventPublisher eventPublisher,
+                       @Value("${table.flush-interval-ms:200}") long flushIntervalMs) {
+        this.tableStore = tableStore;
+        this.writeBehind = writeBehind;
+        this.actionLog = actionLog;
+        this.eventPublisher = eventPublisher;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        for (TableState state : tables.values()) {
+            try {
+                persistNow(state);
+            } catch (RuntimeException e) {
+                log.error("failed to persist table on shutdown : {}", state.getBoardId(), e);
+            }
+        }
+        actionLog.close();
+    }
+
+    public TableState getState(Long boardId) {
+        return tables.computeIfAbsent(boardId, this::load);
+    }
+
+    public Board getBoard(Long boardId) {
+        return getState(boardId).getBoard();
+    }
+
+    public boolean isLoaded(Long boardId) {
+        return tables.containsKey(boardId);
+    }
+
+    /**
+     * 메모리의 Board 를 바꾼 뒤 호출한다. version 을 올리고 액션 로그에 남긴다.
+     *
+     * @param event 로그에 남길 내용 (ex. "ACTION a1 call")
+     * @return 바뀐 뒤의 스냅샷
+     */
+    public TableSnapshot record(Long boardId, String event) {
+        TableState state = getState(boardId);
+        synchronized (state) {
+            TableSnapshot snapshot = TableSnapshot.of(state.getBoard(), state.increaseVersion());
+            actionLog.append(snapshot, event);
+            return snapshot;
+        }
+    }
+
+    /**
+     * 페이즈, 핸드 경계에서 호출한다. record 후 DB 쓰기를 예약한다.
+     */
+    public void checkpoint(Long boardId, String event) {
+        writeBehind.enqueue(record(boardId, event));
+    }
+
+    /**
+     * record 하지 않은 변경을 버린다. 다음 조회 때 DB 와 액션 로그에서 마지막으로 기록한 상태를 다시 읽는다.
+     * 트랜잭션 롤백 대신 사용한다.
+     */
+    public void discard(Long boardId) {
+        tables.remove(boardId);
+    }
+
+    /**
+     * DB 의 User, Player 행을 바꾸는 작업을 실행한다. 작업은 끝날 때 커밋되는 트랜잭션 메소드여야 한다.
+     * 메모리 테이블과 어긋나지 않도록 좌석을 바꾸는 BoardService 메서드(join, sitOut, chargeMoney, dropDisconnectPlayers, dropMoneyLessPlayers)는 이 안에서 호출한다.
+     */
+    public <T> T seatChange(Long boardId, Supplier<T> operation) {
+        TableState state = getState(boardId);
+        synchronized (state) {
+            persistNow(state);
+            try {
+                return operation.get();
+            } finally {
+                reload(state);
+            }
+        }
+    }
+
+    public void runSeatChange(Long boardId, Runnable operation) {
+        seatChange(boardId, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private TableState load(Long boardId) {
+        Board board = tableStore.load(boardId);
+        long persistedVersion = board.getStateVersion();
+        long version = recover(board);
+        return new TableState(boardId, board, version, persistedVersion);
+    }
+
+    /**
+     * DB 에 반영되기 전에 서버가 내려간 경우, 로그에서 DB 보다 새로운 스냅샷을 차례로 적용한다.
+     *
+     * @return 복구한 뒤의 version
+     */
+    private long recover(Board board) {
+        long version = board.getStateVersion();
+        for (TableSnapshot snapshot : actionLog.read(board.getId())) {
+            if (snapshot.getVersion() > version) {
+                snapshot.applyTo(board);
+                version = snapshot.getVersion();
+            }
+        }
+
+        if (version > board.getStateVersion()) {
+            log.info("table {} recovered from action log : version {} -> {}", board.getId(), board.getStateVersion(), version);
+            writeBehind.enqueue(TableSnapshot.of(board, version));
+        } else {
+            actionLog.truncate(board.getId());
+        }
+        return version;
+    }
+
+    private void reload(TableState state) {
+        Board board = tableStore.load(state.getBoardId());
+        state.reset(board);
+        actionLog.truncate(state.getBoardId());
+        if (board.getPlayers().isEmpty() && tables.remove(state.getBoardId(), state)) {
+            eventPublisher.publishEvent(new TableUnloadedEvent(state.getBoardId()));
+        }
+    }
+
+    private void persistNow(TableState state) {
+        synchronized (state) {
+            if (!state.isDirty()) {
+                return;
+            }
+            long version = state.getVersion();
+            writeBehind.persist(List.of(TableSnapshot.of(state.getBoard(), version)));
+            onPersisted(state, version);
+        }
+    }
+
+    private void flush() {
+        try {
+            for (TableSnapshot snapshot : writeBehind.flush()) {
+                TableState state = tables.get(snapshot.getBoardId());
+                if (state != null) {
+                    onPersisted(state, snapshot.getVersion());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("failed to flush table snapshots", e);
+        }
+    }
+
+    /**
+     * 반영한 version 이후로 바뀐 것이 없으면 로그를 비운다.
+     */
+    private void onPersisted(TableState state, long version) {
+        synchronized (state) {
+            state.markPersisted(version);
+            if (state.getVersion() == version) {
+                actionLog.truncate(state.getBoardId());
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.dto.BoardDeltaDto;
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.MessageDto;
+import com.example.pokerv2.error.CustomException;
+import com.example.pokerv2.error.ErrorCode;
+import com.example.pokerv2.utils.CompactCodecUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+/**
+ * 테이블 메시지를 JSON byte[] 로 한 번만 만들고 같은 상태를 보낼 때 다시 쓴다.
+ * <p>
+ * 1. key 는 (boardId, version, View) 이다. 같은 version 의 같은 View 는 항상 같은 내용이다.
+ * 2. 테이블마다 가장 최근 version 하나만 들고 있고, 더 새로운 version 이 들어오면 이전 것은 버린다.
+ * 3. 지난 version 을 요청하면 캐시에 넣지 않고 만들어서 돌려준다.
+ * 4. compact 포맷(CompactCodecUtils)도 같은 key 로 한 번만 만든다. 처음 요청될 때 JSON 을 만들 때 받은 메시지로 만든다.
+ * 5. View.RESUME 은 요청마다 내용이 달라서 캐시하지 않는다.
+ * <p>
+ * ObjectMapper 는 스프링 빈을 사용하므로 SimpMessagingTemplate 으로 보낼 때와 같은 JSON 이 나온다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TableMessageCache {
+
+    public enum View {
+        // /topic/board/{id} 로 보내는 변경분
+        DELTA,
+        // 스냅샷 요청에 답하는 전체 상태 (핸드는 가려져 있다)
+        SNAPSHOT,
+        // 재연결한 클라이언트에게 보내는 변경분. 클라이언트마다 baseVersion 이 달라서 캐시하지 않는다.
+        RESUME
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Frames> frames = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param payload 캐시에 없을 때 직렬화할 메시지
+     */
+    public byte[] get(Long boardId, long version, View view, Supplier<?> payload) {
+        if (view == View.RESUME) {
+            missCount.increment();
+            return encode(payload.get());
+        }
+        Frames entry = frames.compute(boardId, (id, before) -> before == null || before.version < version ? new Frames(version) : before);
+        if (entry.version != version) {
+            missCount.increment();
+            return encode(payload.get());
+        }
+
+        byte[] cached = entry.encoded.get(view.ordinal());
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+
+        missCount.increment();
+        Object message = payload.get();
+        entry.payloads.compareAndSet(view.ordinal(), null, message);
+        entry.encoded.compareAndSet(view.ordinal(), null, encode(message));
+        return entry.encoded.get(view.ordinal());
+    }
+
+    /**
+     * get 으로 만든 JSON 메시지의 compact 포맷.
+     * 이 노드에서 만든 version 이 아니면 (지난 version, 다른 노드가 주인인 테이블) JSON 을 읽어서 만든다.
+     *
+     * @param json get 이 돌려준 JSON
+     */
+    public byte[] getCompact(Long boardId, long version, View view, byte[] json) {
+        Frames entry = frames.get(boardId);
+        if (entry != null && entry.version == version) {
+            byte[] cached = entry.compact.get(view.ordinal());
+            if (cached != null) {
+                hitCount.increment();
+                return cached;
+            }
+            Object message = entry.payloads.get(view.ordinal());
+            if (message != null) {
+                missCount.increment();
+                entry.compact.compareAndSet(view.ordinal(), null, CompactCodecUtils.encode(message));
+                return entry.compact.get(view.ordinal());
+            }
+        }
+
+        missCount.increment();
+        return CompactCodecUtils.encode(decode(json, view));
+    }
+
+    public void evict(Long boardId) {
+        frames.remove(boardId);
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private byte[] encode(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private MessageDto decode(byte[] json, View view) {
+        try {
+            JsonNode message = objectMapper.readTree(json);
+            Class<?> dataType = view == View.SNAPSHOT ? BoardDto.class : BoardDeltaDto.class;
+            return new MessageDto(message.path("messageType").asText(), objectMapper.treeToValue(message.get("data"), dataType));
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static final class Frames {
+
+        private final long version;
+        private final AtomicReferenceArray<byte[]> encoded = new AtomicReferenceArray<>(View.values().length);
+        private final AtomicReferenceArray<byte[]> compact = new AtomicReferenceArray<>(View.values().length);
+        private final AtomicReferenceArray<Object> payloads = new AtomicReferenceArray<>(View.values().length);
+
+        private Frames(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.model.Board;
+import com.example.pokerv2.model.Player;
+import lombok.Getter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * 한 시점의 테이블 상태(보드 + 플레이어) 복사본.
+ * <p>
+ * TableActionLog 에 기록되고, TableWriteBehind 가 DB 에 반영할 때 사용한다.
+ * 좌석 구성(플레이어 추가, 삭제)은 담지 않는다. 좌석 변경은 TableEngine.seatChange 에서 DB 로 바로 처리한다.
+ */
+@Getter
+public class TableSnapshot {
+
+    private static final int COMMUNITY_CARD_SIZE = 5;
+
+    private final long boardId;
+    private final long version;
+    private final long gameSeq;
+    private final int btn;
+    private final int totalPlayer;
+    private final int pot;
+    private final int bettingPos;
+    private final int actionPos;
+    private final int phaseStatus;
+    private final int bettingSize;
+    private final int[] communityCards;
+    private final int[] totalCallSize;
+    private final long lastActionTime;
+    private final List<PlayerSnapshot> players;
+
+    private TableSnapshot(long boardId, long version, long gameSeq, int btn, int totalPlayer, int pot, int bettingPos, int actionPos,
+                          int phaseStatus, int bettingSize, int[] communityCards, int[] totalCallSize, long lastActionTime,
+                          List<PlayerSnapshot> players) {
+        this.boardId = boardId;
+        this.version = version;
+        this.gameSeq = gameSeq;
+        this.btn = btn;
+        this.totalPlayer = totalPlayer;
+        this.pot = pot;
+        this.bettingPos = bettingPos;
+        this.actionPos = actionPos;
+        this.phaseStatus = phaseStatus;
+        this.bettingSize = bettingSize;
+        this.communityCards = communityCards;
+        this.totalCallSize = totalCallSize;
+        this.lastActionTime = lastActionTime;
+        this.players = players;
+    }
+
+    public static TableSnapshot of(Board board, long version) {
+        List<Integer> callSizeList = board.getTotalCallSize();
+        int[] totalCallSize = new int[callSizeList.size()];
+        for (int i = 0; i < totalCallSize.length; i++) {
+            totalCallSize[i] = callSizeList.get(i);
+        }
+
+        List<PlayerSnapshot> players = new ArrayList<>(board.getPlayers().size());
+        for (Player player : board.getPlayers()) {
+            players.add(new PlayerSnapshot(player.getId(), player.getPosition().ordinal(), player.getMoney(), player.getCard1(),
+                    player.getCard2(), player.getStatus().ordinal(), player.getPhaseCallSize()));
+        }
+
+        LocalDateTime lastActionTime = board.getLastActionTime();
+        return new TableSnapshot(board.getId(), version, board.getGameSeq() == null ? 0 : board.getGameSeq(), board.getBtn(),
+                board.getTotalPlayer(), board.getPot(), board.getBettingPos(), board.getActionPos(), board.getPhaseStatus().ordinal(),
+                board.getBettingSize(),
+                new int[]{board.getCommunityCard1(), board.getCommunityCard2(), board.getCommunityCard3(), board.getCommunityCard4(), board.getCommunityCard5()},
+                totalCallSize, lastActionTime == null ? -1 : lastActionTime.toInstant(ZoneOffset.UTC).toEpochMilli(), players);
+    }
+
+    /**
+     * 보드와 플레이어에 상태를 덮어쓴다. 스냅샷에 없는 플레이어(이후에 입장한 플레이어)는 그대로 둔다.
+     */
+    public void applyTo(Board board) {
+        board.setGameSeq(gameSeq);
+        board.setBtn(btn);
+        board.setTotalPlayer(totalPlayer);
+        board.setPot(pot);
+        board.setBettingPos(bettingPos);
+        board.setActionPos(actionPos);
+        board.setPhaseStatus(PhaseStatus.values()[phaseStatus]);
+        board.setBettingSize(bettingSize);
+        board.setCommunityCard1(communityCards[0]);
+        board.setCommunityCard2(communityCards[1]);
+        board.setCommunityCard3(communityCards[2]);
+        board.setCommunityCard4(communityCards[3]);
+        board.setCommunityCard5(communityCards[4]);
+        board.setLastActionTime(lastActionTime < 0 ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(lastActionTime, 1000),
+                (int) Math.floorMod(lastActionTime, 1000) * 1_000_000, ZoneOffset.UTC));
+
+        List<Integer> callSizeList = board.getTotalCallSize();
+        callSizeList.clear();
+        for (int callSize : totalCallSize) {
+            callSizeList.add(callSize);
+        }
+
+        for (Player player : board.getPlayers()) {
+            for (PlayerSnapshot playerSnapshot : players) {
+                if (player.getId() != null && player.getId() == playerSnapshot.getPlayerId()) {
+                    playerSnapshot.applyTo(player);
+                    break;
+                }
+            }
+        }
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(boardId);
+        out.writeLong(version);
+        out.writeLong(gameSeq);
+        out.writeInt(btn);
+        out.writeInt(totalPlayer);
+        out.writeInt(pot);
+        out.writeInt(bettingPos);
+        out.writeInt(actionPos);
+        out.writeInt(phaseStatus);
+        out.writeInt(bettingSize);
+        for (int communityCard : communityCards) {
+            out.writeInt(communityCard);
+        }
+        out.writeInt(totalCallSize.length);
+        for (int callSize : totalCallSize) {
+            out.writeInt(callSize);
+        }
+        out.writeLong(lastActionTime);
+        out.writeInt(players.size());
+        for (PlayerSnapshot player : players) {
+            player.writeTo(out);
+        }
+    }
+
+    public static TableSnapshot readFrom(DataInput in) throws IOException {
+        long boardId = in.readLong();
+        long version = in.readLong();
+        long gameSeq = in.readLong();
+        int btn = in.readInt();
+        int totalPlayer = in.readInt();
+        int pot = in.readInt();
+        int bettingPos = in.readInt();
+        int actionPos = in.readInt();
+        int phaseStatus = in.readInt();
+        int bettingSize = in.readInt();
+        int[] communityCards = new int[COMMUNITY_CARD_SIZE];
+        for (int i = 0; i < communityCards.length; i++) {
+            communityCards[i] = in.readInt();
+        }
+        int[] totalCallSize = new int[in.readInt()];
+        for (int i = 0; i < totalCallSize.length; i++) {
+            totalCallSize[i] = in.readInt();
+        }
+        long lastActionTime = in.readLong();
+        int playerCount = in.readInt();
+        List<PlayerSnapshot> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(PlayerSnapshot.readFrom(in));
+        }
+
+        return new TableSnapshot(boardId, version, gameSeq, btn, totalPlayer, pot, bettingPos, actionPos, phaseStatus, bettingSize,
+                communityCards, totalCallSize, lastActionTime, players);
+    }
+
+    public static class PlayerSnapshot {
+
+        private final long playerId;
+        private final int position;
+        private final int money;
+        private final int card1;
+        private final int card2;
+        private final int status;
+        private final int phaseCallSize;
+
+        PlayerSnapshot(long playerId, int position, int money, int card1, int card2, int status, int phaseCallSize) {
+            this.playerId = playerId;
+            this.position = position;
+            this.money = money;
+            this.card1 = card1;
+            this.card2 = card2;
+            this.status = status;
+            this.phaseCallSize = phaseCallSize;
+        }
+
+        public long getPlayerId() {
+            return playerId;
+        }
+
+        public int getMoney() {
+            return money;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public int getPhaseCallSize() {
+            return phaseCallSize;
+        }
+
+        void applyTo(Player player) {
+            player.setPosition(Position.values()[position]);
+            player.setMoney(money);
+            player.setCard1(card1);
+            player.setCard2(card2);
+            player.setStatus(PlayerStatus.values()[status]);
+            player.setPhaseCallSize(phaseCallSize);
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(playerId);
+            out.writeInt(position);
+            out.writeInt(money);
+            out.writeInt(card1);
+            out.writeInt(card2);
+            out.writeInt(status);
+            out.writeInt(phaseCallSize);
+        }
+
+        static PlayerSnapshot readFrom(DataInput in) throws IOException {
+            return new PlayerSnapshot(in.readLong(), in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        }
+    }
+}
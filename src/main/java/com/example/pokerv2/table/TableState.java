@@ -0,0 +1,61 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.model.Board;
+
+
+/**
+ * 메모리에 올라온 테이블 하나. 핸드 진행 중에는 여기 있는 Board 가 원본이고 DB 는 뒤따라 반영된다.
+ * <p>
+ * version : 상태가 바뀔 때마다 1 씩 증가한다. DB 에는 Board.stateVersion 으로 저장된다.
+ * persistedVersion : DB 에 반영이 끝난 version
+ * <p>
+ * 상태를 바꾸거나 스냅샷을 뜰 때는 이 객체로 동기화한다.
+ */
+public class TableState {
+
+    private final Long boardId;
+    private Board board;
+    private long version;
+    private long persistedVersion;
+
+    TableState(Long boardId, Board board, long version, long persistedVersion) {
+        this.boardId = boardId;
+        this.board = board;
+        this.version = version;
+        this.persistedVersion = persistedVersion;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public synchronized Board getBoard() {
+        return board;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    synchronized long getPersistedVersion() {
+        return persistedVersion;
+    }
+
+    synchronized boolean isDirty() {
+        return version > persistedVersion;
+    }
+
+    synchronized long increaseVersion() {
+        return ++version;
+    }
+
+    synchronized void markPersisted(long version) {
+        persistedVersion = Math.max(persistedVersion, version);
+    }
+
+    synchronized void reset(Board board) {
+        this.board = board;
+        this.version = board.getStateVersion();
+        this.persistedVersion = board.getStateVersion();
+    }
+}
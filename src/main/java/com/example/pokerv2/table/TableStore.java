@@ -0,0 +1,59 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.error.CustomException;
+import com.example.pokerv2.error.ErrorCode;
+import com.example.pokerv2.model.Board;
+import com.example.pokerv2.model.Player;
+import com.example.pokerv2.repository.BoardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+
+/**
+ * TableEngine 의 DB 접근. 테이블을 메모리로 읽어오고, 모인 스냅샷을 한 트랜잭션으로 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TableStore {
+
+    private final BoardRepository boardRepository;
+
+    /**
+     * 트랜잭션이 끝난 뒤에도 쓸 수 있도록 플레이어, 유저, totalCallSize 를 미리 읽어 둔다.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
+    public Board load(Long boardId) {
+        Board board = boardRepository.findById(boardId).orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST));
+        board.getTotalCallSize().size();
+        for (Player player : board.getPlayers()) {
+            player.getUser().getUserId();
+        }
+        return board;
+    }
+
+    /**
+     * 이미 더 새로운 version 이 반영된 보드와 삭제된 보드는 건너뛴다.
+     *
+     * @return 반영한 스냅샷 수
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public int save(List<TableSnapshot> snapshots) {
+        int savedCount = 0;
+        for (TableSnapshot snapshot : snapshots) {
+            Board board = boardRepository.findById(snapshot.getBoardId()).orElse(null);
+            if (board == null || board.getStateVersion() >= snapshot.getVersion()) {
+                continue;
+            }
+
+            snapshot.applyTo(board);
+            board.setStateVersion(snapshot.getVersion());
+            savedCount++;
+        }
+        return savedCount;
+    }
+}
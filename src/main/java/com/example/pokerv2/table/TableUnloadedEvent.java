@@ -0,0 +1,16 @@
+package com.example.pokerv2.table;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * TableUnloadedEvent
+ *
+ * 플레이어가 모두 나가 TableEngine 이 메모리에서 테이블을 내렸다는 이벤트. TableActorSystem 이 받아 TableActor 를 정리한다.
+ */
+@Getter
+@AllArgsConstructor
+public class TableUnloadedEvent {
+
+    private final Long boardId;
+}
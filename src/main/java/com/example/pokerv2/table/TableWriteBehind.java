@@ -0,0 +1,68 @@
+package com.example.pokerv2.table;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * 페이즈, 핸드 경계에서 쌓인 스냅샷을 모아 두었다가 한 번에 DB 에 쓴다.
+ * <p>
+ * 같은 테이블의 스냅샷이 여러 개 쌓이면 가장 새로운 것만 남긴다.
+ * DB 쓰기는 한 번에 하나씩만 실행해서 오래된 스냅샷이 새 스냅샷을 덮어쓰지 않게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TableWriteBehind {
+
+    private final TableStore tableStore;
+    private final Map<Long, TableSnapshot> pending = new ConcurrentHashMap<>();
+    private final Object persistLock = new Object();
+
+    public void enqueue(TableSnapshot snapshot) {
+        pending.merge(snapshot.getBoardId(), snapshot, (prev, next) -> prev.getVersion() >= next.getVersion() ? prev : next);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 쌓인 스냅샷을 모두 쓴다.
+     *
+     * @return DB 에 반영한 스냅샷
+     */
+    public List<TableSnapshot> flush() {
+        List<TableSnapshot> snapshots = new ArrayList<>(pending.size());
+        for (Long boardId : pending.keySet()) {
+            TableSnapshot snapshot = pending.remove(boardId);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+
+        if (!snapshots.isEmpty()) {
+            try {
+                persist(snapshots);
+            } catch (RuntimeException e) {
+                // 다음 flush 에서 다시 시도한다. 그 사이 더 새로운 스냅샷이 들어왔으면 그것을 쓴다.
+                snapshots.forEach(this::enqueue);
+                throw e;
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * 바로 쓴다. 좌석 변경 전처럼 DB 가 최신이어야 할 때 사용한다.
+     */
+    public void persist(List<TableSnapshot> snapshots) {
+        synchronized (persistLock) {
+            tableStore.save(snapshots);
+        }
+    }
+}
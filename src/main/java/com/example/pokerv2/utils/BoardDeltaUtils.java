@@ -0,0 +1,174 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.BoardDeltaDto;
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.PlayerDeltaDto;
+import com.example.pokerv2.dto.PlayerDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * 마지막으로 보낸 BoardDto 와 지금 BoardDto 를 비교해서 BoardDeltaDto 를 만든다.
+ * apply 는 클라이언트가 하는 것과 같은 방법으로 변경분을 적용한다. (테스트, 검증용)
+ */
+public class BoardDeltaUtils {
+
+    private BoardDeltaUtils() {
+    }
+
+    /**
+     * @param before 마지막으로 보낸 상태. null 이면 모든 값을 채운다.
+     */
+    public static BoardDeltaDto diff(BoardDto before, BoardDto after, long baseVersion, long version) {
+        BoardDeltaDto delta = new BoardDeltaDto();
+        delta.setId(after.getId());
+        delta.setBaseVersion(baseVersion);
+        delta.setVersion(version);
+        boolean full = before == null;
+
+        delta.setTotalPlayer(changed(full, before == null ? 0 : before.getTotalPlayer(), after.getTotalPlayer()));
+        delta.setBtn(changed(full, before == null ? 0 : before.getBtn(), after.getBtn()));
+        delta.setPot(changed(full, before == null ? 0 : before.getPot(), after.getPot()));
+        delta.setBettingPos(changed(full, before == null ? 0 : before.getBettingPos(), after.getBettingPos()));
+        delta.setActionPos(changed(full, before == null ? 0 : before.getActionPos(), after.getActionPos()));
+        delta.setPhaseStatus(changed(full, before == null ? 0 : before.getPhaseStatus(), after.getPhaseStatus()));
+        delta.setBettingSize(changed(full, before == null ? 0 : before.getBettingSize(), after.getBettingSize()));
+        delta.setCommunityCard1(changed(full, before == null ? 0 : before.getCommunityCard1(), after.getCommunityCard1()));
+        delta.setCommunityCard2(changed(full, before == null ? 0 : before.getCommunityCard2(), after.getCommunityCard2()));
+        delta.setCommunityCard3(changed(full, before == null ? 0 : before.getCommunityCard3(), after.getCommunityCard3()));
+        delta.setCommunityCard4(changed(full, before == null ? 0 : before.getCommunityCard4(), after.getCommunityCard4()));
+        delta.setCommunityCard5(changed(full, before == null ? 0 : before.getCommunityCard5(), after.getCommunityCard5()));
+        if (full || before.getGameSeq() != after.getGameSeq()) {
+            delta.setGameSeq(after.getGameSeq());
+        }
+        if (full || !Objects.equals(before.getLastActionTime(), after.getLastActionTime())) {
+            delta.setLastActionTime(after.getLastActionTime());
+        }
+        if (full || !Objects.equals(before.getTotalCallSize(), after.getTotalCallSize())) {
+            delta.setTotalCallSize(after.getTotalCallSize());
+        }
+
+        Map<Long, PlayerDto> beforePlayers = new LinkedHashMap<>();
+        if (!full) {
+            for (PlayerDto player : before.getPlayers()) {
+                beforePlayers.put(player.getId(), player);
+            }
+        }
+
+        List<PlayerDeltaDto> players = new ArrayList<>();
+        for (PlayerDto player : after.getPlayers()) {
+            PlayerDeltaDto playerDelta = diff(beforePlayers.remove(player.getId()), player);
+            if (playerDelta != null) {
+                players.add(playerDelta);
+            }
+        }
+        if (!players.isEmpty()) {
+            delta.setPlayers(players);
+        }
+        if (!beforePlayers.isEmpty()) {
+            delta.setLeftPlayers(new ArrayList<>(beforePlayers.keySet()));
+        }
+
+        return delta;
+    }
+
+    /**
+     * @return 바뀐 값이 없으면 null
+     */
+    public static PlayerDeltaDto diff(PlayerDto before, PlayerDto after) {
+        boolean full = before == null;
+        PlayerDeltaDto delta = new PlayerDeltaDto(after.getId());
+
+        if (full || !Objects.equals(before.getUserId(), after.getUserId())) {
+            delta.setUserId(after.getUserId());
+        }
+        if (full || !Objects.equals(before.getPlayerName(), after.getPlayerName())) {
+            delta.setPlayerName(after.getPlayerName());
+        }
+        delta.setPosition(changed(full, before == null ? 0 : before.getPosition(), after.getPosition()));
+        delta.setMoney(changed(full, before == null ? 0 : before.getMoney(), after.getMoney()));
+        delta.setCard1(changed(full, before == null ? 0 : before.getCard1(), after.getCard1()));
+        delta.setCard2(changed(full, before == null ? 0 : before.getCard2(), after.getCard2()));
+        delta.setStatus(changed(full, before == null ? 0 : before.getStatus(), after.getStatus()));
+        delta.setPhaseCallSize(changed(full, before == null ? 0 : before.getPhaseCallSize(), after.getPhaseCallSize()));
+        if (after.getGameResult() != null && (full || before.getGameResult() != after.getGameResult())) {
+            delta.setGameResult(after.getGameResult());
+        }
+
+        if (!full && isEmpty(delta)) {
+            return null;
+        }
+        return delta;
+    }
+
+    private static boolean isEmpty(PlayerDeltaDto delta) {
+        return delta.getUserId() == null && delta.getPlayerName() == null && delta.getPosition() == null
+                && delta.getMoney() == null && delta.getCard1() == null && delta.getCard2() == null
+                && delta.getStatus() == null && delta.getPhaseCallSize() == null && delta.getGameResult() == null;
+    }
+
+    /**
+     * 변경분을 적용한 새 BoardDto 를 돌려준다. board 는 바꾸지 않는다.
+     */
+    public static BoardDto apply(BoardDto board, BoardDeltaDto delta) {
+        if (board.getVersion() != delta.getBaseVersion()) {
+            throw new IllegalStateException("Board version gap : " + board.getVersion() + " -> " + delta.getBaseVersion());
+        }
+
+        BoardDto result = new BoardDto(board);
+        result.setVersion(delta.getVersion());
+        if (delta.getTotalPlayer() != null) result.setTotalPlayer(delta.getTotalPlayer());
+        if (delta.getBtn() != null) result.setBtn(delta.getBtn());
+        if (delta.getPot() != null) result.setPot(delta.getPot());
+        if (delta.getBettingPos() != null) result.setBettingPos(delta.getBettingPos());
+        if (delta.getActionPos() != null) result.setActionPos(delta.getActionPos());
+        if (delta.getPhaseStatus() != null) result.setPhaseStatus(delta.getPhaseStatus());
+        if (delta.getBettingSize() != null) result.setBettingSize(delta.getBettingSize());
+        if (delta.getCommunityCard1() != null) result.setCommunityCard1(delta.getCommunityCard1());
+        if (delta.getCommunityCard2() != null) result.setCommunityCard2(delta.getCommunityCard2());
+        if (delta.getCommunityCard3() != null) result.setCommunityCard3(delta.getCommunityCard3());
+        if (delta.getCommunityCard4() != null) result.setCommunityCard4(delta.getCommunityCard4());
+        if (delta.getCommunityCard5() != null) result.setCommunityCard5(delta.getCommunityCard5());
+        if (delta.getGameSeq() != null) result.setGameSeq(delta.getGameSeq());
+        if (delta.getLastActionTime() != null) result.setLastActionTime(delta.getLastActionTime());
+        if (delta.getTotalCallSize() != null) result.setTotalCallSize(delta.getTotalCallSize());
+
+        Map<Long, PlayerDto> players = new LinkedHashMap<>();
+        for (PlayerDto player : result.getPlayers()) {
+            players.put(player.getId(), player);
+        }
+        if (delta.getLeftPlayers() != null) {
+            delta.getLeftPlayers().forEach(players::remove);
+        }
+        if (delta.getPlayers() != null) {
+            for (PlayerDeltaDto playerDelta : delta.getPlayers()) {
+                PlayerDto player = players.computeIfAbsent(playerDelta.getId(), id -> {
+                    PlayerDto newPlayer = new PlayerDto();
+                    newPlayer.setId(id);
+                    newPlayer.setBoardId(board.getId());
+                    return newPlayer;
+                });
+                if (playerDelta.getUserId() != null) player.setUserId(playerDelta.getUserId());
+                if (playerDelta.getPlayerName() != null) player.setPlayerName(playerDelta.getPlayerName());
+                if (playerDelta.getPosition() != null) player.setPosition(playerDelta.getPosition());
+                if (playerDelta.getMoney() != null) player.setMoney(playerDelta.getMoney());
+                if (playerDelta.getCard1() != null) player.setCard1(playerDelta.getCard1());
+                if (playerDelta.getCard2() != null) player.setCard2(playerDelta.getCard2());
+                if (playerDelta.getStatus() != null) player.setStatus(playerDelta.getStatus());
+                if (playerDelta.getPhaseCallSize() != null) player.setPhaseCallSize(playerDelta.getPhaseCallSize());
+                if (playerDelta.getGameResult() != null) player.setGameResult(playerDelta.getGameResult());
+            }
+        }
+        result.setPlayers(new ArrayList<>(players.values()));
+        return result;
+    }
+
+    private static Integer changed(boolean full, int before, int after) {
+        return full || before != after ? after : null;
+    }
+}
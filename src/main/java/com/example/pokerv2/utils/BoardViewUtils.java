@@ -0,0 +1,86 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+
+
+/**
+ * 보는 사람에 따라 BoardDto 에서 다른 플레이어의 핸드를 가린다.
+ *
+ * publicView : 테이블 구독자 모두에게 보내는 상태. 쇼다운에서 폴드하지 않은 플레이어의 핸드만 보인다.
+ *              커뮤니티 카드는 핸드 시작 때 5장을 모두 나눠두므로 phaseStatus 로 아직 열리지 않은 카드를 가린다.
+ * viewOf : publicView 에 본인 핸드만 채운 상태. REST 응답, 구독 스냅샷에 사용한다.
+ * 가려진 카드는 HIDDEN_CARD 이다.
+ * PlayerDto.playerName 은 User.getUsername() 즉 로그인 아이디이므로 principal.getName() 과 비교한다.
+ */
+public class BoardViewUtils {
+
+    public static final int HIDDEN_CARD = -1;
+
+    private BoardViewUtils() {
+    }
+
+    public static BoardDto publicView(BoardDto boardDto) {
+        BoardDto view = new BoardDto(boardDto);
+        for (PlayerDto player : view.getPlayers()) {
+            if (!isRevealed(view, player)) {
+                player.setCard1(HIDDEN_CARD);
+                player.setCard2(HIDDEN_CARD);
+            }
+        }
+        int openCount = getOpenCommunityCardCount(view.getPhaseStatus());
+        if (openCount < 3) {
+            view.setCommunityCard1(HIDDEN_CARD);
+            view.setCommunityCard2(HIDDEN_CARD);
+            view.setCommunityCard3(HIDDEN_CARD);
+        }
+        if (openCount < 4) {
+            view.setCommunityCard4(HIDDEN_CARD);
+        }
+        if (openCount < 5) {
+            view.setCommunityCard5(HIDDEN_CARD);
+        }
+        return view;
+    }
+
+    public static BoardDto viewOf(BoardDto boardDto, String userId) {
+        BoardDto view = publicView(boardDto);
+        for (int i = 0; i < view.getPlayers().size(); i++) {
+            PlayerDto player = boardDto.getPlayers().get(i);
+            if (player.getPlayerName() != null && player.getPlayerName().equals(userId)) {
+                view.getPlayers().get(i).setCard1(player.getCard1());
+                view.getPlayers().get(i).setCard2(player.getCard2());
+            }
+        }
+        return view;
+    }
+
+    public static boolean isRevealed(BoardDto boardDto, PlayerDto player) {
+        return boardDto.getPhaseStatus() == PhaseStatus.SHOWDOWN.ordinal()
+                && player.getStatus() != PlayerStatus.FOLD.ordinal()
+                && player.getStatus() != PlayerStatus.DISCONNECT_FOLD.ordinal();
+    }
+
+    /**
+     * @return 페이즈에서 열려 있는 커뮤니티 카드 수. END_GAME 은 BoardService.winOnePlayer 에서 열리지 않은 카드를 이미 지웠다.
+     */
+    public static int getOpenCommunityCardCount(int phaseStatus) {
+        if (phaseStatus == PhaseStatus.FLOP.ordinal()) {
+            return 3;
+        } else if (phaseStatus == PhaseStatus.TURN.ordinal()) {
+            return 4;
+        } else if (phaseStatus >= PhaseStatus.RIVER.ordinal()) {
+            return 5;
+        }
+        return 0;
+    }
+
+    /**
+     * 핸드를 나눠준 뒤 결과가 나오기 전인지
+     */
+    public static boolean isDealt(BoardDto boardDto) {
+        return boardDto.getPhaseStatus() >= PhaseStatus.PRE_FLOP.ordinal() && boardDto.getPhaseStatus() <= PhaseStatus.RIVER.ordinal();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.pokerv2.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * 카드 묶음을 long 하나로 표현하는 방법.
+ *
+ * 모양마다 16bit 씩 자리를 나눠 쓰고, 그 중 하위 13bit 가 카드의 숫자를 나타낸다.
+ * bit index = 모양 * 16 + 숫자
+ * 0-12 : 스페이드, 16-28 : 다이아, 32-44 : 하트, 48-60 : 클로버
+ *
+ * 카드 한 장의 int 값(CardUtils 참고, 숫자 + 13 * 모양)과는 toMask, toCard 로 서로 바꿀 수 있다.
+ * DTO 에는 기존처럼 int 값을 담고, 핸드 계산과 딜링에서만 mask 를 사용한다.
+ */
+@Slf4j
+@Component
+public class CardMaskUtils {
+
+    public static final int RANK_SIZE = 13;
+    public static final int SUIT_SIZE = 4;
+    public static final int DECK_SIZE = RANK_SIZE * SUIT_SIZE;
+    public static final int SUIT_LANE_SIZE = 16;
+    public static final int RANK_LANE_MASK = (1 << RANK_SIZE) - 1;
+    public static final long EMPTY = 0L;
+    public static final long FULL_DECK = 0x1FFF1FFF1FFF1FFFL;
+
+    private CardMaskUtils() {
+    }
+
+    public static long toMask(int card) {
+        if (card < 0 || card >= DECK_SIZE) {
+            throw new IllegalArgumentException("Invalid card value");
+        }
+        return 1L << toBitIndex(card);
+    }
+
+    public static long toMask(List<Integer> cards) {
+        long mask = EMPTY;
+        for (int card : cards) {
+            mask |= toMask(card);
+        }
+        return mask;
+    }
+
+    public static long toMask(int[] cards, int size) {
+        long mask = EMPTY;
+        for (int i = 0; i < size; i++) {
+            mask |= toMask(cards[i]);
+        }
+        return mask;
+    }
+
+    public static long add(long mask, int card) {
+        return mask | toMask(card);
+    }
+
+    public static boolean contains(long mask, int card) {
+        return (mask & toMask(card)) != 0;
+    }
+
+    public static int size(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    /**
+     * suitRanks
+     *
+     * @param mask 카드 mask
+     * @param suit 모양 (0 : 스페이드, 1 : 다이아, 2 : 하트, 3 : 클로버)
+     * @return 해당 모양 카드들의 13bit rank mask
+     */
+    public static int suitRanks(long mask, int suit) {
+        return (int) (mask >>> (suit * SUIT_LANE_SIZE)) & RANK_LANE_MASK;
+    }
+
+    public static int toBitIndex(int card) {
+        return card / RANK_SIZE * SUIT_LANE_SIZE + card % RANK_SIZE;
+    }
+
+    public static int toCard(int bitIndex) {
+        return bitIndex / SUIT_LANE_SIZE * RANK_SIZE + bitIndex % SUIT_LANE_SIZE;
+    }
+
+    /**
+     * @return mask 에서 int 값이 가장 작은 카드. mask 가 비어있으면 -1.
+     */
+    public static int lowestCard(long mask) {
+        if (mask == EMPTY) {
+            return -1;
+        }
+        return toCard(Long.numberOfTrailingZeros(mask));
+    }
+
+    /**
+     * @return int 값 오름차순으로 정렬된 카드 리스트.
+     */
+    public static List<Integer> toCardList(long mask) {
+        List<Integer> cards = new ArrayList<>(size(mask));
+        long rest = mask;
+        while (rest != EMPTY) {
+            cards.add(toCard(Long.numberOfTrailingZeros(rest)));
+            rest &= rest - 1;
+        }
+        return cards;
+    }
+
+    /**
+     * drawCard
+     *
+     * @param usedCards 이미 사용된 카드 mask
+     * @param random    난수 생성기
+     * @return usedCards 에 없는 카드 중 하나를 균등한 확률로 뽑은 int 값.
+     */
+    public static int drawCard(long usedCards, Random random) {
+        if (size(usedCards & FULL_DECK) >= DECK_SIZE) {
+            throw new IllegalArgumentException("No card left in deck");
+        }
+
+        int card;
+        do {
+            card = random.nextInt(DECK_SIZE);
+        } while (contains(usedCards, card));
+
+        return card;
+    }
+}
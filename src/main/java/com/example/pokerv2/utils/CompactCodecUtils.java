@@ -0,0 +1,558 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.BoardDeltaDto;
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.GameResultDto;
+import com.example.pokerv2.dto.HoleCardDto;
+import com.example.pokerv2.dto.MessageDto;
+import com.example.pokerv2.dto.PlayerDeltaDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.MessageType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * 게임 메시지의 compact 바이너리 인코딩. JSON 대신 CONNECT 때 wire-format:compact 를 보낸 클라이언트에게 사용한다.
+ * <p>
+ * 1. 첫 바이트는 FORMAT_VERSION, 두 번째 바이트는 종류(MessageDto, BoardDto, BoardDeltaDto, HoleCardDto)이다.
+ * 2. 정수는 zigzag varint 라서 카드, 포지션, 상태는 1 바이트, 칩은 보통 2 ~ 4 바이트이다.
+ * 3. null 이 될 수 있는 값은 0 을 null 로 두고 값에 1 을 더해서 쓴다. 문자열은 길이 + 1 과 UTF-8 이다.
+ * 4. BoardDeltaDto, PlayerDeltaDto 는 들어 있는 필드를 bit mask 로 먼저 쓰고, 들어 있는 값만 필드 순서대로 쓴다.
+ * 5. MessageDto 의 messageType 은 MessageType 순서 + 1 로 쓰고, 모르는 값이면 0 다음에 문자열로 쓴다.
+ * 6. lastActionTime 은 JSON 과 같이 초 단위까지만 쓴다.
+ * <p>
+ * 필드를 추가할 때는 끝에 추가하고 FORMAT_VERSION 을 올린다.
+ */
+public class CompactCodecUtils {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MESSAGE = 1;
+    private static final int BOARD = 2;
+    private static final int BOARD_DELTA = 3;
+    private static final int HOLE_CARD = 4;
+
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+
+    private CompactCodecUtils() {
+    }
+
+    /**
+     * MessageDto 는 data 도 인코딩할 수 있어야 한다.
+     */
+    public static boolean canEncode(Object payload) {
+        if (payload instanceof MessageDto messageDto) {
+            return messageDto.getData() != null && !(messageDto.getData() instanceof MessageDto) && canEncode(messageDto.getData());
+        }
+        return payload instanceof BoardDto || payload instanceof BoardDeltaDto || payload instanceof HoleCardDto;
+    }
+
+    public static byte[] encode(Object payload) {
+        Writer writer = new Writer();
+        writer.writeByte(FORMAT_VERSION);
+        write(writer, payload);
+        return writer.toByteArray();
+    }
+
+    public static Object decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        int formatVersion = reader.readByte();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported compact format version: " + formatVersion);
+        }
+        Object payload = read(reader);
+        if (reader.position != bytes.length) {
+            throw new IllegalArgumentException("Trailing bytes in compact message");
+        }
+        return payload;
+    }
+
+    private static void write(Writer writer, Object payload) {
+        if (payload instanceof MessageDto messageDto) {
+            writer.writeByte(MESSAGE);
+            writeMessageType(writer, messageDto.getMessageType());
+            write(writer, messageDto.getData());
+        } else if (payload instanceof BoardDto boardDto) {
+            writer.writeByte(BOARD);
+            writeBoard(writer, boardDto);
+        } else if (payload instanceof BoardDeltaDto boardDeltaDto) {
+            writer.writeByte(BOARD_DELTA);
+            writeBoardDelta(writer, boardDeltaDto);
+        } else if (payload instanceof HoleCardDto holeCardDto) {
+            writer.writeByte(HOLE_CARD);
+            writer.writeNullableLong(holeCardDto.getBoardId());
+            writer.writeLong(holeCardDto.getGameSeq());
+            writer.writeNullableLong(holeCardDto.getPlayerId());
+            writer.writeInt(holeCardDto.getCard1());
+            writer.writeInt(holeCardDto.getCard2());
+        } else {
+            throw new IllegalArgumentException("Unsupported compact payload: " + (payload == null ? null : payload.getClass()));
+        }
+    }
+
+    private static Object read(Reader reader) {
+        int type = reader.readByte();
+        switch (type) {
+            case MESSAGE -> {
+                String messageType = readMessageType(reader);
+                return new MessageDto(messageType, read(reader));
+            }
+            case BOARD -> {
+                return readBoard(reader);
+            }
+            case BOARD_DELTA -> {
+                return readBoardDelta(reader);
+            }
+            case HOLE_CARD -> {
+                return new HoleCardDto(reader.readNullableLong(), reader.readLong(), reader.readNullableLong(), reader.readInt(), reader.readInt());
+            }
+            default -> throw new IllegalArgumentException("Unknown compact payload type: " + type);
+        }
+    }
+
+    private static void writeMessageType(Writer writer, String messageType) {
+        for (MessageType type : MESSAGE_TYPES) {
+            if (type.getDetail().equals(messageType)) {
+                writer.writeVarLong(type.ordinal() + 1);
+                return;
+            }
+        }
+        writer.writeVarLong(0);
+        writer.writeString(messageType);
+    }
+
+    private static String readMessageType(Reader reader) {
+        long index = reader.readVarLong();
+        if (index == 0) {
+            return reader.readString();
+        }
+        if (index < 0 || index > MESSAGE_TYPES.length) {
+            throw new IllegalArgumentException("Unknown compact message type: " + index);
+        }
+        return MESSAGE_TYPES[(int) index - 1].getDetail();
+    }
+
+    private static void writeBoard(Writer writer, BoardDto boardDto) {
+        writer.writeNullableLong(boardDto.getId());
+        writer.writeInt(boardDto.getTotalPlayer());
+        writer.writeInt(boardDto.getBlind());
+        writer.writeInt(boardDto.getBtn());
+        writer.writeInt(boardDto.getPot());
+        writer.writeInt(boardDto.getBettingPos());
+        writer.writeInt(boardDto.getActionPos());
+        writer.writeInt(boardDto.getPhaseStatus());
+        writer.writeInt(boardDto.getBettingSize());
+        writer.writeInt(boardDto.getCommunityCard1());
+        writer.writeInt(boardDto.getCommunityCard2());
+        writer.writeInt(boardDto.getCommunityCard3());
+        writer.writeInt(boardDto.getCommunityCard4());
+        writer.writeInt(boardDto.getCommunityCard5());
+        writer.writeLong(boardDto.getGameSeq());
+        writer.writeLong(boardDto.getVersion());
+        writer.writeTime(boardDto.getLastActionTime());
+        writer.writeIntList(boardDto.getTotalCallSize());
+        if (boardDto.getPlayers() == null) {
+            writer.writeVarLong(0);
+            return;
+        }
+        writer.writeVarLong(boardDto.getPlayers().size() + 1L);
+        for (PlayerDto playerDto : boardDto.getPlayers()) {
+            writePlayer(writer, playerDto);
+        }
+    }
+
+    private static BoardDto readBoard(Reader reader) {
+        BoardDto boardDto = new BoardDto();
+        boardDto.setId(reader.readNullableLong());
+        boardDto.setTotalPlayer(reader.readInt());
+        boardDto.setBlind(reader.readInt());
+        boardDto.setBtn(reader.readInt());
+        boardDto.setPot(reader.readInt());
+        boardDto.setBettingPos(reader.readInt());
+        boardDto.setActionPos(reader.readInt());
+        boardDto.setPhaseStatus(reader.readInt());
+        boardDto.setBettingSize(reader.readInt());
+        boardDto.setCommunityCard1(reader.readInt());
+        boardDto.setCommunityCard2(reader.readInt());
+        boardDto.setCommunityCard3(reader.readInt());
+        boardDto.setCommunityCard4(reader.readInt());
+        boardDto.setCommunityCard5(reader.readInt());
+        boardDto.setGameSeq(reader.readLong());
+        boardDto.setVersion(reader.readLong());
+        boardDto.setLastActionTime(reader.readTime());
+        boardDto.setTotalCallSize(reader.readIntList());
+        int playerCount = (int) reader.readVarLong() - 1;
+        if (playerCount >= 0) {
+            List<PlayerDto> players = new ArrayList<>(Math.min(playerCount, reader.remaining()));
+            for (int i = 0; i < playerCount; i++) {
+                players.add(readPlayer(reader));
+            }
+            boardDto.setPlayers(players);
+        }
+        return boardDto;
+    }
+
+    private static void writePlayer(Writer writer, PlayerDto playerDto) {
+        writer.writeNullableLong(playerDto.getId());
+        writer.writeNullableLong(playerDto.getUserId());
+        writer.writeString(playerDto.getPlayerName());
+        writer.writeNullableLong(playerDto.getBoardId());
+        writer.writeInt(playerDto.getPosition());
+        writer.writeInt(playerDto.getMoney());
+        writer.writeInt(playerDto.getCard1());
+        writer.writeInt(playerDto.getCard2());
+        writer.writeInt(playerDto.getStatus());
+        writer.writeInt(playerDto.getPhaseCallSize());
+        writeGameResult(writer, playerDto.getGameResult());
+    }
+
+    private static PlayerDto readPlayer(Reader reader) {
+        PlayerDto playerDto = new PlayerDto();
+        playerDto.setId(reader.readNullableLong());
+        playerDto.setUserId(reader.readNullableLong());
+        playerDto.setPlayerName(reader.readString());
+        playerDto.setBoardId(reader.readNullableLong());
+        playerDto.setPosition(reader.readInt());
+        playerDto.setMoney(reader.readInt());
+        playerDto.setCard1(reader.readInt());
+        playerDto.setCard2(reader.readInt());
+        playerDto.setStatus(reader.readInt());
+        playerDto.setPhaseCallSize(reader.readInt());
+        playerDto.setGameResult(readGameResult(reader));
+        return playerDto;
+    }
+
+    private static void writeGameResult(Writer writer, GameResultDto gameResult) {
+        if (gameResult == null) {
+            writer.writeByte(0);
+            return;
+        }
+        writer.writeByte(gameResult.isWinner() ? 2 : 1);
+        writer.writeInt(gameResult.getEarnedMoney());
+        writer.writeString(gameResult.getHandContext());
+        writer.writeLong(gameResult.getHandValue());
+        writer.writeIntList(gameResult.getJokBo());
+    }
+
+    private static GameResultDto readGameResult(Reader reader) {
+        int flag = reader.readByte();
+        if (flag == 0) {
+            return null;
+        }
+        return GameResultDto.builder()
+                .isWinner(flag == 2)
+                .earnedMoney(reader.readInt())
+                .handContext(reader.readString())
+                .handValue(reader.readLong())
+                .jokBo(reader.readIntList())
+                .build();
+    }
+
+    private static void writeBoardDelta(Writer writer, BoardDeltaDto delta) {
+        Object[] fields = {delta.getTotalPlayer(), delta.getBtn(), delta.getPot(), delta.getBettingPos(), delta.getActionPos(),
+                delta.getPhaseStatus(), delta.getBettingSize(), delta.getCommunityCard1(), delta.getCommunityCard2(),
+                delta.getCommunityCard3(), delta.getCommunityCard4(), delta.getCommunityCard5(), delta.getGameSeq(),
+                delta.getLastActionTime(), delta.getTotalCallSize(), delta.getPlayers(), delta.getLeftPlayers()};
+
+        writer.writeNullableLong(delta.getId());
+        writer.writeLong(delta.getBaseVersion());
+        writer.writeLong(delta.getVersion());
+        writer.writeVarLong(presentMask(fields));
+        for (int i = 0; i < 12; i++) {
+            if (fields[i] != null) {
+                writer.writeInt((Integer) fields[i]);
+            }
+        }
+        if (delta.getGameSeq() != null) {
+            writer.writeLong(delta.getGameSeq());
+        }
+        if (delta.getLastActionTime() != null) {
+            writer.writeTime(delta.getLastActionTime());
+        }
+        if (delta.getTotalCallSize() != null) {
+            writer.writeIntList(delta.getTotalCallSize());
+        }
+        if (delta.getPlayers() != null) {
+            writer.writeVarLong(delta.getPlayers().size());
+            for (PlayerDeltaDto playerDelta : delta.getPlayers()) {
+                writePlayerDelta(writer, playerDelta);
+            }
+        }
+        if (delta.getLeftPlayers() != null) {
+            writer.writeVarLong(delta.getLeftPlayers().size());
+            for (Long playerId : delta.getLeftPlayers()) {
+                writer.writeNullableLong(playerId);
+            }
+        }
+    }
+
+    private static BoardDeltaDto readBoardDelta(Reader reader) {
+        BoardDeltaDto delta = new BoardDeltaDto();
+        delta.setId(reader.readNullableLong());
+        delta.setBaseVersion(reader.readLong());
+        delta.setVersion(reader.readLong());
+        long mask = reader.readVarLong();
+
+        Integer[] ints = new Integer[12];
+        for (int i = 0; i < ints.length; i++) {
+            if ((mask & 1L << i) != 0) {
+                ints[i] = reader.readInt();
+            }
+        }
+        delta.setTotalPlayer(ints[0]);
+        delta.setBtn(ints[1]);
+        delta.setPot(ints[2]);
+        delta.setBettingPos(ints[3]);
+        delta.setActionPos(ints[4]);
+        delta.setPhaseStatus(ints[5]);
+        delta.setBettingSize(ints[6]);
+        delta.setCommunityCard1(ints[7]);
+        delta.setCommunityCard2(ints[8]);
+        delta.setCommunityCard3(ints[9]);
+        delta.setCommunityCard4(ints[10]);
+        delta.setCommunityCard5(ints[11]);
+        if ((mask & 1L << 12) != 0) {
+            delta.setGameSeq(reader.readLong());
+        }
+        if ((mask & 1L << 13) != 0) {
+            delta.setLastActionTime(reader.readTime());
+        }
+        if ((mask & 1L << 14) != 0) {
+            delta.setTotalCallSize(reader.readIntList());
+        }
+        if ((mask & 1L << 15) != 0) {
+            int count = (int) reader.readVarLong();
+            List<PlayerDeltaDto> players = new ArrayList<>(Math.min(count, reader.remaining()));
+            for (int i = 0; i < count; i++) {
+                players.add(readPlayerDelta(reader));
+            }
+            delta.setPlayers(players);
+        }
+        if ((mask & 1L << 16) != 0) {
+            int count = (int) reader.readVarLong();
+            List<Long> leftPlayers = new ArrayList<>(Math.min(count, reader.remaining()));
+            for (int i = 0; i < count; i++) {
+                leftPlayers.add(reader.readNullableLong());
+            }
+            delta.setLeftPlayers(leftPlayers);
+        }
+        return delta;
+    }
+
+    private static void writePlayerDelta(Writer writer, PlayerDeltaDto delta) {
+        Object[] fields = {delta.getUserId(), delta.getPlayerName(), delta.getPosition(), delta.getMoney(), delta.getCard1(),
+                delta.getCard2(), delta.getStatus(), delta.getPhaseCallSize(), delta.getGameResult()};
+
+        writer.writeNullableLong(delta.getId());
+        writer.writeVarLong(presentMask(fields));
+        if (delta.getUserId() != null) {
+            writer.writeLong(delta.getUserId());
+        }
+        if (delta.getPlayerName() != null) {
+            writer.writeString(delta.getPlayerName());
+        }
+        for (int i = 2; i < 8; i++) {
+            if (fields[i] != null) {
+                writer.writeInt((Integer) fields[i]);
+            }
+        }
+        if (delta.getGameResult() != null) {
+            writeGameResult(writer, delta.getGameResult());
+        }
+    }
+
+    private static PlayerDeltaDto readPlayerDelta(Reader reader) {
+        PlayerDeltaDto delta = new PlayerDeltaDto(reader.readNullableLong());
+        long mask = reader.readVarLong();
+        if ((mask & 1L) != 0) {
+            delta.setUserId(reader.readLong());
+        }
+        if ((mask & 1L << 1) != 0) {
+            delta.setPlayerName(reader.readString());
+        }
+
+        Integer[] ints = new Integer[8];
+        for (int i = 2; i < ints.length; i++) {
+            if ((mask & 1L << i) != 0) {
+                ints[i] = reader.readInt();
+            }
+        }
+        delta.setPosition(ints[2]);
+        delta.setMoney(ints[3]);
+        delta.setCard1(ints[4]);
+        delta.setCard2(ints[5]);
+        delta.setStatus(ints[6]);
+        delta.setPhaseCallSize(ints[7]);
+        if ((mask & 1L << 8) != 0) {
+            delta.setGameResult(readGameResult(reader));
+        }
+        return delta;
+    }
+
+    private static long presentMask(Object[] fields) {
+        long mask = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeInt(int value) {
+            writeLong(value);
+        }
+
+        private void writeNullableLong(Long value) {
+            writeVarLong(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeIntList(List<Integer> values) {
+            if (values == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(values.size() + 1L);
+            for (Integer value : values) {
+                writeInt(value);
+            }
+        }
+
+        private void writeTime(LocalDateTime time) {
+            writeNullableLong(time == null ? null : time.toEpochSecond(ZoneOffset.UTC));
+        }
+
+        private void ensureCapacity(int size) {
+            if (position + size > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + size));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        // 길이 값은 믿을 수 없으므로 리스트를 미리 잡을 때 남은 바이트 수를 넘지 않게 한다.
+        private int remaining() {
+            return buffer.length - position;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Truncated compact message");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        private long readLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private int readInt() {
+            return (int) readLong();
+        }
+
+        private Long readNullableLong() {
+            long value = readVarLong();
+            if (value == 0) {
+                return null;
+            }
+            value--;
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private String readString() {
+            int length = (int) readVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated compact message");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private List<Integer> readIntList() {
+            int size = (int) readVarLong() - 1;
+            if (size < 0) {
+                return null;
+            }
+            List<Integer> values = new ArrayList<>(Math.min(size, remaining()));
+            for (int i = 0; i < size; i++) {
+                values.add(readInt());
+            }
+            return values;
+        }
+
+        private LocalDateTime readTime() {
+            Long epochSecond = readNullableLong();
+            return epochSecond == null ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        }
+    }
+}
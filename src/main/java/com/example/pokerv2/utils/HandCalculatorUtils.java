@@ -21,6 +21,37 @@ public class HandCalculatorUtils {
     private static final long THREE_OF_A_KIND_VALUE_PREFIX = 30000000000L;
     private static final long TWO_PAIR_VALUE_PREFIX = 20000000000L;
     private static final long ONE_PAIR_VALUE_PREFIX = 10000000000L;
+    private static final long HAND_CATEGORY_UNIT = 10000000000L;
+
+    private static final int RANK_SIZE = 13;
+    private static final int JOKBO_SIZE = 5;
+    private static final int ACE_RANK = 12;
+    private static final int RANK_MASK_SIZE = 1 << RANK_SIZE;
+    private static final int STRAIGHT_WINDOW = 0b11111;
+    private static final int WHEEL_MASK = (1 << ACE_RANK) | 0b1111;
+    private static final long[] DIGIT_UNITS = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L};
+    private static final HandValue[] HAND_VALUES = HandValue.values();
+
+    /**
+     * STRAIGHT_HIGH_TABLE[rankMask]
+     * rankMask(13bit, rank 별로 1bit) 로 만들 수 있는 가장 높은 스트레이트의 하이카드 rank. 스트레이트가 없으면 -1.
+     * 백스트레이트(A-2-3-4-5)는 5의 rank(3)를 하이카드로 본다.
+     */
+    private static final byte[] STRAIGHT_HIGH_TABLE = new byte[RANK_MASK_SIZE];
+
+    /**
+     * TOP_FIVE_TABLE[rankMask]
+     * rankMask 의 상위 5개 rank 를 (rank + 1) 두 자리씩 이어붙인 값. 하이카드, 플러시, 키커 계산에 그대로 사용한다.
+     * ex) A K 8 7 6 -> 13 12 07 06 05 -> 1312070605
+     */
+    private static final int[] TOP_FIVE_TABLE = new int[RANK_MASK_SIZE];
+
+    static {
+        for (int rankMask = 0; rankMask < RANK_MASK_SIZE; rankMask++) {
+            STRAIGHT_HIGH_TABLE[rankMask] = (byte) findStraightHigh(rankMask);
+            TOP_FIVE_TABLE[rankMask] = encodeTopFive(rankMask);
+        }
+    }
 
 
     /**
@@ -30,541 +61,327 @@ public class HandCalculatorUtils {
      * 계산한 핸드의 세기와, 족보를 이루는 카드리스트들을 GameResultDto에 담아준다.
      *
      * <p>
+     * 카드를 mask(CardMaskUtils) 로 모아 모양별 13bit rank mask 4개로 나눈 뒤, 미리 계산해둔 테이블(STRAIGHT_HIGH_TABLE, TOP_FIVE_TABLE)과
+     * 비트 연산만으로 족보를 판정한다. 정렬이나 HashMap 없이 한번에 계산하고, 계산 중 객체를 생성하지 않는다.
+     *
+     * <p>
+     * 핸드 밸류 = 족보 prefix(10^10 단위) + 족보를 이루는 rank(+1) 들을 두 자리씩 이어붙인 값.
+     * 족보가 같으면 뒤의 값으로 비교한다.
      *
      * <p>
-     * 함수가 너무 긺. 나중에 리팩토링 하기.
+     * 반복 계산에는 calculateValue(int[], int, HandResult) 를 사용한다. GameResultDto 를 반환하는 메서드는 이를 감싼 어댑터다.
      */
 
     private HandCalculatorUtils() {
     }
 
     public static GameResultDto calculateValue(List<Integer> cards) {
-        List<Integer> jokBoList = new ArrayList<>();
-        cards.sort(CardUtils.rankComparator());
-        long handValue;
-
-        handValue = evaluateRoyalStraightFlush(cards, jokBoList);
-        if (handValue == -1L) {
-            jokBoList.clear();
-            handValue = evaluateStraightFlush(cards, jokBoList);
-            if (handValue == -1L) {
-                jokBoList.clear();
-                handValue = evaluateFourOfAKind(cards, jokBoList);
-                if (handValue == -1L) {
-                    jokBoList.clear();
-                    handValue = evaluateFullHouse(cards, jokBoList);
-                    if (handValue == -1L) {
-                        jokBoList.clear();
-                        handValue = evaluateFlush(cards, jokBoList);
-                        if (handValue == -1L) {
-                            jokBoList.clear();
-                            handValue = evaluateStraight(cards, jokBoList);
-                            if (handValue == -1L) {
-                                jokBoList.clear();
-                                handValue = evaluateThreeOfAKind(cards, jokBoList);
-                                if (handValue == -1L) {
-                                    jokBoList.clear();
-                                    handValue = evaluateTwoPair(cards, jokBoList);
-                                    if (handValue == -1L) {
-                                        jokBoList.clear();
-                                        handValue = evaluateOnePair(cards, jokBoList);
-                                        if (handValue == -1L) {
-                                            jokBoList.clear();
-                                            handValue = evaluateHighCard(cards, jokBoList);
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+        int[] cardArray = new int[cards.size()];
+        for (int i = 0; i < cardArray.length; i++) {
+            cardArray[i] = cards.get(i);
         }
 
-        return GameResultDto.builder().handValue(handValue).jokBo(jokBoList).handContext(getHandContextByValue(handValue)).build();
-    }
-
+        HandResult result = new HandResult();
+        calculateValue(cardArray, cardArray.length, result);
 
-
-    public static String getHandContextByValue(long value) {
-        String handContext;
-        if (value == ROYAL_FLUSH_VALUE_PREFIX) {
-            handContext = HandValue.ROYAL_STRAIGHT_FLUSH.getDetail();
-        } else if (value >= STRAIGHT_FLUSH_VALUE_PREFIX) {
-            handContext = HandValue.STRAIGHT_FLUSH.getDetail();
-        } else if (value >= FOUR_OF_A_KIND_VALUE_PREFIX) {
-            handContext = HandValue.FOUR_OF_A_KIND.getDetail();
-        } else if (value >= FULL_HOUSE_VALUE_PREFIX) {
-            handContext = HandValue.FULL_HOUSE.getDetail();
-        } else if (value >= FLUSH_VALUE_PREFIX) {
-            handContext = HandValue.FLUSH.getDetail();
-        } else if (value >= STRAIGHT_VALUE_PREFIX) {
-            handContext = HandValue.STRAIGHT.getDetail();
-        } else if (value >= THREE_OF_A_KIND_VALUE_PREFIX) {
-            handContext = HandValue.THREE_OF_A_KIND.getDetail();
-        } else if (value >= TWO_PAIR_VALUE_PREFIX) {
-            handContext = HandValue.TWO_PAIR.getDetail();
-        } else if (value >= ONE_PAIR_VALUE_PREFIX) {
-            handContext = HandValue.ONE_PAIR.getDetail();
-        } else {
-            handContext = HandValue.HIGH_CARD.getDetail();
+        List<Integer> jokBoList = new ArrayList<>(result.getJokBoSize());
+        for (int i = 0; i < result.getJokBoSize(); i++) {
+            jokBoList.add(cardArray[result.getJokBoIndex(i)]);
         }
 
-        return handContext;
+        return GameResultDto.builder().handValue(result.getHandValue()).jokBo(jokBoList).handContext(result.getHandContext()).build();
     }
 
     /**
-     * highCardValue
+     * calculateValue
+     * <p>
+     * 쇼다운(BoardService.determineWinner)에서 사용한다. 카드 리스트나 배열로 바꾸지 않고 mask 로 바로 계산하고,
+     * 족보 카드는 모양별 rank mask 에서 찾는다. 같은 rank 가 여러장이면 int 값이 작은 카드를 고른다.
      *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 하이카드의 밸류 (5장의 하이카드)
+     * @param cardMask 핸드를 이루는 카드들의 mask (CardMaskUtils 참고)
      */
-    private static long evaluateHighCard(List<Integer> cards, List<Integer> jokBo) {
-        cards.sort(CardUtils.rankComparator());
-
-        jokBo.clear();
-        int cnt = 0;
-        for (Integer card : cards) {
-            jokBo.add(card);
-            cnt++;
-            if (cnt == 5) {
-                break;
+    public static GameResultDto calculateValue(long cardMask) {
+        long handValue = evaluate(cardMask);
+        int category = (int) (handValue / HAND_CATEGORY_UNIT);
+        long detail = handValue % HAND_CATEGORY_UNIT;
+        int suit = category == 9 || category == 8 || category == 5 ? findFlushSuit(cardMask) : -1;
+        long restCards = cardMask;
+
+        List<Integer> jokBoList = new ArrayList<>(JOKBO_SIZE);
+        for (int position = 0; position < JOKBO_SIZE; position++) {
+            int card = findJokBoCard(restCards, jokBoRankAt(category, detail, position), suit);
+            if (card >= 0) {
+                jokBoList.add(card);
+                restCards &= ~CardMaskUtils.toMask(card);
             }
         }
 
-        return (jokBo.get(0) % 13 + 1) * 100000000L + (jokBo.get(1) % 13 + 1) * 1000000L + (jokBo.get(2) % 13 + 1) * 10000L + (jokBo.get(3) % 13 + 1) * 100L + (jokBo.get(4) % 13 + 1);
+        return GameResultDto.builder().handValue(handValue).jokBo(jokBoList).handContext(getHandContextByValue(handValue)).build();
     }
 
     /**
-     * onePairValue
+     * calculateValue
+     * <p>
+     * 객체를 생성하지 않고 핸드 밸류, 족보 카드 위치, 족보 종류를 result 에 덮어쓴다.
+     * 에퀴티 계산, 시뮬레이션처럼 반복 횟수가 많은 곳에서 사용한다.
      *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 원페어의 밸류 (원페어의 하이카드, 나머지 3장의 하이카드)
+     * @param cards  카드 int 값 배열. 앞에서부터 size 개만 사용한다.
+     * @param size   사용할 카드 수 (최대 64)
+     * @param result 결과를 담을 버퍼.
+     * @return result 에 담긴 핸드 밸류.
      */
-    private static long evaluateOnePair(List<Integer> cards, List<Integer> jokBo) {
-        Map<Integer, Integer> rankCount = new HashMap<>();
-        int pairRank = -1;
-
-        for (Integer card : cards) {
-            int rank = card % 13;
-            rankCount.put(rank, rankCount.getOrDefault(rank, 0) + 1);
-
-            if (rankCount.get(rank) == 2) {
-                jokBo.clear();
-                pairRank = rank;
-                for (Integer pairCard : cards) {
-                    if (pairCard % 13 == pairRank) {
-                        jokBo.add(pairCard);
-
-                    }
-                }
-            }
-        }
+    public static long calculateValue(int[] cards, int size, HandResult result) {
+        long cardMask = CardMaskUtils.toMask(cards, size);
+        long handValue = evaluate(cardMask);
 
-        cards.sort(CardUtils.rankComparator());
+        result.reset(handValue, getCategory(handValue));
+        findJokBo(cards, size, handValue, findFlushSuit(cardMask), result);
 
-        int cnt = 0;
-        if (pairRank != -1) {
-            for (Integer card : cards) {
-                if (card % 13 != pairRank) {
-                    if (cnt++ < 3) {
-                        jokBo.add(card);
-                    } else break;
-                }
-            }
-
-            return ONE_PAIR_VALUE_PREFIX + (pairRank + 1) * 1000000L + (jokBo.get(2) % 13 + 1) * 10000L + (jokBo.get(3) % 13 + 1) * 100L + (jokBo.get(4) % 13 + 1);
-        }
-
-        return -1;
+        return handValue;
     }
 
     /**
-     * twoPairValue
+     * getCategory
      *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 투 페어의 밸류 (두 페어의 rank + 나머지 1개 하이카드)
+     * @param handValue 핸드 밸류
+     * @return 족보의 HandValue ordinal (0 : 로얄 스트레이트 플러쉬 ... 9 : 하이카드)
      */
-    private static long evaluateTwoPair(List<Integer> cards, List<Integer> jokBo) {
-        Map<Integer, Integer> rankCount = new HashMap<>();
-        int firstPairRank = -1;
-        int secondPairRank = -1;
-        int highCard = -1;
-
-        for (Integer card : cards) {
-            int rank = card % 13;
-            rankCount.put(rank, rankCount.getOrDefault(rank, 0) + 1);
-
-            if (rankCount.get(rank) == 2) {
-                if (firstPairRank == -1) {
-                    firstPairRank = rank;
-                } else {
-                    secondPairRank = rank;
-                }
-            }
-        }
-
-        if (firstPairRank != -1 && secondPairRank != -1) {
-            jokBo.clear();
-            for (Integer card : cards) {
-                int rank = card % 13;
-                if (rank == firstPairRank || rank == secondPairRank) {
-                    jokBo.add(card);
-                } else {
-                    if (highCard % 13 < rank) {
-                        highCard = card;
-                    }
-                }
-            }
-            jokBo.add(highCard);
-            return TWO_PAIR_VALUE_PREFIX + (Math.max(firstPairRank, secondPairRank) + 1) * 10000L + (Math.min(firstPairRank, secondPairRank) + 1) * 100L + (highCard % 13 + 1);
-        }
-
-        return -1;
+    public static int getCategory(long handValue) {
+        return HandValue.HIGH_CARD.ordinal() - (int) (handValue / HAND_CATEGORY_UNIT);
     }
 
     /**
-     * threeOfAKindValue
+     * evaluate
      *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 트리플의 밸류 (트리플의 rank + 족보의 나머지 2개 하이카드)
+     * @param cardMask 핸드를 이루는 카드들의 mask (CardMaskUtils 참고)
+     * @return 핸드 밸류. getHandContextByValue 로 족보 이름을 얻을 수 있다.
      */
-    private static long evaluateThreeOfAKind(List<Integer> cards, List<Integer> jokBo) {
-        Map<Integer, Integer> rankCount = new HashMap<>();
-        int threeOfAKindValue = -1;
-        int firstHighCard = -1;
-        int secondHighCard = -1;
-        boolean isThreeOfAKind = false;
-        int tripleRank = -1;
-
-        for (Integer card : cards) {
-            int rank = card % 13;
-            rankCount.put(rank, rankCount.getOrDefault(rank, 0) + 1);
-
-            if (rankCount.get(rank) == 3) {
-                jokBo.clear();
-                tripleRank = rank;
-                for (Integer tripleCard : cards) {
-                    if (tripleCard % 13 == tripleRank) {
-                        jokBo.add(tripleCard);
-                    }
-                }
-
-                isThreeOfAKind = true;
-                threeOfAKindValue = tripleRank;
-            }
-        }
-
-
-        if (isThreeOfAKind) {
-            for (Integer card : cards) {
-                int rank = card % 13;
-                if (rank != tripleRank) {
-                    if (secondHighCard % 13 < rank) {
-                        if (firstHighCard % 13 < rank) {
-                            secondHighCard = firstHighCard;
-                            firstHighCard = card;
-                        } else {
-                            secondHighCard = card;
-                        }
-                    }
-                }
-            }
-
-            jokBo.add(firstHighCard);
-            jokBo.add(secondHighCard);
-            return THREE_OF_A_KIND_VALUE_PREFIX + (threeOfAKindValue + 1) * 10000L + (firstHighCard % 13 + 1) * 100L + (secondHighCard % 13 + 1);
-        }
-
-        return -1;
+    public static long evaluate(long cardMask) {
+        return evaluate(CardMaskUtils.suitRanks(cardMask, 0), CardMaskUtils.suitRanks(cardMask, 1),
+                CardMaskUtils.suitRanks(cardMask, 2), CardMaskUtils.suitRanks(cardMask, 3));
     }
 
-
     /**
-     * straightValue
+     * evaluate
      *
-     * @param cards rank 내림차 순으로 정렬된 7장의 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 스트레이트의 밸류 (스트레이트를 이루는 족보중 하이카드)
+     * @param spades   스페이드 카드들의 rank mask
+     * @param diamonds 다이아 카드들의 rank mask
+     * @param hearts   하트 카드들의 rank mask
+     * @param clovers  클로버 카드들의 rank mask
+     * @return 핸드 밸류. getHandContextByValue 로 족보 이름을 얻을 수 있다.
      */
-    private static long evaluateStraight(List<Integer> cards, List<Integer> jokBo) {
-        cards.sort(CardUtils.rankComparator());
-
-        int lastValue = -1;
-        int consecutiveCount = 0;
-        int topidx = 0;
+    public static long evaluate(int spades, int diamonds, int hearts, int clovers) {
+        int anyRanks = spades | diamonds | hearts | clovers;
+        int pairRanks = (spades & diamonds) | (spades & hearts) | (spades & clovers)
+                | (diamonds & hearts) | (diamonds & clovers) | (hearts & clovers);
+        int tripleRanks = (spades & diamonds & hearts) | (spades & diamonds & clovers)
+                | (spades & hearts & clovers) | (diamonds & hearts & clovers);
+        int fourRanks = spades & diamonds & hearts & clovers;
+        int flushRanks = findFlushRanks(spades, diamonds, hearts, clovers);
+
+        if (flushRanks != 0) {
+            int straightFlushHigh = STRAIGHT_HIGH_TABLE[flushRanks];
+            if (straightFlushHigh == ACE_RANK) {
+                return ROYAL_FLUSH_VALUE_PREFIX;
+            }
+            if (straightFlushHigh >= 0) {
+                return STRAIGHT_FLUSH_VALUE_PREFIX + straightFlushHigh + 1;
+            }
+        }
 
-        for (int i = 0; i < cards.size(); i++) {
-            int currentCard = cards.get(i);
-            int currentValue = currentCard % 13;
+        if (fourRanks != 0) {
+            int fourRank = highestRank(fourRanks);
+            int kicker = highestRank(anyRanks & ~(1 << fourRank));
+            return FOUR_OF_A_KIND_VALUE_PREFIX + (fourRank + 1) * 100L + kicker + 1;
+        }
 
-            if (lastValue == -1 || lastValue % 13 == currentValue) {
-                lastValue = currentValue;
-                continue;
+        if (tripleRanks != 0) {
+            int tripleRank = highestRank(tripleRanks);
+            int restPairRanks = pairRanks & ~(1 << tripleRank);
+            if (restPairRanks != 0) {
+                return FULL_HOUSE_VALUE_PREFIX + (tripleRank + 1) * 100L + highestRank(restPairRanks) + 1;
             }
+        }
 
-            if (lastValue - 1 == currentValue) {
-                consecutiveCount++;
-                jokBo.add(currentCard);
+        if (flushRanks != 0) {
+            return FLUSH_VALUE_PREFIX + TOP_FIVE_TABLE[flushRanks];
+        }
 
-                if (consecutiveCount == 4) {
-                    if(jokBo.size() != 5) {
-                        jokBo.add(cards.get(topidx));
-                    }
-                    return STRAIGHT_VALUE_PREFIX + lastValue + 1;
-                }
-            } else {
-                consecutiveCount = 0;
-                topidx = i + 1;
-                jokBo.clear();
-                jokBo.add(currentCard);
-            }
+        int straightHigh = STRAIGHT_HIGH_TABLE[anyRanks];
+        if (straightHigh >= 0) {
+            return STRAIGHT_VALUE_PREFIX + straightHigh + 1;
+        }
 
-            lastValue = currentValue;
+        if (tripleRanks != 0) {
+            int tripleRank = highestRank(tripleRanks);
+            return THREE_OF_A_KIND_VALUE_PREFIX + (tripleRank + 1) * 10000L + TOP_FIVE_TABLE[anyRanks & ~(1 << tripleRank)] / 1000000;
         }
 
-        // Check BackStraight
-        if (consecutiveCount == 3 && cards.get(cards.size() - 1) % 13 == 0 && cards.get(0) % 13 == 12) {
-            jokBo.add(cards.get(0));
-            return STRAIGHT_VALUE_PREFIX + 4;
+        if (pairRanks != 0) {
+            int highPairRank = highestRank(pairRanks);
+            int lowPairRanks = pairRanks & ~(1 << highPairRank);
+            if (lowPairRanks != 0) {
+                int lowPairRank = highestRank(lowPairRanks);
+                int kicker = highestRank(anyRanks & ~(1 << highPairRank) & ~(1 << lowPairRank));
+                return TWO_PAIR_VALUE_PREFIX + (highPairRank + 1) * 10000L + (lowPairRank + 1) * 100L + kicker + 1;
+            }
+            return ONE_PAIR_VALUE_PREFIX + (highPairRank + 1) * 1000000L + TOP_FIVE_TABLE[anyRanks & ~(1 << highPairRank)] / 10000;
         }
 
-        return -1;
+        return TOP_FIVE_TABLE[anyRanks];
     }
 
+    public static String getHandContextByValue(long value) {
+        return HAND_VALUES[getCategory(value)].getDetail();
+    }
 
     /**
-     * flushValue
+     * findJokBo
+     * <p>
+     * 핸드 밸류에 들어있는 rank 들을 다시 풀어서, 족보를 이루는 5장의 카드가 cards 의 몇 번째 카드인지 찾는다.
+     * 같은 rank 의 카드가 여러장이면 cards 에서 먼저 나온 카드를 고른다.
      *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 플러시의 밸류. (플러시를 이루는 카드의 하이카드 순서)
+     * @param cards     핸드 밸류를 계산한 카드 배열.
+     * @param size      사용할 카드 수.
+     * @param handValue evaluate 로 계산한 핸드 밸류.
+     * @param flushSuit 플러시 모양. 플러시가 없으면 -1.
+     * @param result    족보 카드 위치를 담을 버퍼.
      */
-
-    private static long evaluateFlush(List<Integer> cards, List<Integer> jokBo) {
-        cards.sort(Comparator.reverseOrder());
-
-        int consecutiveCount = 1;
-        int lastSuit = -1;
-        int highestRank = -1;
-
-        for (Integer card : cards) {
-            int currentSuit = card / 13;
-
-            if (lastSuit != -1 && lastSuit == currentSuit) {
-                consecutiveCount++;
-                jokBo.add(card);
-
-                if (consecutiveCount == 5) {
-                    highestRank = card % 13 + 4;
+    private static void findJokBo(int[] cards, int size, long handValue, int flushSuit, HandResult result) {
+        int category = (int) (handValue / HAND_CATEGORY_UNIT);
+        long detail = handValue % HAND_CATEGORY_UNIT;
+        int suit = category == 9 || category == 8 || category == 5 ? flushSuit : -1;
+        long pickedIndex = 0L;
+
+        for (int position = 0; position < JOKBO_SIZE; position++) {
+            int rank = jokBoRankAt(category, detail, position);
+            for (int i = 0; i < size; i++) {
+                int card = cards[i];
+                if ((pickedIndex & (1L << i)) == 0 && card % RANK_SIZE == rank && (suit == -1 || card / RANK_SIZE == suit)) {
+                    pickedIndex |= 1L << i;
+                    result.addJokBoIndex(i);
                     break;
                 }
-            } else {
-                consecutiveCount = 1;
-                jokBo.clear();
-                jokBo.add(card);
             }
-
-            lastSuit = currentSuit;
         }
-
-        if (highestRank != -1) {
-            jokBo.sort(CardUtils.rankComparator());
-
-            long flushValue = 0L;
-            long valuePrefix = 100000000L;
-            for (int i = 0; i < jokBo.size(); i++) {
-                flushValue = flushValue + ((jokBo.get(i) % 13) + 1) * valuePrefix;
-                valuePrefix /= 100L;
-            }
-            return FLUSH_VALUE_PREFIX + flushValue;
-        }
-
-        return -1;
     }
 
     /**
-     * fullHouseValue
+     * jokBoRankAt
      *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 풀하우스의 밸류. (트리플의 밸류(우선순위) && 페어의 밸류)
+     * @param category 핸드 밸류의 족보 prefix (0 : 하이카드 ... 9 : 로얄 스트레이트 플러쉬)
+     * @param detail   핸드 밸류에서 족보 prefix 를 뺀 값.
+     * @param position 족보에서의 위치 (0 ~ 4)
+     * @return 족보의 position 번째 카드의 rank. 카드가 부족해 자리가 비어있으면 -1.
      */
-    private static long evaluateFullHouse(List<Integer> cards, List<Integer> jokBo) {
-        Map<Integer, Integer> rankCount = new HashMap<>();
-
-        for (Integer card : cards) {
-            int rank = card % 13;
-            rankCount.put(rank, rankCount.getOrDefault(rank, 0) + 1);
+    private static int jokBoRankAt(int category, long detail, int position) {
+        switch (category) {
+            case 9:
+                return ACE_RANK - position;
+            case 8:
+            case 4:
+                return ((int) detail - 1 - position + RANK_SIZE) % RANK_SIZE;
+            case 7:
+                return position < 4 ? (int) (detail / 100) - 1 : (int) (detail % 100) - 1;
+            case 6:
+                return position < 3 ? (int) (detail / 100) - 1 : (int) (detail % 100) - 1;
+            case 5:
+            case 0:
+                return rankAt(detail, 8 - 2 * position);
+            case 3:
+                return position < 3 ? rankAt(detail, 4) : rankAt(detail, 8 - 2 * position);
+            case 2:
+                return position < 2 ? rankAt(detail, 4) : position < 4 ? rankAt(detail, 2) : rankAt(detail, 0);
+            case 1:
+                return position < 2 ? rankAt(detail, 6) : rankAt(detail, 8 - 2 * position);
+            default:
+                throw new IllegalArgumentException("Invalid hand value");
         }
-
-        boolean hasThreeOfAKind = false;
-        boolean hasTwoOfAKind = false;
-        int threeOfKindValue = -1;
-        int twoOfKindValue = -1;
-
-        for (Map.Entry<Integer, Integer> entry : rankCount.entrySet()) {
-            int count = entry.getValue();
-            int rank = entry.getKey();
-
-            if (count == 3) {
-                threeOfKindValue = rank;
-                hasThreeOfAKind = true;
-            } else if (count == 2) {
-                twoOfKindValue = rank;
-                hasTwoOfAKind = true;
-            }
-        }
-
-        if (hasThreeOfAKind && hasTwoOfAKind) {
-            jokBo.clear();
-            for (Integer card : cards) {
-                int rank = card % 13;
-                if (rank == threeOfKindValue) {
-                    jokBo.add(card);
-                }
-            }
-
-            for (Integer card : cards) {
-                int rank = card % 13;
-                if (rank == twoOfKindValue) {
-                    jokBo.add(card);
-                    if (jokBo.size() == 5) break;
-                }
-            }
-            return FULL_HOUSE_VALUE_PREFIX + (threeOfKindValue + 1) * 100 + twoOfKindValue + 1;
-        }
-
-        return -1L;
     }
 
     /**
-     * fourOfAKindValue
+     * rankAt
      *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 포카드의 밸류. (포카드의 밸류 && 포카드를 제외한 나머지 카드중 하이카드)
+     * @param detail 핸드 밸류에서 족보 prefix 를 뺀 값.
+     * @param digit  읽을 두 자리의 시작 자릿수 (0, 2, 4, 6, 8)
+     * @return 해당 자리의 rank. 카드가 부족해 자리가 비어있으면 -1.
      */
-    private static long evaluateFourOfAKind(List<Integer> cards, List<Integer> jokBo) {
-        int[] ranks = new int[13];
-        for (int card : cards) {
-            ranks[card % 13]++;
-        }
-
-        for (int i = 0; i < ranks.length; i++) {
-            if (ranks[i] == 4) {
-                int fourAKindValue = -1;
-                int highCard = -1;
-                for (int j = 0; j < cards.size(); j++) {
-                    int card = cards.get(j);
-                    if (card % 13 == i) {
-                        fourAKindValue = i;
-                        jokBo.add(card);
-                    }
-                }
-
-                for (Integer card : cards) {
-                    if (card % 13 != fourAKindValue && highCard % 13 < card % 13) {
-                        highCard = card;
-                    }
-                }
-
-                jokBo.add(highCard);
-                return FOUR_OF_A_KIND_VALUE_PREFIX + (fourAKindValue + 1) * 100 + highCard % 13 + 1;
-            }
-        }
-
-        return -1;
+    private static int rankAt(long detail, int digit) {
+        return (int) (detail / DIGIT_UNITS[digit] % 100) - 1;
     }
 
     /**
-     * straightFlushValue
+     * findJokBoCard
      *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 스트레이트 플러시의 밸류. (스티플의 하이카드)
+     * @param cardMask 아직 족보에 고르지 않은 카드들의 mask
+     * @param rank     찾을 rank. -1 이면 찾지 않는다.
+     * @param suit     플러시 모양. 플러시가 아니면 -1.
+     * @return 해당 rank 의 카드 중 int 값이 가장 작은 카드. 없으면 -1.
      */
-    private static long evaluateStraightFlush(List<Integer> cards, List<Integer> jokBo) {
-        cards.sort(Comparator.reverseOrder());
-
-        int value;
-        for (int i = 0; i <= cards.size() - 5; i++) {
-            boolean isStraightFlush = true;
-            value = cards.get(i) % 13;
-            int consecutiveCount = 0;
-            for (int j = 0; j < 4; j++) {
-                int currentCard = cards.get(i + j);
-                int nextCard = cards.get(i + j + 1);
-
-                if ((currentCard % 13) - 1 != nextCard % 13 || currentCard / 13 != nextCard / 13) {
-                    jokBo.clear();
-                    isStraightFlush = false;
-                    value = -1;
-                    consecutiveCount = 0;
-                    break;
-                }
-                consecutiveCount++;
-                jokBo.add(currentCard);
-                if (j == 3) {
-                    jokBo.add(nextCard);
-                }
-
-                if(consecutiveCount == 3 && nextCard % 13 == 0){
-                    if(cards.contains((nextCard / 13) * 13 + 12)){
-                        jokBo.add(nextCard);
-                        jokBo.add((nextCard / 13) * 13 + 12);
-                        return STRAIGHT_FLUSH_VALUE_PREFIX + 4;
-                    }
-                }
+    private static int findJokBoCard(long cardMask, int rank, int suit) {
+        if (rank < 0) {
+            return -1;
+        }
+        for (int cardSuit = 0; cardSuit < CardMaskUtils.SUIT_SIZE; cardSuit++) {
+            if ((suit == -1 || cardSuit == suit) && (CardMaskUtils.suitRanks(cardMask, cardSuit) & (1 << rank)) != 0) {
+                return cardSuit * RANK_SIZE + rank;
             }
+        }
+        return -1;
+    }
 
+    private static int findFlushRanks(int spades, int diamonds, int hearts, int clovers) {
+        if (Integer.bitCount(spades) >= JOKBO_SIZE) {
+            return spades;
+        } else if (Integer.bitCount(diamonds) >= JOKBO_SIZE) {
+            return diamonds;
+        } else if (Integer.bitCount(hearts) >= JOKBO_SIZE) {
+            return hearts;
+        } else if (Integer.bitCount(clovers) >= JOKBO_SIZE) {
+            return clovers;
+        }
+        return 0;
+    }
 
-
-            if (isStraightFlush) {
-                return STRAIGHT_FLUSH_VALUE_PREFIX + value;
+    private static int findFlushSuit(long cardMask) {
+        for (int suit = 0; suit < CardMaskUtils.SUIT_SIZE; suit++) {
+            if (Integer.bitCount(CardMaskUtils.suitRanks(cardMask, suit)) >= JOKBO_SIZE) {
+                return suit;
             }
         }
-        return -1L;
+        return -1;
     }
 
-    /**
-     * royalStraightFlushValue
-     *
-     * @param cards 내림차 순으로 정렬된 카드 리스트.
-     * @param jokBo 만약 조건이 만족할 경우 족보를 이루는 5개의 카드를 담아줌.
-     * @return 로티플 true -> 0. false -> -1
-     */
-    private static long evaluateRoyalStraightFlush(List<Integer> cards, List<Integer> jokBo) {
-        for (int i = 0; i <= cards.size() - 5; i++) {
-            boolean isRoyalFlush = true;
-
-            for (int j = 0; j < 4; j++) {
-                int currentCard = cards.get(i + j);
-                int nextCard = cards.get(i + j + 1);
+    private static int highestRank(int rankMask) {
+        return 31 - Integer.numberOfLeadingZeros(rankMask);
+    }
 
-                if (currentCard % 13 != 13 - 1 - j || (nextCard % 13 + 1) % 13 != currentCard % 13 || currentCard / 13 != nextCard / 13) {
-                    isRoyalFlush = false;
-                    break;
-                }
+    private static int findStraightHigh(int rankMask) {
+        for (int highRank = ACE_RANK; highRank >= 4; highRank--) {
+            int window = STRAIGHT_WINDOW << (highRank - 4);
+            if ((rankMask & window) == window) {
+                return highRank;
+            }
+        }
 
-                jokBo.add(currentCard);
+        if ((rankMask & WHEEL_MASK) == WHEEL_MASK) {
+            return 3;
+        }
 
-                if (j == 3) {
-                    jokBo.add(nextCard);
-                }
-            }
+        return -1;
+    }
 
-            if (isRoyalFlush) {
-                return ROYAL_FLUSH_VALUE_PREFIX;
+    private static int encodeTopFive(int rankMask) {
+        int value = 0;
+        int weight = 100000000;
+        int count = 0;
+        for (int rank = ACE_RANK; rank >= 0 && count < JOKBO_SIZE; rank--) {
+            if ((rankMask & (1 << rank)) != 0) {
+                value += (rank + 1) * weight;
+                weight /= 100;
+                count++;
             }
-
-            jokBo.clear();
         }
-
-        return -1L;
+        return value;
     }
-}
\ No newline at end of file
+}
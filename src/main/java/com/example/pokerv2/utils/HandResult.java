@@ -0,0 +1,51 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.enums.HandValue;
+import lombok.Getter;
+
+
+/**
+ * HandCalculatorUtils.calculateValue(int[], int, HandResult) 의 결과를 담는 재사용 가능한 버퍼.
+ *
+ * 에퀴티 계산처럼 핸드를 수백만 번 계산하는 곳에서 매번 GameResultDto 와 리스트를 만들지 않도록
+ * 호출하는 쪽에서 한 번 만들어 두고 계속 덮어쓰면서 사용한다.
+ * 스레드 간에 공유하지 않는다.
+ *
+ * handValue : 핸드 밸류 (HandCalculatorUtils 참고)
+ * category : 족보의 HandValue ordinal (0 : 로얄 스트레이트 플러쉬 ... 9 : 하이카드)
+ * jokBoIndex : 족보를 이루는 카드들이 입력 배열에서 몇 번째 카드인지. 앞에서부터 jokBoSize 개만 유효하다.
+ */
+public class HandResult {
+
+    private static final HandValue[] HAND_VALUES = HandValue.values();
+
+    @Getter
+    private long handValue;
+    @Getter
+    private int category;
+    @Getter
+    private int jokBoSize;
+    private final int[] jokBoIndex = new int[5];
+
+    public int getJokBoIndex(int position) {
+        return jokBoIndex[position];
+    }
+
+    public HandValue getHandValueType() {
+        return HAND_VALUES[category];
+    }
+
+    public String getHandContext() {
+        return HAND_VALUES[category].getDetail();
+    }
+
+    void reset(long handValue, int category) {
+        this.handValue = handValue;
+        this.category = category;
+        this.jokBoSize = 0;
+    }
+
+    void addJokBoIndex(int index) {
+        jokBoIndex[jokBoSize++] = index;
+    }
+}
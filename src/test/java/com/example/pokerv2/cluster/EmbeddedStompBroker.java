@@ -0,0 +1,209 @@
+package com.example.pokerv2.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * 테스트용 STOMP 브로커. 외부 브로커(RabbitMQ, ActiveMQ) 대신 relay 모드를 확인할 때 사용한다.
+ * <p>
+ * CONNECT, SUBSCRIBE, UNSUBSCRIBE, SEND, DISCONNECT 만 처리하고, SEND 는 같은 destination 의 모든 구독에 MESSAGE 로 보낸다.
+ * 인증, ack, transaction, heart-beat 은 없다.
+ */
+public class EmbeddedStompBroker implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final AtomicLong messageId = new AtomicLong();
+    private volatile boolean running = true;
+
+    public EmbeddedStompBroker() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "embedded-stomp-broker");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                Connection connection = new Connection(serverSocket.accept());
+                connections.add(connection);
+                Thread reader = new Thread(connection::read, "embedded-stomp-connection");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Connection connection, Frame frame) throws IOException {
+        switch (frame.command) {
+            case "CONNECT", "STOMP" -> {
+                Map<String, String> headers = new LinkedHashMap<>();
+                headers.put("version", "1.2");
+                headers.put("heart-beat", "0,0");
+                connection.write(new Frame("CONNECTED", headers, new byte[0]));
+            }
+            case "SUBSCRIBE" -> subscriptions.add(new Subscription(connection, frame.headers.get("id"), frame.headers.get("destination")));
+            case "UNSUBSCRIBE" -> subscriptions.removeIf(subscription -> subscription.connection == connection
+                    && subscription.id.equals(frame.headers.get("id")));
+            case "SEND" -> publish(frame);
+            case "DISCONNECT" -> {
+                sendReceipt(connection, frame);
+                connection.close();
+                return;
+            }
+            default -> {
+            }
+        }
+        sendReceipt(connection, frame);
+    }
+
+    private void publish(Frame frame) throws IOException {
+        String destination = frame.headers.get("destination");
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.destination.equals(destination)) {
+                continue;
+            }
+            Map<String, String> headers = new LinkedHashMap<>(frame.headers);
+            headers.remove("receipt");
+            headers.put("subscription", subscription.id);
+            headers.put("message-id", String.valueOf(messageId.incrementAndGet()));
+            subscription.connection.write(new Frame("MESSAGE", headers, frame.body));
+        }
+    }
+
+    private void sendReceipt(Connection connection, Frame frame) throws IOException {
+        String receipt = frame.headers.get("receipt");
+        if (receipt != null) {
+            connection.write(new Frame("RECEIPT", Map.of("receipt-id", receipt), new byte[0]));
+        }
+    }
+
+    private record Subscription(Connection connection, String id, String destination) {
+    }
+
+    private record Frame(String command, Map<String, String> headers, byte[] body) {
+    }
+
+    private class Connection {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = socket.getOutputStream();
+        }
+
+        private void read() {
+            try {
+                Frame frame;
+                while ((frame = readFrame()) != null) {
+                    handle(this, frame);
+                }
+            } catch (IOException e) {
+                // 연결이 끊기면 구독만 정리한다.
+            } finally {
+                close();
+            }
+        }
+
+        private Frame readFrame() throws IOException {
+            String command;
+            do {
+                command = readLine();
+                if (command == null) {
+                    return null;
+                }
+            } while (command.isEmpty());
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            String line;
+            while ((line = readLine()) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                headers.putIfAbsent(line.substring(0, colon), line.substring(colon + 1));
+            }
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            String contentLength = headers.get("content-length");
+            if (contentLength != null) {
+                body.write(in.readNBytes(Integer.parseInt(contentLength)));
+                in.read();
+            } else {
+                int b;
+                while ((b = in.read()) > 0) {
+                    body.write(b);
+                }
+            }
+            return new Frame(command, headers, body.toByteArray());
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    return null;
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        private synchronized void write(Frame frame) throws IOException {
+            StringBuilder head = new StringBuilder(frame.command).append('\n');
+            frame.headers.forEach((key, value) -> {
+                if (!key.equals("content-length")) {
+                    head.append(key).append(':').append(value).append('\n');
+                }
+            });
+            head.append("content-length:").append(frame.body.length).append("\n\n");
+            out.write(head.toString().getBytes(StandardCharsets.UTF_8));
+            out.write(frame.body);
+            out.write(0);
+            out.flush();
+        }
+
+        private void close() {
+            subscriptions.removeIf(subscription -> subscription.connection == this);
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.pokerv2.cluster;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.error.CustomException;
+import com.example.pokerv2.error.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * EmbeddedStompBroker 를 relay 브로커로 두고 노드 두 개 사이의 요청을 확인한다.
+ */
+class TableCommandRouterTest {
+
+    private static final String NODES = "node-a,node-b";
+
+    private EmbeddedStompBroker broker;
+    private TableOwnership ownershipA;
+    private TableCommandRouter nodeA;
+    private TableCommandRouter nodeB;
+
+    @BeforeEach
+    void init() throws Exception {
+        broker = new EmbeddedStompBroker();
+        ownershipA = new TableOwnership("node-a", NODES);
+        nodeA = router(ownershipA);
+        nodeB = router(new TableOwnership("node-b", NODES));
+        nodeA.connect();
+        nodeB.connect();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!(nodeA.isConnected() && nodeB.isConnected()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(nodeA.isConnected() && nodeB.isConnected()).isTrue();
+    }
+
+    @AfterEach
+    void clear() throws Exception {
+        nodeA.shutdown();
+        nodeB.shutdown();
+        broker.close();
+    }
+
+    @Test
+    @DisplayName("다른 노드 call 테스트")
+    void remoteCallTest() {
+        Long boardId = boardOwnedBy("node-b");
+        nodeB.register(TableCommand.Type.JOIN, command -> {
+            BoardDto boardDto = new BoardDto();
+            boardDto.setId(command.getBoardId());
+            boardDto.setTotalPlayer(command.getRequestBb());
+            return boardDto;
+        });
+
+        BoardDto result = nodeA.call(TableCommand.builder().type(TableCommand.Type.JOIN).boardId(boardId).requestBb(3).userId("user").build());
+
+        assertThat(result.getId()).isEqualTo(boardId);
+        assertThat(result.getTotalPlayer()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("다른 노드 에러 전달 테스트")
+    void remoteErrorTest() {
+        Long boardId = boardOwnedBy("node-b");
+        nodeB.register(TableCommand.Type.START_GAME, command -> {
+            throw new CustomException(ErrorCode.BAD_REQUEST);
+        });
+
+        assertThatThrownBy(() -> nodeA.call(TableCommand.builder().type(TableCommand.Type.START_GAME).boardId(boardId).build()))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getErrorCode())
+                .isEqualTo(ErrorCode.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("tell 라우팅 테스트")
+    void tellTest() throws InterruptedException {
+        Long localBoardId = boardOwnedBy("node-a");
+        Long remoteBoardId = boardOwnedBy("node-b");
+        CountDownLatch localLatch = new CountDownLatch(1);
+        CountDownLatch remoteLatch = new CountDownLatch(1);
+        nodeA.register(TableCommand.Type.CONNECT, command -> {
+            localLatch.countDown();
+            return null;
+        });
+        nodeB.register(TableCommand.Type.CONNECT, command -> {
+            remoteLatch.countDown();
+            return null;
+        });
+
+        nodeA.tell(TableCommand.builder().type(TableCommand.Type.CONNECT).boardId(localBoardId).playerId(1L).build());
+        assertThat(localLatch.getCount()).isZero();
+
+        nodeA.tell(TableCommand.builder().type(TableCommand.Type.CONNECT).boardId(remoteBoardId).playerId(2L).build());
+        assertThat(remoteLatch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private TableCommandRouter router(TableOwnership tableOwnership) {
+        return new TableCommandRouter(tableOwnership, new ObjectMapper().findAndRegisterModules(), "relay", "127.0.0.1", broker.getPort(), "guest", "guest");
+    }
+
+    private Long boardOwnedBy(String nodeId) {
+        for (long boardId = 1; ; boardId++) {
+            if (ownershipA.getOwner(boardId).equals(nodeId)) {
+                return boardId;
+            }
+        }
+    }
+}
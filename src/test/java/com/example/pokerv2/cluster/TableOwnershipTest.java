@@ -0,0 +1,81 @@
+package com.example.pokerv2.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TableOwnershipTest {
+
+    private static final String NODES = "node-a,node-b,node-c";
+
+    @Test
+    @DisplayName("단일 노드 테스트")
+    void singleNodeTest() {
+        TableOwnership tableOwnership = new TableOwnership("", "");
+
+        assertThat(tableOwnership.isClustered()).isFalse();
+        for (long boardId = 1; boardId <= 100; boardId++) {
+            assertThat(tableOwnership.isLocal(boardId)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("노드 간 주인 일치 테스트")
+    void sameOwnerTest() {
+        TableOwnership nodeA = new TableOwnership("node-a", NODES);
+        TableOwnership nodeB = new TableOwnership("node-b", " node-c, node-a, node-b ");
+        TableOwnership nodeC = new TableOwnership("node-c", NODES);
+
+        for (long boardId = 1; boardId <= 1000; boardId++) {
+            String owner = nodeA.getOwner(boardId);
+            assertThat(nodeB.getOwner(boardId)).isEqualTo(owner);
+            assertThat(nodeC.getOwner(boardId)).isEqualTo(owner);
+
+            int localCount = (nodeA.isLocal(boardId) ? 1 : 0) + (nodeB.isLocal(boardId) ? 1 : 0) + (nodeC.isLocal(boardId) ? 1 : 0);
+            assertThat(localCount).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("history node 일치 테스트")
+    void historyNodeTest() {
+        TableOwnership nodeA = new TableOwnership("node-a", NODES);
+        TableOwnership nodeB = new TableOwnership("node-b", " node-c, node-a, node-b ");
+        TableOwnership single = new TableOwnership("", "");
+
+        assertThat(nodeA.getHistoryNode()).isEqualTo("node-a");
+        assertThat(nodeB.getHistoryNode()).isEqualTo("node-a");
+        assertThat(nodeA.isHistoryNode()).isTrue();
+        assertThat(nodeB.isHistoryNode()).isFalse();
+        assertThat(single.isHistoryNode()).isTrue();
+    }
+
+    @Test
+    @DisplayName("분배, 노드 제거 테스트")
+    void distributionTest() {
+        TableOwnership three = new TableOwnership("node-a", NODES);
+        TableOwnership two = new TableOwnership("node-a", "node-a,node-b");
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (long boardId = 1; boardId <= 3000; boardId++) {
+            String owner = three.getOwner(boardId);
+            counts.merge(owner, 1, Integer::sum);
+            if (!owner.equals("node-c")) {
+                assertThat(two.getOwner(boardId)).isEqualTo(owner);
+            }
+        }
+
+        assertThat(counts).hasSize(3);
+        counts.values().forEach(count -> assertThat(count).isBetween(800, 1200));
+    }
+
+    @Test
+    @DisplayName("목록에 없는 노드 테스트")
+    void unknownNodeTest() {
+        assertThatThrownBy(() -> new TableOwnership("node-d", NODES)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.pokerv2.equity;
+
+import com.example.pokerv2.utils.CardMaskUtils;
+import com.example.pokerv2.utils.CardUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EquityEngineTest {
+
+    @Test
+    @DisplayName("핸드 레인지 표기법 파싱 테스트")
+    void parseHandRangeTest() {
+        assertThat(HandRange.parse("AA").size()).isEqualTo(6);
+        assertThat(HandRange.parse("AKs").size()).isEqualTo(4);
+        assertThat(HandRange.parse("AKo").size()).isEqualTo(12);
+        assertThat(HandRange.parse("AK").size()).isEqualTo(16);
+        assertThat(HandRange.parse("AA, AKs, AKs").size()).isEqualTo(10);
+        assertThat(HandRange.parse("AsKd").getCombo(0)).isEqualTo(
+                CardMaskUtils.toMask(CardUtils.getCardValue("A", "s")) | CardMaskUtils.toMask(CardUtils.getCardValue("K", "d")));
+        assertThatThrownBy(() -> HandRange.parse("AAs")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandRange.parse("1K")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("같은 seed 면 스레드 수와 상관없이 같은 결과가 나오는지 테스트")
+    void deterministicSamplingTest() {
+
+        //given
+        EquityQuery query = EquityQuery.builder()
+                .ranges(List.of(HandRange.parse("AA,KK,AKs"), HandRange.parse("QQ,JJ,AQ"), HandRange.parse("76s,65s")))
+                .samples(50000)
+                .seed(20240115L)
+                .build();
+        EquityEngine singleThreadEngine = new EquityEngine(1, 1024);
+        EquityEngine multiThreadEngine = new EquityEngine(4, 1024);
+
+        //when
+        EquityResult singleThreadResult = singleThreadEngine.calculate(query);
+        EquityResult multiThreadResult = multiThreadEngine.calculate(query);
+        singleThreadEngine.shutdown();
+        multiThreadEngine.shutdown();
+
+        //then
+        assertThat(singleThreadResult.isCompleted()).isTrue();
+        assertThat(multiThreadResult.getTrials()).isEqualTo(singleThreadResult.getTrials());
+        for (int i = 0; i < 3; i++) {
+            assertThat(multiThreadResult.getEquity(i)).isEqualTo(singleThreadResult.getEquity(i));
+            assertThat(multiThreadResult.getWin(i)).isEqualTo(singleThreadResult.getWin(i));
+        }
+    }
+
+    @Test
+    @DisplayName("레인지 대 레인지 exhaustive 계산 테스트")
+    void exhaustiveRangeTest() {
+
+        //given
+        long flop = CardMaskUtils.toMask(CardUtils.getCardValue("2", "c"))
+                | CardMaskUtils.toMask(CardUtils.getCardValue("7", "h"))
+                | CardMaskUtils.toMask(CardUtils.getCardValue("9", "d"));
+        EquityQuery query = EquityQuery.builder()
+                .ranges(List.of(HandRange.parse("AA"), HandRange.parse("KK")))
+                .board(flop)
+                .exhaustive(true)
+                .build();
+        EquityEngine equityEngine = new EquityEngine(4, 1024);
+
+        //when
+        EquityResult result = equityEngine.calculate(query);
+        equityEngine.shutdown();
+
+        //then
+        // 6 * 6 핸드 조합 * 남은 45장 중 2장 (990)
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getTrials()).isEqualTo(36L * 990);
+        assertThat(result.getEquity(0) + result.getEquity(1)).isCloseTo(1.0, within(0.000001));
+        assertThat(result.getEquity(0)).isGreaterThan(0.85);
+    }
+
+    @Test
+    @DisplayName("시간 안에 끝나지 않으면 중간 결과를 돌려주는지 테스트")
+    void partialResultTest() {
+
+        //given
+        EquityQuery query = EquityQuery.builder()
+                .ranges(List.of(HandRange.parse("AK"), HandRange.parse("QQ"), HandRange.parse("JJ")))
+                .exhaustive(true)
+                .build();
+        EquityEngine equityEngine = new EquityEngine(2, 1024);
+
+        //when
+        EquityJob job = equityEngine.submit(query);
+        EquityResult result = job.await(200, TimeUnit.MILLISECONDS);
+        equityEngine.shutdown();
+
+        //then
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getProgress()).isLessThan(1.0);
+        assertThat(job.isCancelled()).isTrue();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.pokerv2.equity;
+
+import com.example.pokerv2.utils.CardUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PreflopEquityTableTest {
+
+    @Test
+    @DisplayName("프리플랍 핸드 종류 번호 변환 테스트")
+    void handClassTest() {
+
+        //given
+        int aceSpade = CardUtils.getCardValue("A", "s");
+        int kingSpade = CardUtils.getCardValue("K", "s");
+        int kingHeart = CardUtils.getCardValue("K", "h");
+        int aceDiamond = CardUtils.getCardValue("A", "d");
+
+        //when, then
+        assertThat(PreflopHandClass.getName(PreflopHandClass.of(aceSpade, kingSpade))).isEqualTo("AKs");
+        assertThat(PreflopHandClass.getName(PreflopHandClass.of(kingHeart, aceSpade))).isEqualTo("AKo");
+        assertThat(PreflopHandClass.getName(PreflopHandClass.of(aceSpade, aceDiamond))).isEqualTo("AA");
+        assertThat(PreflopHandClass.of("KAs")).isEqualTo(PreflopHandClass.of("AKs"));
+        for (int handClass = 0; handClass < PreflopHandClass.HAND_CLASS_COUNT; handClass++) {
+            assertThat(PreflopHandClass.of(PreflopHandClass.getName(handClass))).isEqualTo(handClass);
+        }
+        assertThatThrownBy(() -> PreflopHandClass.of("AAs")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("생성한 테이블을 메모리 맵으로 읽는지 테스트")
+    void generateAndLoadTest() throws IOException {
+
+        //given
+        Path output = Files.createTempFile("preflop-equity", ".bin");
+        EquityEngine equityEngine = new EquityEngine(2, 64);
+        int aces = PreflopHandClass.of("AA");
+        int sevenTwo = PreflopHandClass.of("72o");
+
+        //when
+        PreflopEquityTableGenerator.generate(equityEngine, output, 400, 100, 1L);
+        equityEngine.shutdown();
+        PreflopEquityTable table = new PreflopEquityTable(output.toString());
+        table.load();
+
+        //then
+        assertThat(Files.size(output)).isEqualTo((long) PreflopEquityTable.FILE_SIZE);
+        assertThat(table.isLoaded()).isTrue();
+        assertThat(table.getEquityVsRandom(aces, 2)).isGreaterThan(table.getEquityVsRandom(sevenTwo, 2));
+        assertThat(table.getEquityVsRandom(aces, 2)).isGreaterThan(table.getEquityVsRandom(aces, 6));
+        assertThat(table.getHeadsUpWin(aces, sevenTwo)).isGreaterThan(table.getHeadsUpWin(sevenTwo, aces));
+        assertThat(table.getHeadsUpWin(aces, sevenTwo) + table.getHeadsUpTie(aces, sevenTwo) + table.getHeadsUpWin(sevenTwo, aces))
+                .isCloseTo(1.0, within(0.0001));
+
+        Files.delete(output);
+    }
+
+    @Test
+    @DisplayName("테이블 파일이 없으면 로드하지 않는지 테스트")
+    void notConfiguredTest() {
+
+        //given
+        PreflopEquityTable table = new PreflopEquityTable("");
+
+        //when
+        table.load();
+
+        //then
+        assertThat(table.isLoaded()).isFalse();
+        assertThatThrownBy(() -> table.getEquityVsRandom(0, 2)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.pokerv2.history;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HandHistoryLogTest {
+
+    private Path logDir;
+    private HandHistoryLog handHistoryLog;
+
+    @BeforeEach
+    void init() throws IOException {
+        logDir = Files.createTempDirectory("hand-history");
+        handHistoryLog = new HandHistoryLog(logDir.toString(), 1 << 20, 0);
+        handHistoryLog.open();
+    }
+
+    @AfterEach
+    void clear() throws IOException {
+        handHistoryLog.close();
+        try (Stream<Path> paths = Files.walk(logDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("기록한 핸드를 (boardId, gameSeq) 와 유저로 찾는지 테스트")
+    void appendAndFindTest() {
+
+        //given
+        handHistoryLog.append(createRecord(1L, 1L, 10L, 20L));
+        handHistoryLog.append(createRecord(1L, 2L, 10L, 30L));
+
+        //when
+        HandRecord found = handHistoryLog.find(1L, 1L).orElseThrow();
+        List<HandRecord> userHands = handHistoryLog.findByUser(10L, 10);
+
+        //then
+        assertThat(found.getSeats().get(1).getUserId()).isEqualTo(20L);
+        assertThat(found.getSeats().get(1).isShowDown()).isTrue();
+        assertThat(found.getActions().get(1).getDetail()).isEqualTo("raise 3bb");
+        assertThat(found.getActions().get(1).getPhaseStatus()).isEqualTo(PhaseStatus.FLOP);
+        assertThat(found.getPotAmountFlop()).isEqualTo(6000);
+        assertThat(userHands.size()).isEqualTo(2);
+        assertThat(userHands.get(0).getGameSeq()).isEqualTo(2L);
+        assertThat(handHistoryLog.findByUser(20L, 10).size()).isEqualTo(1);
+        assertThat(handHistoryLog.find(1L, 3L).isPresent()).isFalse();
+    }
+
+    @Test
+    @DisplayName("다시 열면 인덱스를 다시 만들고 잘린 마지막 레코드는 버리는지 테스트")
+    void recoverTest() throws IOException {
+
+        //given
+        handHistoryLog.append(createRecord(1L, 1L, 10L, 20L));
+        handHistoryLog.append(createRecord(1L, 2L, 10L, 20L));
+        handHistoryLog.close();
+
+        Path segment = logDir.resolve("hand-0.log");
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        //when
+        handHistoryLog = new HandHistoryLog(logDir.toString(), 1 << 20, 0);
+        handHistoryLog.open();
+        handHistoryLog.append(createRecord(1L, 3L, 10L, 20L));
+
+        //then
+        assertThat(handHistoryLog.find(1L, 1L).isPresent()).isTrue();
+        assertThat(handHistoryLog.find(1L, 2L).isPresent()).isFalse();
+        assertThat(handHistoryLog.find(1L, 3L).orElseThrow().getGameSeq()).isEqualTo(3L);
+        assertThat(handHistoryLog.getUserHandCount(10L)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("세그먼트 크기를 넘으면 다음 세그먼트에 기록하는지 테스트")
+    void rollSegmentTest() throws IOException {
+
+        //given
+        handHistoryLog.close();
+        handHistoryLog = new HandHistoryLog(logDir.toString(), 300, 0);
+        handHistoryLog.open();
+
+        //when
+        for (long gameSeq = 1; gameSeq <= 5; gameSeq++) {
+            handHistoryLog.append(createRecord(2L, gameSeq, 10L, 20L));
+        }
+
+        //then
+        assertThat(countFiles(".log")).isEqualTo(5);
+        assertThat(countFiles(".idx")).isEqualTo(4);
+        assertThat(handHistoryLog.findByUser(20L, 3).get(2).getGameSeq()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("다시 열면 닫힌 세그먼트는 idx 로 찾고, 깨진 idx 는 다시 만드는지 테스트")
+    void reopenWithIndexTest() throws IOException {
+
+        //given
+        handHistoryLog.close();
+        handHistoryLog = new HandHistoryLog(logDir.toString(), 300, 0);
+        handHistoryLog.open();
+        for (long gameSeq = 1; gameSeq <= 5; gameSeq++) {
+            handHistoryLog.append(createRecord(2L, gameSeq, 10L, gameSeq % 2 == 0 ? 20L : 30L));
+        }
+        handHistoryLog.close();
+        try (RandomAccessFile file = new RandomAccessFile(logDir.resolve("hand-1.idx").toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        //when
+        handHistoryLog = new HandHistoryLog(logDir.toString(), 300, 0);
+        handHistoryLog.open();
+        long[] firstPage = handHistoryLog.getUserAddresses(10L, null, 3);
+        long[] secondPage = handHistoryLog.getUserAddresses(10L, firstPage[2], 3);
+
+        //then
+        assertThat(handHistoryLog.find(2L, 1L).orElseThrow().getGameSeq()).isEqualTo(1L);
+        assertThat(handHistoryLog.find(2L, 2L).orElseThrow().getGameSeq()).isEqualTo(2L);
+        assertThat(handHistoryLog.contains(2L, 6L)).isFalse();
+        assertThat(handHistoryLog.getUserHandCount(10L)).isEqualTo(5);
+        assertThat(handHistoryLog.getUserHandCount(20L)).isEqualTo(2);
+        assertThat(handHistoryLog.read(firstPage[0]).getGameSeq()).isEqualTo(5L);
+        assertThat(handHistoryLog.read(firstPage[2]).getGameSeq()).isEqualTo(3L);
+        assertThat(secondPage.length).isEqualTo(2);
+        assertThat(handHistoryLog.read(secondPage[1]).getGameSeq()).isEqualTo(1L);
+        assertThat(handHistoryLog.findByUser(30L, 10).size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("유저의 핸드를 커서로 최근 것부터 나눠 읽는지 테스트")
+    void userPageTest() {
+
+        //given
+        for (long gameSeq = 1; gameSeq <= 5; gameSeq++) {
+            handHistoryLog.append(createRecord(1L, gameSeq, 10L, gameSeq % 2 == 0 ? 20L : 30L));
+        }
+
+        //when
+        long[] firstPage = handHistoryLog.getUserAddresses(10L, null, 2);
+        long[] secondPage = handHistoryLog.getUserAddresses(10L, firstPage[1], 2);
+        long[] lastPage = handHistoryLog.getUserAddresses(10L, secondPage[1], 2);
+
+        //then
+        assertThat(handHistoryLog.read(firstPage[0]).getGameSeq()).isEqualTo(5L);
+        assertThat(handHistoryLog.read(firstPage[1]).getGameSeq()).isEqualTo(4L);
+        assertThat(handHistoryLog.read(secondPage[0]).getGameSeq()).isEqualTo(3L);
+        assertThat(lastPage.length).isEqualTo(1);
+        assertThat(handHistoryLog.read(lastPage[0]).getGameSeq()).isEqualTo(1L);
+        assertThat(handHistoryLog.getUserAddresses(20L, null, 10).length).isEqualTo(2);
+    }
+
+    private long countFiles(String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(logDir)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+
+    private HandRecord createRecord(long boardId, long gameSeq, long userId1, long userId2) {
+        HandRecord record = HandRecord.builder().boardId(boardId).gameSeq(gameSeq).endedAt(System.currentTimeMillis()).btnPosition(3)
+                .communityCard1(1).communityCard2(2).communityCard3(3).communityCard4(4).communityCard5(51)
+                .potAmountPf(3000).potAmountFlop(6000).build();
+        record.getSeats().add(new HandRecord.Seat(userId1, 3, 10, 11, false));
+        record.getSeats().add(new HandRecord.Seat(userId2, 4, 12, 13, true));
+        record.getActions().add(new HandRecord.ActionEntry(0, userId1, 3, PhaseStatus.PRE_FLOP, "call 1bb"));
+        record.getActions().add(new HandRecord.ActionEntry(1, userId2, 4, PhaseStatus.FLOP, "raise 3bb"));
+        return record;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.pokerv2.hud;
+
+import com.example.pokerv2.dto.HudDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HudCacheTest {
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @Test
+    @DisplayName("한 번 읽은 HUD 는 DB 를 다시 읽지 않고 핸드 결과는 캐시에 더한다")
+    void readThroughAndAddTest() {
+
+        //given
+        HudCache hudCache = new HudCache(100, 600);
+        hudCache.get(1L, this::load);
+
+        //when
+        hudCache.add(1L, EnumSet.of(HudStat.TOTAL_HANDS, HudStat.VPIP));
+        HudDto hud = hudCache.get(1L, this::load);
+
+        //then
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(hud.getTotalHands()).isEqualTo(11);
+        assertThat(hud.getVpip()).isEqualTo(3);
+        assertThat(hud.getPfr()).isEqualTo(1);
+        assertThat(hudCache.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("DB 에서 읽는 동안 핸드 결과가 더해지면 읽은 값은 캐시에 넣지 않는다")
+    void skipStaleLoadTest() {
+
+        //given
+        HudCache hudCache = new HudCache(100, 600);
+
+        //when
+        hudCache.get(1L, id -> {
+            hudCache.add(id, EnumSet.of(HudStat.TOTAL_HANDS));
+            return load(id);
+        });
+        hudCache.get(1L, this::load);
+
+        //then
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("maxSize 를 넘으면 오래 읽지 않은 유저부터 밀려나고 ttl 이 지나면 다시 읽는다")
+    void evictTest() {
+
+        //given
+        HudCache sizeCache = new HudCache(1, 600);
+        HudCache ttlCache = new HudCache(100, 0);
+
+        //when
+        sizeCache.get(1L, this::load);
+        sizeCache.get(2L, this::load);
+        ttlCache.get(3L, this::load);
+        ttlCache.get(3L, this::load);
+
+        //then
+        assertThat(sizeCache.size()).isEqualTo(1);
+        assertThat(loadCount.get()).isEqualTo(4);
+        assertThat(ttlCache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("커밋과 afterCommit 사이에 읽은 값은 캐시에 넣지 않아 변경분이 두 번 더해지지 않는다")
+    void commitInterleavingTest() {
+
+        //given
+        HudCache hudCache = new HudCache(100, 600);
+        hudCache.get(2L, this::load);
+        AtomicInteger committedHands = new AtomicInteger(10);
+
+        //when
+        hudCache.beginAdd(1L);
+        hudCache.beginAdd(2L);
+        committedHands.incrementAndGet();
+        HudDto loadedBeforeAfterCommit = hudCache.get(1L, id -> new HudDto(id, id, "user" + id, 0, 0, 0, 0, 0, 0, committedHands.get(), 0, 0));
+        hudCache.endAdd(1L, EnumSet.of(HudStat.TOTAL_HANDS));
+        hudCache.endAdd(2L, EnumSet.of(HudStat.TOTAL_HANDS));
+        HudDto reloaded = hudCache.get(1L, id -> new HudDto(id, id, "user" + id, 0, 0, 0, 0, 0, 0, committedHands.get(), 0, 0));
+
+        //then
+        assertThat(loadedBeforeAfterCommit.getTotalHands()).isEqualTo(11);
+        assertThat(reloaded.getTotalHands()).isEqualTo(11);
+        assertThat(hudCache.getMissCount()).isEqualTo(3);
+        assertThat(hudCache.get(2L, this::load).getTotalHands()).isEqualTo(11);
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    private HudDto load(Long userId) {
+        loadCount.incrementAndGet();
+        return new HudDto(userId, userId, "user" + userId, 2, 1, 0, 0, 0, 0, 10, 0, 0);
+    }
+}
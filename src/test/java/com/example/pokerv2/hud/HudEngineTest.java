@@ -0,0 +1,73 @@
+package com.example.pokerv2.hud;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerAction;
+import com.example.pokerv2.enums.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HudEngineTest {
+
+    private final HudEngine hudEngine = new HudEngine();
+
+    @Test
+    @DisplayName("쇼다운까지 간 핸드의 이벤트로 유저별 HUD 카운터를 만든다")
+    void showDownHandTest() {
+
+        //given
+        hudEngine.publish(HudEvent.builder().type(HudEvent.Type.HAND_START).boardId(1L).phaseStatus(PhaseStatus.PRE_FLOP).userIds(List.of(1L, 2L, 3L))
+                .positions(Map.of(1L, Position.BTN, 2L, Position.SB, 3L, Position.BB)).blind(1000).build());
+        action(1L, PlayerAction.RAISE);
+        action(2L, PlayerAction.CALL);
+        action(3L, PlayerAction.FOLD);
+        street(PhaseStatus.FLOP, 1L, 2L);
+        action(2L, PlayerAction.RAISE);
+        action(1L, PlayerAction.RAISE);
+        action(2L, PlayerAction.RAISE);
+        action(1L, PlayerAction.CALL);
+        street(PhaseStatus.TURN, 1L, 2L);
+        street(PhaseStatus.RIVER, 1L, 2L);
+        hudEngine.publish(HudEvent.builder().type(HudEvent.Type.SHOWDOWN).boardId(1L).userIds(List.of(1L, 2L)).winnerUserIds(List.of(2L)).build());
+
+        //when
+        HudHand hand = hudEngine.finish(1L);
+        Map<Long, EnumSet<HudStat>> credits = hand.getCredits();
+
+        //then
+        assertThat(credits.get(1L)).isEqualTo(EnumSet.of(HudStat.TOTAL_HANDS, HudStat.VPIP, HudStat.PFR, HudStat.PF_AGGRESSIVE_CNT, HudStat.WTF, HudStat.WTSD));
+        assertThat(credits.get(2L)).isEqualTo(EnumSet.of(HudStat.TOTAL_HANDS, HudStat.VPIP, HudStat.THREE_BET, HudStat.WTF, HudStat.WTSD, HudStat.WSD));
+        assertThat(credits.get(3L)).isEqualTo(EnumSet.of(HudStat.TOTAL_HANDS));
+        assertThat(hand.getPosition(2L)).isEqualTo(Position.SB);
+        assertThat(hand.getBlind()).isEqualTo(1000);
+        assertThat(hudEngine.finish(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("HAND_START 전에 들어온 이벤트는 세지 않는다")
+    void ignoreBeforeHandStartTest() {
+
+        //given
+        action(1L, PlayerAction.RAISE);
+        street(PhaseStatus.FLOP, 1L);
+
+        //when
+        HudHand hand = hudEngine.finish(1L);
+
+        //then
+        assertThat(hand).isNull();
+    }
+
+    private void action(Long userId, PlayerAction action) {
+        hudEngine.publish(HudEvent.builder().type(HudEvent.Type.ACTION).boardId(1L).userId(userId).action(action).build());
+    }
+
+    private void street(PhaseStatus phaseStatus, Long... userIds) {
+        hudEngine.publish(HudEvent.builder().type(HudEvent.Type.STREET).boardId(1L).phaseStatus(phaseStatus).userIds(List.of(userIds)).build());
+    }
+}
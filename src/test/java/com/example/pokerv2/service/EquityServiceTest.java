@@ -0,0 +1,141 @@
+package com.example.pokerv2.service;
+
+import com.example.pokerv2.dto.EquityDto;
+import com.example.pokerv2.equity.EquityEngine;
+import com.example.pokerv2.equity.PreflopEquityTable;
+import com.example.pokerv2.error.CustomException;
+import com.example.pokerv2.utils.CardMaskUtils;
+import com.example.pokerv2.utils.CardUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EquityServiceTest {
+
+    private EquityEngine equityEngine;
+    private EquityService equityService;
+
+    @BeforeEach
+    void init() {
+        equityEngine = new EquityEngine(4, 1024);
+        equityService = new EquityService(equityEngine, new PreflopEquityTable(""), 200000, 5000, 2000, 1);
+    }
+
+    @AfterEach
+    void destroy() {
+        equityEngine.shutdown();
+    }
+
+    @Test
+    @DisplayName("리버에서는 승자가 확정되는지 테스트")
+    void riverEquityTest() {
+
+        //given
+        long[] holeCards = {
+                cards("A", "s", "A", "d"),
+                cards("K", "s", "K", "d")
+        };
+        long communityCards = cards("2", "c", "7", "h", "9", "d") | cards("J", "c", "4", "s");
+
+        //when
+        EquityDto equityDto = equityService.calculate(holeCards, communityCards, 0L);
+
+        //then
+        assertThat(equityDto.isExhaustive()).isTrue();
+        assertThat(equityDto.getIterations()).isEqualTo(1L);
+        assertThat(equityDto.getPlayers().get(0).getEquity()).isEqualTo(1.0);
+        assertThat(equityDto.getPlayers().get(1).getEquity()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("턴에서는 남은 카드를 모두 계산하는지 테스트")
+    void turnEquityTest() {
+
+        //given
+        long[] holeCards = {
+                cards("A", "s", "A", "d"),
+                cards("K", "s", "K", "d")
+        };
+        long communityCards = cards("2", "c", "7", "h", "9", "d") | CardMaskUtils.toMask(CardUtils.getCardValue("J", "c"));
+
+        //when
+        EquityDto equityDto = equityService.calculate(holeCards, communityCards, 0L);
+
+        //then
+        // 남은 44장 중 K 2장만 KK 가 이긴다.
+        assertThat(equityDto.isExhaustive()).isTrue();
+        assertThat(equityDto.getIterations()).isEqualTo(44L);
+        assertThat(equityDto.getPlayers().get(1).getWin()).isEqualTo(2.0 / 44);
+        assertThat(equityDto.getPlayers().get(0).getWin()).isEqualTo(42.0 / 44);
+    }
+
+    @Test
+    @DisplayName("보드로 비기는 경우 팟을 나누는지 테스트")
+    void splitEquityTest() {
+
+        //given
+        long[] holeCards = {
+                cards("2", "s", "3", "d"),
+                cards("2", "h", "3", "c"),
+                cards("4", "h", "5", "c")
+        };
+        long communityCards = cards("A", "c", "K", "c", "Q", "c") | cards("J", "c", "10", "c");
+
+        //when
+        EquityDto equityDto = equityService.calculate(holeCards, communityCards, 0L);
+
+        //then
+        for (int i = 0; i < holeCards.length; i++) {
+            assertThat(equityDto.getPlayers().get(i).getTie()).isEqualTo(1.0);
+            assertThat(equityDto.getPlayers().get(i).getEquity()).isCloseTo(1.0 / 3, within(0.000001));
+        }
+    }
+
+    @Test
+    @DisplayName("프리플랍은 몬테카를로로 계산하는지 테스트")
+    void preFlopEquityTest() {
+
+        //given
+        long[] holeCards = {
+                cards("A", "s", "A", "d"),
+                cards("K", "h", "K", "c")
+        };
+
+        //when
+        EquityDto equityDto = equityService.calculate(holeCards, CardMaskUtils.EMPTY, 0L);
+
+        //then
+        // AA vs KK 는 약 82%
+        double equitySum = equityDto.getPlayers().get(0).getEquity() + equityDto.getPlayers().get(1).getEquity();
+        assertThat(equityDto.isExhaustive()).isFalse();
+        assertThat(equityDto.getIterations()).isGreaterThan(0L);
+        assertThat(equityDto.getPlayers().get(0).getEquity()).isCloseTo(0.82, within(0.02));
+        assertThat(equitySum).isCloseTo(1.0, within(0.000001));
+    }
+
+    @Test
+    @DisplayName("중복된 카드가 있으면 예외가 발생하는지 테스트")
+    void duplicateCardTest() {
+
+        //given
+        long[] holeCards = {
+                cards("A", "s", "A", "d"),
+                cards("A", "s", "K", "c")
+        };
+
+        //when, then
+        assertThatThrownBy(() -> equityService.calculate(holeCards, CardMaskUtils.EMPTY, 0L))
+                .isInstanceOf(CustomException.class);
+    }
+
+    private static long cards(String rank1, String suit1, String rank2, String suit2) {
+        return CardMaskUtils.toMask(CardUtils.getCardValue(rank1, suit1)) | CardMaskUtils.toMask(CardUtils.getCardValue(rank2, suit2));
+    }
+
+    private static long cards(String rank1, String suit1, String rank2, String suit2, String rank3, String suit3) {
+        return cards(rank1, suit1, rank2, suit2) | CardMaskUtils.toMask(CardUtils.getCardValue(rank3, suit3));
+    }
+}
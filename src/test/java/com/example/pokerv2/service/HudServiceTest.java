@@ -0,0 +1,86 @@
+package com.example.pokerv2.service;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerAction;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.hud.HudCache;
+import com.example.pokerv2.hud.HudEngine;
+import com.example.pokerv2.model.Board;
+import com.example.pokerv2.model.Player;
+import com.example.pokerv2.model.User;
+import com.example.pokerv2.repository.HudRepository;
+import com.example.pokerv2.repository.HudRollupRepository;
+import com.example.pokerv2.repository.UserRepository;
+import com.example.pokerv2.table.TableEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class HudServiceTest {
+
+    private HudRepository hudRepository;
+    private HudRollupRepository hudRollupRepository;
+    private HudService hudService;
+    private Board board;
+
+    @BeforeEach
+    void init() {
+        hudRepository = mock(HudRepository.class);
+        hudRollupRepository = mock(HudRollupRepository.class);
+        TableEngine tableEngine = mock(TableEngine.class);
+        hudService = new HudService(hudRepository, tableEngine, mock(UserRepository.class), mock(EquityService.class), new HudEngine(), new HudCache(100, 600),
+                hudRollupRepository);
+
+        board = Board.builder().id(1L).blind(1000).totalPlayer(3).gameSeq(1L).btn(Position.BTN.getPosNum())
+                .phaseStatus(PhaseStatus.PRE_FLOP).players(new ArrayList<>()).build();
+        board.getPlayers().addAll(List.of(player(1L, Position.BTN), player(2L, Position.SB), player(3L, Position.BB)));
+        when(tableEngine.getBoard(1L)).thenReturn(board);
+    }
+
+    @Test
+    @DisplayName("핸드 동안 모은 HUD 변경분을 핸드가 끝날 때 유저마다 한 번만 더한다")
+    void flushOncePerHandTest() {
+
+        //given
+        hudService.onPhaseStart(1L);
+        action(Position.BTN, PlayerAction.RAISE);
+        action(Position.SB, PlayerAction.FOLD);
+        board.getPlayers().get(1).setStatus(PlayerStatus.FOLD);
+        action(Position.BB, PlayerAction.RAISE);
+        action(Position.BTN, PlayerAction.CALL);
+
+        board.setPhaseStatus(PhaseStatus.FLOP);
+        hudService.onPhaseStart(1L);
+        action(Position.BB, PlayerAction.RAISE);
+
+        //when
+        hudService.flush(1L);
+        hudService.flush(1L);
+
+        //then
+        verify(hudRepository).addCounts(1L, 1, 1, 0, 0, 0, 0, 1, 0, 1);
+        verify(hudRepository).addCounts(2L, 0, 0, 0, 0, 0, 0, 1, 0, 0);
+        verify(hudRepository).addCounts(3L, 1, 1, 1, 1, 0, 0, 1, 1, 1);
+        verify(hudRollupRepository).addCounts(1L, LocalDate.now(), Position.BTN.ordinal(), 1000, 1, 1, 0, 0, 0, 0, 1, 0, 1);
+        verify(hudRollupRepository).addCounts(2L, LocalDate.now(), Position.SB.ordinal(), 1000, 0, 0, 0, 0, 0, 0, 1, 0, 0);
+        verify(hudRollupRepository).addCounts(3L, LocalDate.now(), Position.BB.ordinal(), 1000, 1, 1, 1, 1, 0, 0, 1, 1, 1);
+        verifyNoMoreInteractions(hudRepository, hudRollupRepository);
+    }
+
+    private void action(Position position, PlayerAction action) {
+        board.setActionPos(position.getPosNum());
+        hudService.onAction(1L, action.getActionDetail());
+    }
+
+    private Player player(Long userId, Position position) {
+        return Player.builder().id(userId * 10).user(User.builder().id(userId).userId("user" + userId).build()).board(board)
+                .position(position).money(100000).status(PlayerStatus.PLAY).build();
+    }
+}
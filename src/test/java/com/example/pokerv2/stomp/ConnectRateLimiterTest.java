@@ -0,0 +1,54 @@
+package com.example.pokerv2.stomp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+class ConnectRateLimiterTest {
+
+    @Test
+    @DisplayName("burst 만큼 받은 뒤에는 거절하고, 기다릴 시간을 알려준다")
+    void burstTest() {
+
+        //given
+        ConnectRateLimiter limiter = new ConnectRateLimiter(10, 5);
+
+        //when
+        int accepted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (limiter.tryAcquire()) {
+                accepted++;
+            }
+        }
+
+        //then
+        assertThat(accepted).isEqualTo(5);
+        assertThat(limiter.getRejectedCount()).isEqualTo(15);
+        assertThat(limiter.getRetryAfterMillis()).isBetween(1L, 400L);
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 토큰이 다시 차고, rate 가 0 이면 제한하지 않는다")
+    void refillTest() throws InterruptedException {
+
+        //given
+        ConnectRateLimiter limiter = new ConnectRateLimiter(100, 1);
+        ConnectRateLimiter unlimited = new ConnectRateLimiter(0, 0);
+
+        //when
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        Thread.sleep(30);
+        boolean refilled = limiter.tryAcquire();
+
+        //then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(refilled).isTrue();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(unlimited.tryAcquire()).isTrue();
+        }
+    }
+}
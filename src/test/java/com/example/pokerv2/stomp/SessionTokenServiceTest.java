@@ -0,0 +1,51 @@
+package com.example.pokerv2.stomp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+class SessionTokenServiceTest {
+
+    @Test
+    @DisplayName("발급한 토큰은 같은 secret 으로 확인되고 권한도 그대로 나온다")
+    void issueAndVerifyTest() {
+
+        //given
+        SessionTokenService service = new SessionTokenService("secret", 60);
+        String token = service.issue("a1", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        //when
+        UsernamePasswordAuthenticationToken authentication = service.verify(token);
+
+        //then
+        assertThat(authentication.getName()).isEqualTo("a1");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(new SessionTokenService("secret", 60).verify(token).getName()).isEqualTo("a1");
+    }
+
+    @Test
+    @DisplayName("바꾼 토큰, 다른 secret, 만료된 토큰은 거절한다")
+    void invalidTokenTest() {
+
+        //given
+        SessionTokenService service = new SessionTokenService("secret", 60);
+        String token = service.issue("a1", List.of());
+        String forged = service.issue("a2", List.of()).split("\\.")[0] + token.substring(token.indexOf('.'));
+        String expired = new SessionTokenService("secret", 0).issue("a1", List.of());
+
+        //then
+        assertThatThrownBy(() -> service.verify(forged)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> new SessionTokenService("other", 60).verify(token)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> service.verify("not-a-token")).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> service.verify(expired)).isInstanceOf(CredentialsExpiredException.class);
+    }
+}
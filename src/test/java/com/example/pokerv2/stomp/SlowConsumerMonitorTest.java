@@ -0,0 +1,111 @@
+package com.example.pokerv2.stomp;
+
+import com.example.pokerv2.table.TableBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SlowConsumerMonitorTest {
+
+    private static final String SESSION_ID = "session1";
+
+    private final List<Object> events = new ArrayList<>();
+    private SlowConsumerMonitor monitor;
+    private WebSocketHandler monitoringHandler;
+    private WebSocketSession rawSession;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void init() throws Exception {
+        monitor = new SlowConsumerMonitor(events::add, 4);
+        WebSocketHandler handler = mock(WebSocketHandler.class);
+        rawSession = mock(WebSocketSession.class);
+        when(rawSession.getId()).thenReturn(SESSION_ID);
+
+        monitoringHandler = monitor.decorate(handler);
+        monitoringHandler.afterConnectionEstablished(rawSession);
+        ArgumentCaptor<WebSocketSession> captor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(handler).afterConnectionEstablished(captor.capture());
+        session = captor.getValue();
+
+        SimpMessageHeaderAccessor connectAck = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        connectAck.setSessionId(SESSION_ID);
+        monitor.onConnected(new SessionConnectedEvent(this, MessageBuilder.createMessage(new byte[0], connectAck.getMessageHeaders()), () -> "user1"));
+    }
+
+    @Test
+    @DisplayName("느린 세션은 변경분을 버리고, 따라오면 스냅샷을 요청한다")
+    void dropAndResyncTest() throws Exception {
+
+        //given
+        for (int i = 0; i < 4; i++) {
+            assertThat(monitor.preSend(message(7L, "DELTA"), null)).isNotNull();
+        }
+
+        //when
+        Message<?> dropped = monitor.preSend(message(7L, "DELTA"), null);
+        Message<?> snapshot = monitor.preSend(message(7L, "SNAPSHOT"), null);
+
+        //then
+        assertThat(dropped).isNull();
+        assertThat(snapshot).isNotNull();
+        assertThat(monitor.getQueueDepth(SESSION_ID)).isEqualTo(5);
+        assertThat(monitor.getDroppedCount()).isEqualTo(1);
+
+        for (int i = 0; i < 3; i++) {
+            session.sendMessage(new TextMessage("MESSAGE\ndestination:/topic/board/7\n\n{}"));
+        }
+        session.sendMessage(new TextMessage("\n"));
+        assertThat(monitor.getQueueDepth(SESSION_ID)).isEqualTo(2);
+        assertThat(events).isEmpty();
+
+        session.sendMessage(new TextMessage("MESSAGE\ndestination:/topic/board/7\n\n{}"));
+        assertThat(monitor.getQueueDepth(SESSION_ID)).isEqualTo(1);
+        assertThat(events).hasSize(1);
+        BoardResyncEvent event = (BoardResyncEvent) events.get(0);
+        assertThat(event.getBoardId()).isEqualTo(7L);
+        assertThat(event.getUserId()).isEqualTo("user1");
+        assertThat(monitor.getResyncCount()).isEqualTo(1);
+        verify(rawSession, times(5)).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 세션 정보를 지운다")
+    void closeTest() throws Exception {
+
+        //given
+        monitor.preSend(message(7L, "DELTA"), null);
+        assertThat(monitor.getQueueDepths()).containsEntry(SESSION_ID, 1);
+
+        //when
+        monitoringHandler.afterConnectionClosed(rawSession, CloseStatus.NORMAL);
+
+        //then
+        assertThat(monitor.getQueueDepths()).isEmpty();
+        assertThat(monitor.preSend(message(7L, "DELTA"), null)).isNotNull();
+    }
+
+    private Message<byte[]> message(Long boardId, String view) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setNativeHeader(TableBroadcaster.BOARD_ID_HEADER, String.valueOf(boardId));
+        accessor.setNativeHeader(TableBroadcaster.BOARD_VIEW_HEADER, view);
+        return MessageBuilder.createMessage(new byte[]{1}, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.pokerv2.stomp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+class VerifiedCredentialCacheTest {
+
+    @Test
+    @DisplayName("같은 비밀번호만 맞고, 오래 안 쓴 사용자부터 밀려난다")
+    void getAndEvictTest() {
+
+        //given
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(2, 60);
+        cache.put("a1", "1234", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        cache.put("a2", "1234", List.of());
+
+        //when
+        cache.get("a1", "1234");
+        cache.put("a3", "1234", List.of());
+
+        //then
+        assertThat(cache.get("a1", "1234")).hasSize(1);
+        assertThat(cache.get("a1", "4321")).isNull();
+        assertThat(cache.get("a2", "1234")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.invalidate("a1");
+        assertThat(cache.get("a1", "1234")).isNull();
+    }
+}
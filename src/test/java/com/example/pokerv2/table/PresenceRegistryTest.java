@@ -0,0 +1,70 @@
+package com.example.pokerv2.table;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+class PresenceRegistryTest {
+
+    @Test
+    @DisplayName("세션이 하나라도 남아 있으면 연결된 상태이다")
+    void sessionTest() {
+
+        //given
+        PresenceRegistry registry = new PresenceRegistry();
+
+        //when
+        registry.connected(1L, "s1");
+        registry.connected(1L, "s2");
+        registry.disconnected(1L, "s1");
+        registry.disconnected(2L, "s3");
+
+        //then
+        assertThat(registry.get(1L).isConnected()).isTrue();
+        assertThat(registry.get(2L).isConnected()).isFalse();
+        assertThat(registry.get(3L)).isNull();
+
+        registry.disconnected(1L, "s2");
+        assertThat(registry.get(1L).isConnected()).isFalse();
+    }
+
+    @Test
+    @DisplayName("읽은 뒤 다시 연결했으면 지우지 않는다")
+    void removeTest() {
+
+        //given
+        PresenceRegistry registry = new PresenceRegistry();
+        registry.disconnected(1L, "s1");
+        PresenceRegistry.Presence read = registry.get(1L);
+
+        //when
+        registry.connected(1L, "s2");
+        boolean removed = registry.remove(1L, read);
+
+        //then
+        assertThat(removed).isFalse();
+        assertThat(registry.get(1L).isConnected()).isTrue();
+        assertThat(registry.remove(1L, registry.get(1L))).isTrue();
+        assertThat(registry.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("자리에서 나간 플레이어는 연결되어 있어도 지운다")
+    void forgetTest() {
+
+        //given
+        PresenceRegistry registry = new PresenceRegistry();
+        registry.connected(1L, "s1");
+        registry.disconnected(2L, "s2");
+
+        //when
+        registry.forget(1L);
+        registry.forget(2L);
+
+        //then
+        assertThat(registry.get(1L)).isNull();
+        assertThat(registry.size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.model.Board;
+import com.example.pokerv2.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TableActionLogTest {
+
+    private Path logDir;
+    private TableActionLog actionLog;
+
+    @BeforeEach
+    void init() throws IOException {
+        logDir = Files.createTempDirectory("table-log");
+        actionLog = new TableActionLog(logDir.toString());
+    }
+
+    @AfterEach
+    void clear() throws IOException {
+        actionLog.close();
+        try (Stream<Path> paths = Files.walk(logDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("기록한 스냅샷으로 보드 상태를 복구하는지 테스트")
+    void recoverBoardTest() {
+
+        //given
+        Board board = createBoard();
+        actionLog.append(TableSnapshot.of(board, 1), "START_GAME 1");
+
+        Player player = board.getPlayers().get(0);
+        player.setMoney(player.getMoney() - 3000);
+        player.setPhaseCallSize(3000);
+        player.setStatus(PlayerStatus.ALL_IN);
+        board.setBettingSize(3000);
+        board.setActionPos(Position.BB.getPosNum());
+        board.getTotalCallSize().set(1, 500);
+        actionLog.append(TableSnapshot.of(board, 2), "ACTION a1 allInRaise");
+
+        //when
+        List<TableSnapshot> snapshots = actionLog.read(board.getId());
+        Board recovered = createBoard();
+        for (TableSnapshot snapshot : snapshots) {
+            snapshot.applyTo(recovered);
+        }
+
+        //then
+        assertThat(snapshots).hasSize(2);
+        assertThat(snapshots.get(1).getVersion()).isEqualTo(2);
+        assertThat(recovered.getBettingSize()).isEqualTo(3000);
+        assertThat(recovered.getActionPos()).isEqualTo(Position.BB.getPosNum());
+        assertThat(recovered.getTotalCallSize().get(1)).isEqualTo(500);
+        assertThat(recovered.getLastActionTime()).isEqualTo(board.getLastActionTime());
+        Player recoveredPlayer = recovered.getPlayers().get(0);
+        assertThat(recoveredPlayer.getMoney()).isEqualTo(player.getMoney());
+        assertThat(recoveredPlayer.getStatus()).isEqualTo(PlayerStatus.ALL_IN);
+        assertThat(recoveredPlayer.getCard1()).isEqualTo(player.getCard1());
+    }
+
+    @Test
+    @DisplayName("쓰다가 잘린 마지막 레코드는 버리는지 테스트")
+    void truncatedRecordTest() throws IOException {
+
+        //given
+        Board board = createBoard();
+        actionLog.append(TableSnapshot.of(board, 1), "START_GAME 1");
+        actionLog.append(TableSnapshot.of(board, 2), "NEXT_ACTION 5");
+        actionLog.close();
+
+        Path path = logDir.resolve("board-" + board.getId() + ".log");
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(file.length() - 10);
+        }
+
+        //when
+        List<TableSnapshot> snapshots = actionLog.read(board.getId());
+
+        //then
+        assertThat(snapshots).hasSize(1);
+        assertThat(snapshots.get(0).getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DB 에 반영된 뒤 로그를 비우는지 테스트")
+    void truncateTest() {
+
+        //given
+        Board board = createBoard();
+        actionLog.append(TableSnapshot.of(board, 1), "START_GAME 1");
+
+        //when
+        actionLog.truncate(board.getId());
+        actionLog.append(TableSnapshot.of(board, 2), "NEXT_ACTION 5");
+
+        //then
+        List<TableSnapshot> snapshots = actionLog.read(board.getId());
+        assertThat(snapshots).hasSize(1);
+        assertThat(snapshots.get(0).getVersion()).isEqualTo(2);
+    }
+
+    private static Board createBoard() {
+        List<Player> players = new ArrayList<>();
+        Board board = Board.builder().id(1L).gameSeq(1L).blind(1000).totalPlayer(2).btn(Position.SB.getPosNum())
+                .phaseStatus(PhaseStatus.PRE_FLOP).lastActionTime(LocalDateTime.of(2024, 1, 15, 12, 30, 15, 123_000_000))
+                .players(players).build();
+        players.add(Player.builder().id(1L).board(board).position(Position.SB).money(100000).card1(12).card2(25).status(PlayerStatus.PLAY).build());
+        players.add(Player.builder().id(2L).board(board).position(Position.BB).money(100000).card1(3).card2(4).status(PlayerStatus.PLAY).build());
+        return board;
+    }
+}
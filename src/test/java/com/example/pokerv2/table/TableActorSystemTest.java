@@ -0,0 +1,143 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.error.CustomException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TableActorSystemTest {
+
+    private TableActorSystem tableActorSystem;
+
+    @BeforeEach
+    void init() {
+        tableActorSystem = new TableActorSystem(4, 10, 64, 200);
+    }
+
+    @AfterEach
+    void clear() {
+        tableActorSystem.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 테이블의 메시지는 넣은 순서대로 하나씩 실행된다")
+    void sameTableOrderTest() throws InterruptedException {
+        int messageCount = 1000;
+        List<Integer> processed = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(messageCount);
+
+        for (int i = 0; i < messageCount; i++) {
+            int seq = i;
+            tableActorSystem.tell(1L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                processed.add(seq);
+                running.decrementAndGet();
+                latch.countDown();
+            });
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(1);
+        for (int i = 0; i < messageCount; i++) {
+            assertThat(processed.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("한 테이블이 막혀 있어도 다른 테이블의 메시지는 실행된다")
+    void otherTableNotBlockedTest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        tableActorSystem.tell(1L, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        tableActorSystem.tell(2L, done::countDown);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("call 은 결과를 돌려주고, 메시지 안의 예외는 그대로 다시 던진다")
+    void callTest() {
+        assertThat(tableActorSystem.call(1L, () -> tableActorSystem.call(1L, () -> 7))).isEqualTo(7);
+        assertThatThrownBy(() -> tableActorSystem.call(1L, () -> {
+            throw new IllegalStateException("fail");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("fail");
+
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        tableActorSystem.tell(1L, () -> processed.add(1));
+        assertThat(tableActorSystem.call(1L, () -> processed.size())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("call 은 callTimeoutMs 까지만 기다리고, 액터 스레드에서 다른 테이블을 call 하면 거절한다")
+    void callTimeoutTest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        tableActorSystem.tell(1L, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThatThrownBy(() -> tableActorSystem.call(1L, () -> 1)).isInstanceOf(CustomException.class);
+        release.countDown();
+
+        assertThat(tableActorSystem.call(2L, () -> {
+            try {
+                tableActorSystem.call(1L, () -> 1);
+                return false;
+            } catch (IllegalStateException e) {
+                return true;
+            }
+        })).isTrue();
+    }
+
+    @Test
+    @DisplayName("schedule 은 delay 뒤에 테이블 메일박스로 메시지를 넣는다")
+    void scheduleTest() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        tableActorSystem.schedule(1L, 100, TimeUnit.MILLISECONDS, latch::countDown);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("내려간 테이블의 액터는 메일박스가 빈 뒤에 지워지고, 다시 메시지가 오면 새로 만든다")
+    void evictTest() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        tableActorSystem.tell(2L, () -> {});
+        tableActorSystem.tell(1L, () -> tableActorSystem.onTableUnloaded(new TableUnloadedEvent(1L)));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (tableActorSystem.getActorCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(tableActorSystem.getActorCount()).isEqualTo(1);
+
+        tableActorSystem.tell(1L, done::countDown);
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(tableActorSystem.getActorCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.pokerv2.table;
+
+import com.example.pokerv2.dto.MessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TableMessageCacheTest {
+
+    private TableMessageCache messageCache;
+    private AtomicInteger encodeCount;
+
+    @BeforeEach
+    void init() {
+        messageCache = new TableMessageCache(new ObjectMapper());
+        encodeCount = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("같은 version, 같은 View 는 한 번만 직렬화한다")
+    void sameVersionTest() {
+        byte[] first = messageCache.get(1L, 3, TableMessageCache.View.DELTA, () -> message("a"));
+        byte[] second = messageCache.get(1L, 3, TableMessageCache.View.DELTA, () -> message("b"));
+        byte[] snapshot = messageCache.get(1L, 3, TableMessageCache.View.SNAPSHOT, () -> message("c"));
+
+        assertThat(second == first).isTrue();
+        assertThat(new String(first, StandardCharsets.UTF_8)).contains("\"data\":\"a\"");
+        assertThat(new String(snapshot, StandardCharsets.UTF_8)).contains("\"data\":\"c\"");
+        assertThat(encodeCount.get()).isEqualTo(2);
+        assertThat(messageCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("version 이 올라가면 이전 것은 버리고, 지난 version 은 캐시하지 않는다")
+    void versionAdvanceTest() {
+        messageCache.get(1L, 3, TableMessageCache.View.DELTA, () -> message("a"));
+        byte[] next = messageCache.get(1L, 4, TableMessageCache.View.DELTA, () -> message("b"));
+        byte[] old = messageCache.get(1L, 3, TableMessageCache.View.DELTA, () -> message("c"));
+
+        assertThat(new String(next, StandardCharsets.UTF_8)).contains("\"data\":\"b\"");
+        assertThat(new String(old, StandardCharsets.UTF_8)).contains("\"data\":\"c\"");
+        assertThat(messageCache.get(1L, 4, TableMessageCache.View.DELTA, () -> message("d")) == next).isTrue();
+        assertThat(encodeCount.get()).isEqualTo(3);
+    }
+
+    private MessageDto message(String data) {
+        encodeCount.incrementAndGet();
+        return new MessageDto("TEST", data);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.pokerv2.table;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private TimerWheel timerWheel;
+
+    @BeforeEach
+    void init() {
+        timerWheel = new TimerWheel(10, TimeUnit.MILLISECONDS, 8, "timer-wheel-test");
+    }
+
+    @AfterEach
+    void clear() {
+        timerWheel.stop();
+    }
+
+    @Test
+    @DisplayName("delay 가 지난 뒤에 실행된다. 휠 한 바퀴보다 긴 delay 도 실행된다")
+    void expireTest() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        long start = System.nanoTime();
+        TimerWheel.Timeout shortTimeout = timerWheel.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+        TimerWheel.Timeout longTimeout = timerWheel.schedule(latch::countDown, 250, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(250);
+        assertThat(shortTimeout.isExpired()).isTrue();
+        assertThat(longTimeout.isExpired()).isTrue();
+        assertThat(timerWheel.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("취소한 타이머는 실행되지 않는다")
+    void cancelTest() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        TimerWheel.Timeout timeout = timerWheel.schedule(count::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        timerWheel.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(count.get()).isZero();
+        assertThat(timeout.isCancelled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("많은 타이머를 등록해도 취소하지 않은 것만 모두 실행된다")
+    void manyTimeoutTest() throws InterruptedException {
+        int timeoutCount = 20000;
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(timeoutCount / 2);
+        List<TimerWheel.Timeout> timeouts = new ArrayList<>();
+
+        for (int i = 0; i < timeoutCount; i++) {
+            timeouts.add(timerWheel.schedule(() -> {
+                count.incrementAndGet();
+                latch.countDown();
+            }, 300 + i % 200, TimeUnit.MILLISECONDS));
+        }
+        int cancelled = 0;
+        for (int i = 0; i < timeoutCount; i += 2) {
+            if (timeouts.get(i).cancel()) {
+                cancelled++;
+            }
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelled).isEqualTo(timeoutCount / 2);
+        assertThat(count.get()).isEqualTo(timeoutCount - cancelled);
+        assertThat(timerWheel.getPendingCount()).isZero();
+    }
+}
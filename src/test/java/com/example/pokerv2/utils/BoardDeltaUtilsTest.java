@@ -0,0 +1,114 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.BoardDeltaDto;
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.model.Board;
+import com.example.pokerv2.model.Player;
+import com.example.pokerv2.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+class BoardDeltaUtilsTest {
+
+    private BoardDto boardDto;
+
+    @BeforeEach
+    void init() {
+
+        Board board = Board.builder().blind(1000).phaseStatus(PhaseStatus.PRE_FLOP).id(1L).totalPlayer(3).gameSeq(1L).players(new ArrayList<>()).build();
+
+        this.boardDto = new BoardDto(board);
+
+        PlayerDto player1 = new PlayerDto(Player.builder().id(1L).user(User.builder().userId("1").id(1L).build()).board(board).position(Position.BTN).money(10000).status(PlayerStatus.PLAY).build());
+        PlayerDto player2 = new PlayerDto(Player.builder().id(2L).user(User.builder().userId("2").id(2L).build()).board(board).position(Position.SB).money(10000).status(PlayerStatus.PLAY).build());
+        PlayerDto player3 = new PlayerDto(Player.builder().id(3L).user(User.builder().userId("3").id(3L).build()).board(board).position(Position.BB).money(10000).status(PlayerStatus.PLAY).build());
+        boardDto.setTotalCallSize(new ArrayList<>(Arrays.asList(0, 0, 0, 0, 0, 0)));
+        boardDto.getPlayers().addAll(List.of(player1, player2, player3));
+        boardDto.setVersion(5);
+    }
+
+    @Test
+    @DisplayName("바뀐 값만 변경분에 들어가고, 적용하면 같은 상태가 된다")
+    void changedFieldTest() {
+
+        //given
+        BoardDto after = new BoardDto(boardDto);
+        after.setPot(3000);
+        after.setActionPos(Position.BB.ordinal());
+        after.setCommunityCard1(12);
+        after.getPlayers().get(0).setMoney(7000);
+        after.getPlayers().get(0).setPhaseCallSize(3000);
+
+        //when
+        BoardDeltaDto delta = BoardDeltaUtils.diff(boardDto, after, 5, 6);
+
+        //then
+        assertThat(delta.getPot()).isEqualTo(3000);
+        assertThat(delta.getActionPos()).isEqualTo(Position.BB.ordinal());
+        assertThat(delta.getCommunityCard1()).isEqualTo(12);
+        assertThat(delta.getCommunityCard2()).isNull();
+        assertThat(delta.getBtn()).isNull();
+        assertThat(delta.getTotalCallSize()).isNull();
+        assertThat(delta.getPlayers()).hasSize(1);
+        assertThat(delta.getPlayers().get(0).getId()).isEqualTo(1L);
+        assertThat(delta.getPlayers().get(0).getMoney()).isEqualTo(7000);
+        assertThat(delta.getPlayers().get(0).getStatus()).isNull();
+        assertThat(delta.getLeftPlayers()).isNull();
+
+        after.setVersion(6);
+        assertThat(BoardDeltaUtils.apply(boardDto, delta)).isEqualTo(after);
+    }
+
+    @Test
+    @DisplayName("들어온 플레이어는 모든 값이, 나간 플레이어는 id 만 들어간다")
+    void joinAndLeftTest() {
+
+        //given
+        BoardDto after = new BoardDto(boardDto);
+        PlayerDto left = after.getPlayers().remove(1);
+        PlayerDto joined = new PlayerDto(left);
+        joined.setId(4L);
+        joined.setUserId(4L);
+        joined.setPlayerName("joined");
+        after.getPlayers().add(joined);
+
+        //when
+        BoardDeltaDto delta = BoardDeltaUtils.diff(boardDto, after, 5, 9);
+
+        //then
+        assertThat(delta.getLeftPlayers()).containsExactly(2L);
+        assertThat(delta.getPlayers()).hasSize(1);
+        assertThat(delta.getPlayers().get(0).getPlayerName()).isEqualTo("joined");
+        assertThat(delta.getPlayers().get(0).getPosition()).isEqualTo(Position.SB.ordinal());
+
+        after.setVersion(9);
+        assertThat(BoardDeltaUtils.apply(boardDto, delta)).isEqualTo(after);
+    }
+
+    @Test
+    @DisplayName("이전 상태가 없으면 모든 값이 들어가고, version 이 맞지 않으면 적용하지 않는다")
+    void fullAndGapTest() {
+
+        //when
+        BoardDeltaDto full = BoardDeltaUtils.diff(null, boardDto, 0, 5);
+        BoardDeltaDto gap = BoardDeltaUtils.diff(boardDto, boardDto, 4, 6);
+
+        //then
+        assertThat(full.getBtn()).isEqualTo(boardDto.getBtn());
+        assertThat(full.getPlayers()).hasSize(3);
+        assertThat(gap.getPlayers()).isNull();
+        assertThatThrownBy(() -> BoardDeltaUtils.apply(boardDto, gap)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.model.Board;
+import com.example.pokerv2.model.Player;
+import com.example.pokerv2.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+class BoardViewUtilsTest {
+
+    private BoardDto boardDto;
+
+    @BeforeEach
+    void init() {
+
+        Board board = Board.builder().blind(1000).phaseStatus(PhaseStatus.FLOP).id(1L).totalPlayer(3).gameSeq(1L).players(new ArrayList<>()).build();
+
+        this.boardDto = new BoardDto(board);
+
+        PlayerDto player1 = new PlayerDto(Player.builder().id(1L).user(User.builder().userId("a").id(1L).build()).board(board).position(Position.BTN).card1(10).card2(20).status(PlayerStatus.PLAY).build());
+        PlayerDto player2 = new PlayerDto(Player.builder().id(2L).user(User.builder().userId("b").id(2L).build()).board(board).position(Position.SB).card1(11).card2(21).status(PlayerStatus.FOLD).build());
+        PlayerDto player3 = new PlayerDto(Player.builder().id(3L).user(User.builder().userId("c").id(3L).build()).board(board).position(Position.BB).card1(12).card2(22).status(PlayerStatus.ALL_IN).build());
+        boardDto.getPlayers().addAll(List.of(player1, player2, player3));
+        boardDto.setCommunityCard1(1);
+        boardDto.setCommunityCard2(2);
+        boardDto.setCommunityCard3(3);
+        boardDto.setCommunityCard4(4);
+        boardDto.setCommunityCard5(5);
+    }
+
+    @Test
+    @DisplayName("핸드 진행 중에는 본인 핸드만 보인다")
+    void viewOfTest() {
+
+        //when
+        BoardDto publicView = BoardViewUtils.publicView(boardDto);
+        BoardDto view = BoardViewUtils.viewOf(boardDto, "a");
+
+        //then
+        for (PlayerDto player : publicView.getPlayers()) {
+            assertThat(player.getCard1()).isEqualTo(BoardViewUtils.HIDDEN_CARD);
+            assertThat(player.getCard2()).isEqualTo(BoardViewUtils.HIDDEN_CARD);
+        }
+        assertThat(view.getPlayers().get(0).getCard1()).isEqualTo(10);
+        assertThat(view.getPlayers().get(0).getCard2()).isEqualTo(20);
+        assertThat(view.getPlayers().get(1).getCard1()).isEqualTo(BoardViewUtils.HIDDEN_CARD);
+        assertThat(view.getPlayers().get(2).getCard1()).isEqualTo(BoardViewUtils.HIDDEN_CARD);
+        assertThat(boardDto.getPlayers().get(1).getCard1()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("쇼다운에서는 폴드하지 않은 플레이어의 핸드가 모두에게 보인다")
+    void showDownTest() {
+
+        //given
+        boardDto.setPhaseStatus(PhaseStatus.SHOWDOWN.ordinal());
+
+        //when
+        BoardDto publicView = BoardViewUtils.publicView(boardDto);
+
+        //then
+        assertThat(publicView.getPlayers().get(0).getCard1()).isEqualTo(10);
+        assertThat(publicView.getPlayers().get(1).getCard1()).isEqualTo(BoardViewUtils.HIDDEN_CARD);
+        assertThat(publicView.getPlayers().get(2).getCard2()).isEqualTo(22);
+    }
+
+    @Test
+    @DisplayName("프리플랍에는 커뮤니티 카드가 모두 가려진다")
+    void preFlopCommunityCardTest() {
+
+        //given
+        boardDto.setPhaseStatus(PhaseStatus.PRE_FLOP.ordinal());
+
+        //when
+        BoardDto publicView = BoardViewUtils.publicView(boardDto);
+
+        //then
+        assertThat(communityCards(publicView)).containsExactly(-1, -1, -1, -1, -1);
+        assertThat(communityCards(boardDto)).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    @DisplayName("플랍에는 턴, 리버 카드가 가려진다")
+    void flopCommunityCardTest() {
+
+        //when
+        BoardDto publicView = BoardViewUtils.publicView(boardDto);
+        BoardDto view = BoardViewUtils.viewOf(boardDto, "a");
+
+        //then
+        assertThat(communityCards(publicView)).containsExactly(1, 2, 3, -1, -1);
+        assertThat(communityCards(view)).containsExactly(1, 2, 3, -1, -1);
+    }
+
+    @Test
+    @DisplayName("턴에는 리버 카드만 가려진다")
+    void turnCommunityCardTest() {
+
+        //given
+        boardDto.setPhaseStatus(PhaseStatus.TURN.ordinal());
+
+        //when
+        BoardDto publicView = BoardViewUtils.publicView(boardDto);
+
+        //then
+        assertThat(communityCards(publicView)).containsExactly(1, 2, 3, 4, -1);
+    }
+
+    @Test
+    @DisplayName("리버와 쇼다운에는 커뮤니티 카드가 모두 보인다")
+    void riverCommunityCardTest() {
+
+        //given
+        boardDto.setPhaseStatus(PhaseStatus.RIVER.ordinal());
+        BoardDto river = BoardViewUtils.publicView(boardDto);
+        boardDto.setPhaseStatus(PhaseStatus.SHOWDOWN.ordinal());
+
+        //when
+        BoardDto showDown = BoardViewUtils.publicView(boardDto);
+
+        //then
+        assertThat(communityCards(river)).containsExactly(1, 2, 3, 4, 5);
+        assertThat(communityCards(showDown)).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    @DisplayName("대기 중에는 커뮤니티 카드가 모두 가려진다")
+    void waitingCommunityCardTest() {
+
+        //given
+        boardDto.setPhaseStatus(PhaseStatus.WAITING.ordinal());
+
+        //when
+        BoardDto publicView = BoardViewUtils.publicView(boardDto);
+
+        //then
+        assertThat(communityCards(publicView)).containsExactly(-1, -1, -1, -1, -1);
+    }
+
+    private static List<Integer> communityCards(BoardDto boardDto) {
+        return List.of(boardDto.getCommunityCard1(), boardDto.getCommunityCard2(), boardDto.getCommunityCard3(),
+                boardDto.getCommunityCard4(), boardDto.getCommunityCard5());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.pokerv2.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CardMaskUtilsTest {
+
+    @Test
+    @DisplayName("int 카드 값과 mask 변환 검증 테스트")
+    void convertCardAndMaskTest() {
+
+        //given
+        List<Integer> cards = List.of(
+                CardUtils.getCardValue("2", "s"),
+                CardUtils.getCardValue("A", "s"),
+                CardUtils.getCardValue("10", "d"),
+                CardUtils.getCardValue("K", "h"),
+                CardUtils.getCardValue("A", "c")
+        );
+
+        //when
+        long mask = CardMaskUtils.toMask(cards);
+
+        //then
+        assertThat(CardMaskUtils.size(mask)).isEqualTo(5);
+        assertThat(CardMaskUtils.toCardList(mask)).containsExactlyElementsOf(cards);
+        assertThat(CardMaskUtils.suitRanks(mask, 0)).isEqualTo((1 << 12) | 1);
+        assertThat(CardMaskUtils.suitRanks(mask, 1)).isEqualTo(1 << 8);
+        assertThat(CardMaskUtils.suitRanks(mask, 2)).isEqualTo(1 << 11);
+        assertThat(CardMaskUtils.suitRanks(mask, 3)).isEqualTo(1 << 12);
+        assertThat(CardMaskUtils.lowestCard(mask)).isEqualTo(CardUtils.getCardValue("2", "s"));
+    }
+
+    @Test
+    @DisplayName("전체 덱 mask 검증 테스트")
+    void fullDeckTest() {
+
+        //given
+        long mask = CardMaskUtils.EMPTY;
+
+        //when
+        for (int card = 0; card < CardMaskUtils.DECK_SIZE; card++) {
+            mask = CardMaskUtils.add(mask, card);
+        }
+
+        //then
+        assertThat(mask).isEqualTo(CardMaskUtils.FULL_DECK);
+        assertThatThrownBy(() -> CardMaskUtils.toMask(CardMaskUtils.DECK_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("중복 없이 카드를 뽑는지 검증 테스트")
+    void drawCardWithoutDuplicateTest() {
+
+        //given
+        Random random = new Random(0);
+        long usedCards = CardMaskUtils.EMPTY;
+
+        //when
+        for (int i = 0; i < CardMaskUtils.DECK_SIZE; i++) {
+            int card = CardMaskUtils.drawCard(usedCards, random);
+            assertThat(CardMaskUtils.contains(usedCards, card)).isFalse();
+            usedCards = CardMaskUtils.add(usedCards, card);
+        }
+
+        //then
+        long fullDeck = usedCards;
+        assertThat(fullDeck).isEqualTo(CardMaskUtils.FULL_DECK);
+        assertThatThrownBy(() -> CardMaskUtils.drawCard(fullDeck, random))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.pokerv2.utils;
+
+import com.example.pokerv2.dto.BoardDeltaDto;
+import com.example.pokerv2.dto.BoardDto;
+import com.example.pokerv2.dto.GameResultDto;
+import com.example.pokerv2.dto.HoleCardDto;
+import com.example.pokerv2.dto.MessageDto;
+import com.example.pokerv2.dto.PlayerDto;
+import com.example.pokerv2.enums.MessageType;
+import com.example.pokerv2.enums.PhaseStatus;
+import com.example.pokerv2.enums.PlayerStatus;
+import com.example.pokerv2.enums.Position;
+import com.example.pokerv2.model.Board;
+import com.example.pokerv2.model.Player;
+import com.example.pokerv2.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+class CompactCodecUtilsTest {
+
+    private BoardDto boardDto;
+
+    @BeforeEach
+    void init() {
+
+        Board board = Board.builder().blind(1000).phaseStatus(PhaseStatus.FLOP).id(1L).totalPlayer(3).gameSeq(7L).players(new ArrayList<>()).build();
+
+        this.boardDto = new BoardDto(board);
+
+        PlayerDto player1 = new PlayerDto(Player.builder().id(1L).user(User.builder().userId("1").id(1L).build()).board(board).position(Position.BTN).money(10000).status(PlayerStatus.PLAY).build());
+        PlayerDto player2 = new PlayerDto(Player.builder().id(2L).user(User.builder().userId("2").id(2L).build()).board(board).position(Position.SB).money(8500).status(PlayerStatus.FOLD).build());
+        PlayerDto player3 = new PlayerDto(Player.builder().id(3L).user(User.builder().userId("3").id(3L).build()).board(board).position(Position.BB).money(0).status(PlayerStatus.ALL_IN).build());
+        player1.setPlayerName("플레이어1");
+        player1.setCard1(BoardViewUtils.HIDDEN_CARD);
+        player1.setCard2(BoardViewUtils.HIDDEN_CARD);
+        player3.setGameResult(GameResultDto.builder().isWinner(true).earnedMoney(21000).handContext("FLUSH").handValue(123456789L).jokBo(List.of(12, 10, 8, 3, 1)).build());
+        boardDto.setTotalCallSize(new ArrayList<>(Arrays.asList(1000, 2500, 10000, 0, 0, 0)));
+        boardDto.getPlayers().addAll(List.of(player1, player2, player3));
+        boardDto.setCommunityCard1(12);
+        boardDto.setCommunityCard2(25);
+        boardDto.setCommunityCard3(51);
+        boardDto.setPot(21000);
+        boardDto.setLastActionTime(LocalDateTime.of(2024, 1, 15, 21, 30, 5));
+        boardDto.setVersion(42);
+    }
+
+    @Test
+    @DisplayName("스냅샷, 핸드 인코딩 후 디코딩하면 같은 값이 나온다")
+    void boardRoundTripTest() {
+
+        //given
+        MessageDto snapshot = new MessageDto(MessageType.SNAPSHOT.getDetail(), boardDto);
+        HoleCardDto holeCard = new HoleCardDto(1L, 7L, 1L, 12, 0);
+
+        //when
+        Object decodedSnapshot = CompactCodecUtils.decode(CompactCodecUtils.encode(snapshot));
+        Object decodedHoleCard = CompactCodecUtils.decode(CompactCodecUtils.encode(holeCard));
+
+        //then
+        assertThat(decodedSnapshot).usingRecursiveComparison().isEqualTo(snapshot);
+        assertThat(decodedHoleCard).isEqualTo(holeCard);
+    }
+
+    @Test
+    @DisplayName("변경분은 들어 있는 값만 다시 나오고 JSON 보다 작다")
+    void deltaRoundTripTest() throws Exception {
+
+        //given
+        BoardDto after = new BoardDto(boardDto);
+        after.setPot(30000);
+        after.setActionPos(Position.BB.ordinal());
+        after.getPlayers().get(0).setMoney(1000);
+        after.getPlayers().remove(1);
+        BoardDeltaDto delta = BoardDeltaUtils.diff(boardDto, after, 42, 43);
+        MessageDto message = new MessageDto(MessageType.NEXT_ACTION.getDetail(), delta);
+
+        //when
+        byte[] compact = CompactCodecUtils.encode(message);
+        MessageDto decoded = (MessageDto) CompactCodecUtils.decode(compact);
+
+        //then
+        assertThat(compact.length * 3).isLessThan(new ObjectMapper().findAndRegisterModules().writeValueAsBytes(message).length);
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(message);
+        assertThat(((BoardDeltaDto) decoded.getData()).getBtn()).isNull();
+        assertThat(((BoardDeltaDto) decoded.getData()).getLeftPlayers()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("JSON 보다 작고, 잘못된 값은 거절한다")
+    void sizeAndInvalidTest() throws Exception {
+
+        //given
+        MessageDto snapshot = new MessageDto(MessageType.SNAPSHOT.getDetail(), boardDto);
+        byte[] json = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(snapshot);
+
+        //when
+        byte[] compact = CompactCodecUtils.encode(snapshot);
+
+        //then
+        assertThat(compact.length * 4).isLessThan(json.length);
+        assertThat(CompactCodecUtils.canEncode(new MessageDto(MessageType.EQUITY.getDetail(), List.of()))).isFalse();
+        assertThatThrownBy(() -> CompactCodecUtils.decode(Arrays.copyOf(compact, compact.length - 3))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactCodecUtils.decode(new byte[]{9, 1})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 메시지 타입 번호는 IllegalArgumentException 으로 거절한다")
+    void invalidMessageTypeTest() {
+
+        //given
+        MessageType lastType = MessageType.values()[MessageType.values().length - 1];
+        byte[] compact = CompactCodecUtils.encode(new MessageDto(lastType.getDetail(), new HoleCardDto(1L, 7L, 2L, 12, 25)));
+        byte[] nextIndex = compact.clone();
+        nextIndex[2]++;
+
+        //when
+        MessageDto decoded = (MessageDto) CompactCodecUtils.decode(compact);
+
+        //then
+        assertThat(compact[2]).isEqualTo((byte) MessageType.values().length);
+        assertThat(decoded.getMessageType()).isEqualTo(lastType.getDetail());
+        assertThatThrownBy(() -> CompactCodecUtils.decode(nextIndex)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactCodecUtils.decode(new byte[]{(byte) CompactCodecUtils.FORMAT_VERSION, 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
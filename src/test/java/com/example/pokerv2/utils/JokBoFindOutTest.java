@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -248,6 +249,39 @@ class JokBoFindOutTest {
         printTestDetails(cards, jokBo);
     }
 
+    @Test
+    @DisplayName("풀하우스 검증 테스트 2. 트리플이 두 개일 때")
+    void evaluateFullHouseTest2() {
+
+        //given
+        ArrayList<Integer> fullHouseJokBo = new ArrayList<>(List.of(
+                CardUtils.getCardValue("10", "d"),
+                CardUtils.getCardValue("10", "h"),
+                CardUtils.getCardValue("10", "s"),
+                CardUtils.getCardValue("3", "c"),
+                CardUtils.getCardValue("3", "d")
+        ));
+        ArrayList<Integer> cards = new ArrayList<>(CARD_SIZE);
+
+        Collections.sort(fullHouseJokBo);
+        cards.addAll(fullHouseJokBo);
+
+        cards.add(CardUtils.getCardValue("3", "s"));
+        cards.add(CardUtils.getCardValue("5", "s"));
+
+        //when
+        GameResultDto gameResultDto = HandCalculatorUtils.calculateValue(cards);
+        List<Integer> jokBo = gameResultDto.getJokBo();
+        Collections.sort(jokBo);
+
+        //then
+        assertThat(HandCalculatorUtils.getHandContextByValue(gameResultDto.getHandValue())).isEqualTo(HandValue.FULL_HOUSE.getDetail());
+        assertThat(jokBo).hasSize(5);
+        assertThat(jokBo).contains(CardUtils.getCardValue("10", "d"), CardUtils.getCardValue("10", "h"), CardUtils.getCardValue("10", "s"));
+
+        printTestDetails(cards, jokBo);
+    }
+
     @Test
     @DisplayName("플러시 검증 테스트")
     void evaluateFlushTest() {
@@ -538,6 +572,89 @@ class JokBoFindOutTest {
         printTestDetails(cards, jokBo);
     }
 
+    @Test
+    @DisplayName("HandResult 재사용 계산 검증 테스트")
+    void evaluateWithHandResultTest() {
+
+        //given
+        int[] fullHouseCards = {
+                CardUtils.getCardValue("K", "s"),
+                CardUtils.getCardValue("2", "d"),
+                CardUtils.getCardValue("K", "d"),
+                CardUtils.getCardValue("9", "c"),
+                CardUtils.getCardValue("K", "h"),
+                CardUtils.getCardValue("2", "c"),
+                CardUtils.getCardValue("2", "s")
+        };
+        int[] flushCards = {
+                CardUtils.getCardValue("A", "h"),
+                CardUtils.getCardValue("3", "h"),
+                CardUtils.getCardValue("J", "h"),
+                CardUtils.getCardValue("J", "s"),
+                CardUtils.getCardValue("7", "h"),
+                CardUtils.getCardValue("5", "h"),
+                CardUtils.getCardValue("4", "d")
+        };
+        HandResult result = new HandResult();
+
+        //when
+        long fullHouseValue = HandCalculatorUtils.calculateValue(fullHouseCards, fullHouseCards.length, result);
+        List<Integer> fullHouseJokBo = new ArrayList<>();
+        for (int i = 0; i < result.getJokBoSize(); i++) {
+            fullHouseJokBo.add(fullHouseCards[result.getJokBoIndex(i)]);
+        }
+
+        //then
+        assertThat(result.getHandValue()).isEqualTo(fullHouseValue);
+        assertThat(result.getHandValueType()).isEqualTo(HandValue.FULL_HOUSE);
+        assertThat(result.getHandContext()).isEqualTo(HandValue.FULL_HOUSE.getDetail());
+        assertThat(fullHouseJokBo).isEqualTo(List.of(
+                fullHouseCards[0], fullHouseCards[2], fullHouseCards[4], fullHouseCards[1], fullHouseCards[5]));
+
+        //when
+        long flushValue = HandCalculatorUtils.calculateValue(flushCards, flushCards.length, result);
+
+        //then
+        assertThat(result.getHandValue()).isEqualTo(flushValue);
+        assertThat(result.getHandValueType()).isEqualTo(HandValue.FLUSH);
+        assertThat(result.getJokBoSize()).isEqualTo(5);
+        assertThat(result.getJokBoIndex(0)).isEqualTo(0);
+        assertThat(result.getJokBoIndex(1)).isEqualTo(2);
+        assertThat(HandCalculatorUtils.calculateValue(toList(flushCards)).getHandValue()).isEqualTo(flushValue);
+    }
+
+    @Test
+    @DisplayName("mask 로 계산한 결과가 정렬된 카드 리스트로 계산한 결과와 같은지 테스트")
+    void calculateValueByMaskTest() {
+
+        //given
+        Random random = new Random(7);
+
+        for (int i = 0; i < 10000; i++) {
+            long cardMask = CardMaskUtils.EMPTY;
+            for (int j = 0; j < CARD_SIZE; j++) {
+                cardMask = CardMaskUtils.add(cardMask, CardMaskUtils.drawCard(cardMask, random));
+            }
+
+            //when
+            GameResultDto byMask = HandCalculatorUtils.calculateValue(cardMask);
+            GameResultDto byList = HandCalculatorUtils.calculateValue(CardMaskUtils.toCardList(cardMask));
+
+            //then
+            assertThat(byMask.getHandValue()).isEqualTo(byList.getHandValue());
+            assertThat(byMask.getHandContext()).isEqualTo(byList.getHandContext());
+            assertThat(byMask.getJokBo()).isEqualTo(byList.getJokBo());
+        }
+    }
+
+    private static List<Integer> toList(int[] cards) {
+        List<Integer> cardList = new ArrayList<>();
+        for (int card : cards) {
+            cardList.add(card);
+        }
+        return cardList;
+    }
+
     private static void printTestDetails(List<Integer> cards, List<Integer> jokBo){
         ArrayList<String> cardContexts = new ArrayList<>();
         for (Integer card : cards) {
@@ -414,6 +414,62 @@ public class SameJokBoCompareTest {
         printTestDetails(losePlayerCardList, losePlayerJokBo, losePlayerGameResult);
     }
 
+    @Test
+    @DisplayName("백 스트레이트보다 6 하이 스트레이트를 가진 플레이어의 핸드가치가 높게 평가되는지 테스트")
+    void compareBackStraightWithSixHighStraight() {
+
+        //given
+        ArrayList<Integer> winStraightJokBo = new ArrayList<>(List.of(
+                CardUtils.getCardValue("6", "d"),
+                CardUtils.getCardValue("5", "c"),
+                CardUtils.getCardValue("4", "h"),
+                CardUtils.getCardValue("3", "s"),
+                CardUtils.getCardValue("2", "d")
+        ));
+
+        ArrayList<Integer> loseStraightJokBo = new ArrayList<>(List.of(
+                CardUtils.getCardValue("A", "d"),
+                CardUtils.getCardValue("5", "c"),
+                CardUtils.getCardValue("4", "h"),
+                CardUtils.getCardValue("3", "s"),
+                CardUtils.getCardValue("2", "d")
+        ));
+
+        ArrayList<Integer> winPlayerCardList = new ArrayList<>(CARD_SIZE);
+        ArrayList<Integer> losePlayerCardList = new ArrayList<>(CARD_SIZE);
+
+        Collections.sort(winStraightJokBo);
+        Collections.sort(loseStraightJokBo);
+
+        winPlayerCardList.addAll(winStraightJokBo);
+        winPlayerCardList.add(CardUtils.getCardValue("9", "s"));
+        winPlayerCardList.add(CardUtils.getCardValue("J", "h"));
+
+        losePlayerCardList.addAll(loseStraightJokBo);
+        losePlayerCardList.add(CardUtils.getCardValue("9", "s"));
+        losePlayerCardList.add(CardUtils.getCardValue("J", "h"));
+
+        //when
+        GameResultDto winPlayerGameResult = HandCalculatorUtils.calculateValue(winPlayerCardList);
+        List<Integer> winPlayerJokBo = winPlayerGameResult.getJokBo();
+        Collections.sort(winPlayerJokBo);
+
+        GameResultDto losePlayerGameResult = HandCalculatorUtils.calculateValue(losePlayerCardList);
+        List<Integer> losePlayerJokBo = losePlayerGameResult.getJokBo();
+        Collections.sort(losePlayerJokBo);
+
+        //then
+        assertThat(winPlayerGameResult.getHandValue() / JOKBO_DIVIDE_CONSTANT)
+                .isEqualTo(losePlayerGameResult.getHandValue() / JOKBO_DIVIDE_CONSTANT);
+        assertThat(winPlayerGameResult.getHandValue()).isGreaterThan(losePlayerGameResult.getHandValue());
+
+        log.info("\n Win Player Details\n");
+        printTestDetails(winPlayerCardList, winPlayerJokBo, winPlayerGameResult);
+
+        log.info("\n Lose Player Details\n");
+        printTestDetails(losePlayerCardList, losePlayerJokBo, losePlayerGameResult);
+    }
+
     @Test
     @DisplayName("같은 트리플 일 때 더 높은 트리플의 랭크를 가진 플레이어의 핸드가치가 높게 평가되는지 테스트")
     void compareTripleRankWithSameTriple() {